@@ -25,11 +25,18 @@ public class DeptDataPermissionRespDTO {
      * 可查看的部门编号数组
      */
     private Set<Long> deptIds;
+    /**
+     * 可查看的部门树的根部门编号数组，即可查看这些部门及其所有子部门
+     *
+     * 通过部门闭包表过滤，避免将所有子部门编号展开到 SQL 中
+     */
+    private Set<Long> deptTreeIds;
 
     public DeptDataPermissionRespDTO() {
         this.all = false;
         this.self = false;
         this.deptIds = new HashSet<>();
+        this.deptTreeIds = new HashSet<>();
     }
 
 }
@@ -0,0 +1,58 @@
+package com.laby.framework.common.enums;
+
+import cn.hutool.core.util.ArrayUtil;
+import com.laby.framework.common.core.ArrayValuable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * 分页总量查询模式枚举
+ *
+ * 用于大表的列表页，避免每次翻页都执行一次和数据查询同样代价的 COUNT 查询
+ *
+ * @author Laby
+ */
+@Getter
+@AllArgsConstructor
+public enum PageCountModeEnum implements ArrayValuable<Integer> {
+
+    /**
+     * 精确：执行 COUNT 查询，默认模式
+     */
+    EXACT(0, "精确"),
+    /**
+     * 不查询：多查询 1 条判断是否有下一页，total 为「已知的最少条数」
+     */
+    NONE(1, "不查询"),
+    /**
+     * 估算：超过阈值时，不再精确 COUNT，total 返回阈值
+     */
+    ESTIMATE(2, "估算"),
+    /**
+     * 缓存：最终执行的 SQL（已包含租户、数据权限条件）+ 参数值相同的总量，缓存一小段时间
+     */
+    CACHE(3, "缓存");
+
+    public static final Integer[] ARRAYS = Arrays.stream(values()).map(PageCountModeEnum::getMode).toArray(Integer[]::new);
+
+    /**
+     * 模式
+     */
+    private final Integer mode;
+    /**
+     * 名字
+     */
+    private final String name;
+
+    @Override
+    public Integer[] array() {
+        return ARRAYS;
+    }
+
+    public static PageCountModeEnum valueOf(Integer mode) {
+        return ArrayUtil.firstMatch(item -> item.getMode().equals(mode), values());
+    }
+
+}
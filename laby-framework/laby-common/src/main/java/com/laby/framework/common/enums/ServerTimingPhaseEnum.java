@@ -0,0 +1,36 @@
+package com.laby.framework.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 请求耗时阶段的枚举，对应 Server-Timing 响应头中的一项
+ *
+ * @author Laby
+ */
+@RequiredArgsConstructor
+@Getter
+public enum ServerTimingPhaseEnum {
+
+    AUTH("auth", "认证"),
+    BODY("body", "读取请求体"),
+    XSS("xss", "XSS 清理"),
+    /**
+     * 由 laby-spring-boot-starter-mybatis 的 SqlStatInterceptor 记录，
+     * 所以关闭 SQL 执行统计（laby.mybatis.sql-stat.enable=false）时，不会出现该阶段
+     */
+    DB("db", "数据库"),
+    REDIS("redis", "Redis"),
+    SERIALIZE("ser", "序列化"),
+    ;
+
+    /**
+     * Server-Timing 中的指标名
+     */
+    private final String metric;
+    /**
+     * 描述
+     */
+    private final String description;
+
+}
@@ -13,6 +13,8 @@ public interface WebFilterOrderEnum {
 
     int TRACE_FILTER = CORS_FILTER + 1;
 
+    int SERVER_TIMING_FILTER = TRACE_FILTER + 1; // 需要保证在 RequestBodyCacheFilter、Spring Security 前面，才能统计到它们的耗时
+
     int REQUEST_BODY_CACHE_FILTER = Integer.MIN_VALUE + 500;
 
     int API_ENCRYPT_FILTER = REQUEST_BODY_CACHE_FILTER + 1;
@@ -31,6 +33,8 @@ public interface WebFilterOrderEnum {
 
     int FLOWABLE_FILTER = -98; // 需要保证在 Spring Security 过滤后面
 
+    int QUERY_COUNT_FILTER = -97; // 需要保证在 TenantSecurityWebFilter 后面，只统计业务执行的 SQL
+
     int DEMO_FILTER = Integer.MAX_VALUE;
 
 }
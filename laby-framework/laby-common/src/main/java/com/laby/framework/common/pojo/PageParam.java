@@ -1,5 +1,7 @@
 package com.laby.framework.common.pojo;
 
+import com.laby.framework.common.enums.PageCountModeEnum;
+import com.laby.framework.common.validation.InEnum;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -33,4 +35,22 @@ public class PageParam implements Serializable {
     @Max(value = 100, message = "每页条数最大值为 100")
     private Integer pageSize = PAGE_SIZE;
 
+    /**
+     * 游标
+     *
+     * 非 null 时使用游标（keyset）分页：忽略 {@link #pageNo}，从游标之后开始查询 {@link #pageSize} 条，且不查询总量。
+     * 首页传空字符串，后续页传上一页返回的 {@link PageResult#getNextCursor()}。适合深翻页的大表，例如流水、日志等
+     */
+    @Schema(description = "游标，传入时使用游标分页（首页传空字符串，后续传上一页返回的 nextCursor）", example = "MTAyNA")
+    private String cursor;
+
+    /**
+     * 总量查询模式
+     *
+     * 为 null 时，使用 {@link PageCountModeEnum#EXACT} 精确查询总量
+     */
+    @Schema(description = "总量查询模式：0 精确，1 不查询，2 估算，3 缓存", example = "1")
+    @InEnum(value = PageCountModeEnum.class, message = "总量查询模式必须是 {value}")
+    private Integer countMode;
+
 }
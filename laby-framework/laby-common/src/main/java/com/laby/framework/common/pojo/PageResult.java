@@ -17,6 +17,14 @@ public final class PageResult<T> implements Serializable {
     @Schema(description = "数据", requiredMode = Schema.RequiredMode.REQUIRED)
     private List<T> list;
 
+    /**
+     * 下一页的游标
+     *
+     * 仅游标分页时返回，为 null 表示没有下一页，参见 {@link PageParam#getCursor()}
+     */
+    @Schema(description = "下一页的游标，仅游标分页时返回，为空表示没有下一页")
+    private String nextCursor;
+
     public PageResult() {
     }
 
@@ -30,6 +38,12 @@ public final class PageResult<T> implements Serializable {
         this.total = total;
     }
 
+    public PageResult(List<T> list, Long total, String nextCursor) {
+        this.list = list;
+        this.total = total;
+        this.nextCursor = nextCursor;
+    }
+
     public static <T> PageResult<T> empty() {
         return new PageResult<>(0L);
     }
@@ -1,14 +1,24 @@
 package com.laby.framework.common.util.cache;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import cn.hutool.core.util.ClassLoaderUtil;
+import com.alibaba.ttl.threadpool.TtlExecutors;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 import java.time.Duration;
-import java.util.concurrent.Executors;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Cache 工具类
+ * Cache 工具类，基于 Caffeine 实现
+ *
+ * 1. 刷新：refreshAfterWrite 到期后，首次访问触发刷新，刷新期间其它线程返回旧值
+ * 2. 加载：同一个 key 同时只会有一个线程加载，其它线程等待结果
+ * 3. 监控：存在 Micrometer 时，按缓存名注册命中、未命中、加载耗时等指标
  *
  * @author Laby
  */
@@ -21,41 +31,118 @@ public class CacheUtils {
      */
     private static final Integer CACHE_MAX_SIZE = 10000;
 
+    /**
+     * 异步刷新的线程池，所有 LoadingCache 共享
+     *
+     * 线程数、队列都是有界的，避免 Redis、DB 变慢时，刷新任务创建大量线程。
+     * 队列满时拒绝，Caffeine 会记录日志并放弃本次刷新，下次访问时再次触发
+     */
+    private static final Executor REFRESH_EXECUTOR = TtlExecutors.getTtlExecutor(buildRefreshExecutor());
+
+    private static final boolean METRICS_PRESENT = ClassLoaderUtil.isPresent("io.micrometer.core.instrument.Metrics");
+
     /**
      * 构建异步刷新的 LoadingCache 对象
      *
-     * 注意：如果你的缓存和 ThreadLocal 有关系，要么自己处理 ThreadLocal 的传递，要么使用 {@link #buildCache(Duration, CacheLoader)} 方法
+     * 注意：刷新任务会通过 TTL 传递触发刷新的线程的上下文，而不是首次加载时的上下文。
+     * 所以，如果你的缓存和 ThreadLocal 有关系，要么自己处理 ThreadLocal 的传递，要么使用 {@link #buildCache(String, Duration, CacheLoader)} 方法
      *
      * 或者简单理解：
-     * 1、和“人”相关的，使用 {@link #buildCache(Duration, CacheLoader)} 方法
+     * 1、和“人”相关的，使用 {@link #buildCache(String, Duration, CacheLoader)} 方法
      * 2、和“全局”、“系统”相关的，使用当前缓存方法
      *
+     * @param name     缓存名，用于监控指标
      * @param duration 过期时间
-     * @param loader  CacheLoader 对象
+     * @param loader   CacheLoader 对象
      * @return LoadingCache 对象
      */
-    public static <K, V> LoadingCache<K, V> buildAsyncReloadingCache(Duration duration, CacheLoader<K, V> loader) {
-        return CacheBuilder.newBuilder()
-                .maximumSize(CACHE_MAX_SIZE)
-                // 只阻塞当前数据加载线程，其他线程返回旧值
-                .refreshAfterWrite(duration)
-                // 通过 asyncReloading 实现全异步加载，包括 refreshAfterWrite 被阻塞的加载线程
-                .build(CacheLoader.asyncReloading(loader, Executors.newCachedThreadPool())); // TODO 芋艿：可能要思考下，未来要不要做成可配置
+    public static <K, V> LoadingCache<K, V> buildAsyncReloadingCache(String name, Duration duration, CacheLoader<K, V> loader) {
+        return buildAsyncReloadingCache(name, duration, CACHE_MAX_SIZE, loader);
+    }
+
+    /**
+     * 构建异步刷新的 LoadingCache 对象
+     *
+     * @param name        缓存名，用于监控指标
+     * @param duration    过期时间
+     * @param maximumSize 最大缓存数量
+     * @param loader      CacheLoader 对象
+     * @return LoadingCache 对象
+     */
+    public static <K, V> LoadingCache<K, V> buildAsyncReloadingCache(String name, Duration duration, long maximumSize,
+                                                                     CacheLoader<K, V> loader) {
+        return build(name, duration, maximumSize, REFRESH_EXECUTOR, loader);
     }
 
     /**
      * 构建同步刷新的 LoadingCache 对象
      *
+     * 刷新在触发刷新的线程中执行，该线程阻塞到刷新完成，其它线程返回旧值
+     *
+     * @param name     缓存名，用于监控指标
      * @param duration 过期时间
-     * @param loader  CacheLoader 对象
+     * @param loader   CacheLoader 对象
      * @return LoadingCache 对象
      */
-    public static <K, V> LoadingCache<K, V> buildCache(Duration duration, CacheLoader<K, V> loader) {
-        return CacheBuilder.newBuilder()
-                .maximumSize(CACHE_MAX_SIZE)
-                // 只阻塞当前数据加载线程，其他线程返回旧值
+    public static <K, V> LoadingCache<K, V> buildCache(String name, Duration duration, CacheLoader<K, V> loader) {
+        return build(name, duration, CACHE_MAX_SIZE, Runnable::run, loader);
+    }
+
+    /**
+     * 构建普通的 Cache 对象，不自动加载、不刷新
+     *
+     * 适合由调用方自己 put 的场景，例如说：SQL 重写模板、分页总量。容量、过期策略由调用方通过 builder 指定，
+     * 这里统一开启统计，并注册监控指标
+     *
+     * @param name    缓存名，用于监控指标
+     * @param builder Caffeine 构建器，必须指定容量上限（maximumSize 或 maximumWeight）
+     * @return Cache 对象
+     */
+    public static <K, V> Cache<K, V> buildCache(String name, Caffeine<? super K, ? super V> builder) {
+        Cache<K, V> cache = builder.recordStats().build();
+        if (METRICS_PRESENT) {
+            CacheMetricsRegistrar.register(name, cache);
+        }
+        return cache;
+    }
+
+    private static <K, V> LoadingCache<K, V> build(String name, Duration duration, long maximumSize,
+                                                   Executor executor, CacheLoader<K, V> loader) {
+        LoadingCache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
                 .refreshAfterWrite(duration)
+                .executor(executor)
+                .recordStats()
                 .build(loader);
+        if (METRICS_PRESENT) {
+            CacheMetricsRegistrar.register(name, cache);
+        }
+        return cache;
+    }
+
+    private static ExecutorService buildRefreshExecutor() {
+        int poolSize = Math.max(4, Runtime.getRuntime().availableProcessors());
+        AtomicInteger index = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1024), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 监控指标的注册，单独一个类，避免不存在 Micrometer 时类加载失败
+     */
+    private static class CacheMetricsRegistrar {
+
+        private static void register(String name, Cache<?, ?> cache) {
+            // 注册到全局的 MeterRegistry，Spring Boot 会将自己的 MeterRegistry 添加进去
+            CaffeineCacheMetrics.monitor(Metrics.globalRegistry, cache, name);
+        }
+
     }
 
 }
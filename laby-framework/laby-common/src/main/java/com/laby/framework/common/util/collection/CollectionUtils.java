@@ -79,7 +79,7 @@ public class CollectionUtils {
         if (ArrayUtil.isEmpty(from)) {
             return new PageResult<>(from.getTotal());
         }
-        return new PageResult<>(convertList(from.getList(), func), from.getTotal());
+        return new PageResult<>(convertList(from.getList(), func), from.getTotal(), from.getNextCursor());
     }
 
     public static <T, U> List<U> convertListByFlatMap(Collection<T> from,
@@ -0,0 +1,103 @@
+package com.laby.framework.common.util.monitor;
+
+import com.laby.framework.common.enums.ServerTimingPhaseEnum;
+
+/**
+ * 一次请求的耗时分解，按 {@link ServerTimingPhaseEnum} 累加耗时、次数
+ *
+ * 只在请求线程中访问，所以无需同步；使用数组存储，记录时不分配对象
+ *
+ * @author Laby
+ */
+public class ServerTimingContext {
+
+    private static final ServerTimingPhaseEnum[] PHASES = ServerTimingPhaseEnum.values();
+
+    /**
+     * 开始时间，单位：纳秒
+     */
+    private final long startTime = System.nanoTime();
+    /**
+     * 每个阶段的耗时，单位：纳秒
+     */
+    private final long[] durations = new long[PHASES.length];
+    /**
+     * 每个阶段的次数
+     */
+    private final int[] counts = new int[PHASES.length];
+
+    public void add(ServerTimingPhaseEnum phase, long nanos) {
+        durations[phase.ordinal()] += nanos;
+        counts[phase.ordinal()]++;
+    }
+
+    /**
+     * @return 从开始到现在的耗时，单位：纳秒
+     */
+    public long getElapsed() {
+        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * 生成 Server-Timing 响应头的值
+     *
+     * 例如说：db;dur=12.345;desc="3", redis;dur=1.024;desc="2", total;dur=20.480
+     *
+     * @return 响应头的值
+     */
+    public String toHeaderValue() {
+        StringBuilder builder = new StringBuilder(128);
+        for (ServerTimingPhaseEnum phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            builder.append(phase.getMetric()).append(";dur=");
+            appendMillis(builder, durations[phase.ordinal()]);
+            builder.append(";desc=\"").append(count).append("\", ");
+        }
+        builder.append("total;dur=");
+        appendMillis(builder, getElapsed());
+        return builder.toString();
+    }
+
+    /**
+     * 生成日志的内容，格式为 key=value，方便日志系统解析
+     *
+     * 例如说：db=12.345ms db_count=3 redis=1.024ms redis_count=2 total=20.480ms
+     *
+     * @return 日志内容
+     */
+    public String toLogString() {
+        StringBuilder builder = new StringBuilder(128);
+        for (ServerTimingPhaseEnum phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            builder.append(phase.getMetric()).append('=');
+            appendMillis(builder, durations[phase.ordinal()]);
+            builder.append("ms ").append(phase.getMetric()).append("_count=").append(count).append(' ');
+        }
+        builder.append("total=");
+        appendMillis(builder, getElapsed());
+        return builder.append("ms").toString();
+    }
+
+    /**
+     * 追加毫秒数，保留 3 位小数。不使用 String.format，避免其解析格式的开销
+     */
+    private static void appendMillis(StringBuilder builder, long nanos) {
+        long micros = nanos / 1000;
+        builder.append(micros / 1000).append('.');
+        long fraction = micros % 1000;
+        if (fraction < 100) {
+            builder.append('0');
+        }
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        builder.append(fraction);
+    }
+
+}
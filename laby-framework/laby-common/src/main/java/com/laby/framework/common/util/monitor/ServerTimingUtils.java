@@ -0,0 +1,85 @@
+package com.laby.framework.common.util.monitor;
+
+import com.laby.framework.common.enums.ServerTimingPhaseEnum;
+
+/**
+ * 请求耗时分解的工具类，用于生成 Server-Timing 响应头
+ *
+ * 使用方式：
+ * <pre>
+ * long startTime = ServerTimingUtils.start();
+ * try {
+ *     // 执行逻辑
+ * } finally {
+ *     ServerTimingUtils.stop(ServerTimingPhaseEnum.DB, startTime);
+ * }
+ * </pre>
+ *
+ * 未开启（当前线程没有 {@link ServerTimingContext}）时，只有一次 ThreadLocal 读取的开销。
+ * 注意，各阶段之间可能重叠，例如说认证过程中访问 Redis，会同时计入 auth 和 redis
+ *
+ * 考虑到每个 starter 都需要用到该工具类，所以放到 common 模块下的 util 包下
+ *
+ * @author Laby
+ */
+public class ServerTimingUtils {
+
+    private static final ThreadLocal<ServerTimingContext> CONTEXT = new ThreadLocal<>();
+
+    private ServerTimingUtils() {
+    }
+
+    /**
+     * 开始记录当前请求的耗时分解
+     *
+     * @return 上下文
+     */
+    public static ServerTimingContext begin() {
+        ServerTimingContext context = new ServerTimingContext();
+        CONTEXT.set(context);
+        return context;
+    }
+
+    /**
+     * 结束记录当前请求的耗时分解
+     */
+    public static void end() {
+        CONTEXT.remove();
+    }
+
+    /**
+     * 开始计时
+     *
+     * @return 开始时间，单位：纳秒；未开启时，返回 0
+     */
+    public static long start() {
+        return CONTEXT.get() != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * 结束计时，累加到对应阶段
+     *
+     * @param phase     阶段
+     * @param startTime {@link #start()} 返回的开始时间
+     */
+    public static void stop(ServerTimingPhaseEnum phase, long startTime) {
+        if (startTime == 0) {
+            return;
+        }
+        record(phase, System.nanoTime() - startTime);
+    }
+
+    /**
+     * 累加已经测量好的耗时，适用于调用方本身已经计时的场景
+     *
+     * @param phase 阶段
+     * @param nanos 耗时，单位：纳秒
+     */
+    public static void record(ServerTimingPhaseEnum phase, long nanos) {
+        ServerTimingContext context = CONTEXT.get();
+        if (context != null) {
+            context.add(phase, nanos);
+        }
+    }
+
+}
@@ -56,7 +56,7 @@ public class BeanUtils {
         if (peek != null) {
             list.forEach(peek);
         }
-        return new PageResult<>(list, source.getTotal());
+        return new PageResult<>(list, source.getTotal(), source.getNextCursor());
     }
 
     public static void copyProperties(Object source, Object target) {
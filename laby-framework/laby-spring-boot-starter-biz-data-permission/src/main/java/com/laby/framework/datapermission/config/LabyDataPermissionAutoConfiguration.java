@@ -5,8 +5,7 @@ import com.laby.framework.datapermission.core.db.DataPermissionRuleHandler;
 import com.laby.framework.datapermission.core.rule.DataPermissionRule;
 import com.laby.framework.datapermission.core.rule.DataPermissionRuleFactory;
 import com.laby.framework.datapermission.core.rule.DataPermissionRuleFactoryImpl;
-import com.laby.framework.mybatis.core.util.MyBatisUtils;
-import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.laby.framework.mybatis.core.rewrite.SqlRewriteCacheInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionInterceptor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -27,14 +26,14 @@ public class LabyDataPermissionAutoConfiguration {
     }
 
     @Bean
-    public DataPermissionRuleHandler dataPermissionRuleHandler(MybatisPlusInterceptor interceptor,
+    public DataPermissionRuleHandler dataPermissionRuleHandler(SqlRewriteCacheInnerInterceptor sqlRewriteCacheInterceptor,
                                                                DataPermissionRuleFactory ruleFactory) {
         // 创建 DataPermissionInterceptor 拦截器
         DataPermissionRuleHandler handler = new DataPermissionRuleHandler(ruleFactory);
         DataPermissionInterceptor inner = new DataPermissionInterceptor(handler);
-        // 添加到 interceptor 中
-        // 需要加在首个，主要是为了在分页插件前面。这个是 MyBatis Plus 的规定
-        MyBatisUtils.addInterceptor(interceptor, inner, 0);
+        // 添加到 sqlRewriteCacheInterceptor 中，由它缓存重写后的 SQL
+        // 需要加在首个，主要是为了在分页插件前面。这个是 MyBatis Plus 的规定（sqlRewriteCacheInterceptor 本身已在首个）
+        sqlRewriteCacheInterceptor.addInterceptor(inner, handler);
         return handler;
     }
 
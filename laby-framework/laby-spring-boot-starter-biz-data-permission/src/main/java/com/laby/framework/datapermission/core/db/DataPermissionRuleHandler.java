@@ -3,6 +3,7 @@ package com.laby.framework.datapermission.core.db;
 import cn.hutool.core.collection.CollUtil;
 import com.laby.framework.datapermission.core.rule.DataPermissionRule;
 import com.laby.framework.datapermission.core.rule.DataPermissionRuleFactory;
+import com.laby.framework.mybatis.core.rewrite.SqlRewriteContributor;
 import com.laby.framework.mybatis.core.util.MyBatisUtils;
 import com.baomidou.mybatisplus.extension.plugins.handler.MultiDataPermissionHandler;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +12,9 @@ import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
 import net.sf.jsqlparser.schema.Table;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static com.laby.framework.security.core.util.SecurityFrameworkUtils.skipPermissionCheck;
 
@@ -20,10 +24,12 @@ import static com.laby.framework.security.core.util.SecurityFrameworkUtils.skipP
  * 它的底层，是基于 MyBatis Plus 的 <a href="https://baomidou.com/plugins/data-permission/">数据权限插件</a>
  * 核心原理：它会在 SQL 执行前拦截 SQL 语句，并根据用户权限动态添加权限相关的 SQL 片段。这样，只有用户有权限访问的数据才会被查询出来
  *
+ * 当所有规则都实现 {@link SqlRewriteContributor} 时，重写后的 SQL 会被缓存；否则，每次都重新重写
+ *
  * @author Laby
  */
 @RequiredArgsConstructor
-public class DataPermissionRuleHandler implements MultiDataPermissionHandler {
+public class DataPermissionRuleHandler implements MultiDataPermissionHandler, SqlRewriteContributor {
 
     private final DataPermissionRuleFactory ruleFactory;
 
@@ -61,4 +67,50 @@ public class DataPermissionRuleHandler implements MultiDataPermissionHandler {
         return allExpression;
     }
 
+    @Override
+    public boolean contribute(String mappedStatementId, String sql, StringBuilder shape, Map<String, Supplier<?>> parameters) {
+        // 特殊：跨租户访问
+        if (skipPermissionCheck()) {
+            shape.append("dp:skip;");
+            return true;
+        }
+        // 获得 Mapper 对应的数据权限的规则。注意：@DataPermission 注解会影响规则列表，所以需要追加到形态中
+        List<DataPermissionRule> rules = ruleFactory.getDataPermissionRule(mappedStatementId);
+        shape.append("dp:");
+        for (DataPermissionRule rule : rules) {
+            // 规则的表都没有出现在 SQL 中，则重写时不会生效，无需参与。避免每条 SQL 都获取数据权限
+            if (!containsAnyTable(sql, rule.getTableNames())) {
+                continue;
+            }
+            // 规则不支持缓存，则本次不使用缓存
+            if (!(rule instanceof SqlRewriteContributor contributor)) {
+                return false;
+            }
+            shape.append(rule.getClass().getName()).append('=');
+            if (!contributor.contribute(mappedStatementId, shape, parameters)) {
+                return false;
+            }
+        }
+        shape.append(';');
+        return true;
+    }
+
+    /**
+     * 判断 SQL 中是否出现任一表名
+     *
+     * 按文本匹配，只会多判、不会漏判：{@link #getSqlSegment} 中匹配的表名，一定出现在 SQL 中。
+     * 缓存的 key 包含原 SQL，所以同一条 SQL 的判断结果是确定的
+     */
+    private static boolean containsAnyTable(String sql, Set<String> tableNames) {
+        if (CollUtil.isEmpty(tableNames)) {
+            return false;
+        }
+        for (String tableName : tableNames) {
+            if (sql.contains(tableName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -6,10 +6,11 @@ import cn.hutool.core.util.StrUtil;
 import com.laby.framework.common.biz.system.permission.PermissionCommonApi;
 import com.laby.framework.common.biz.system.permission.dto.DeptDataPermissionRespDTO;
 import com.laby.framework.common.enums.UserTypeEnum;
-import com.laby.framework.common.util.collection.CollectionUtils;
 import com.laby.framework.common.util.json.JsonUtils;
 import com.laby.framework.datapermission.core.rule.DataPermissionRule;
 import com.laby.framework.mybatis.core.dataobject.BaseDO;
+import com.laby.framework.mybatis.core.rewrite.SqlRewriteCacheInnerInterceptor;
+import com.laby.framework.mybatis.core.rewrite.SqlRewriteContributor;
 import com.laby.framework.mybatis.core.util.MyBatisUtils;
 import com.laby.framework.security.core.LoginUser;
 import com.laby.framework.security.core.util.SecurityFrameworkUtils;
@@ -20,16 +21,25 @@ import net.sf.jsqlparser.expression.Alias;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.LongValue;
 import net.sf.jsqlparser.expression.NullValue;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
 import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
 import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
 import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
 import net.sf.jsqlparser.expression.operators.relational.InExpression;
 import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.select.ParenthesedSelect;
+import net.sf.jsqlparser.statement.select.PlainSelect;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * 基于部门的 {@link DataPermissionRule} 数据权限规则实现
@@ -46,11 +56,14 @@ import java.util.Set;
  *  3）想要保证原 dept_id 和 user_id 都可以看的到，此时使用 dept_id 和 user_id 一起过滤；
  *      最终过滤条件是 WHERE dept_id = ? OR user_id IN (?, ?, ? ...)
  *
+ * 实现 {@link SqlRewriteContributor} 接口，部门编号、用户编号以绑定参数的方式传入，
+ * 可见部门数量相同的用户，共享同一个重写后的 SQL
+ *
  * @author Laby
  */
 @AllArgsConstructor
 @Slf4j
-public class DeptDataPermissionRule implements DataPermissionRule {
+public class DeptDataPermissionRule implements DataPermissionRule, SqlRewriteContributor {
 
     /**
      * LoginUser 的 Context 缓存 Key
@@ -60,6 +73,17 @@ public class DeptDataPermissionRule implements DataPermissionRule {
     private static final String DEPT_COLUMN_NAME = "dept_id";
     private static final String USER_COLUMN_NAME = "user_id";
 
+    /**
+     * 部门闭包表，由 system 模块维护
+     *
+     * 每个部门与它的每个祖先部门（包括自己）各有一条记录
+     */
+    private static final String DEPT_CLOSURE_TABLE_NAME = "system_dept_closure";
+
+    private static final String PARAMETER_DEPT_ID_PREFIX = "dept_id_";
+    private static final String PARAMETER_DEPT_TREE_ID_PREFIX = "dept_tree_id_";
+    private static final String PARAMETER_USER_ID = "user_id";
+
     static final Expression EXPRESSION_NULL = new NullValue();
 
     private final PermissionCommonApi permissionApi;
@@ -103,17 +127,11 @@ public class DeptDataPermissionRule implements DataPermissionRule {
         }
 
         // 获得数据权限
-        DeptDataPermissionRespDTO deptDataPermission = loginUser.getContext(CONTEXT_KEY, DeptDataPermissionRespDTO.class);
-        // 从上下文中拿不到，则调用逻辑进行获取
+        DeptDataPermissionRespDTO deptDataPermission = getDeptDataPermission(loginUser);
         if (deptDataPermission == null) {
-            deptDataPermission = permissionApi.getDeptDataPermission(loginUser.getId());
-            if (deptDataPermission == null) {
-                log.error("[getExpression][LoginUser({}) 获取数据权限为 null]", JsonUtils.toJsonString(loginUser));
-                throw new NullPointerException(String.format("LoginUser(%d) Table(%s/%s) 未返回数据权限",
-                        loginUser.getId(), tableName, tableAlias.getName()));
-            }
-            // 添加到上下文中，避免重复计算
-            loginUser.setContext(CONTEXT_KEY, deptDataPermission);
+            log.error("[getExpression][LoginUser({}) 获取数据权限为 null]", JsonUtils.toJsonString(loginUser));
+            throw new NullPointerException(String.format("LoginUser(%d) Table(%s/%s) 未返回数据权限",
+                    loginUser.getId(), tableName, tableAlias.getName()));
         }
 
         // 情况一，如果是 ALL 可查看全部，则无需拼接条件
@@ -123,12 +141,14 @@ public class DeptDataPermissionRule implements DataPermissionRule {
 
         // 情况二，即不能查看部门，又不能查看自己，则说明 100% 无权限
         if (CollUtil.isEmpty(deptDataPermission.getDeptIds())
+            && CollUtil.isEmpty(deptDataPermission.getDeptTreeIds())
             && Boolean.FALSE.equals(deptDataPermission.getSelf())) {
             return new EqualsTo(null, null); // WHERE null = null，可以保证返回的数据为空
         }
 
         // 情况三，拼接 Dept 和 User 的条件，最后组合
-        Expression deptExpression = buildDeptExpression(tableName,tableAlias, deptDataPermission.getDeptIds());
+        Expression deptExpression = buildDeptExpression(tableName, tableAlias,
+                deptDataPermission.getDeptIds(), deptDataPermission.getDeptTreeIds());
         Expression userExpression = buildUserExpression(tableName, tableAlias, deptDataPermission.getSelf(), loginUser.getId());
         if (deptExpression == null && userExpression == null) {
             // TODO 芋艿：获得不到条件的时候，暂时不抛出异常，而是不返回数据
@@ -148,20 +168,123 @@ public class DeptDataPermissionRule implements DataPermissionRule {
         return new ParenthesedExpressionList(new OrExpression(deptExpression, userExpression));
     }
 
-    private Expression buildDeptExpression(String tableName, Alias tableAlias, Set<Long> deptIds) {
+    @Override
+    public boolean contribute(String mappedStatementId, String sql, StringBuilder shape, Map<String, Supplier<?>> parameters) {
+        // 与 getExpression 的判断保持一致：决定条件结构的，是「是否拼接条件 + 部门数量 + 部门树数量 + 是否查看自己」
+        LoginUser loginUser = SecurityFrameworkUtils.getLoginUser();
+        if (loginUser == null || ObjectUtil.notEqual(loginUser.getUserType(), UserTypeEnum.ADMIN.getValue())) {
+            shape.append("none");
+            return true;
+        }
+        DeptDataPermissionRespDTO deptDataPermission = getDeptDataPermission(loginUser);
+        if (deptDataPermission == null) {
+            // 交给 getExpression 抛出异常
+            return false;
+        }
+        if (deptDataPermission.getAll()) {
+            shape.append("all");
+            return true;
+        }
+        boolean self = ObjectUtil.notEqual(deptDataPermission.getSelf(), Boolean.FALSE);
+        if (CollUtil.isEmpty(deptDataPermission.getDeptIds()) && CollUtil.isEmpty(deptDataPermission.getDeptTreeIds())
+                && !self) {
+            shape.append("deny");
+            return true;
+        }
+
+        // 部门编号、用户编号作为参数
+        List<Long> deptIds = sortDeptIds(deptDataPermission.getDeptIds());
+        for (int i = 0; i < deptIds.size(); i++) {
+            Long deptId = deptIds.get(i);
+            parameters.put(PARAMETER_DEPT_ID_PREFIX + i, () -> deptId);
+        }
+        List<Long> deptTreeIds = sortDeptIds(deptDataPermission.getDeptTreeIds());
+        for (int i = 0; i < deptTreeIds.size(); i++) {
+            Long deptTreeId = deptTreeIds.get(i);
+            parameters.put(PARAMETER_DEPT_TREE_ID_PREFIX + i, () -> deptTreeId);
+        }
+        if (self) {
+            parameters.put(PARAMETER_USER_ID, loginUser::getId);
+        }
+        shape.append("dept").append(deptIds.size()).append("+tree").append(deptTreeIds.size())
+                .append(self ? "+self" : "");
+        return true;
+    }
+
+    private DeptDataPermissionRespDTO getDeptDataPermission(LoginUser loginUser) {
+        DeptDataPermissionRespDTO deptDataPermission = loginUser.getContext(CONTEXT_KEY, DeptDataPermissionRespDTO.class);
+        // 从上下文中拿不到，则调用逻辑进行获取
+        if (deptDataPermission == null) {
+            deptDataPermission = permissionApi.getDeptDataPermission(loginUser.getId());
+            if (deptDataPermission == null) {
+                return null;
+            }
+            // 添加到上下文中，避免重复计算
+            loginUser.setContext(CONTEXT_KEY, deptDataPermission);
+        }
+        return deptDataPermission;
+    }
+
+    /**
+     * 部门编号排序，保证模板中的参数下标与 {@link #contribute} 中的一致
+     */
+    private static List<Long> sortDeptIds(Set<Long> deptIds) {
+        if (CollUtil.isEmpty(deptIds)) {
+            return new ArrayList<>();
+        }
+        return CollUtil.sort(deptIds, Comparator.naturalOrder());
+    }
+
+    private Expression buildDeptExpression(String tableName, Alias tableAlias, Set<Long> deptIds, Set<Long> deptTreeIds) {
         // 如果不存在配置，则无需作为条件
         String columnName = deptColumns.get(tableName);
         if (StrUtil.isEmpty(columnName)) {
             return null;
         }
         // 如果为空，则无条件
-        if (CollUtil.isEmpty(deptIds)) {
+        if (CollUtil.isEmpty(deptIds) && CollUtil.isEmpty(deptTreeIds)) {
             return null;
         }
-        // 拼接条件
-        return new InExpression(MyBatisUtils.buildColumn(tableName, tableAlias, columnName),
-                // Parenthesis 的目的，是提供 (1,2,3) 的 () 左右括号
-                new ParenthesedExpressionList(new ExpressionList<LongValue>(CollectionUtils.convertList(deptIds, LongValue::new))));
+        // 指定部门：dept_id IN (?, ?)
+        Expression deptExpression = null;
+        if (CollUtil.isNotEmpty(deptIds)) {
+            deptExpression = new InExpression(MyBatisUtils.buildColumn(tableName, tableAlias, columnName),
+                    buildDeptIdList(deptIds, PARAMETER_DEPT_ID_PREFIX));
+        }
+        // 部门树：dept_id IN (SELECT descendant_id FROM system_dept_closure WHERE ancestor_id IN (?, ?) AND deleted = 0)
+        Expression deptTreeExpression = null;
+        if (CollUtil.isNotEmpty(deptTreeIds)) {
+            PlainSelect closureSelect = new PlainSelect()
+                    .addSelectItems(new Column("descendant_id"))
+                    .withFromItem(new Table(DEPT_CLOSURE_TABLE_NAME))
+                    .withWhere(new AndExpression(
+                            new InExpression(new Column("ancestor_id"), buildDeptIdList(deptTreeIds, PARAMETER_DEPT_TREE_ID_PREFIX)),
+                            new EqualsTo(new Column("deleted"), new LongValue(0))));
+            deptTreeExpression = new InExpression(MyBatisUtils.buildColumn(tableName, tableAlias, columnName),
+                    new ParenthesedSelect().withSelect(closureSelect));
+        }
+        if (deptExpression == null) {
+            return deptTreeExpression;
+        }
+        if (deptTreeExpression == null) {
+            return deptExpression;
+        }
+        return new ParenthesedExpressionList<>(new OrExpression(deptExpression, deptTreeExpression));
+    }
+
+    /**
+     * 构建部门编号列表。模板模式下，部门编号使用占位参数
+     */
+    private static ParenthesedExpressionList<Expression> buildDeptIdList(Set<Long> deptIds, String parameterPrefix) {
+        List<Long> sortedDeptIds = sortDeptIds(deptIds);
+        ExpressionList<Expression> values = new ExpressionList<>();
+        for (int i = 0; i < sortedDeptIds.size(); i++) {
+            values.add(SqlRewriteCacheInnerInterceptor.isTemplate()
+                    ? SqlRewriteCacheInnerInterceptor.buildParameter(parameterPrefix + i)
+                    : new LongValue(sortedDeptIds.get(i)));
+        }
+        // Parenthesis 的目的，是提供 (1,2,3) 的 () 左右括号
+        return new ParenthesedExpressionList<>(values);
     }
 
     private Expression buildUserExpression(String tableName, Alias tableAlias, Boolean self, Long userId) {
@@ -174,7 +297,9 @@ public class DeptDataPermissionRule implements DataPermissionRule {
             return null;
         }
         // 拼接条件
-        return new EqualsTo(MyBatisUtils.buildColumn(tableName, tableAlias, columnName), new LongValue(userId));
+        return new EqualsTo(MyBatisUtils.buildColumn(tableName, tableAlias, columnName),
+                SqlRewriteCacheInnerInterceptor.isTemplate() ? SqlRewriteCacheInnerInterceptor.buildParameter(PARAMETER_USER_ID)
+                        : new LongValue(userId));
     }
 
     // ==================== 添加配置 ====================
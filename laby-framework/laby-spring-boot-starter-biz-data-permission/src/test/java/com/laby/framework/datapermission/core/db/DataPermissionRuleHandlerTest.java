@@ -0,0 +1,249 @@
+package com.laby.framework.datapermission.core.db;
+
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import com.laby.framework.common.biz.system.permission.PermissionCommonApi;
+import com.laby.framework.common.biz.system.permission.dto.DeptDataPermissionRespDTO;
+import com.laby.framework.common.enums.UserTypeEnum;
+import com.laby.framework.datapermission.core.rule.DataPermissionRuleFactory;
+import com.laby.framework.datapermission.core.rule.dept.DeptDataPermissionRule;
+import com.laby.framework.mybatis.core.rewrite.SqlRewriteCacheInnerInterceptor;
+import com.laby.framework.mybatis.core.rewrite.SqlRewriteContributor;
+import com.laby.framework.security.core.LoginUser;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link DataPermissionRuleHandler} 的单元测试
+ *
+ * 使用真实的 {@link TenantLineInnerInterceptor}、{@link DataPermissionInterceptor}，
+ * 对比 {@link SqlRewriteCacheInnerInterceptor} 开启、关闭缓存时，最终执行的 SQL 是否一致
+ *
+ * @author Laby
+ */
+public class DataPermissionRuleHandlerTest {
+
+    private static final String MAPPED_STATEMENT_ID = "com.laby.module.system.dal.mysql.user.AdminUserMapper.selectList";
+
+    private final Configuration configuration = new Configuration();
+
+    private final PermissionCommonApi permissionApi = mock(PermissionCommonApi.class);
+    private final DataPermissionRuleFactory ruleFactory = mock(DataPermissionRuleFactory.class);
+    private final TestTenantHandler tenantHandler = new TestTenantHandler();
+
+    /**
+     * 开启缓存的拦截器
+     */
+    private SqlRewriteCacheInnerInterceptor cacheInterceptor;
+    /**
+     * 关闭缓存的拦截器，即按原方式重写，作为对照
+     */
+    private SqlRewriteCacheInnerInterceptor directInterceptor;
+
+    @BeforeEach
+    public void setUp() {
+        DeptDataPermissionRule rule = new DeptDataPermissionRule(permissionApi);
+        rule.addDeptColumn("system_users", "dept_id");
+        rule.addUserColumn("system_users", "id");
+        when(ruleFactory.getDataPermissionRule(anyString())).thenReturn(List.of(rule));
+
+        cacheInterceptor = buildInterceptor(true);
+        directInterceptor = buildInterceptor(false);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testBeforeQuery_sameAsDirect() throws SQLException {
+        // mock 数据
+        tenantHandler.tenantId = 1L;
+        login(1L, Set.of(101L, 100L), Set.of(200L));
+        String sql = "SELECT id, username FROM system_users WHERE status = ?";
+
+        // 调用
+        BoundSql cached = beforeQuery(cacheInterceptor, sql);
+        BoundSql direct = beforeQuery(directInterceptor, sql);
+        // 断言：模板中不包含字面量，代入参数后与原方式一致
+        assertFalse(cached.getSql().contains("100"));
+        assertEquals(direct.getSql(), toLiteralSql(cached));
+        assertTrue(direct.getSql().contains("system_dept_closure"));
+        assertEquals(1, cacheInterceptor.size());
+    }
+
+    @Test
+    public void testBeforeQuery_reuseTemplate() throws SQLException {
+        String sql = "SELECT u.id FROM system_users u LEFT JOIN system_post p ON u.post_id = p.id WHERE u.status = ?";
+        // 调用：租户 1 + 用户 1
+        tenantHandler.tenantId = 1L;
+        login(1L, Set.of(100L, 101L), Set.of());
+        BoundSql cached01 = beforeQuery(cacheInterceptor, sql);
+        BoundSql direct01 = beforeQuery(directInterceptor, sql);
+        // 调用：租户 2 + 用户 2，可见部门数量相同
+        tenantHandler.tenantId = 2L;
+        login(2L, Set.of(300L, 301L), Set.of());
+        BoundSql cached02 = beforeQuery(cacheInterceptor, sql);
+        BoundSql direct02 = beforeQuery(directInterceptor, sql);
+
+        // 断言：共享同一个模板
+        assertEquals(cached01.getSql(), cached02.getSql());
+        assertEquals(1, cacheInterceptor.size());
+        assertEquals(1, cacheInterceptor.stats().hitCount());
+        // 断言：代入参数后，各自与原方式一致
+        assertEquals(direct01.getSql(), toLiteralSql(cached01));
+        assertEquals(direct02.getSql(), toLiteralSql(cached02));
+        assertNotEquals(direct01.getSql(), direct02.getSql());
+    }
+
+    @Test
+    public void testBeforeQuery_tableNotMatched() throws SQLException {
+        // mock 数据
+        tenantHandler.tenantId = 1L;
+        login(1L, Set.of(100L), Set.of());
+        String sql = "SELECT id, name FROM system_post WHERE status = ?";
+
+        // 调用
+        BoundSql cached = beforeQuery(cacheInterceptor, sql);
+        // 断言：规则的表没有出现在 SQL 中，不获取数据权限
+        verify(permissionApi, never()).getDeptDataPermission(any());
+        assertEquals(1, cacheInterceptor.size());
+        // 断言：与原方式一致
+        BoundSql direct = beforeQuery(directInterceptor, sql);
+        assertEquals(direct.getSql(), toLiteralSql(cached));
+        assertFalse(direct.getSql().contains("dept_id"));
+    }
+
+    @Test
+    public void testBeforeQuery_deny() throws SQLException {
+        // mock 数据：即不能查看部门，又不能查看自己
+        tenantHandler.tenantId = 1L;
+        LoginUser loginUser = buildLoginUser(1L);
+        DeptDataPermissionRespDTO deptDataPermission = new DeptDataPermissionRespDTO();
+        when(permissionApi.getDeptDataPermission(eq(1L))).thenReturn(deptDataPermission);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(loginUser, null, Collections.emptyList()));
+        String sql = "SELECT id FROM system_users WHERE status = ?";
+
+        // 调用
+        BoundSql cached = beforeQuery(cacheInterceptor, sql);
+        BoundSql direct = beforeQuery(directInterceptor, sql);
+        // 断言
+        assertEquals(direct.getSql(), toLiteralSql(cached));
+        assertTrue(direct.getSql().contains("null = null"));
+    }
+
+    private SqlRewriteCacheInnerInterceptor buildInterceptor(boolean enable) {
+        SqlRewriteCacheInnerInterceptor interceptor = new SqlRewriteCacheInnerInterceptor(enable, 100);
+        // 与 LabyTenantAutoConfiguration、LabyDataPermissionAutoConfiguration 的添加方式保持一致
+        interceptor.addInterceptor(new TenantLineInnerInterceptor(tenantHandler), tenantHandler);
+        DataPermissionRuleHandler handler = new DataPermissionRuleHandler(ruleFactory);
+        interceptor.addInterceptor(new DataPermissionInterceptor(handler), handler);
+        return interceptor;
+    }
+
+    private BoundSql beforeQuery(SqlRewriteCacheInnerInterceptor interceptor, String sql) throws SQLException {
+        MappedStatement ms = new MappedStatement.Builder(configuration, MAPPED_STATEMENT_ID,
+                new StaticSqlSource(configuration, sql), SqlCommandType.SELECT).build();
+        List<ParameterMapping> mappings = new ArrayList<>();
+        mappings.add(new ParameterMapping.Builder(configuration, "status", Integer.class).build());
+        BoundSql boundSql = new BoundSql(configuration, sql, mappings, Map.of("status", 0));
+        interceptor.beforeQuery(null, ms, boundSql.getParameterObject(), RowBounds.DEFAULT, null, boundSql);
+        return boundSql;
+    }
+
+    /**
+     * 将模板中占位参数对应的 ?，替换成参数值；原 SQL 的参数，保留 ?
+     */
+    private static String toLiteralSql(BoundSql boundSql) {
+        String sql = boundSql.getSql();
+        StringBuilder result = new StringBuilder(sql.length());
+        int index = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c != '?') {
+                result.append(c);
+                continue;
+            }
+            String property = boundSql.getParameterMappings().get(index++).getProperty();
+            result.append(boundSql.hasAdditionalParameter(property) ? boundSql.getAdditionalParameter(property) : "?");
+        }
+        assertEquals(boundSql.getParameterMappings().size(), index);
+        return result.toString();
+    }
+
+    private void login(Long userId, Set<Long> deptIds, Set<Long> deptTreeIds) {
+        DeptDataPermissionRespDTO deptDataPermission = new DeptDataPermissionRespDTO();
+        deptDataPermission.setDeptIds(deptIds);
+        deptDataPermission.setDeptTreeIds(deptTreeIds);
+        deptDataPermission.setSelf(true);
+        when(permissionApi.getDeptDataPermission(eq(userId))).thenReturn(deptDataPermission);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(buildLoginUser(userId), null, Collections.emptyList()));
+    }
+
+    private static LoginUser buildLoginUser(Long userId) {
+        LoginUser loginUser = new LoginUser();
+        loginUser.setId(userId);
+        loginUser.setUserType(UserTypeEnum.ADMIN.getValue());
+        loginUser.setTenantId(1L);
+        return loginUser;
+    }
+
+    /**
+     * 与 TenantDatabaseInterceptor 一致的多租户处理器。它在 biz-tenant 模块中，这里不引入依赖
+     */
+    private static class TestTenantHandler implements TenantLineHandler, SqlRewriteContributor {
+
+        private Long tenantId;
+
+        @Override
+        public Expression getTenantId() {
+            if (SqlRewriteCacheInnerInterceptor.isTemplate()) {
+                return SqlRewriteCacheInnerInterceptor.buildParameter("tenant_id");
+            }
+            return new LongValue(tenantId);
+        }
+
+        @Override
+        public boolean ignoreTable(String tableName) {
+            return false;
+        }
+
+        @Override
+        public boolean contribute(String mappedStatementId, String sql, StringBuilder shape,
+                                  Map<String, Supplier<?>> parameters) {
+            shape.append("tenant;");
+            parameters.put("tenant_id", () -> tenantId);
+            return true;
+        }
+
+    }
+
+}
@@ -1,9 +1,11 @@
 package com.laby.framework.ip.core.utils;
 
+import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.io.resource.ResourceUtil;
 import cn.hutool.core.lang.Assert;
 import cn.hutool.core.text.csv.CsvRow;
 import cn.hutool.core.text.csv.CsvUtil;
+import cn.hutool.core.util.StrUtil;
 import com.laby.framework.common.util.object.ObjectUtils;
 import com.laby.framework.ip.core.Area;
 import com.laby.framework.ip.core.enums.AreaTypeEnum;
@@ -17,7 +19,6 @@ import java.util.Map;
 import java.util.function.Function;
 
 import static com.laby.framework.common.util.collection.CollectionUtils.convertList;
-import static com.laby.framework.common.util.collection.CollectionUtils.findFirst;
 
 /**
  * 区域工具类
@@ -28,41 +29,33 @@ import static com.laby.framework.common.util.collection.CollectionUtils.findFirs
 public class AreaUtils {
 
     /**
-     * 初始化 SEARCHER
+     * 私有化构造
      */
-    @SuppressWarnings("InstantiationOfUtilityClass")
-    private final static AreaUtils INSTANCE = new AreaUtils();
+    private AreaUtils() {
+    }
 
     /**
-     * Area 内存缓存，提升访问速度
+     * 区域数据，首次使用时才加载，避免不需要的应用增加启动耗时、占用内存
+     *
+     * 基于 JVM 类加载机制实现懒加载，线程安全
      */
-    private static Map<Integer, Area> areas;
+    private static class Holder {
 
-    private AreaUtils() {
-        long now = System.currentTimeMillis();
-        areas = new HashMap<>();
-        areas.put(Area.ID_GLOBAL, new Area(Area.ID_GLOBAL, "全球", 0,
-                null, new ArrayList<>()));
-        // 从 csv 中加载数据
-        List<CsvRow> rows = CsvUtil.getReader().read(ResourceUtil.getUtf8Reader("area.csv")).getRows();
-        rows.remove(0); // 删除 header
-        for (CsvRow row : rows) {
-            // 创建 Area 对象
-            Area area = new Area(Integer.valueOf(row.get(0)), row.get(1), Integer.valueOf(row.get(2)),
-                    null, new ArrayList<>());
-            // 添加到 areas 中
-            areas.put(area.getId(), area);
-        }
+        private static final AreaData DATA = AreaData.load();
 
-        // 构建父子关系：因为 Area 中没有 parentId 字段，所以需要重复读取
-        for (CsvRow row : rows) {
-            Area area = areas.get(Integer.valueOf(row.get(0))); // 自己
-            Area parent = areas.get(Integer.valueOf(row.get(3))); // 父
-            Assert.isTrue(area != parent, "{}:父子节点相同", area.getName());
-            area.setParent(parent);
-            parent.getChildren().add(area);
-        }
-        log.info("启动加载 AreaUtils 成功，耗时 ({}) 毫秒", System.currentTimeMillis() - now);
+    }
+
+    private static AreaData getData() {
+        return Holder.DATA;
+    }
+
+    /**
+     * 异步预热，在后台线程中加载区域数据，避免首次请求时加载
+     */
+    public static void warmUpAsync() {
+        Thread thread = new Thread(AreaUtils::getData, "area-utils-warm-up");
+        thread.setDaemon(true);
+        thread.start();
     }
 
     /**
@@ -72,7 +65,7 @@ public class AreaUtils {
      * @return 区域
      */
     public static Area getArea(Integer id) {
-        return areas.get(id);
+        return getData().areas.get(id);
     }
 
     /**
@@ -82,13 +75,38 @@ public class AreaUtils {
      * @return 区域
      */
     public static Area parseArea(String pathStr) {
-        String[] paths = pathStr.split("/");
+        return parseArea(pathStr.split("/"));
+    }
+
+    /**
+     * 获得指定区域对应的编号
+     *
+     * @param pathStr   区域路径，例如说：上海 上海市 静安区
+     * @param separator 分隔符，例如说 {@link #format(Integer)} 使用的空格
+     * @return 区域
+     */
+    public static Area parseArea(String pathStr, String separator) {
+        return parseArea(StrUtil.splitToArray(pathStr, separator));
+    }
+
+    /**
+     * 按路径逐级查找区域，每一级通过索引查找
+     *
+     * 1. 首级（或上一级未找到时）：在所有区域中，按名字查找
+     * 2. 其它级：在上一级的子节点中，按名字查找
+     *
+     * @param paths 路径
+     * @return 区域
+     */
+    private static Area parseArea(String[] paths) {
+        AreaData data = getData();
         Area area = null;
         for (String path : paths) {
             if (area == null) {
-                area = findFirst(areas.values(), item -> item.getName().equals(path));
+                area = data.nameIndex.get(path);
             } else {
-                area = findFirst(area.getChildren(), item -> item.getName().equals(path));
+                Map<String, Area> children = data.childrenIndex.get(area.getId());
+                area = children != null ? children.get(path) : null;
             }
         }
         return area;
@@ -152,7 +170,7 @@ public class AreaUtils {
      */
     public static String format(Integer id, String separator) {
         // 获得区域
-        Area area = areas.get(id);
+        Area area = getArea(id);
         if (area == null) {
             return null;
         }
@@ -181,7 +199,7 @@ public class AreaUtils {
      * @return 区域列表
      */
     public static <T> List<T> getByType(AreaTypeEnum type, Function<Area, T> func) {
-        return convertList(areas.values(), func, area -> type.getType().equals(area.getType()));
+        return convertList(getData().areas.values(), func, area -> type.getType().equals(area.getType()));
     }
 
     /**
@@ -211,4 +229,70 @@ public class AreaUtils {
         return null;
     }
 
+    /**
+     * 区域数据及其索引
+     */
+    private static class AreaData {
+
+        /**
+         * 区域
+         *
+         * key：区域编号
+         */
+        private final Map<Integer, Area> areas = new HashMap<>();
+        /**
+         * 区域名字索引。重名时，保留 areas 遍历顺序中的第一个
+         *
+         * key：区域名字
+         */
+        private final Map<String, Area> nameIndex = new HashMap<>();
+        /**
+         * 子区域名字索引，与区域树一起构成按路径查找的 trie。重名时，保留 children 中的第一个
+         *
+         * key1：父区域编号
+         * key2：子区域名字
+         */
+        private final Map<Integer, Map<String, Area>> childrenIndex = new HashMap<>();
+
+        private static AreaData load() {
+            long now = System.currentTimeMillis();
+            AreaData data = new AreaData();
+            data.areas.put(Area.ID_GLOBAL, new Area(Area.ID_GLOBAL, "全球", 0,
+                    null, new ArrayList<>()));
+            // 从 csv 中加载数据
+            List<CsvRow> rows = CsvUtil.getReader().read(ResourceUtil.getUtf8Reader("area.csv")).getRows();
+            rows.remove(0); // 删除 header
+            for (CsvRow row : rows) {
+                // 创建 Area 对象
+                Area area = new Area(Integer.valueOf(row.get(0)), row.get(1), Integer.valueOf(row.get(2)),
+                        null, new ArrayList<>());
+                // 添加到 areas 中
+                data.areas.put(area.getId(), area);
+            }
+
+            // 构建父子关系：因为 Area 中没有 parentId 字段，所以需要重复读取
+            for (CsvRow row : rows) {
+                Area area = data.areas.get(Integer.valueOf(row.get(0))); // 自己
+                Area parent = data.areas.get(Integer.valueOf(row.get(3))); // 父
+                Assert.isTrue(area != parent, "{}:父子节点相同", area.getName());
+                area.setParent(parent);
+                parent.getChildren().add(area);
+            }
+
+            // 构建索引
+            data.areas.values().forEach(area -> {
+                data.nameIndex.putIfAbsent(area.getName(), area);
+                if (CollUtil.isEmpty(area.getChildren())) {
+                    return;
+                }
+                Map<String, Area> children = new HashMap<>(area.getChildren().size() * 4 / 3 + 1);
+                area.getChildren().forEach(child -> children.putIfAbsent(child.getName(), child));
+                data.childrenIndex.put(area.getId(), children);
+            });
+            log.info("加载 AreaUtils 成功，耗时 ({}) 毫秒", System.currentTimeMillis() - now);
+            return data;
+        }
+
+    }
+
 }
@@ -19,28 +19,49 @@ import java.io.IOException;
 public class IPUtils {
 
     /**
-     * 初始化 SEARCHER
+     * 私有化构造
      */
-    @SuppressWarnings("InstantiationOfUtilityClass")
-    private final static IPUtils INSTANCE = new IPUtils();
+    private IPUtils() {
+    }
 
     /**
-     * IP 查询器，启动加载到内存中
+     * IP 查询器，首次使用时才加载到内存中，避免不需要的应用增加启动耗时、占用内存
+     *
+     * 基于 JVM 类加载机制实现懒加载，线程安全
      */
-    private static Searcher SEARCHER;
+    private static class Holder {
+
+        private static final Searcher SEARCHER = loadSearcher();
+
+        private static Searcher loadSearcher() {
+            try {
+                long now = System.currentTimeMillis();
+                byte[] bytes = ResourceUtil.readBytes("ip2region.xdb");
+                Searcher searcher = Searcher.newWithBuffer(bytes);
+                log.info("加载 IPUtils 成功，耗时 ({}) 毫秒", System.currentTimeMillis() - now);
+                return searcher;
+            } catch (IOException e) {
+                log.error("加载 IPUtils 失败", e);
+                return null;
+            }
+        }
+
+    }
+
+    private static Searcher getSearcher() {
+        return Holder.SEARCHER;
+    }
 
     /**
-     * 私有化构造
+     * 异步预热，在后台线程中加载 IP 数据、区域数据，避免首次请求时加载
      */
-    private IPUtils() {
-        try {
-            long now = System.currentTimeMillis();
-            byte[] bytes = ResourceUtil.readBytes("ip2region.xdb");
-            SEARCHER = Searcher.newWithBuffer(bytes);
-            log.info("启动加载 IPUtils 成功，耗时 ({}) 毫秒", System.currentTimeMillis() - now);
-        } catch (IOException e) {
-            log.error("启动加载 IPUtils 失败", e);
-        }
+    public static void warmUpAsync() {
+        Thread thread = new Thread(() -> {
+            getSearcher();
+            AreaUtils.getArea(Area.ID_GLOBAL);
+        }, "ip-utils-warm-up");
+        thread.setDaemon(true);
+        thread.start();
     }
 
     /**
@@ -51,7 +72,7 @@ public class IPUtils {
      */
     @SneakyThrows
     public static Integer getAreaId(String ip) {
-        return Integer.parseInt(SEARCHER.search(ip.trim()));
+        return Integer.parseInt(getSearcher().search(ip.trim()));
     }
 
     /**
@@ -62,7 +83,7 @@ public class IPUtils {
      */
     @SneakyThrows
     public static Integer getAreaId(long ip) {
-        return Integer.parseInt(SEARCHER.search(ip));
+        return Integer.parseInt(getSearcher().search(ip));
     }
 
     /**
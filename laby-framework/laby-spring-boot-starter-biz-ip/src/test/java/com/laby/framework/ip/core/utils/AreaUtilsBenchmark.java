@@ -0,0 +1,72 @@
+package com.laby.framework.ip.core.utils;
+
+import com.laby.framework.ip.core.Area;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AreaUtils}、{@link IPUtils} 的 JMH 微基准测试：索引查找与原线性查找的对比
+ *
+ * 不是单测，不会被 mvn test 执行。运行方式：先 mvn test-compile，再在 IDE 中运行 {@link #main(String[])}
+ *
+ * @author Laby
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AreaUtilsBenchmark {
+
+    /**
+     * 测试的路径：全路径、重名的区域名、中间某一级不存在
+     */
+    @Param({"北京市/北京市/东城区", "朝阳区", "上海市/不存在的区域/静安区"})
+    private String path;
+
+    private String[] paths;
+    private AreaUtilsTest.LegacyAreaLookup legacy;
+
+    @Setup
+    public void setUp() {
+        paths = path.split("/");
+        legacy = new AreaUtilsTest.LegacyAreaLookup();
+        // 提前加载，避免首次加载计入测量
+        AreaUtils.getArea(Area.ID_CHINA);
+        IPUtils.getAreaId("120.202.4.0");
+    }
+
+    /**
+     * 优化后：按名字、子区域名字索引查找
+     */
+    @Benchmark
+    public Area parseArea() {
+        return AreaUtils.parseArea(path);
+    }
+
+    /**
+     * 优化前：逐级线性查找
+     */
+    @Benchmark
+    public Area legacyParseArea() {
+        return legacy.parseArea(paths);
+    }
+
+    /**
+     * IP 解析为区域：ip2region 查找 + 区域编号查找
+     */
+    @Benchmark
+    public Area getAreaByIp() {
+        return IPUtils.getArea("120.202.4.0");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AreaUtilsBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.laby.framework.ip.core.utils;
+
+import cn.hutool.core.io.resource.ResourceUtil;
+import cn.hutool.core.text.csv.CsvRow;
+import cn.hutool.core.text.csv.CsvUtil;
+import com.laby.framework.ip.core.Area;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link AreaUtils} 的单元测试
+ *
+ * 重放 area.csv，对比索引查找与原线性查找（{@link LegacyAreaLookup}）的结果，确保行为一致，包括重名、上一级未找到时重新从所有区域查找等情况
+ *
+ * @author Laby
+ */
+public class AreaUtilsTest {
+
+    private static LegacyAreaLookup legacy;
+
+    @BeforeAll
+    public static void setUp() {
+        legacy = new LegacyAreaLookup();
+    }
+
+    @Test
+    public void testGetArea() {
+        // 调用
+        Area area = AreaUtils.getArea(110100);
+        // 断言
+        assertEquals("北京市", area.getName());
+        assertEquals(110000, area.getParent().getId());
+        assertNull(AreaUtils.getArea(-1));
+    }
+
+    @Test
+    public void testParseArea_fullPath() {
+        for (Area area : legacy.areas.values()) {
+            // 准备参数：从顶级区域到自己的全路径，例如说 中国/北京市/北京市/东城区
+            String path = buildPath(area);
+            // 调用，并断言
+            assertSameArea(legacy.parseArea(path.split("/")), AreaUtils.parseArea(path), path);
+        }
+    }
+
+    @Test
+    public void testParseArea_name() {
+        for (Area area : legacy.areas.values()) {
+            // 调用，并断言：只有名字时，重名的区域需要与原实现返回同一个
+            assertSameArea(legacy.parseArea(new String[]{area.getName()}), AreaUtils.parseArea(area.getName()),
+                    area.getName());
+        }
+    }
+
+    @Test
+    public void testParseArea_format() {
+        for (Area area : legacy.areas.values()) {
+            // 准备参数：format 的结果，例如说 北京市 北京市 东城区
+            String formatted = AreaUtils.format(area.getId());
+            if (formatted == null) {
+                continue;
+            }
+            // 调用，并断言
+            assertSameArea(legacy.parseArea(formatted.split(" ")), AreaUtils.parseArea(formatted, " "), formatted);
+        }
+    }
+
+    @Test
+    public void testParseArea_miss() {
+        for (Area area : legacy.areas.values()) {
+            if (area.getParent() == null) {
+                continue;
+            }
+            // 准备参数：中间某一级不存在，此时从所有区域中重新查找
+            String path = area.getParent().getName() + "/不存在的区域/" + area.getName();
+            // 调用，并断言
+            assertSameArea(legacy.parseArea(path.split("/")), AreaUtils.parseArea(path), path);
+        }
+        assertNull(AreaUtils.parseArea("不存在的区域"));
+    }
+
+    @Test
+    public void testFormat() {
+        assertEquals("北京市 北京市 东城区", AreaUtils.format(110101));
+        assertEquals("北京市/北京市", AreaUtils.format(110100, "/"));
+        assertEquals("美国", AreaUtils.format(AreaUtils.parseArea("美国").getId()));
+        assertNull(AreaUtils.format(-1));
+    }
+
+    private static String buildPath(Area area) {
+        StringBuilder path = new StringBuilder(area.getName());
+        for (Area parent = area.getParent(); parent != null && !Area.ID_GLOBAL.equals(parent.getId());
+             parent = parent.getParent()) {
+            path.insert(0, parent.getName() + "/");
+        }
+        return path.toString();
+    }
+
+    private static void assertSameArea(Area expected, Area actual, String path) {
+        if (expected == null) {
+            assertNull(actual, path);
+            return;
+        }
+        assertNotNull(actual, path);
+        assertEquals(expected.getId(), actual.getId(), path);
+    }
+
+    /**
+     * 原实现：与 AreaUtils 相同方式加载 area.csv，按路径逐级在所有区域、子区域中线性查找
+     *
+     * 也被 {@link AreaUtilsBenchmark} 用作对照
+     */
+    static class LegacyAreaLookup {
+
+        private final Map<Integer, Area> areas = new HashMap<>();
+
+        LegacyAreaLookup() {
+            areas.put(Area.ID_GLOBAL, new Area(Area.ID_GLOBAL, "全球", 0,
+                    null, new ArrayList<>()));
+            List<CsvRow> rows = CsvUtil.getReader().read(ResourceUtil.getUtf8Reader("area.csv")).getRows();
+            rows.remove(0); // 删除 header
+            for (CsvRow row : rows) {
+                Area area = new Area(Integer.valueOf(row.get(0)), row.get(1), Integer.valueOf(row.get(2)),
+                        null, new ArrayList<>());
+                areas.put(area.getId(), area);
+            }
+            for (CsvRow row : rows) {
+                Area area = areas.get(Integer.valueOf(row.get(0)));
+                Area parent = areas.get(Integer.valueOf(row.get(3)));
+                area.setParent(parent);
+                parent.getChildren().add(area);
+            }
+        }
+
+        Area parseArea(String[] paths) {
+            Area area = null;
+            for (String path : paths) {
+                if (area == null) {
+                    area = findFirst(areas.values(), path);
+                } else {
+                    area = findFirst(area.getChildren(), path);
+                }
+            }
+            return area;
+        }
+
+        private static Area findFirst(Iterable<Area> areas, String name) {
+            for (Area area : areas) {
+                if (area.getName().equals(name)) {
+                    return area;
+                }
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -2,7 +2,7 @@ package com.laby.framework.tenant.config;
 
 import com.laby.framework.common.biz.system.tenant.TenantCommonApi;
 import com.laby.framework.common.enums.WebFilterOrderEnum;
-import com.laby.framework.mybatis.core.util.MyBatisUtils;
+import com.laby.framework.mybatis.core.rewrite.SqlRewriteCacheInnerInterceptor;
 import com.laby.framework.redis.config.LabyCacheProperties;
 import com.laby.framework.security.core.service.SecurityFrameworkService;
 import com.laby.framework.tenant.core.aop.TenantIgnore;
@@ -20,7 +20,6 @@ import com.laby.framework.tenant.core.web.TenantContextWebFilter;
 import com.laby.framework.tenant.core.web.TenantVisitContextInterceptor;
 import com.laby.framework.web.config.WebProperties;
 import com.laby.framework.web.core.handler.GlobalExceptionHandler;
-import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
 import jakarta.annotation.Resource;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -72,11 +71,11 @@ public class LabyTenantAutoConfiguration {
 
     @Bean
     public TenantLineInnerInterceptor tenantLineInnerInterceptor(TenantProperties properties,
-                                                                 MybatisPlusInterceptor interceptor) {
-        TenantLineInnerInterceptor inner = new TenantLineInnerInterceptor(new TenantDatabaseInterceptor(properties));
-        // 添加到 interceptor 中
-        // 需要加在首个，主要是为了在分页插件前面。这个是 MyBatis Plus 的规定
-        MyBatisUtils.addInterceptor(interceptor, inner, 0);
+                                                                 SqlRewriteCacheInnerInterceptor sqlRewriteCacheInterceptor) {
+        TenantDatabaseInterceptor handler = new TenantDatabaseInterceptor(properties);
+        TenantLineInnerInterceptor inner = new TenantLineInnerInterceptor(handler);
+        // 添加到 SQL 重写缓存拦截器中，它位于 interceptor 的首个，在分页插件前面。这个是 MyBatis Plus 的规定
+        sqlRewriteCacheInterceptor.addInterceptor(inner, handler);
         return inner;
     }
 
@@ -1,5 +1,7 @@
 package com.laby.framework.tenant.core.db;
 
+import com.laby.framework.mybatis.core.rewrite.SqlRewriteCacheInnerInterceptor;
+import com.laby.framework.mybatis.core.rewrite.SqlRewriteContributor;
 import com.laby.framework.tenant.config.TenantProperties;
 import com.laby.framework.tenant.core.aop.TenantIgnore;
 import com.laby.framework.tenant.core.context.TenantContextHolder;
@@ -10,26 +12,30 @@ import com.baomidou.mybatisplus.extension.toolkit.SqlParserUtils;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.LongValue;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * 基于 MyBatis Plus 多租户的功能，实现 DB 层面的多租户的功能
  *
+ * 配合 {@link SqlRewriteCacheInnerInterceptor} 使用时，租户编号以绑定参数的方式传入，所有租户共享重写后的 SQL
+ *
  * @author Laby
  */
-public class TenantDatabaseInterceptor implements TenantLineHandler {
+public class TenantDatabaseInterceptor implements TenantLineHandler, SqlRewriteContributor {
+
+    private static final String PARAMETER_TENANT_ID = "tenant_id";
 
     /**
      * 忽略的表
      *
-     * KEY：表名
+     * KEY：表名（小写）
      * VALUE：是否忽略
      */
-    private final Map<String, Boolean> ignoreTables = new HashMap<>();
+    private final Map<String, Boolean> ignoreTables = new ConcurrentHashMap<>();
 
     public TenantDatabaseInterceptor(TenantProperties properties) {
-        // 不同 DB 下，大小写的习惯不同，所以需要都添加进去
         properties.getIgnoreTables().forEach(table -> {
             addIgnoreTable(table, true);
         });
@@ -39,9 +45,24 @@ public class TenantDatabaseInterceptor implements TenantLineHandler {
 
     @Override
     public Expression getTenantId() {
+        if (SqlRewriteCacheInnerInterceptor.isTemplate()) {
+            return SqlRewriteCacheInnerInterceptor.buildParameter(PARAMETER_TENANT_ID);
+        }
         return new LongValue(TenantContextHolder.getRequiredTenantId());
     }
 
+    @Override
+    public boolean contribute(String mappedStatementId, String sql, StringBuilder shape, Map<String, Supplier<?>> parameters) {
+        // 忽略租户时，不拼接租户条件，SQL 结构不同
+        if (TenantContextHolder.isIgnore()) {
+            shape.append("tenant:ignore;");
+            return true;
+        }
+        shape.append("tenant;");
+        parameters.put(PARAMETER_TENANT_ID, TenantContextHolder::getRequiredTenantId);
+        return true;
+    }
+
     @Override
     public boolean ignoreTable(String tableName) {
         // 情况一，全局忽略多租户
@@ -49,20 +70,13 @@ public class TenantDatabaseInterceptor implements TenantLineHandler {
             return true;
         }
         // 情况二，忽略多租户的表
-        tableName = SqlParserUtils.removeWrapperSymbol(tableName);
-        Boolean ignore = ignoreTables.get(tableName.toLowerCase());
-        if (ignore == null) {
-            ignore = computeIgnoreTable(tableName);
-            synchronized (ignoreTables) {
-                addIgnoreTable(tableName, ignore);
-            }
-        }
-        return ignore;
+        String table = SqlParserUtils.removeWrapperSymbol(tableName);
+        return ignoreTables.computeIfAbsent(table.toLowerCase(), key -> computeIgnoreTable(table));
     }
 
     private void addIgnoreTable(String tableName, boolean ignore) {
+        // 不同 DB 下，大小写的习惯不同，统一使用小写作为 KEY
         ignoreTables.put(tableName.toLowerCase(), ignore);
-        ignoreTables.put(tableName.toUpperCase(), ignore);
     }
 
     private boolean computeIgnoreTable(String tableName) {
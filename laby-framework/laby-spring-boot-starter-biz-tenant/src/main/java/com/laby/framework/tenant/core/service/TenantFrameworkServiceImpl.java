@@ -3,10 +3,9 @@ package com.laby.framework.tenant.core.service;
 import com.laby.framework.common.biz.system.tenant.TenantCommonApi;
 import com.laby.framework.common.exception.ServiceException;
 import com.laby.framework.common.util.cache.CacheUtils;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 
 import java.time.Duration;
 import java.util.List;
@@ -27,7 +26,7 @@ public class TenantFrameworkServiceImpl implements TenantFrameworkService {
      * 针对 {@link #getTenantIds()} 的缓存
      */
     private final LoadingCache<Object, List<Long>> getTenantIdsCache = CacheUtils.buildAsyncReloadingCache(
-            Duration.ofMinutes(1L), // 过期时间 1 分钟
+            "tenant_ids", Duration.ofMinutes(1L), // 过期时间 1 分钟
             new CacheLoader<Object, List<Long>>() {
 
                 @Override
@@ -41,7 +40,7 @@ public class TenantFrameworkServiceImpl implements TenantFrameworkService {
      * 针对 {@link #validTenant(Long)} 的缓存
      */
     private final LoadingCache<Long, ServiceException> validTenantCache = CacheUtils.buildAsyncReloadingCache(
-            Duration.ofMinutes(1L), // 过期时间 1 分钟
+            "tenant_valid", Duration.ofMinutes(1L), // 过期时间 1 分钟
             new CacheLoader<Long, ServiceException>() {
 
                 @Override
@@ -57,14 +56,13 @@ public class TenantFrameworkServiceImpl implements TenantFrameworkService {
             });
 
     @Override
-    @SneakyThrows
     public List<Long> getTenantIds() {
         return getTenantIdsCache.get(Boolean.TRUE);
     }
 
     @Override
     public void validTenant(Long id) {
-        ServiceException serviceException = validTenantCache.getUnchecked(id);
+        ServiceException serviceException = validTenantCache.get(id);
         if (serviceException != SERVICE_EXCEPTION_NULL) {
             throw serviceException;
         }
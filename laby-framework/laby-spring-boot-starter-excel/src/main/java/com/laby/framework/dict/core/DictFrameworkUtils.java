@@ -1,23 +1,23 @@
 package com.laby.framework.dict.core;
 
-import cn.hutool.core.collection.CollUtil;
 import com.laby.framework.common.biz.system.dict.DictDataCommonApi;
 import com.laby.framework.common.util.cache.CacheUtils;
 import com.laby.framework.common.biz.system.dict.dto.DictDataRespDTO;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import lombok.SneakyThrows;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 import static com.laby.framework.common.util.collection.CollectionUtils.convertList;
 
 /**
  * 字典工具类
  *
+ * 每个 dictType 的字典数据，缓存为不可变的 {@link DictIndex} 索引，value、label 的互相转换为 O(1) 的哈希查找。
+ * 字典数据变更时，通过 {@link #clearCache(String)} 失效；同时每 1 分钟异步刷新一次，兜底失效消息丢失的情况
+ *
  * @author Laby
  */
 @Slf4j
@@ -28,13 +28,13 @@ public class DictFrameworkUtils {
     /**
      * 针对 dictType 的字段数据缓存
      */
-    private static final LoadingCache<String, List<DictDataRespDTO>> GET_DICT_DATA_CACHE = CacheUtils.buildAsyncReloadingCache(
-            Duration.ofMinutes(1L), // 过期时间 1 分钟
-            new CacheLoader<String, List<DictDataRespDTO>>() {
+    private static final LoadingCache<String, DictIndex> GET_DICT_DATA_CACHE = CacheUtils.buildAsyncReloadingCache(
+            "dict_data", Duration.ofMinutes(1L), // 过期时间 1 分钟
+            new CacheLoader<String, DictIndex>() {
 
                 @Override
-                public List<DictDataRespDTO> load(String dictType) {
-                    return dictDataApi.getDictDataList(dictType);
+                public DictIndex load(String dictType) {
+                    return new DictIndex(dictDataApi.getDictDataList(dictType));
                 }
 
             });
@@ -48,7 +48,19 @@ public class DictFrameworkUtils {
         GET_DICT_DATA_CACHE.invalidateAll();
     }
 
-    @SneakyThrows
+    /**
+     * 失效指定 dictType 的缓存
+     *
+     * @param dictType 字典类型；为空时，失效所有缓存
+     */
+    public static void clearCache(String dictType) {
+        if (dictType == null) {
+            clearCache();
+            return;
+        }
+        GET_DICT_DATA_CACHE.invalidate(dictType);
+    }
+
     public static String parseDictDataLabel(String dictType, Integer value) {
         if (value == null) {
             return null;
@@ -56,29 +68,60 @@ public class DictFrameworkUtils {
         return parseDictDataLabel(dictType, String.valueOf(value));
     }
 
-    @SneakyThrows
     public static String parseDictDataLabel(String dictType, String value) {
-        List<DictDataRespDTO> dictDatas = GET_DICT_DATA_CACHE.get(dictType);
-        DictDataRespDTO dictData = CollUtil.findOne(dictDatas, data -> Objects.equals(data.getValue(), value));
-        return dictData != null ? dictData.getLabel(): null;
+        if (value == null) {
+            return null;
+        }
+        return GET_DICT_DATA_CACHE.get(dictType).valueToLabel.get(value);
     }
 
-    @SneakyThrows
     public static List<String> getDictDataLabelList(String dictType) {
-        List<DictDataRespDTO> dictDatas = GET_DICT_DATA_CACHE.get(dictType);
-        return convertList(dictDatas, DictDataRespDTO::getLabel);
+        return GET_DICT_DATA_CACHE.get(dictType).labels;
     }
 
-    @SneakyThrows
     public static String parseDictDataValue(String dictType, String label) {
-        List<DictDataRespDTO> dictDatas = GET_DICT_DATA_CACHE.get(dictType);
-        DictDataRespDTO dictData = CollUtil.findOne(dictDatas, data -> Objects.equals(data.getLabel(), label));
-        return dictData!= null ? dictData.getValue(): null;
+        if (label == null) {
+            return null;
+        }
+        return GET_DICT_DATA_CACHE.get(dictType).labelToValue.get(label);
     }
 
-    @SneakyThrows
     public static List<String> getDictDataValueList(String dictType) {
-        List<DictDataRespDTO> dictDatas = GET_DICT_DATA_CACHE.get(dictType);
-        return convertList(dictDatas, DictDataRespDTO::getValue);
+        return GET_DICT_DATA_CACHE.get(dictType).values;
+    }
+
+    /**
+     * 单个 dictType 的字典数据索引
+     *
+     * 构建后不可变，刷新时整体替换，所以读取无需加锁。
+     * value、label 重复时，保留第一个，与原先按列表顺序查找的结果一致
+     */
+    private static class DictIndex {
+
+        private final Map<String, String> valueToLabel;
+        private final Map<String, String> labelToValue;
+        private final List<String> values;
+        private final List<String> labels;
+
+        private DictIndex(List<DictDataRespDTO> dictDatas) {
+            Map<String, String> valueToLabel = new HashMap<>();
+            Map<String, String> labelToValue = new HashMap<>();
+            if (dictDatas != null) {
+                dictDatas.forEach(dictData -> {
+                    if (dictData.getValue() != null) {
+                        valueToLabel.putIfAbsent(dictData.getValue(), dictData.getLabel());
+                    }
+                    if (dictData.getLabel() != null) {
+                        labelToValue.putIfAbsent(dictData.getLabel(), dictData.getValue());
+                    }
+                });
+            }
+            this.valueToLabel = Collections.unmodifiableMap(valueToLabel);
+            this.labelToValue = Collections.unmodifiableMap(labelToValue);
+            this.values = Collections.unmodifiableList(convertList(dictDatas, DictDataRespDTO::getValue));
+            this.labels = Collections.unmodifiableList(convertList(dictDatas, DictDataRespDTO::getLabel));
+        }
+
     }
+
 }
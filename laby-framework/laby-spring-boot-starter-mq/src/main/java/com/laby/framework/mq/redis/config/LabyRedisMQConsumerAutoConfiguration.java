@@ -6,16 +6,24 @@ import cn.hutool.system.SystemUtil;
 import com.laby.framework.common.enums.DocumentEnum;
 import com.laby.framework.mq.redis.core.RedisMQTemplate;
 import com.laby.framework.mq.redis.core.job.RedisPendingMessageResendJob;
+import com.laby.framework.mq.redis.core.job.RedisStreamLagMetricsJob;
 import com.laby.framework.mq.redis.core.job.RedisStreamMessageCleanupJob;
 import com.laby.framework.mq.redis.core.pubsub.AbstractRedisChannelMessageListener;
+import com.laby.framework.mq.redis.core.stream.AbstractRedisStreamBatchMessageListener;
 import com.laby.framework.mq.redis.core.stream.AbstractRedisStreamMessageListener;
+import com.laby.framework.mq.redis.core.stream.RedisStreamBatchMessageListenerContainer;
+import com.laby.framework.mq.redis.core.stream.RedisStreamDeadLetterManager;
+import io.micrometer.core.instrument.MeterRegistry;
 import com.laby.framework.redis.config.LabyRedisAutoConfiguration;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisServerCommands;
 import org.springframework.data.redis.connection.stream.Consumer;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
@@ -68,9 +76,21 @@ public class LabyRedisMQConsumerAutoConfiguration {
     @Bean
     @ConditionalOnBean(AbstractRedisStreamMessageListener.class) // 只有 AbstractStreamMessageListener 存在的时候，才需要注册 Redis pubsub 监听
     public RedisPendingMessageResendJob redisPendingMessageResendJob(List<AbstractRedisStreamMessageListener<?>> listeners,
-                                                                     RedisMQTemplate redisTemplate,
-                                                                     RedissonClient redissonClient) {
-        return new RedisPendingMessageResendJob(listeners, redisTemplate, redissonClient);
+                                                                     RedissonClient redissonClient,
+                                                                     RedisStreamDeadLetterManager redisStreamDeadLetterManager) {
+        return new RedisPendingMessageResendJob(listeners, redissonClient, redisStreamDeadLetterManager,
+                buildConsumerName());
+    }
+
+    /**
+     * 创建 Redis Stream 死信管理器
+     *
+     * 不存在监听器时也创建，便于管理后台统一查看
+     */
+    @Bean
+    public RedisStreamDeadLetterManager redisStreamDeadLetterManager(
+            RedissonClient redissonClient, ObjectProvider<AbstractRedisStreamMessageListener<?>> listeners) {
+        return new RedisStreamDeadLetterManager(redissonClient, listeners.orderedStream().toList());
     }
 
     /**
@@ -109,6 +129,10 @@ public class LabyRedisMQConsumerAutoConfiguration {
         // 第二步，注册监听器，消费对应的 Stream 主题
         String consumerName = buildConsumerName();
         listeners.parallelStream().forEach(listener -> {
+            // 批量监听器，由 RedisStreamBatchMessageListenerContainer 注册
+            if (listener instanceof AbstractRedisStreamBatchMessageListener) {
+                return;
+            }
             log.info("[redisStreamMessageListenerContainer][开始注册 StreamKey({}) 对应的监听器({})]",
                     listener.getStreamKey(), listener.getClass().getName());
             // 创建 listener 对应的消费者分组
@@ -134,6 +158,52 @@ public class LabyRedisMQConsumerAutoConfiguration {
         return container;
     }
 
+    /**
+     * 创建 Redis Stream 批量消费的容器
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnBean(AbstractRedisStreamBatchMessageListener.class)
+    public RedisStreamBatchMessageListenerContainer redisStreamBatchMessageListenerContainer(
+            RedisMQTemplate redisMQTemplate, List<AbstractRedisStreamBatchMessageListener<?>> listeners) {
+        RedisTemplate<String, ?> redisTemplate = redisMQTemplate.getRedisTemplate();
+        checkRedisVersion(redisTemplate);
+        RedisStreamBatchMessageListenerContainer container = new RedisStreamBatchMessageListenerContainer(
+                redisMQTemplate, buildConsumerName());
+        listeners.forEach(listener -> {
+            // 创建 listener 对应的消费者分组
+            try {
+                redisTemplate.opsForStream().createGroup(listener.getStreamKey(), listener.getGroup());
+            } catch (Exception ignore) {
+            }
+            // 设置 listener 对应的 redisTemplate
+            listener.setRedisMQTemplate(redisMQTemplate);
+            container.register(listener);
+            log.info("[redisStreamBatchMessageListenerContainer][完成注册 StreamKey({}) 对应的批量监听器({}) batchSize({})]",
+                    listener.getStreamKey(), listener.getClass().getName(), listener.getBatchSize());
+        });
+        return container;
+    }
+
+    /**
+     * Redis Stream 监控配置类，存在 Micrometer 时才生效
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class RedisStreamMetricsConfiguration {
+
+        /**
+         * 创建 Redis Stream 消费积压的监控任务
+         */
+        @Bean
+        @ConditionalOnBean({AbstractRedisStreamMessageListener.class, MeterRegistry.class})
+        public RedisStreamLagMetricsJob redisStreamLagMetricsJob(List<AbstractRedisStreamMessageListener<?>> listeners,
+                                                                 RedisMQTemplate redisTemplate,
+                                                                 MeterRegistry meterRegistry) {
+            return new RedisStreamLagMetricsJob(listeners, redisTemplate, meterRegistry);
+        }
+
+    }
+
     /**
      * 构建消费者名字，使用本地 IP + 进程编号的方式。
      * 参考自 RocketMQ clientId 的实现
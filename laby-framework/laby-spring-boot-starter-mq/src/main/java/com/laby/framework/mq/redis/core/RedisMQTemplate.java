@@ -1,5 +1,6 @@
 package com.laby.framework.mq.redis.core;
 
+import cn.hutool.core.collection.CollUtil;
 import com.laby.framework.common.util.json.JsonUtils;
 import com.laby.framework.mq.redis.core.interceptor.RedisMessageInterceptor;
 import com.laby.framework.mq.redis.core.message.AbstractRedisMessage;
@@ -7,11 +8,15 @@ import com.laby.framework.mq.redis.core.pubsub.AbstractRedisChannelMessage;
 import com.laby.framework.mq.redis.core.stream.AbstractRedisStreamMessage;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -63,6 +68,44 @@ public class RedisMQTemplate {
         }
     }
 
+    /**
+     * 批量发送 Redis 消息，基于 Redis Stream 实现
+     *
+     * 通过 pipeline 一次性发送多个 XADD 命令，每条消息依然执行拦截器
+     *
+     * @param messages 消息列表
+     * @return 消息记录的编号对象列表，和 messages 顺序一致
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T extends AbstractRedisStreamMessage> List<RecordId> sendBatch(List<T> messages) {
+        if (CollUtil.isEmpty(messages)) {
+            return Collections.emptyList();
+        }
+        try {
+            // 拦截器需要先执行，例如说设置租户 header，之后才能序列化
+            List<ObjectRecord<String, String>> records = new ArrayList<>(messages.size());
+            messages.forEach(message -> {
+                sendMessageBefore(message);
+                records.add(StreamRecords.newRecord()
+                        .ofObject(JsonUtils.toJsonString(message)) // 设置内容
+                        .withStreamKey(message.getStreamKey())); // 设置 stream key
+            });
+            // 发送消息
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+
+                @Override
+                public Object execute(RedisOperations operations) {
+                    records.forEach(record -> operations.opsForStream().add(record));
+                    return null;
+                }
+
+            });
+            return (List<RecordId>) (List<?>) results;
+        } finally {
+            messages.forEach(this::sendMessageAfter);
+        }
+    }
+
     /**
      * 添加拦截器
      *
@@ -1,23 +1,32 @@
 package com.laby.framework.mq.redis.core.job;
 
 import cn.hutool.core.collection.CollUtil;
-import com.laby.framework.mq.redis.core.RedisMQTemplate;
+import com.laby.framework.mq.redis.core.stream.AbstractRedisStreamBatchMessageListener;
 import com.laby.framework.mq.redis.core.stream.AbstractRedisStreamMessageListener;
+import com.laby.framework.mq.redis.core.stream.RedisStreamDeadLetterManager;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
-import org.springframework.data.domain.Range;
-import org.springframework.data.redis.connection.stream.*;
-import org.springframework.data.redis.core.StreamOperations;
+import org.redisson.api.*;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
 import org.springframework.scheduling.annotation.Scheduled;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 这个任务用于处理，crash 之后的消费者未消费完的消息
+ *
+ * 基于 XAUTOCLAIM 实现，按批次将超时的 pending 消息认领到当前消费者，然后：
+ * 1. 投递次数超过 {@link #MAX_DELIVERY_COUNT} 的，移动到死信，参见 {@link RedisStreamDeadLetterManager}
+ * 2. 投递次数未超过的，由当前节点交给监听器消费，每个监听器每次最多 {@link #MAX_RECONSUME_COUNT} 条
+ *
+ * 全局锁只保护认领、移动到死信这两步 Redis 操作；监听器的业务逻辑在释放锁之后执行，避免单次执行时间过长。
+ * 认领后消息的空闲时间被重置，在 {@link #EXPIRE_TIME} 内不会被其它节点重复认领；超过数量未认领的，留给下次执行
+ *
+ * 每批只需要 XAUTOCLAIM + XPENDING 两次请求，而不是每条消息 XRANGE + XADD + XACK 三次请求
  */
 @Slf4j
 @AllArgsConstructor
@@ -33,9 +42,37 @@ public class RedisPendingMessageResendJob {
      */
     private static final int EXPIRE_TIME = 5 * 60;
 
+    /**
+     * 最大投递次数，超过后移动到死信
+     *
+     * 首次投递为 1 次，之后每次 XAUTOCLAIM 认领加 1 次
+     */
+    private static final int MAX_DELIVERY_COUNT = 5;
+
+    /**
+     * 每批认领的消息数
+     */
+    private static final int BATCH_SIZE = 100;
+    /**
+     * 每个监听器每次执行最多认领的批数，避免积压较多时，单次执行时间过长
+     */
+    private static final int MAX_BATCH_COUNT = 50;
+    /**
+     * 每个监听器每次执行最多重新消费的消息数
+     *
+     * 移动到死信只是 Redis 操作，不受该限制；重新消费会执行监听器的业务逻辑，需要限制
+     */
+    private static final int MAX_RECONSUME_COUNT = 100;
+
+    private static final StreamMessageId START_ID = new StreamMessageId(0, 0);
+
     private final List<AbstractRedisStreamMessageListener<?>> listeners;
-    private final RedisMQTemplate redisTemplate;
     private final RedissonClient redissonClient;
+    private final RedisStreamDeadLetterManager deadLetterManager;
+    /**
+     * 认领消息的消费者名字
+     */
+    private final String consumerName;
 
     /**
      * 一分钟执行一次,这里选择每分钟的 35 秒执行，是为了避免整点任务过多的问题
@@ -44,56 +81,121 @@ public class RedisPendingMessageResendJob {
     public void messageResend() {
         RLock lock = redissonClient.getLock(LOCK_KEY);
         // 尝试加锁
-        if (lock.tryLock()) {
+        if (!lock.tryLock()) {
+            return;
+        }
+        // 1. 加锁，认领超时的消息
+        Map<AbstractRedisStreamMessageListener<?>, List<ObjectRecord<String, String>>> claimedRecords;
+        try {
+            claimedRecords = claim();
+        } catch (Exception ex) {
+            log.error("[messageResend][执行异常]", ex);
+            return;
+        } finally {
+            lock.unlock();
+        }
+        // 2. 释放锁后，重新消费
+        claimedRecords.forEach(this::reconsume);
+    }
+
+    private Map<AbstractRedisStreamMessageListener<?>, List<ObjectRecord<String, String>>> claim() {
+        Map<AbstractRedisStreamMessageListener<?>, List<ObjectRecord<String, String>>> claimedRecords = new LinkedHashMap<>();
+        listeners.forEach(listener -> {
             try {
-                execute();
+                List<ObjectRecord<String, String>> records = claim(listener);
+                if (!records.isEmpty()) {
+                    claimedRecords.put(listener, records);
+                }
             } catch (Exception ex) {
-                log.error("[messageResend][执行异常]", ex);
-            } finally {
-                lock.unlock();
+                log.error("[claim][StreamKey({}) Group({}) 处理 pending 消息异常]",
+                        listener.getStreamKey(), listener.getGroup(), ex);
+            }
+        });
+        return claimedRecords;
+    }
+
+    private List<ObjectRecord<String, String>> claim(AbstractRedisStreamMessageListener<?> listener) {
+        RStream<String, String> stream = redissonClient.getStream(listener.getStreamKey(), StringCodec.INSTANCE);
+        List<ObjectRecord<String, String>> records = new ArrayList<>();
+        StreamMessageId cursor = START_ID;
+        for (int i = 0; i < MAX_BATCH_COUNT && records.size() < MAX_RECONSUME_COUNT; i++) {
+            // 1. 认领超时的消息。数量不超过剩余可重新消费的数量，避免认领后无法在本次消费
+            int count = Math.min(BATCH_SIZE, MAX_RECONSUME_COUNT - records.size());
+            AutoClaimResult<String, String> result = stream.autoClaim(listener.getGroup(), consumerName,
+                    EXPIRE_TIME, TimeUnit.SECONDS, cursor, count);
+            // 已经被 XTRIM 清理的消息，无法再消费，直接确认掉
+            if (CollUtil.isNotEmpty(result.getDeletedIds())) {
+                stream.ack(listener.getGroup(), result.getDeletedIds().toArray(new StreamMessageId[0]));
+            }
+            // 2. 处理认领到的消息：移动到死信，或者留待重新消费
+            if (CollUtil.isNotEmpty(result.getMessages())) {
+                records.addAll(moveToDeadLetter(listener, stream, result.getMessages()));
+            }
+            // 3. 游标回到起点，说明已经扫描完成
+            cursor = result.getNextId();
+            if (cursor == null || START_ID.equals(cursor)) {
+                break;
             }
         }
+        return records;
     }
 
     /**
-     * 执行清理逻辑
+     * 将超过最大投递次数、或者内容无法识别的消息，移动到死信
      *
-     * @see <a href="https://gitee.com/zhijiantianya/ruoyi-vue-pro/pulls/480/files">讨论</a>
+     * @return 需要重新消费的消息
      */
-    private void execute() {
-        StreamOperations<String, Object, Object> ops = redisTemplate.getRedisTemplate().opsForStream();
-        listeners.forEach(listener -> {
-            PendingMessagesSummary pendingMessagesSummary = Objects.requireNonNull(ops.pending(listener.getStreamKey(), listener.getGroup()));
-            // 每个消费者的 pending 队列消息数量
-            Map<String, Long> pendingMessagesPerConsumer = pendingMessagesSummary.getPendingMessagesPerConsumer();
-            pendingMessagesPerConsumer.forEach((consumerName, pendingMessageCount) -> {
-                log.info("[processPendingMessage][消费者({}) 消息数量({})]", consumerName, pendingMessageCount);
-                // 每个消费者的 pending消息的详情信息
-                PendingMessages pendingMessages = ops.pending(listener.getStreamKey(), Consumer.from(listener.getGroup(), consumerName), Range.unbounded(), pendingMessageCount);
-                if (pendingMessages.isEmpty()) {
-                    return;
+    private List<ObjectRecord<String, String>> moveToDeadLetter(AbstractRedisStreamMessageListener<?> listener,
+                                                                RStream<String, String> stream,
+                                                                Map<StreamMessageId, Map<String, String>> messages) {
+        // 1. 获得投递次数：认领后，这批消息都在当前消费者的 pending 中
+        List<StreamMessageId> ids = new ArrayList<>(messages.keySet());
+        ids.sort(Comparator.comparingLong(StreamMessageId::getId0).thenComparingLong(StreamMessageId::getId1));
+        List<PendingEntry> pendingEntries = stream.listPending(listener.getGroup(), consumerName,
+                ids.get(0), ids.get(ids.size() - 1), ids.size());
+        Map<StreamMessageId, Long> deliveryCounts = new HashMap<>();
+        pendingEntries.forEach(entry -> deliveryCounts.put(entry.getId(), entry.getLastTimeDelivered()));
+
+        // 2. 划分：超过最大投递次数、或者内容无法识别的，移动到死信；其它的，重新消费
+        Map<StreamMessageId, Map<String, String>> deadLetters = new LinkedHashMap<>();
+        List<ObjectRecord<String, String>> records = new ArrayList<>();
+        for (StreamMessageId id : ids) {
+            Map<String, String> fields = messages.get(id);
+            String payload = fields.get(RedisStreamDeadLetterManager.FIELD_PAYLOAD);
+            if (payload == null || deliveryCounts.getOrDefault(id, 0L) > MAX_DELIVERY_COUNT) {
+                deadLetters.put(id, fields);
+                continue;
+            }
+            records.add(StreamRecords.newRecord().in(listener.getStreamKey())
+                    .withId(RecordId.of(id.toString())).ofObject(payload));
+        }
+        deadLetterManager.moveToDeadLetter(listener, deadLetters, deliveryCounts);
+        return records;
+    }
+
+    /**
+     * 重新消费。消费成功时，监听器会 ack 消息；失败时，留在 pending 中，下次认领时投递次数加 1
+     */
+    private void reconsume(AbstractRedisStreamMessageListener<?> listener, List<ObjectRecord<String, String>> records) {
+        if (listener instanceof AbstractRedisStreamBatchMessageListener<?> batchListener) {
+            try {
+                batchListener.onRecords(records);
+            } catch (Exception ex) {
+                log.error("[reconsume][StreamKey({}) Group({}) 批量重新消费失败]",
+                        listener.getStreamKey(), listener.getGroup(), ex);
+            }
+        } else {
+            records.forEach(record -> {
+                try {
+                    listener.onMessage(record);
+                } catch (Exception ex) {
+                    log.error("[reconsume][StreamKey({}) Group({}) 消息({}) 重新消费失败]",
+                            listener.getStreamKey(), listener.getGroup(), record.getId(), ex);
                 }
-                pendingMessages.forEach(pendingMessage -> {
-                    // 获取消息上一次传递到 consumer 的时间,
-                    long lastDelivery = pendingMessage.getElapsedTimeSinceLastDelivery().getSeconds();
-                    if (lastDelivery < EXPIRE_TIME){
-                        return;
-                    }
-                    // 获取指定 id 的消息体
-                    List<MapRecord<String, Object, Object>> records = ops.range(listener.getStreamKey(),
-                            Range.of(Range.Bound.inclusive(pendingMessage.getIdAsString()), Range.Bound.inclusive(pendingMessage.getIdAsString())));
-                    if (CollUtil.isEmpty(records)) {
-                        return;
-                    }
-                    // 重新投递消息
-                    redisTemplate.getRedisTemplate().opsForStream().add(StreamRecords.newRecord()
-                            .ofObject(records.get(0).getValue()) // 设置内容
-                            .withStreamKey(listener.getStreamKey()));
-                    // ack 消息消费完成
-                    redisTemplate.getRedisTemplate().opsForStream().acknowledge(listener.getGroup(), records.get(0));
-                    log.info("[processPendingMessage][消息({})重新投递成功]", records.get(0).getId());
-                });
             });
-        });
+        }
+        log.info("[reconsume][StreamKey({}) Group({}) 重新消费消息数量({})]",
+                listener.getStreamKey(), listener.getGroup(), records.size());
     }
+
 }
@@ -0,0 +1,100 @@
+package com.laby.framework.mq.redis.core.job;
+
+import com.laby.framework.mq.redis.core.RedisMQTemplate;
+import com.laby.framework.mq.redis.core.stream.AbstractRedisStreamMessageListener;
+import com.laby.framework.mq.redis.core.stream.RedisStreamDeadLetterManager;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis Stream 消费积压的监控任务
+ *
+ * 定时通过 XINFO GROUPS 读取每个消费者分组的积压，注册为 Micrometer 指标：
+ * 1. redis.stream.consumer.lag：未投递的消息数，需要 Redis 7.0+，低版本为 NaN
+ * 2. redis.stream.consumer.pending：已投递、未确认的消息数
+ * 3. redis.stream.consumer.dead.letter：死信的消息数，参见 {@link RedisStreamDeadLetterManager}
+ *
+ * 指标读取的是定时任务缓存的值，避免每次采集都访问 Redis
+ *
+ * @author Laby
+ */
+@Slf4j
+public class RedisStreamLagMetricsJob {
+
+    private final List<AbstractRedisStreamMessageListener<?>> listeners;
+    private final RedisMQTemplate redisTemplate;
+
+    /**
+     * 每个消费者分组的积压
+     *
+     * KEY：streamKey + group
+     */
+    private final Map<String, GroupLag> lags = new ConcurrentHashMap<>();
+
+    public RedisStreamLagMetricsJob(List<AbstractRedisStreamMessageListener<?>> listeners,
+                                    RedisMQTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.listeners = listeners;
+        this.redisTemplate = redisTemplate;
+        listeners.forEach(listener -> {
+            GroupLag lag = lags.computeIfAbsent(buildKey(listener.getStreamKey(), listener.getGroup()), key -> new GroupLag());
+            Gauge.builder("redis.stream.consumer.lag", lag, value -> value.lag)
+                    .tag("stream", listener.getStreamKey()).tag("group", listener.getGroup())
+                    .description("Redis Stream 消费者分组未投递的消息数")
+                    .register(meterRegistry);
+            Gauge.builder("redis.stream.consumer.pending", lag, value -> value.pending)
+                    .tag("stream", listener.getStreamKey()).tag("group", listener.getGroup())
+                    .description("Redis Stream 消费者分组已投递、未确认的消息数")
+                    .register(meterRegistry);
+            Gauge.builder("redis.stream.consumer.dead.letter", lag, value -> value.deadLetter)
+                    .tag("stream", listener.getStreamKey()).tag("group", listener.getGroup())
+                    .description("Redis Stream 消费者分组的死信消息数")
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * 每 30 秒刷新一次
+     */
+    @Scheduled(fixedDelay = 30 * 1000, initialDelay = 10 * 1000)
+    public void refresh() {
+        listeners.forEach(listener -> {
+            try {
+                GroupLag lag = lags.get(buildKey(listener.getStreamKey(), listener.getGroup()));
+                StreamInfo.XInfoGroups groups = redisTemplate.getRedisTemplate().opsForStream().groups(listener.getStreamKey());
+                groups.forEach(group -> {
+                    if (!group.groupName().equals(listener.getGroup())) {
+                        return;
+                    }
+                    lag.pending = group.pendingCount();
+                    Object value = group.getRaw().get("lag");
+                    lag.lag = value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+                });
+                Long deadLetter = redisTemplate.getRedisTemplate().opsForStream().size(
+                        RedisStreamDeadLetterManager.getDeadLetterKey(listener.getStreamKey(), listener.getGroup()));
+                lag.deadLetter = deadLetter != null ? deadLetter : 0;
+            } catch (Exception ex) {
+                log.error("[refresh][StreamKey({}) Group({}) 获取积压异常]", listener.getStreamKey(), listener.getGroup(), ex);
+            }
+        });
+    }
+
+    private static String buildKey(String streamKey, String group) {
+        return streamKey + ":" + group;
+    }
+
+    private static class GroupLag {
+
+        private volatile double lag = Double.NaN;
+        private volatile double pending = Double.NaN;
+        private volatile double deadLetter = Double.NaN;
+
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.laby.framework.mq.redis.core.stream;
+
+import cn.hutool.core.collection.CollUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Redis Stream 批量监听器抽象类，用于实现集群批量消费
+ *
+ * 和 {@link AbstractRedisStreamMessageListener} 的差异：
+ * 1. 拉取：由 {@link RedisStreamBatchMessageListenerContainer} 每次拉取最多 {@link #getBatchSize()} 条消息
+ * 2. 消费：按 headers 相同的连续消息分组，每组执行一次拦截器 + {@link #onMessages(List)}，保证多租户等拦截器的语义不变
+ * 3. 确认：成功消费的消息，通过一次 XACK 批量确认
+ *
+ * @param <T> 消息类型。一定要填写噢，不然会报错
+ *
+ * @author Laby
+ */
+@Slf4j
+public abstract class AbstractRedisStreamBatchMessageListener<T extends AbstractRedisStreamMessage>
+        extends AbstractRedisStreamMessageListener<T> {
+
+    /**
+     * 默认每次拉取的最大消息数
+     */
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    protected AbstractRedisStreamBatchMessageListener() {
+        super();
+    }
+
+    protected AbstractRedisStreamBatchMessageListener(String streamKey, String group) {
+        super(streamKey, group);
+    }
+
+    /**
+     * 单条消费时，例如说 {@link com.laby.framework.mq.redis.core.job.RedisPendingMessageResendJob} 重新投递，
+     * 同样交给 {@link #onMessages(List)} 处理
+     */
+    @Override
+    public void onMessage(T message) {
+        onMessages(Collections.singletonList(message));
+    }
+
+    /**
+     * 批量消费消息记录
+     *
+     * @param records 消息记录
+     */
+    public void onRecords(List<ObjectRecord<String, String>> records) {
+        if (CollUtil.isEmpty(records)) {
+            return;
+        }
+        // 1. 解析消息
+        List<T> messages = new ArrayList<>(records.size());
+        records.forEach(record -> messages.add(parseMessage(record)));
+
+        // 2. 按 headers 分组消费。失败时，已经消费成功的分组依然确认，失败的分组留在 pending 中等待重新投递
+        List<RecordId> consumedIds = new ArrayList<>(records.size());
+        try {
+            int start = 0;
+            while (start < messages.size()) {
+                int end = start + 1;
+                while (end < messages.size()
+                        && Objects.equals(messages.get(start).getHeaders(), messages.get(end).getHeaders())) {
+                    end++;
+                }
+                consume(messages.subList(start, end));
+                for (int i = start; i < end; i++) {
+                    consumedIds.add(records.get(i).getId());
+                }
+                start = end;
+            }
+        } finally {
+            // 3. ack 消息消费完成，一次 XACK 确认所有消息
+            if (!consumedIds.isEmpty()) {
+                getRedisMQTemplate().getRedisTemplate().opsForStream().acknowledge(getStreamKey(), getGroup(),
+                        consumedIds.toArray(new RecordId[0]));
+            }
+        }
+    }
+
+    private void consume(List<T> messages) {
+        // headers 相同，所以使用第一条消息执行拦截器
+        T first = messages.get(0);
+        try {
+            consumeMessageBefore(first);
+            // 消费消息
+            this.onMessages(messages);
+        } finally {
+            consumeMessageAfter(first);
+        }
+    }
+
+    /**
+     * 批量处理消息
+     *
+     * @param messages 消息列表，headers 相同
+     */
+    public abstract void onMessages(List<T> messages);
+
+    /**
+     * @return 每次拉取的最大消息数
+     */
+    public int getBatchSize() {
+        return DEFAULT_BATCH_SIZE;
+    }
+
+}
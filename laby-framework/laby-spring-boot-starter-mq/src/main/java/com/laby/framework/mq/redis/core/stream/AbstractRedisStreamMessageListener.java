@@ -5,6 +5,7 @@ import com.laby.framework.common.util.json.JsonUtils;
 import com.laby.framework.mq.redis.core.RedisMQTemplate;
 import com.laby.framework.mq.redis.core.interceptor.RedisMessageInterceptor;
 import com.laby.framework.mq.redis.core.message.AbstractRedisMessage;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
@@ -45,6 +46,7 @@ public abstract class AbstractRedisStreamMessageListener<T extends AbstractRedis
      * RedisMQTemplate
      */
     @Setter
+    @Getter(AccessLevel.PROTECTED)
     private RedisMQTemplate redisMQTemplate;
 
     @SneakyThrows
@@ -62,7 +64,7 @@ public abstract class AbstractRedisStreamMessageListener<T extends AbstractRedis
     @Override
     public void onMessage(ObjectRecord<String, String> message) {
         // 消费消息
-        T messageObj = JsonUtils.parseObject(message.getValue(), messageType);
+        T messageObj = parseMessage(message);
         try {
             consumeMessageBefore(messageObj);
             // 消费消息
@@ -86,6 +88,16 @@ public abstract class AbstractRedisStreamMessageListener<T extends AbstractRedis
      */
     public abstract void onMessage(T message);
 
+    /**
+     * 解析消息
+     *
+     * @param record 消息记录
+     * @return 消息
+     */
+    protected T parseMessage(ObjectRecord<String, String> record) {
+        return JsonUtils.parseObject(record.getValue(), messageType);
+    }
+
     /**
      * 通过解析类上的泛型，获得消息类型
      *
@@ -100,14 +112,14 @@ public abstract class AbstractRedisStreamMessageListener<T extends AbstractRedis
         return (Class<T>) type;
     }
 
-    private void consumeMessageBefore(AbstractRedisMessage message) {
+    protected void consumeMessageBefore(AbstractRedisMessage message) {
         assert redisMQTemplate != null;
         List<RedisMessageInterceptor> interceptors = redisMQTemplate.getInterceptors();
         // 正序
         interceptors.forEach(interceptor -> interceptor.consumeMessageBefore(message));
     }
 
-    private void consumeMessageAfter(AbstractRedisMessage message) {
+    protected void consumeMessageAfter(AbstractRedisMessage message) {
         assert redisMQTemplate != null;
         List<RedisMessageInterceptor> interceptors = redisMQTemplate.getInterceptors();
         // 倒序
@@ -0,0 +1,95 @@
+package com.laby.framework.mq.redis.core.stream;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.thread.ThreadUtil;
+import com.laby.framework.mq.redis.core.RedisMQTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis Stream 批量消费的容器
+ *
+ * Spring Data Redis 的 StreamMessageListenerContainer 虽然批量拉取，但逐条回调 StreamListener，
+ * 所以这里为每个 {@link AbstractRedisStreamBatchMessageListener} 启动一个线程，通过 XREADGROUP 批量拉取后，整批交给监听器
+ *
+ * @author Laby
+ */
+@Slf4j
+public class RedisStreamBatchMessageListenerContainer {
+
+    /**
+     * 拉取的阻塞时间
+     */
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+    /**
+     * 拉取或消费异常时，暂停的时间，避免 Redis 不可用时空转
+     */
+    private static final Duration ERROR_BACKOFF = Duration.ofSeconds(1);
+
+    private final RedisMQTemplate redisMQTemplate;
+    private final String consumerName;
+
+    private final List<AbstractRedisStreamBatchMessageListener<?>> listeners = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public RedisStreamBatchMessageListenerContainer(RedisMQTemplate redisMQTemplate, String consumerName) {
+        this.redisMQTemplate = redisMQTemplate;
+        this.consumerName = consumerName;
+    }
+
+    public void register(AbstractRedisStreamBatchMessageListener<?> listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listeners.forEach(listener -> {
+            Thread thread = new Thread(() -> poll(listener), "redis-stream-batch-" + listener.getStreamKey());
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        });
+    }
+
+    public synchronized void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+    }
+
+    private void poll(AbstractRedisStreamBatchMessageListener<?> listener) {
+        Consumer consumer = Consumer.from(listener.getGroup(), consumerName);
+        StreamOffset<String> streamOffset = StreamOffset.create(listener.getStreamKey(), ReadOffset.lastConsumed());
+        StreamReadOptions readOptions = StreamReadOptions.empty().count(listener.getBatchSize()).block(POLL_TIMEOUT);
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                // 1. 批量拉取
+                List<ObjectRecord<String, String>> records = redisMQTemplate.getRedisTemplate().opsForStream()
+                        .read(String.class, consumer, readOptions, streamOffset);
+                if (CollUtil.isEmpty(records)) {
+                    continue;
+                }
+                // 2. 批量消费
+                listener.onRecords(records);
+            } catch (Exception ex) {
+                if (!running) {
+                    return;
+                }
+                // 和 StreamMessageListenerContainer 的 cancelOnError(false) 一致，发生异常不取消消费
+                log.error("[poll][StreamKey({}) 监听器({}) 消费异常]", listener.getStreamKey(),
+                        listener.getClass().getName(), ex);
+                ThreadUtil.sleep(ERROR_BACKOFF.toMillis());
+            }
+        }
+    }
+
+}
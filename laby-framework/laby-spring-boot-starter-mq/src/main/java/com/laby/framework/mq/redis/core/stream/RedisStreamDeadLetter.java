@@ -0,0 +1,30 @@
+package com.laby.framework.mq.redis.core.stream;
+
+import lombok.Data;
+
+/**
+ * Redis Stream 死信消息
+ *
+ * @author Laby
+ */
+@Data
+public class RedisStreamDeadLetter {
+
+    /**
+     * 死信 Stream 中的编号
+     */
+    private String id;
+    /**
+     * 原 Stream 中的编号
+     */
+    private String sourceId;
+    /**
+     * 进入死信时的投递次数
+     */
+    private Long deliveryCount;
+    /**
+     * 消息内容
+     */
+    private String payload;
+
+}
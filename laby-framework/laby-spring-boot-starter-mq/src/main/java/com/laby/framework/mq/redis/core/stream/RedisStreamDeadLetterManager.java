@@ -0,0 +1,216 @@
+package com.laby.framework.mq.redis.core.stream;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RStream;
+import org.redisson.api.RStreamAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+
+import java.util.*;
+
+import static com.laby.framework.common.util.collection.CollectionUtils.convertList;
+
+/**
+ * Redis Stream 死信管理器
+ *
+ * 投递次数超过阈值的消息，从原 Stream 的 pending 中确认掉，移动到每个「Stream + 消费者分组」独立的死信 Stream 中，
+ * 避免毒消息一直被重复投递。死信可以查看，也可以重放：重放时直接交给对应的监听器消费，只影响该消费者分组
+ *
+ * @author Laby
+ */
+@Slf4j
+public class RedisStreamDeadLetterManager {
+
+    /**
+     * 死信 Stream
+     *
+     * KEY 格式：%s:dead-letter:%s // 参数为 streamKey、group
+     */
+    private static final String DEAD_LETTER_KEY = "%s:dead-letter:%s";
+
+    /**
+     * Spring Data Redis 的 ObjectRecord 中，简单类型的内容存储在该字段
+     */
+    public static final String FIELD_PAYLOAD = "payload";
+    private static final String FIELD_SOURCE_ID = "source-id";
+    private static final String FIELD_DELIVERY_COUNT = "delivery-count";
+
+    private final RedissonClient redissonClient;
+
+    /**
+     * 监听器
+     *
+     * KEY：streamKey + group
+     */
+    private final Map<String, AbstractRedisStreamMessageListener<?>> listeners = new LinkedHashMap<>();
+
+    public RedisStreamDeadLetterManager(RedissonClient redissonClient,
+                                        List<AbstractRedisStreamMessageListener<?>> listeners) {
+        this.redissonClient = redissonClient;
+        listeners.forEach(listener -> this.listeners.put(
+                buildListenerKey(listener.getStreamKey(), listener.getGroup()), listener));
+    }
+
+    public static String getDeadLetterKey(String streamKey, String group) {
+        return String.format(DEAD_LETTER_KEY, streamKey, group);
+    }
+
+    public Collection<AbstractRedisStreamMessageListener<?>> getListeners() {
+        return listeners.values();
+    }
+
+    /**
+     * 移动到死信：写入死信 Stream，并确认原消息。通过 batch 一次性执行
+     *
+     * @param listener       监听器
+     * @param messages       消息，KEY 为原 Stream 中的编号
+     * @param deliveryCounts 投递次数
+     */
+    public void moveToDeadLetter(AbstractRedisStreamMessageListener<?> listener,
+                                 Map<StreamMessageId, Map<String, String>> messages,
+                                 Map<StreamMessageId, Long> deliveryCounts) {
+        if (CollUtil.isEmpty(messages)) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        RStreamAsync<String, String> deadLetterStream = batch.getStream(
+                getDeadLetterKey(listener.getStreamKey(), listener.getGroup()), StringCodec.INSTANCE);
+        messages.forEach((id, fields) -> {
+            Map<String, String> entries = new HashMap<>(fields);
+            entries.put(FIELD_SOURCE_ID, id.toString());
+            entries.put(FIELD_DELIVERY_COUNT, String.valueOf(deliveryCounts.getOrDefault(id, 0L)));
+            deadLetterStream.addAsync(StreamAddArgs.entries(entries));
+        });
+        batch.<String, String>getStream(listener.getStreamKey(), StringCodec.INSTANCE)
+                .ackAsync(listener.getGroup(), messages.keySet().toArray(new StreamMessageId[0]));
+        batch.execute();
+        log.warn("[moveToDeadLetter][StreamKey({}) Group({}) 消息({}) 超过最大投递次数，移动到死信]",
+                listener.getStreamKey(), listener.getGroup(), messages.keySet());
+    }
+
+    /**
+     * 获得死信数量
+     *
+     * @param streamKey Stream Key
+     * @param group     消费者分组
+     * @return 数量
+     */
+    public long getDeadLetterSize(String streamKey, String group) {
+        return getDeadLetterStream(streamKey, group).size();
+    }
+
+    /**
+     * 获得最早的死信列表
+     *
+     * @param streamKey Stream Key
+     * @param group     消费者分组
+     * @param count     数量
+     * @return 死信列表
+     */
+    public List<RedisStreamDeadLetter> getDeadLetterList(String streamKey, String group, int count) {
+        Map<StreamMessageId, Map<String, String>> messages = getDeadLetterStream(streamKey, group)
+                .range(count, StreamMessageId.MIN, StreamMessageId.MAX);
+        return convertList(messages.entrySet(), entry -> buildDeadLetter(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * 重放死信：交给对应的监听器消费，成功后从死信中删除
+     *
+     * @param streamKey Stream Key
+     * @param group     消费者分组
+     * @param ids       死信编号
+     * @return 成功重放的数量
+     */
+    public int replay(String streamKey, String group, Collection<String> ids) {
+        AbstractRedisStreamMessageListener<?> listener = listeners.get(buildListenerKey(streamKey, group));
+        if (listener == null) {
+            throw new IllegalArgumentException(StrUtil.format("StreamKey({}) Group({}) 不存在监听器", streamKey, group));
+        }
+        RStream<String, String> stream = getDeadLetterStream(streamKey, group);
+        int count = 0;
+        for (String id : ids) {
+            StreamMessageId messageId = parseMessageId(id);
+            Map<StreamMessageId, Map<String, String>> messages = stream.range(1, messageId, messageId);
+            if (CollUtil.isEmpty(messages)) {
+                continue;
+            }
+            RedisStreamDeadLetter deadLetter = buildDeadLetter(messageId, messages.get(messageId));
+            ObjectRecord<String, String> record = StreamRecords.newRecord().in(streamKey)
+                    .withId(RecordId.of(deadLetter.getSourceId())).ofObject(deadLetter.getPayload());
+            try {
+                consume(listener, record);
+            } catch (Exception ex) {
+                log.error("[replay][StreamKey({}) Group({}) 死信({}) 重放失败]", streamKey, group, id, ex);
+                continue;
+            }
+            stream.remove(messageId);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 删除死信
+     *
+     * @param streamKey Stream Key
+     * @param group     消费者分组
+     * @param ids       死信编号
+     * @return 删除的数量
+     */
+    public long delete(String streamKey, String group, Collection<String> ids) {
+        if (CollUtil.isEmpty(ids)) {
+            return 0;
+        }
+        return getDeadLetterStream(streamKey, group).remove(
+                ids.stream().map(RedisStreamDeadLetterManager::parseMessageId).toArray(StreamMessageId[]::new));
+    }
+
+    /**
+     * 交给监听器消费。批量监听器整批消费，普通监听器逐条消费
+     *
+     * @param listener 监听器
+     * @param record   消息记录
+     */
+    public static void consume(AbstractRedisStreamMessageListener<?> listener, ObjectRecord<String, String> record) {
+        if (listener instanceof AbstractRedisStreamBatchMessageListener<?> batchListener) {
+            batchListener.onRecords(Collections.singletonList(record));
+        } else {
+            listener.onMessage(record);
+        }
+    }
+
+    private RStream<String, String> getDeadLetterStream(String streamKey, String group) {
+        return redissonClient.getStream(getDeadLetterKey(streamKey, group), StringCodec.INSTANCE);
+    }
+
+    private static RedisStreamDeadLetter buildDeadLetter(StreamMessageId id, Map<String, String> fields) {
+        RedisStreamDeadLetter deadLetter = new RedisStreamDeadLetter();
+        deadLetter.setId(id.toString());
+        deadLetter.setSourceId(fields.get(FIELD_SOURCE_ID));
+        String deliveryCount = fields.get(FIELD_DELIVERY_COUNT);
+        deadLetter.setDeliveryCount(deliveryCount != null ? Long.valueOf(deliveryCount) : null);
+        deadLetter.setPayload(fields.get(FIELD_PAYLOAD));
+        return deadLetter;
+    }
+
+    private static StreamMessageId parseMessageId(String id) {
+        String[] parts = StrUtil.splitToArray(id, '-');
+        if (parts.length != 2) {
+            throw new IllegalArgumentException(StrUtil.format("消息编号({}) 格式不正确", id));
+        }
+        return new StreamMessageId(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+    }
+
+    private static String buildListenerKey(String streamKey, String group) {
+        return streamKey + ":" + group;
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.laby.framework.mq.redis.core.job;
+
+import com.laby.framework.mq.redis.core.stream.AbstractRedisStreamBatchMessageListener;
+import com.laby.framework.mq.redis.core.stream.AbstractRedisStreamMessageListener;
+import com.laby.framework.mq.redis.core.stream.RedisStreamDeadLetterManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.redisson.api.*;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.client.codec.Codec;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link RedisPendingMessageResendJob} 的单元测试
+ *
+ * 使用真实的 {@link RedisStreamDeadLetterManager}，Redisson 相关的对象都是 mock 的
+ *
+ * @author Laby
+ */
+@SuppressWarnings("unchecked")
+public class RedisPendingMessageResendJobTest {
+
+    private static final String STREAM_KEY = "test-stream";
+    private static final String GROUP = "test-group";
+    private static final String CONSUMER_NAME = "test-consumer";
+    private static final StreamMessageId START_ID = new StreamMessageId(0, 0);
+
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RLock lock = mock(RLock.class);
+    private final RStream<String, String> stream = mock(RStream.class);
+    private final RBatch batch = mock(RBatch.class);
+    private final RStreamAsync<String, String> batchStream = mock(RStreamAsync.class);
+    private final RStreamAsync<String, String> batchDeadLetterStream = mock(RStreamAsync.class);
+
+    @BeforeEach
+    public void setUp() {
+        when(redissonClient.getLock(anyString())).thenReturn(lock);
+        when(lock.tryLock()).thenReturn(true);
+        when(redissonClient.<String, String>getStream(eq(STREAM_KEY), any(Codec.class))).thenReturn(stream);
+        when(redissonClient.createBatch()).thenReturn(batch);
+        when(batch.<String, String>getStream(eq(STREAM_KEY), any(Codec.class))).thenReturn(batchStream);
+        when(batch.<String, String>getStream(eq(RedisStreamDeadLetterManager.getDeadLetterKey(STREAM_KEY, GROUP)),
+                any(Codec.class))).thenReturn(batchDeadLetterStream);
+    }
+
+    @Test
+    public void testMessageResend_deliveryCount() {
+        // mock 数据：投递次数 5 次、6 次，以及内容无法识别的
+        AbstractRedisStreamMessageListener<?> listener = mockListener(AbstractRedisStreamMessageListener.class);
+        Map<StreamMessageId, Map<String, String>> messages = new LinkedHashMap<>();
+        messages.put(id(3), Map.of("payload", "m3"));
+        messages.put(id(1), Map.of("payload", "m1"));
+        messages.put(id(2), Map.of("other", "m2"));
+        mockAutoClaim(new AutoClaimResult<>(START_ID, messages, Collections.emptyList()));
+        mockListPending(Map.of(id(1), 5L, id(2), 1L, id(3), 6L));
+
+        // 调用
+        buildJob(listener).messageResend();
+        // 断言：未超过最大投递次数的，重新消费
+        ArgumentCaptor<ObjectRecord<String, String>> recordCaptor = ArgumentCaptor.forClass(ObjectRecord.class);
+        verify(listener, times(1)).onMessage(recordCaptor.capture());
+        assertEquals("1-0", recordCaptor.getValue().getId().getValue());
+        assertEquals(STREAM_KEY, recordCaptor.getValue().getStream());
+        assertEquals("m1", recordCaptor.getValue().getValue());
+        // 断言：超过的、内容无法识别的，移动到死信，并确认原消息
+        verify(batchDeadLetterStream, times(2)).addAsync(any(StreamAddArgs.class));
+        verify(batchStream).ackAsync(eq(GROUP), eq(id(2)), eq(id(3)));
+        verify(batch).execute();
+    }
+
+    @Test
+    public void testMessageResend_noDeadLetter() {
+        // mock 数据：都未超过最大投递次数
+        AbstractRedisStreamMessageListener<?> listener = mockListener(AbstractRedisStreamMessageListener.class);
+        mockAutoClaim(new AutoClaimResult<>(START_ID, Map.of(id(1), Map.of("payload", "m1")),
+                List.of(id(9))));
+        mockListPending(Map.of(id(1), 2L));
+
+        // 调用
+        buildJob(listener).messageResend();
+        // 断言：已被清理的消息，直接确认
+        verify(stream).ack(eq(GROUP), eq(id(9)));
+        // 断言：不移动到死信
+        verify(redissonClient, never()).createBatch();
+        verify(listener).onMessage(any(ObjectRecord.class));
+    }
+
+    @Test
+    public void testMessageResend_consumeAfterUnlock() {
+        // mock 数据
+        AbstractRedisStreamMessageListener<?> listener = mockListener(AbstractRedisStreamMessageListener.class);
+        mockAutoClaim(new AutoClaimResult<>(START_ID, Map.of(id(1), Map.of("payload", "m1")),
+                Collections.emptyList()));
+        mockListPending(Map.of(id(1), 2L));
+
+        // 调用
+        buildJob(listener).messageResend();
+        // 断言：先释放锁，再执行监听器的业务逻辑
+        InOrder inOrder = inOrder(stream, lock, listener);
+        inOrder.verify(stream).autoClaim(eq(GROUP), eq(CONSUMER_NAME), anyLong(), any(TimeUnit.class),
+                any(StreamMessageId.class), anyInt());
+        inOrder.verify(lock).unlock();
+        inOrder.verify(listener).onMessage(any(ObjectRecord.class));
+    }
+
+    @Test
+    public void testMessageResend_maxReconsumeCount() {
+        // mock 数据：积压较多，每批都认领满
+        AbstractRedisStreamBatchMessageListener<?> listener = mockListener(AbstractRedisStreamBatchMessageListener.class);
+        when(stream.autoClaim(eq(GROUP), eq(CONSUMER_NAME), anyLong(), any(TimeUnit.class),
+                any(StreamMessageId.class), anyInt())).thenAnswer(invocation -> {
+            StreamMessageId cursor = invocation.getArgument(4);
+            int count = invocation.getArgument(5);
+            Map<StreamMessageId, Map<String, String>> messages = new LinkedHashMap<>();
+            for (int i = 1; i <= count; i++) {
+                messages.put(id(cursor.getId0() + i), Map.of("payload", "m"));
+            }
+            return new AutoClaimResult<>(id(cursor.getId0() + count + 1), messages, Collections.emptyList());
+        });
+        when(stream.listPending(eq(GROUP), eq(CONSUMER_NAME), any(StreamMessageId.class),
+                any(StreamMessageId.class), anyInt())).thenReturn(Collections.emptyList());
+
+        // 调用
+        buildJob(listener).messageResend();
+        // 断言：达到重新消费的上限后，不再认领，剩余的留给下次执行
+        verify(stream, times(1)).autoClaim(eq(GROUP), eq(CONSUMER_NAME), anyLong(), any(TimeUnit.class),
+                eq(START_ID), eq(100));
+        verify(stream, times(1)).autoClaim(eq(GROUP), eq(CONSUMER_NAME), anyLong(), any(TimeUnit.class),
+                any(StreamMessageId.class), anyInt());
+        ArgumentCaptor<List<ObjectRecord<String, String>>> recordsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(listener, times(1)).onRecords(recordsCaptor.capture());
+        assertEquals(100, recordsCaptor.getValue().size());
+    }
+
+    @Test
+    public void testMessageResend_deadLetterNotCounted() {
+        // mock 数据：第一批全部超过最大投递次数，第二批可以重新消费
+        AbstractRedisStreamMessageListener<?> listener = mockListener(AbstractRedisStreamMessageListener.class);
+        when(stream.autoClaim(eq(GROUP), eq(CONSUMER_NAME), anyLong(), any(TimeUnit.class),
+                eq(START_ID), anyInt())).thenReturn(new AutoClaimResult<>(id(2),
+                Map.of(id(1), Map.of("payload", "m1")), Collections.emptyList()));
+        when(stream.autoClaim(eq(GROUP), eq(CONSUMER_NAME), anyLong(), any(TimeUnit.class),
+                eq(id(2)), anyInt())).thenReturn(new AutoClaimResult<>(START_ID,
+                Map.of(id(2), Map.of("payload", "m2")), Collections.emptyList()));
+        mockListPending(Map.of(id(1), 6L, id(2), 2L));
+
+        // 调用
+        buildJob(listener).messageResend();
+        // 断言：移动到死信的，不占用重新消费的数量
+        verify(batchStream).ackAsync(eq(GROUP), eq(id(1)));
+        ArgumentCaptor<ObjectRecord<String, String>> recordCaptor = ArgumentCaptor.forClass(ObjectRecord.class);
+        verify(listener, times(1)).onMessage(recordCaptor.capture());
+        assertEquals("2-0", recordCaptor.getValue().getId().getValue());
+    }
+
+    @Test
+    public void testMessageResend_lockFailed() {
+        // mock 数据
+        AbstractRedisStreamMessageListener<?> listener = mockListener(AbstractRedisStreamMessageListener.class);
+        when(lock.tryLock()).thenReturn(false);
+
+        // 调用
+        buildJob(listener).messageResend();
+        // 断言
+        verify(redissonClient, never()).getStream(anyString(), any(Codec.class));
+        verify(lock, never()).unlock();
+    }
+
+    private RedisPendingMessageResendJob buildJob(AbstractRedisStreamMessageListener<?> listener) {
+        List<AbstractRedisStreamMessageListener<?>> listeners = List.of(listener);
+        return new RedisPendingMessageResendJob(listeners, redissonClient,
+                new RedisStreamDeadLetterManager(redissonClient, listeners), CONSUMER_NAME);
+    }
+
+    private static <T extends AbstractRedisStreamMessageListener<?>> T mockListener(Class<?> clazz) {
+        T listener = (T) mock(clazz);
+        when(listener.getStreamKey()).thenReturn(STREAM_KEY);
+        when(listener.getGroup()).thenReturn(GROUP);
+        return listener;
+    }
+
+    private void mockAutoClaim(AutoClaimResult<String, String> result) {
+        when(stream.autoClaim(eq(GROUP), eq(CONSUMER_NAME), anyLong(), any(TimeUnit.class),
+                any(StreamMessageId.class), anyInt())).thenReturn(result);
+    }
+
+    private void mockListPending(Map<StreamMessageId, Long> deliveryCounts) {
+        List<PendingEntry> entries = new ArrayList<>();
+        deliveryCounts.forEach((id, count) -> entries.add(new PendingEntry(id, CONSUMER_NAME, 0, count)));
+        when(stream.listPending(eq(GROUP), eq(CONSUMER_NAME), any(StreamMessageId.class),
+                any(StreamMessageId.class), anyInt())).thenReturn(entries);
+    }
+
+    private static StreamMessageId id(long id0) {
+        return new StreamMessageId(id0, 0);
+    }
+
+}
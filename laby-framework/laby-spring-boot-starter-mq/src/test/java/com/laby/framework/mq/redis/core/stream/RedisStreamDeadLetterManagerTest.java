@@ -0,0 +1,134 @@
+package com.laby.framework.mq.redis.core.stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.client.codec.Codec;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link RedisStreamDeadLetterManager} 的单元测试，主要覆盖死信的重放
+ *
+ * @author Laby
+ */
+@SuppressWarnings("unchecked")
+public class RedisStreamDeadLetterManagerTest {
+
+    private static final String STREAM_KEY = "test-stream";
+    private static final String GROUP = "test-group";
+
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RStream<String, String> deadLetterStream = mock(RStream.class);
+    private final AbstractRedisStreamMessageListener<?> listener = mock(AbstractRedisStreamMessageListener.class);
+
+    private RedisStreamDeadLetterManager deadLetterManager;
+
+    @BeforeEach
+    public void setUp() {
+        when(listener.getStreamKey()).thenReturn(STREAM_KEY);
+        when(listener.getGroup()).thenReturn(GROUP);
+        when(redissonClient.<String, String>getStream(eq(RedisStreamDeadLetterManager.getDeadLetterKey(STREAM_KEY, GROUP)),
+                any(Codec.class))).thenReturn(deadLetterStream);
+        deadLetterManager = new RedisStreamDeadLetterManager(redissonClient, List.of(listener));
+    }
+
+    @Test
+    public void testReplay_success() {
+        // mock 数据
+        mockDeadLetter(new StreamMessageId(10, 0), "1-0", "m1");
+
+        // 调用
+        int count = deadLetterManager.replay(STREAM_KEY, GROUP, List.of("10-0"));
+        // 断言：按原 Stream 中的编号，交给监听器消费
+        assertEquals(1, count);
+        ArgumentCaptor<ObjectRecord<String, String>> recordCaptor = ArgumentCaptor.forClass(ObjectRecord.class);
+        verify(listener).onMessage(recordCaptor.capture());
+        assertEquals(STREAM_KEY, recordCaptor.getValue().getStream());
+        assertEquals("1-0", recordCaptor.getValue().getId().getValue());
+        assertEquals("m1", recordCaptor.getValue().getValue());
+        // 断言：从死信中删除
+        verify(deadLetterStream).remove(eq(new StreamMessageId(10, 0)));
+    }
+
+    @Test
+    public void testReplay_fail() {
+        // mock 数据：10-0 消费失败，11-0 消费成功，12-0 不存在
+        mockDeadLetter(new StreamMessageId(10, 0), "1-0", "m1");
+        mockDeadLetter(new StreamMessageId(11, 0), "2-0", "m2");
+        when(deadLetterStream.range(eq(1), eq(new StreamMessageId(12, 0)), eq(new StreamMessageId(12, 0))))
+                .thenReturn(Collections.emptyMap());
+        doThrow(new IllegalStateException("消费失败")).when(listener).onMessage(
+                argThat((ObjectRecord<String, String> record) -> "m1".equals(record.getValue())));
+
+        // 调用
+        int count = deadLetterManager.replay(STREAM_KEY, GROUP, List.of("10-0", "11-0", "12-0"));
+        // 断言：失败的保留在死信中，不影响后续的重放
+        assertEquals(1, count);
+        verify(deadLetterStream, never()).remove(eq(new StreamMessageId(10, 0)));
+        verify(deadLetterStream).remove(eq(new StreamMessageId(11, 0)));
+        verify(deadLetterStream, never()).remove(eq(new StreamMessageId(12, 0)));
+    }
+
+    @Test
+    public void testReplay_batchListener() {
+        // 准备参数：批量监听器
+        AbstractRedisStreamBatchMessageListener<?> batchListener = mock(AbstractRedisStreamBatchMessageListener.class);
+        when(batchListener.getStreamKey()).thenReturn(STREAM_KEY);
+        when(batchListener.getGroup()).thenReturn(GROUP);
+        deadLetterManager = new RedisStreamDeadLetterManager(redissonClient, List.of(batchListener));
+        mockDeadLetter(new StreamMessageId(10, 0), "1-0", "m1");
+
+        // 调用
+        int count = deadLetterManager.replay(STREAM_KEY, GROUP, List.of("10-0"));
+        // 断言：整批消费
+        assertEquals(1, count);
+        ArgumentCaptor<List<ObjectRecord<String, String>>> recordsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(batchListener).onRecords(recordsCaptor.capture());
+        assertEquals(1, recordsCaptor.getValue().size());
+        assertEquals("1-0", recordsCaptor.getValue().get(0).getId().getValue());
+    }
+
+    @Test
+    public void testReplay_listenerNotExists() {
+        // 调用，并断言
+        assertThrows(IllegalArgumentException.class,
+                () -> deadLetterManager.replay(STREAM_KEY, "other-group", List.of("10-0")));
+        assertThrows(IllegalArgumentException.class,
+                () -> deadLetterManager.replay(STREAM_KEY, GROUP, List.of("10")));
+    }
+
+    @Test
+    public void testGetDeadLetterList() {
+        // mock 数据
+        Map<StreamMessageId, Map<String, String>> messages = new LinkedHashMap<>();
+        messages.put(new StreamMessageId(10, 0), buildFields("1-0", "m1"));
+        when(deadLetterStream.range(eq(20), eq(StreamMessageId.MIN), eq(StreamMessageId.MAX))).thenReturn(messages);
+
+        // 调用
+        List<RedisStreamDeadLetter> list = deadLetterManager.getDeadLetterList(STREAM_KEY, GROUP, 20);
+        // 断言
+        assertEquals(1, list.size());
+        assertEquals("10-0", list.get(0).getId());
+        assertEquals("1-0", list.get(0).getSourceId());
+        assertEquals(6L, list.get(0).getDeliveryCount());
+        assertEquals("m1", list.get(0).getPayload());
+    }
+
+    private void mockDeadLetter(StreamMessageId id, String sourceId, String payload) {
+        when(deadLetterStream.range(eq(1), eq(id), eq(id))).thenReturn(Map.of(id, buildFields(sourceId, payload)));
+    }
+
+    private static Map<String, String> buildFields(String sourceId, String payload) {
+        return Map.of("payload", payload, "source-id", sourceId, "delivery-count", "6");
+    }
+
+}
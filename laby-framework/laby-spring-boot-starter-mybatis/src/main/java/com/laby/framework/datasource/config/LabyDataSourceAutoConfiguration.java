@@ -1,14 +1,22 @@
 package com.laby.framework.datasource.config;
 
+import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
+import com.laby.framework.datasource.core.aop.ReadReplicaAspect;
+import com.laby.framework.datasource.core.enums.DataSourceEnum;
 import com.laby.framework.datasource.core.filter.DruidAdRemoveFilter;
 import com.alibaba.druid.spring.boot3.autoconfigure.properties.DruidStatProperties;
+import com.laby.framework.datasource.core.lag.HeartbeatReplicaLagProbe;
+import com.laby.framework.datasource.core.lag.ReplicaLagProbe;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import javax.sql.DataSource;
+
 /**
  * 数据库配置类
  *
@@ -16,7 +24,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  */
 @AutoConfiguration
 @EnableTransactionManagement(proxyTargetClass = true) // 启动事务管理
-@EnableConfigurationProperties(DruidStatProperties.class)
+@EnableConfigurationProperties({DruidStatProperties.class, ReadReplicaProperties.class})
 public class LabyDataSourceAutoConfiguration {
 
     /**
@@ -37,4 +45,38 @@ public class LabyDataSourceAutoConfiguration {
         return registrationBean;
     }
 
+    // ========== 读从库 ==========
+
+    /**
+     * 创建主从延迟的探测器
+     *
+     * 未配置从库时，延迟始终未知，即 @ReadReplica 始终使用主库
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "laby.read-replica", value = "enable", matchIfMissing = true)
+    public ReplicaLagProbe replicaLagProbe(DataSource dataSource, ReadReplicaProperties properties) {
+        if (!(dataSource instanceof DynamicRoutingDataSource routingDataSource)
+                || !hasDataSource(routingDataSource, DataSourceEnum.MASTER)
+                || !hasDataSource(routingDataSource, DataSourceEnum.SLAVE)) {
+            return () -> ReplicaLagProbe.UNKNOWN;
+        }
+        HeartbeatReplicaLagProbe probe = new HeartbeatReplicaLagProbe(
+                routingDataSource.getDataSource(DataSourceEnum.MASTER), routingDataSource.getDataSource(DataSourceEnum.SLAVE),
+                properties.getHeartbeatTable(), properties.getHeartbeatInterval());
+        probe.start();
+        return probe;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "laby.read-replica", value = "enable", matchIfMissing = true)
+    public ReadReplicaAspect readReplicaAspect(ReplicaLagProbe replicaLagProbe) {
+        return new ReadReplicaAspect(replicaLagProbe);
+    }
+
+    private static boolean hasDataSource(DynamicRoutingDataSource routingDataSource, String name) {
+        return routingDataSource.getDataSources().containsKey(name)
+                || routingDataSource.getGroupDataSources().containsKey(name);
+    }
+
 }
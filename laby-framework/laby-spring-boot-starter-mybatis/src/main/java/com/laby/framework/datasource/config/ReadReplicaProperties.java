@@ -0,0 +1,38 @@
+package com.laby.framework.datasource.config;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * 读从库 {@link com.laby.framework.datasource.core.aop.ReadReplica} 配置项
+ *
+ * @author Laby
+ */
+@ConfigurationProperties("laby.read-replica")
+@Validated
+@Data
+public class ReadReplicaProperties {
+
+    /**
+     * 是否开启
+     */
+    private Boolean enable = true;
+
+    /**
+     * 心跳表名，用于测量主从延迟
+     */
+    @NotEmpty(message = "心跳表名不能为空")
+    private String heartbeatTable = "laby_replica_heartbeat";
+
+    /**
+     * 心跳间隔
+     */
+    @NotNull(message = "心跳间隔不能为空")
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+}
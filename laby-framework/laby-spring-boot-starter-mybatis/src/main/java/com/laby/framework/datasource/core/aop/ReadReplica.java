@@ -0,0 +1,28 @@
+package com.laby.framework.datasource.core.aop;
+
+import com.laby.framework.datasource.core.enums.DataSourceEnum;
+
+import java.lang.annotation.*;
+
+/**
+ * 读从库，标记指定方法的查询路由到 {@link DataSourceEnum#SLAVE} 从库
+ *
+ * 和 {@link com.baomidou.dynamic.datasource.annotation.Slave} 的区别是，会感知主从延迟，以下情况仍然使用主库：
+ * 1. 从库延迟超过 {@link #maxLagMs()}，或者延迟未知（未配置从库、心跳失败）
+ * 2. 当前线程处于事务中：事务已经绑定了主库连接，并且需要读到自己的写入
+ *
+ * 适用于报表、分页列表等可以容忍短暂延迟的查询
+ *
+ * @author Laby
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadReplica {
+
+    /**
+     * 可容忍的最大主从延迟，单位：毫秒
+     */
+    long maxLagMs() default 1000;
+
+}
@@ -0,0 +1,63 @@
+package com.laby.framework.datasource.core.aop;
+
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.laby.framework.datasource.core.enums.DataSourceEnum;
+import com.laby.framework.datasource.core.lag.ReplicaLagProbe;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 拦截声明了 {@link ReadReplica} 注解的方法，按主从延迟决定是否路由到从库
+ *
+ * 优先级最高，保证在 @Transactional 开启事务、获取连接之前，切换好数据源
+ *
+ * @author Laby
+ */
+@Aspect
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ReadReplicaAspect {
+
+    private final ReplicaLagProbe replicaLagProbe;
+
+    @Around("@annotation(readReplica)")
+    public Object around(ProceedingJoinPoint joinPoint, ReadReplica readReplica) throws Throwable {
+        if (!isRouteToReplica(readReplica.maxLagMs())) {
+            return joinPoint.proceed();
+        }
+        DynamicDataSourceContextHolder.push(DataSourceEnum.SLAVE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DynamicDataSourceContextHolder.poll();
+        }
+    }
+
+    /**
+     * 判断是否路由到从库
+     *
+     * @param maxLagMs 可容忍的最大主从延迟
+     * @return 是否路由到从库
+     */
+    boolean isRouteToReplica(long maxLagMs) {
+        // 1. 事务中，连接已经绑定，且可能需要读到自己的写入，使用主库
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+        // 2. 延迟未知、或者超过阈值，使用主库
+        long lagMs = replicaLagProbe.getLagMillis();
+        if (lagMs < 0 || lagMs > maxLagMs) {
+            log.debug("[isRouteToReplica][从库延迟({}ms) 超过阈值({}ms)，使用主库]", lagMs, maxLagMs);
+            return false;
+        }
+        return true;
+    }
+
+}
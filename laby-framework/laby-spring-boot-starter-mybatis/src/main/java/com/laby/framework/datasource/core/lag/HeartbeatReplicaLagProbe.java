@@ -0,0 +1,110 @@
+package com.laby.framework.datasource.core.lag;
+
+import cn.hutool.core.thread.ThreadUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于心跳行的 {@link ReplicaLagProbe} 实现类
+ *
+ * 后台定时执行：
+ * 1. 在主库的心跳表中，写入当前时间戳
+ * 2. 在从库的心跳表中，读取复制过来的时间戳，与当前时间的差值即为延迟
+ *
+ * 心跳表需要提前创建，结构如下：
+ * CREATE TABLE {table} (id BIGINT NOT NULL PRIMARY KEY, beat_time BIGINT NOT NULL)
+ *
+ * 心跳表不存在、从库不可用时，延迟为未知，{@link com.laby.framework.datasource.core.aop.ReadReplica} 会使用主库
+ *
+ * @author Laby
+ */
+@Slf4j
+public class HeartbeatReplicaLagProbe implements ReplicaLagProbe, DisposableBean {
+
+    /**
+     * 心跳行的编号
+     */
+    private static final long HEARTBEAT_ID = 1L;
+    /**
+     * 测量结果的有效期，为心跳间隔的倍数。超过后，视为未知
+     */
+    private static final int EXPIRE_INTERVAL_COUNT = 3;
+
+    private final JdbcTemplate masterJdbcTemplate;
+    private final JdbcTemplate slaveJdbcTemplate;
+    private final String table;
+    private final Duration interval;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            ThreadUtil.newNamedThreadFactory("replica-heartbeat-", true));
+
+    private volatile long lagMillis = UNKNOWN;
+    /**
+     * 最后一次测量成功的时间
+     */
+    private volatile long measureTime;
+    /**
+     * 上一次心跳是否失败，用于避免重复打印日志
+     */
+    private boolean failed;
+
+    public HeartbeatReplicaLagProbe(DataSource masterDataSource, DataSource slaveDataSource,
+                                    String table, Duration interval) {
+        this.masterJdbcTemplate = new JdbcTemplate(masterDataSource);
+        this.slaveJdbcTemplate = new JdbcTemplate(slaveDataSource);
+        this.table = table;
+        this.interval = interval;
+    }
+
+    public void start() {
+        executor.scheduleWithFixedDelay(this::heartbeat, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public long getLagMillis() {
+        if (System.currentTimeMillis() - measureTime > interval.toMillis() * EXPIRE_INTERVAL_COUNT) {
+            return UNKNOWN;
+        }
+        return lagMillis;
+    }
+
+    void heartbeat() {
+        try {
+            // 1. 主库写入心跳
+            long now = System.currentTimeMillis();
+            if (masterJdbcTemplate.update("UPDATE " + table + " SET beat_time = ? WHERE id = ?", now, HEARTBEAT_ID) == 0) {
+                masterJdbcTemplate.update("INSERT INTO " + table + " (id, beat_time) VALUES (?, ?)", HEARTBEAT_ID, now);
+            }
+            // 2. 从库读取心跳。多个节点共用一行心跳，节点间时钟偏差可能导致负数，按 0 处理
+            List<Long> beatTimes = slaveJdbcTemplate.queryForList(
+                    "SELECT beat_time FROM " + table + " WHERE id = ?", Long.class, HEARTBEAT_ID);
+            long measureTime = System.currentTimeMillis();
+            this.lagMillis = beatTimes.isEmpty() ? UNKNOWN : Math.max(0, measureTime - beatTimes.get(0));
+            this.measureTime = measureTime;
+            if (failed) {
+                failed = false;
+                log.info("[heartbeat][从库心跳恢复，延迟({}ms)]", lagMillis);
+            }
+        } catch (Exception ex) {
+            this.lagMillis = UNKNOWN;
+            if (!failed) {
+                failed = true;
+                log.error("[heartbeat][从库心跳失败，@ReadReplica 将使用主库，请检查心跳表({}) 是否存在]", table, ex);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.laby.framework.datasource.core.lag;
+
+/**
+ * 主从延迟的探测器
+ *
+ * @author Laby
+ */
+public interface ReplicaLagProbe {
+
+    /**
+     * 延迟未知
+     */
+    long UNKNOWN = -1L;
+
+    /**
+     * 获得从库相对主库的延迟
+     *
+     * 需要是非阻塞的，一般返回后台定时测量的结果
+     *
+     * @return 延迟，单位：毫秒；未知时，返回 {@link #UNKNOWN}
+     */
+    long getLagMillis();
+
+}
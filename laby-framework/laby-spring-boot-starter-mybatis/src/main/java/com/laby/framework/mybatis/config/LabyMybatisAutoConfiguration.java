@@ -4,6 +4,12 @@ import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
 import com.laby.framework.common.util.json.JsonUtils;
 import com.laby.framework.mybatis.core.handler.DefaultDBFieldHandler;
+import com.laby.framework.mybatis.core.rewrite.SqlRewriteCacheInnerInterceptor;
+import com.laby.framework.mybatis.core.stat.SqlStatInterceptor;
+import com.laby.framework.mybatis.core.stat.SqlStatRecorder;
+import com.laby.framework.mybatis.core.stream.StreamQueryInterceptor;
+import com.laby.framework.mybatis.core.util.MyBatisUtils;
+import com.laby.framework.mybatis.core.util.PageCountCacheInnerInterceptor;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.autoconfigure.MybatisPlusAutoConfiguration;
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
@@ -17,6 +23,7 @@ import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerIntercept
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -46,12 +53,58 @@ public class LabyMybatisAutoConfiguration {
     @Bean
     public MybatisPlusInterceptor mybatisPlusInterceptor() {
         MybatisPlusInterceptor mybatisPlusInterceptor = new MybatisPlusInterceptor();
+        mybatisPlusInterceptor.addInnerInterceptor(new PageCountCacheInnerInterceptor()); // 分页总量缓存，需要在分页插件前面
         mybatisPlusInterceptor.addInnerInterceptor(new PaginationInnerInterceptor()); // 分页插件
         // ↓↓↓ 按需开启，可能会影响到 updateBatch 的地方：例如说文件配置管理 ↓↓↓
         // mybatisPlusInterceptor.addInnerInterceptor(new BlockAttackInnerInterceptor()); // 拦截没有指定条件的 update 和 delete 语句
         return mybatisPlusInterceptor;
     }
 
+    /**
+     * SQL 重写缓存拦截器，包装多租户、数据权限等重写 SQL 的拦截器
+     *
+     * 可使用 laby.mybatis.sql-rewrite-cache.enable=false 关闭；运行时，可通过管理后台的 /infra/sql-rewrite-cache 接口查看命中率、切换开关
+     */
+    @Bean
+    public SqlRewriteCacheInnerInterceptor sqlRewriteCacheInnerInterceptor(
+            MybatisPlusInterceptor interceptor,
+            @Value("${laby.mybatis.sql-rewrite-cache.enable:true}") boolean enable,
+            @Value("${laby.mybatis.sql-rewrite-cache.maximum-size:4096}") long maximumSize) {
+        SqlRewriteCacheInnerInterceptor inner = new SqlRewriteCacheInnerInterceptor(enable, maximumSize);
+        // 需要加在首个，主要是为了在分页插件前面。这个是 MyBatis Plus 的规定
+        MyBatisUtils.addInterceptor(interceptor, inner, 0);
+        return inner;
+    }
+
+    /**
+     * SQL 执行统计的记录器。即使关闭统计，也创建该 Bean，方便管理后台统一查询
+     */
+    @Bean
+    public SqlStatRecorder sqlStatRecorder() {
+        return new SqlStatRecorder();
+    }
+
+    /**
+     * SQL 执行统计拦截器，按 MappedStatement 记录耗时分布
+     *
+     * 可使用 laby.mybatis.sql-stat.enable=false 关闭
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "laby.mybatis.sql-stat", value = "enable", matchIfMissing = true)
+    public SqlStatInterceptor sqlStatInterceptor(
+            SqlStatRecorder recorder,
+            @Value("${laby.mybatis.sql-stat.fingerprint-sample-interval:1024}") int fingerprintSampleInterval) {
+        return new SqlStatInterceptor(recorder, fingerprintSampleInterval);
+    }
+
+    /**
+     * 流式查询拦截器，为 BaseMapperX#selectStream 设置 fetchSize，使驱动逐行读取结果集
+     */
+    @Bean
+    public StreamQueryInterceptor streamQueryInterceptor() {
+        return new StreamQueryInterceptor();
+    }
+
     @Bean
     public MetaObjectHandler defaultMetaObjectHandler() {
         return new DefaultDBFieldHandler(); // 自动填充参数类
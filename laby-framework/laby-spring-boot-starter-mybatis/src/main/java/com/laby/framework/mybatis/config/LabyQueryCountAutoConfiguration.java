@@ -0,0 +1,60 @@
+package com.laby.framework.mybatis.config;
+
+import com.laby.framework.common.enums.WebFilterOrderEnum;
+import com.laby.framework.mybatis.core.querycount.MeterQueryCountReporter;
+import com.laby.framework.mybatis.core.querycount.QueryCountFilter;
+import com.laby.framework.mybatis.core.querycount.QueryCountInterceptor;
+import com.laby.framework.mybatis.core.querycount.QueryCountReporter;
+import com.laby.framework.web.config.WebProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SQL 执行次数检测（N+1 查询）配置类
+ *
+ * @author Laby
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "laby.mybatis.query-count", value = "enable", matchIfMissing = true) // 允许使用 laby.mybatis.query-count.enable=false 禁用
+@EnableConfigurationProperties(QueryCountProperties.class)
+public class LabyQueryCountAutoConfiguration {
+
+    @Bean
+    public QueryCountInterceptor queryCountInterceptor(QueryCountProperties properties) {
+        return new QueryCountInterceptor(properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(WebProperties webProperties,
+                                                                     QueryCountProperties properties,
+                                                                     ObjectProvider<QueryCountReporter> reporters) {
+        FilterRegistrationBean<QueryCountFilter> bean = new FilterRegistrationBean<>(
+                new QueryCountFilter(webProperties, properties, reporters.orderedStream().toList()));
+        bean.setOrder(WebFilterOrderEnum.QUERY_COUNT_FILTER);
+        return bean;
+    }
+
+    /**
+     * 存在 Micrometer 时，上报超过阈值的次数到监控指标。通过 MeterBinder 绑定 MeterRegistry，无需依赖其创建顺序
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class QueryCountMetricsConfiguration {
+
+        @Bean
+        public MeterQueryCountReporter meterQueryCountReporter() {
+            return new MeterQueryCountReporter();
+        }
+
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.laby.framework.mybatis.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * SQL 执行次数检测（N+1 查询）配置项
+ *
+ * @author Laby
+ */
+@ConfigurationProperties("laby.mybatis.query-count")
+@Validated
+@Data
+public class QueryCountProperties {
+
+    /**
+     * 是否开启
+     */
+    private Boolean enable = true;
+
+    /**
+     * 单次请求中，同一个 MappedStatement 的最大执行次数
+     */
+    @NotNull(message = "MappedStatement 执行次数阈值不能为空")
+    private Integer statementThreshold = 10;
+
+    /**
+     * 单次请求中，所有 SQL 的最大执行次数
+     */
+    @NotNull(message = "SQL 执行次数阈值不能为空")
+    private Integer totalThreshold = 100;
+
+    /**
+     * 是否严格模式。开启时，超过阈值直接抛出异常，一般只在集成测试中开启
+     */
+    @NotNull(message = "是否严格模式不能为空")
+    private Boolean strict = false;
+
+}
@@ -1,12 +1,18 @@
 package com.laby.framework.mybatis.core.mapper;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.ObjUtil;
+import com.laby.framework.common.enums.PageCountModeEnum;
 import com.laby.framework.common.pojo.PageParam;
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.framework.common.pojo.SortablePageParam;
 import com.laby.framework.common.pojo.SortingField;
+import com.laby.framework.mybatis.core.stream.StreamQueryInterceptor;
+import com.laby.framework.mybatis.core.stream.StreamResultHandler;
 import com.laby.framework.mybatis.core.util.JdbcUtils;
+import com.laby.framework.mybatis.core.util.KeysetPageUtils;
 import com.laby.framework.mybatis.core.util.MyBatisUtils;
+import com.laby.framework.mybatis.core.util.PageCountUtils;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
@@ -22,6 +28,7 @@ import org.apache.ibatis.annotations.Param;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 在 MyBatis Plus 的 BaseMapper 的基础上拓展，提供更多的能力
@@ -40,12 +47,34 @@ public interface BaseMapperX<T> extends MPJBaseMapper<T> {
     }
 
     default PageResult<T> selectPage(PageParam pageParam, Collection<SortingField> sortingFields, @Param("ew") Wrapper<T> queryWrapper) {
+        return selectPage(pageParam, sortingFields, PageCountModeEnum.EXACT, queryWrapper);
+    }
+
+    /**
+     * 分页查询，并指定默认的总量查询模式
+     *
+     * @param pageParam        分页参数
+     * @param defaultCountMode 默认的总量查询模式，pageParam 未指定 countMode 时使用
+     * @param queryWrapper     查询条件
+     * @return 分页结果
+     */
+    default PageResult<T> selectPage(PageParam pageParam, PageCountModeEnum defaultCountMode, @Param("ew") Wrapper<T> queryWrapper) {
+        return selectPage(pageParam, null, defaultCountMode, queryWrapper);
+    }
+
+    default PageResult<T> selectPage(PageParam pageParam, Collection<SortingField> sortingFields,
+                                     PageCountModeEnum defaultCountMode, @Param("ew") Wrapper<T> queryWrapper) {
         // 特殊：不分页，直接查询全部
         if (PageParam.PAGE_SIZE_NONE.equals(pageParam.getPageSize())) {
             MyBatisUtils.addOrder(queryWrapper, sortingFields);
             List<T> list = selectList(queryWrapper);
             return new PageResult<>(list, (long) list.size());
         }
+        // 特殊：不精确查询总量，避免大表每次翻页都执行 COUNT
+        PageCountModeEnum countMode = ObjUtil.defaultIfNull(PageCountModeEnum.valueOf(pageParam.getCountMode()), defaultCountMode);
+        if (countMode != null && countMode != PageCountModeEnum.EXACT) {
+            return PageCountUtils.selectPage(this, pageParam, sortingFields, queryWrapper, countMode);
+        }
 
         // MyBatis Plus 查询
         IPage<T> mpPage = MyBatisUtils.buildPage(pageParam, sortingFields);
@@ -54,6 +83,27 @@ public interface BaseMapperX<T> extends MPJBaseMapper<T> {
         return new PageResult<>(mpPage.getRecords(), mpPage.getTotal());
     }
 
+    /**
+     * 游标（keyset / seek）分页查询
+     *
+     * 按 (sortColumn, 主键) 排序，从游标之后开始查询，不执行 COUNT，深翻页时耗时恒定。
+     * 适合流水、日志等大表，参见 {@link KeysetPageUtils}
+     *
+     * @param cursor       游标，为空时查询第一页
+     * @param size         每页条数
+     * @param sortColumn   排序字段，可以直接传主键。必须不可变且非空，例如 id、create_time，
+     *                     否则翻页期间被修改的记录会跳过或重复出现
+     * @param asc          是否升序
+     * @param queryWrapper 查询条件，注意不要包含排序
+     * @return 分页结果，total 为 null，nextCursor 为 null 时表示没有下一页
+     */
+    default PageResult<T> selectPageAfter(String cursor, Integer size, SFunction<T, ?> sortColumn, boolean asc,
+                                          @Param("ew") LambdaQueryWrapper<T> queryWrapper) {
+        IPage<T> mpPage = KeysetPageUtils.buildPage(cursor, size, sortColumn, asc, queryWrapper);
+        selectPage(mpPage, queryWrapper);
+        return KeysetPageUtils.buildPageResult(mpPage.getRecords(), size, sortColumn);
+    }
+
     default <D> PageResult<D> selectJoinPage(PageParam pageParam, Class<D> clazz, MPJLambdaWrapper<T> lambdaWrapper) {
         // 特殊：不分页，直接查询全部
         if (PageParam.PAGE_SIZE_NONE.equals(pageParam.getPageSize())) {
@@ -165,6 +215,21 @@ public interface BaseMapperX<T> extends MPJBaseMapper<T> {
         return selectList(new LambdaQueryWrapper<T>().eq(field1, value1).eq(field2, value2));
     }
 
+    /**
+     * 流式查询，逐条交给 consumer 处理，避免一次性构建大列表
+     *
+     * 基于 ResultHandler 实现，而不是 Cursor：Cursor 需要在事务内保持 SqlSession 打开，
+     * 而流式响应是在 Controller 返回之后才写出的。
+     * 驱动层面的流式读取，由 {@link StreamQueryInterceptor} 设置 fetchSize 实现，
+     * 例如说 MySQL 为 Integer.MIN_VALUE，此时 consumer 中不能再查询数据库
+     *
+     * @param queryWrapper 查询条件
+     * @param consumer     逐条处理
+     */
+    default void selectStream(Wrapper<T> queryWrapper, Consumer<T> consumer) {
+        selectList(queryWrapper, new StreamResultHandler<>(consumer));
+    }
+
     /**
      * 批量插入，适合大量数据插入
      *
@@ -0,0 +1,36 @@
+package com.laby.framework.mybatis.core.querycount;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 基于 Micrometer 的 {@link QueryCountReporter} 实现类
+ *
+ * 记录 mybatis.query.count.exceeded 指标，按接口、MappedStatement 区分
+ *
+ * @author Laby
+ */
+public class MeterQueryCountReporter implements QueryCountReporter, MeterBinder {
+
+    private volatile MeterRegistry meterRegistry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+    }
+
+    @Override
+    public void report(String endpoint, String statementId, int count) {
+        MeterRegistry registry = this.meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        Counter.builder("mybatis.query.count.exceeded")
+                .tag("endpoint", endpoint).tag("statement", statementId)
+                .description("单次请求中 MappedStatement 执行次数超过阈值的次数")
+                .register(registry)
+                .increment();
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.laby.framework.mybatis.core.querycount;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 一次 HTTP 请求内的 SQL 执行次数
+ *
+ * 通过 TransmittableThreadLocal 传递到异步线程，所以计数需要是线程安全的
+ *
+ * @author Laby
+ */
+public class QueryCountContext {
+
+    /**
+     * 请求的接口，例如说 GET /admin-api/wms/stock-taking/page
+     */
+    @Getter
+    private final String endpoint;
+
+    /**
+     * 每个 MappedStatement 的执行次数
+     *
+     * key：MappedStatement 编号
+     */
+    private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+    /**
+     * 所有 MappedStatement 的执行次数
+     */
+    private final AtomicInteger totalCount = new AtomicInteger();
+
+    public QueryCountContext(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * 增加 MappedStatement 的执行次数
+     *
+     * @param statementId MappedStatement 编号
+     * @return 增加后，该 MappedStatement 的执行次数
+     */
+    public int increment(String statementId) {
+        totalCount.incrementAndGet();
+        return counts.computeIfAbsent(statementId, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public Map<String, AtomicInteger> getCounts() {
+        return counts;
+    }
+
+    public int getTotalCount() {
+        return totalCount.get();
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.laby.framework.mybatis.core.querycount;
+
+import com.alibaba.ttl.TransmittableThreadLocal;
+
+/**
+ * {@link QueryCountContext} 上下文 Holder
+ *
+ * @author Laby
+ */
+public class QueryCountContextHolder {
+
+    private static final ThreadLocal<QueryCountContext> CONTEXT = new TransmittableThreadLocal<>();
+
+    /**
+     * 获得当前请求的上下文
+     *
+     * @return 上下文；不在 HTTP 请求中时，返回 null
+     */
+    public static QueryCountContext get() {
+        return CONTEXT.get();
+    }
+
+    public static void set(QueryCountContext context) {
+        CONTEXT.set(context);
+    }
+
+    public static void clear() {
+        CONTEXT.remove();
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.laby.framework.mybatis.core.querycount;
+
+import com.laby.framework.mybatis.config.QueryCountProperties;
+import com.laby.framework.web.config.WebProperties;
+import com.laby.framework.web.core.filter.ApiRequestFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SQL 执行次数检测（N+1 查询）的过滤器
+ *
+ * 1. 请求开始时，创建 {@link QueryCountContext}，由 {@link QueryCountInterceptor} 记录 SQL 执行次数
+ * 2. 请求结束时，打印超过阈值的 MappedStatement，并通过 {@link QueryCountReporter} 上报
+ *
+ * @author Laby
+ */
+@Slf4j
+public class QueryCountFilter extends ApiRequestFilter {
+
+    private final QueryCountProperties properties;
+    private final List<QueryCountReporter> reporters;
+
+    public QueryCountFilter(WebProperties webProperties, QueryCountProperties properties,
+                            List<QueryCountReporter> reporters) {
+        super(webProperties);
+        this.properties = properties;
+        this.reporters = reporters;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCountContext context = new QueryCountContext(request.getMethod() + " " + request.getRequestURI());
+        QueryCountContextHolder.set(context);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCountContextHolder.clear();
+            check(getEndpoint(request, context), context);
+        }
+    }
+
+    private void check(String endpoint, QueryCountContext context) {
+        for (Map.Entry<String, AtomicInteger> entry : context.getCounts().entrySet()) {
+            int count = entry.getValue().get();
+            if (count <= properties.getStatementThreshold()) {
+                continue;
+            }
+            log.warn("[check][接口({}) 执行 MappedStatement({}) {} 次，超过阈值({})，可能存在 N+1 查询]",
+                    endpoint, entry.getKey(), count, properties.getStatementThreshold());
+            for (QueryCountReporter reporter : reporters) {
+                try {
+                    reporter.report(endpoint, entry.getKey(), count);
+                } catch (Exception ex) {
+                    log.error("[check][reporter({}) 上报失败]", reporter.getClass().getName(), ex);
+                }
+            }
+        }
+        if (context.getTotalCount() > properties.getTotalThreshold()) {
+            log.warn("[check][接口({}) 执行 SQL {} 次，超过阈值({})]",
+                    endpoint, context.getTotalCount(), properties.getTotalThreshold());
+        }
+    }
+
+    /**
+     * 获得请求的接口名
+     *
+     * 优先使用 Spring MVC 匹配到的路径模板，例如说 GET /admin-api/wms/goods/get/{id}，避免路径参数导致监控指标的基数过大
+     */
+    private static String getEndpoint(HttpServletRequest request, QueryCountContext context) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return context.getEndpoint();
+        }
+        return request.getMethod() + " " + request.getContextPath() + pattern;
+    }
+
+}
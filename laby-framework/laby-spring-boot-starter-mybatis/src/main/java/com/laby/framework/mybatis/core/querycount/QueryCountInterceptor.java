@@ -0,0 +1,60 @@
+package com.laby.framework.mybatis.core.querycount;
+
+import cn.hutool.core.util.StrUtil;
+import com.laby.framework.mybatis.config.QueryCountProperties;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * SQL 执行次数的拦截器，在 {@link QueryCountContext} 中记录当前请求每个 MappedStatement 的执行次数
+ *
+ * 严格模式下，超过阈值时直接抛出异常，不再执行 SQL，用于集成测试中校验接口的 SQL 预算
+ *
+ * @author Laby
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+@RequiredArgsConstructor
+public class QueryCountInterceptor implements Interceptor {
+
+    private final QueryCountProperties properties;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        QueryCountContext context = QueryCountContextHolder.get();
+        if (context != null) {
+            MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+            int count = context.increment(ms.getId());
+            if (properties.getStrict()) {
+                validateCount(context, ms.getId(), count);
+            }
+        }
+        return invocation.proceed();
+    }
+
+    private void validateCount(QueryCountContext context, String statementId, int count) {
+        if (count > properties.getStatementThreshold()) {
+            throw new IllegalStateException(StrUtil.format("接口({}) 执行 MappedStatement({}) {} 次，超过阈值({})，可能存在 N+1 查询",
+                    context.getEndpoint(), statementId, count, properties.getStatementThreshold()));
+        }
+        if (context.getTotalCount() > properties.getTotalThreshold()) {
+            throw new IllegalStateException(StrUtil.format("接口({}) 执行 SQL {} 次，超过阈值({})",
+                    context.getEndpoint(), context.getTotalCount(), properties.getTotalThreshold()));
+        }
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.laby.framework.mybatis.core.querycount;
+
+/**
+ * SQL 执行次数超过阈值的上报器，例如说上报到监控指标
+ *
+ * @author Laby
+ */
+public interface QueryCountReporter {
+
+    /**
+     * 上报超过阈值的 MappedStatement
+     *
+     * @param endpoint    请求的接口
+     * @param statementId MappedStatement 编号
+     * @param count       执行次数
+     */
+    void report(String endpoint, String statementId, int count);
+
+}
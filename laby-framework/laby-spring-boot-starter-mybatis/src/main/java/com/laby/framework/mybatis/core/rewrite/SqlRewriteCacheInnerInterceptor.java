@@ -0,0 +1,244 @@
+package com.laby.framework.mybatis.core.rewrite;
+
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.laby.framework.common.util.cache.CacheUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.JdbcNamedParameter;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * SQL 重写缓存拦截器
+ *
+ * 多租户（TenantLineInnerInterceptor）、数据权限（DataPermissionInterceptor）每次执行 SQL 时，
+ * 都需要通过 JSqlParser 解析、重写、再生成 SQL，在列表接口中 CPU 占比较高。
+ *
+ * 该拦截器包装这些拦截器，按「MappedStatement 编号 + 上下文形态 + 原 SQL」缓存重写后的 SQL 模板：
+ * 1. 首次执行时，以模板模式调用被包装的拦截器，租户编号、部门编号等值生成为占位参数，而不是字面量
+ * 2. 之后执行时，直接使用模板，租户编号等值以绑定参数的方式传入，所有租户、用户共享同一个模板
+ *
+ * 参与者需要实现 {@link SqlRewriteContributor}，描述上下文的形态和参数；任一参与者不支持时，退化为原方式重写
+ *
+ * @author Laby
+ */
+@Slf4j
+public class SqlRewriteCacheInnerInterceptor implements InnerInterceptor {
+
+    /**
+     * 是否处于模板模式
+     */
+    private static final ThreadLocal<Boolean> TEMPLATE = new ThreadLocal<>();
+
+    /**
+     * 被包装的拦截器，按顺序执行
+     */
+    private final List<InnerInterceptor> interceptors = new CopyOnWriteArrayList<>();
+    private final List<SqlRewriteContributor> contributors = new CopyOnWriteArrayList<>();
+
+    /**
+     * 重写结果的缓存
+     */
+    private final Cache<String, SqlRewriteTemplate> cache;
+
+    /**
+     * 是否开启缓存。关闭时，等同于直接使用被包装的拦截器，可在运行时通过 {@link #setEnable(boolean)} 切换
+     */
+    @Getter
+    private volatile boolean enable;
+
+    public SqlRewriteCacheInnerInterceptor(boolean enable, long maximumSize) {
+        this.enable = enable;
+        this.cache = CacheUtils.buildCache("sql_rewrite", Caffeine.newBuilder().maximumSize(maximumSize));
+    }
+
+    /**
+     * 添加被包装的拦截器
+     *
+     * 添加到首个，与直接添加到 MybatisPlusInterceptor 首个的执行顺序保持一致
+     *
+     * @param interceptor 拦截器
+     * @param contributor 对应的参与者
+     */
+    public void addInterceptor(InnerInterceptor interceptor, SqlRewriteContributor contributor) {
+        interceptors.add(0, interceptor);
+        contributors.add(0, contributor);
+        cache.invalidateAll();
+    }
+
+    /**
+     * 是否处于模板模式。处于模板模式时，参与者应通过 {@link #buildParameter(String)} 生成占位参数，而不是字面量
+     *
+     * @return 是否模板模式
+     */
+    public static boolean isTemplate() {
+        return Boolean.TRUE.equals(TEMPLATE.get());
+    }
+
+    /**
+     * 生成占位参数，值在执行时通过 {@link SqlRewriteContributor#contribute} 的 parameters 获取
+     *
+     * @param name 参数名，只能包含字母、数字、下划线
+     * @return 占位参数
+     */
+    public static Expression buildParameter(String name) {
+        return new JdbcNamedParameter(SqlRewriteTemplate.PARAMETER_PREFIX + name);
+    }
+
+    /**
+     * 开启或关闭缓存，作为运行时的开关
+     *
+     * 关闭时，清空已缓存的模板，再次开启时重新构建，避免继续使用有问题的模板
+     *
+     * @param enable 是否开启
+     */
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+        if (!enable) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * @return 缓存的命中统计。同时以 sql_rewrite 为名，注册到 Micrometer 中
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return 缓存的模板数量
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public boolean willDoQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                               ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        for (InnerInterceptor interceptor : interceptors) {
+            if (!interceptor.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                            ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        rewrite(ms, boundSql, () -> {
+            for (InnerInterceptor interceptor : interceptors) {
+                interceptor.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+            }
+        });
+    }
+
+    @Override
+    public boolean willDoUpdate(Executor executor, MappedStatement ms, Object parameter) throws SQLException {
+        for (InnerInterceptor interceptor : interceptors) {
+            if (!interceptor.willDoUpdate(executor, ms, parameter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void beforeUpdate(Executor executor, MappedStatement ms, Object parameter) throws SQLException {
+        for (InnerInterceptor interceptor : interceptors) {
+            interceptor.beforeUpdate(executor, ms, parameter);
+        }
+    }
+
+    @Override
+    public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
+        PluginUtils.MPStatementHandler mpSh = PluginUtils.mpStatementHandler(sh);
+        MappedStatement ms = mpSh.mappedStatement();
+        SqlCommandType sct = ms.getSqlCommandType();
+        // SELECT 已经在 beforeQuery 中处理
+        if (sct != SqlCommandType.INSERT && sct != SqlCommandType.UPDATE && sct != SqlCommandType.DELETE) {
+            return;
+        }
+        try {
+            rewrite(ms, mpSh.boundSql(), () -> {
+                for (InnerInterceptor interceptor : interceptors) {
+                    interceptor.beforePrepare(sh, connection, transactionTimeout);
+                }
+            });
+        } catch (SQLException e) {
+            throw ExceptionUtils.mpe(e);
+        }
+    }
+
+    @Override
+    public void beforeGetBoundSql(StatementHandler sh) {
+        for (InnerInterceptor interceptor : interceptors) {
+            interceptor.beforeGetBoundSql(sh);
+        }
+    }
+
+    private void rewrite(MappedStatement ms, BoundSql boundSql, SqlRewriter rewriter) throws SQLException {
+        if (!enable || interceptors.isEmpty()) {
+            rewriter.rewrite();
+            return;
+        }
+        // 1. 描述当前上下文
+        StringBuilder shape = new StringBuilder();
+        Map<String, Supplier<?>> parameters = new HashMap<>();
+        for (SqlRewriteContributor contributor : contributors) {
+            if (!contributor.contribute(ms.getId(), boundSql.getSql(), shape, parameters)) {
+                rewriter.rewrite();
+                return;
+            }
+        }
+
+        // 2. 未命中缓存，以模板模式重写
+        String key = ms.getId() + '\n' + shape + '\n' + boundSql.getSql();
+        SqlRewriteTemplate template = cache.getIfPresent(key);
+        if (template == null) {
+            TEMPLATE.set(Boolean.TRUE);
+            try {
+                rewriter.rewrite();
+            } finally {
+                TEMPLATE.remove();
+            }
+            template = SqlRewriteTemplate.build(boundSql.getSql());
+            cache.put(key, template);
+        }
+
+        // 3. 应用模板
+        template.apply(ms.getConfiguration(), boundSql, parameters);
+    }
+
+    @FunctionalInterface
+    private interface SqlRewriter {
+
+        void rewrite() throws SQLException;
+
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.laby.framework.mybatis.core.rewrite;
+
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * SQL 重写的参与者，例如说：多租户、数据权限
+ *
+ * 重写后的 SQL 只由「原 SQL + 上下文的形态」决定，上下文中的具体值（租户编号、部门编号等）以绑定参数的方式传入。
+ * 所以，参与者需要描述当前上下文：
+ * 1. 形态：追加到 shape 中，形态不同，重写后的 SQL 结构不同。例如说，是否忽略租户、可见的部门数量
+ * 2. 参数：放到 parameters 中，对应重写时通过 {@link SqlRewriteCacheInnerInterceptor#buildParameter(String)} 生成的占位参数
+ *
+ * @author Laby
+ */
+public interface SqlRewriteContributor {
+
+    /**
+     * 描述当前上下文
+     *
+     * @param mappedStatementId MappedStatement 编号
+     * @param sql               原 SQL，可用于判断参与者是否会生效（例如说，涉及的表是否出现在 SQL 中）
+     * @param shape             形态
+     * @param parameters        参数，值延迟获取，只有 SQL 中实际使用到时才会调用
+     * @return 是否支持缓存；返回 false 时，本次不使用缓存，按原方式重写
+     */
+    boolean contribute(String mappedStatementId, String sql, StringBuilder shape, Map<String, Supplier<?>> parameters);
+
+}
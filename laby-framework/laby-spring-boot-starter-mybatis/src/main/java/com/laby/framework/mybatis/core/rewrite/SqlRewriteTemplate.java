@@ -0,0 +1,126 @@
+package com.laby.framework.mybatis.core.rewrite;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 重写后的 SQL 模板
+ *
+ * 重写时，上下文的值以 :__laby_rw_xxx 占位参数的形式出现在 SQL 中。构建模板时，将其替换成 ?，
+ * 并记录每个 ? 的来源：原 SQL 的第几个参数，或者某个占位参数。执行时，按顺序重新组装 ParameterMapping。
+ *
+ * @author Laby
+ */
+class SqlRewriteTemplate {
+
+    static final String PARAMETER_PREFIX = "__laby_rw_";
+
+    private static final String MARKER_PREFIX = ":" + PARAMETER_PREFIX;
+
+    /**
+     * 模板 SQL
+     */
+    private final String sql;
+    /**
+     * 每个 ? 对应的占位参数名；为 null 时，表示原 SQL 的参数（按顺序）
+     */
+    private final List<String> slots;
+
+    private SqlRewriteTemplate(String sql, List<String> slots) {
+        this.sql = sql;
+        this.slots = slots;
+    }
+
+    /**
+     * 基于重写后（包含占位参数）的 SQL，构建模板
+     *
+     * @param rewrittenSql 重写后的 SQL
+     * @return 模板
+     */
+    static SqlRewriteTemplate build(String rewrittenSql) {
+        if (!rewrittenSql.contains(MARKER_PREFIX)) {
+            return new SqlRewriteTemplate(rewrittenSql, Collections.emptyList());
+        }
+        StringBuilder sql = new StringBuilder(rewrittenSql.length());
+        List<String> slots = new ArrayList<>();
+        char quote = 0;
+        for (int i = 0, length = rewrittenSql.length(); i < length; i++) {
+            char c = rewrittenSql.charAt(i);
+            // 字符串、带引号的标识符中的内容，原样保留
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+                sql.append(c);
+                continue;
+            }
+            if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+                sql.append(c);
+                continue;
+            }
+            // 原 SQL 的参数
+            if (c == '?') {
+                slots.add(null);
+                sql.append(c);
+                continue;
+            }
+            // 占位参数
+            if (c == ':' && rewrittenSql.startsWith(MARKER_PREFIX, i)) {
+                int end = i + MARKER_PREFIX.length();
+                while (end < length && (Character.isLetterOrDigit(rewrittenSql.charAt(end)) || rewrittenSql.charAt(end) == '_')) {
+                    end++;
+                }
+                slots.add(rewrittenSql.substring(i + MARKER_PREFIX.length(), end));
+                sql.append('?');
+                i = end - 1;
+                continue;
+            }
+            sql.append(c);
+        }
+        return new SqlRewriteTemplate(sql.toString(), slots);
+    }
+
+    /**
+     * 应用到 BoundSql 上：替换 SQL，并按顺序组装 ParameterMapping
+     *
+     * @param configuration MyBatis 配置
+     * @param boundSql      原 BoundSql
+     * @param parameters    占位参数的值
+     */
+    void apply(Configuration configuration, BoundSql boundSql, Map<String, Supplier<?>> parameters) {
+        PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+        mpBs.sql(sql);
+        if (slots.isEmpty()) {
+            return;
+        }
+        List<ParameterMapping> originMappings = mpBs.parameterMappings();
+        List<ParameterMapping> mappings = new ArrayList<>(slots.size());
+        int index = 0;
+        for (String name : slots) {
+            if (name == null) {
+                mappings.add(originMappings.get(index++));
+                continue;
+            }
+            Supplier<?> supplier = parameters.get(name);
+            if (supplier == null) {
+                throw new IllegalStateException("SQL 重写缓存缺少参数：" + name);
+            }
+            String property = PARAMETER_PREFIX + name;
+            Object value = supplier.get();
+            boundSql.setAdditionalParameter(property, value);
+            mappings.add(new ParameterMapping.Builder(configuration, property,
+                    value != null ? value.getClass() : Object.class).build());
+        }
+        mpBs.parameterMappings(mappings);
+    }
+
+}
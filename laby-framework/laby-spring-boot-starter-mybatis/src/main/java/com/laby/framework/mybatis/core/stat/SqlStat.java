@@ -0,0 +1,92 @@
+package com.laby.framework.mybatis.core.stat;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个 MappedStatement 的执行统计
+ *
+ * @author Laby
+ */
+public class SqlStat {
+
+    /**
+     * MappedStatement 编号，例如说 com.laby.module.system.dal.mysql.user.AdminUserMapper.selectById
+     */
+    @Getter
+    private final String id;
+    /**
+     * 归一化后的 SQL 指纹，字面量替换为 ?。采样更新，可能为 null
+     */
+    @Getter
+    private volatile String fingerprint;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAdder totalRows = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+    private final SqlStatHistogram histogram = new SqlStatHistogram();
+
+    SqlStat(String id) {
+        this.id = id;
+    }
+
+    void record(long micros, long rows, boolean error) {
+        count.increment();
+        totalMicros.add(micros);
+        histogram.record(micros);
+        if (rows > 0) {
+            totalRows.add(rows);
+        }
+        if (error) {
+            errorCount.increment();
+        }
+        // 先读再 CAS，绝大多数情况不是最大值，避免无谓的写
+        long max = maxMicros.get();
+        while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+            max = maxMicros.get();
+        }
+    }
+
+    void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    /**
+     * @return 总耗时，单位：微秒
+     */
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    public long getTotalRows() {
+        return totalRows.sum();
+    }
+
+    /**
+     * @return 最大耗时，单位：微秒
+     */
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * @param percentile 百分位，范围 (0, 1]，例如说 0.99
+     * @return 百分位耗时，单位：微秒
+     */
+    public long getPercentileMicros(double percentile) {
+        return histogram.getPercentile(percentile);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.laby.framework.mybatis.core.stat;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 固定分桶的耗时直方图，参考 HdrHistogram 的分桶方式
+ *
+ * 单位为微秒：
+ * 1. [0, 16) 微秒，每 1 微秒一个桶
+ * 2. [16, 2^36) 微秒，每个 2 的幂次区间均分为 8 个桶，相对误差不超过 12.5%
+ *
+ * 记录只需要计算桶下标 + 一次原子自增，无锁、无对象分配
+ *
+ * @author Laby
+ */
+class SqlStatHistogram {
+
+    /**
+     * 线性区间的桶数
+     */
+    private static final int LINEAR_BUCKET_COUNT = 16;
+    /**
+     * 线性区间对应的幂次，即 2^4 = 16
+     */
+    private static final int LINEAR_EXPONENT = 4;
+    /**
+     * 每个幂次区间的桶数，为 2^SUB_BUCKET_BITS
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /**
+     * 最大的幂次，超过的值记录到最后一个桶
+     */
+    private static final int MAX_EXPONENT = 35;
+
+    static final int BUCKET_COUNT = LINEAR_BUCKET_COUNT + (MAX_EXPONENT - LINEAR_EXPONENT + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    void record(long micros) {
+        buckets.incrementAndGet(getBucketIndex(micros));
+    }
+
+    /**
+     * 获得百分位的耗时
+     *
+     * @param percentile 百分位，范围 (0, 1]
+     * @return 耗时，单位：微秒，取所在桶的上界；没有记录时，返回 0
+     */
+    long getPercentile(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile));
+        long sum = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            sum += counts[i];
+            if (sum >= target) {
+                return getBucketUpperBound(i);
+            }
+        }
+        return getBucketUpperBound(BUCKET_COUNT - 1);
+    }
+
+    static int getBucketIndex(long micros) {
+        if (micros < LINEAR_BUCKET_COUNT) {
+            return (int) Math.max(micros, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return LINEAR_BUCKET_COUNT + (exponent - LINEAR_EXPONENT) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long getBucketUpperBound(int index) {
+        if (index < LINEAR_BUCKET_COUNT) {
+            return index + 1;
+        }
+        int exponent = LINEAR_EXPONENT + (index - LINEAR_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - LINEAR_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        return (long) (SUB_BUCKET_COUNT + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+    }
+
+}
@@ -0,0 +1,147 @@
+package com.laby.framework.mybatis.core.stat;
+
+import cn.hutool.core.lang.Assert;
+import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.laby.framework.common.enums.ServerTimingPhaseEnum;
+import com.laby.framework.common.util.cache.CacheUtils;
+import com.laby.framework.common.util.monitor.ServerTimingUtils;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 执行统计的拦截器，按 MappedStatement 记录耗时直方图、影响行数、SQL 指纹
+ *
+ * 拦截 {@link Executor} 层，统计的耗时包含多租户等 SQL 重写、执行、结果映射
+ *
+ * 同时将耗时记录到 Server-Timing 的 db 阶段，参见 {@link ServerTimingUtils}
+ *
+ * 每次调用的开销：两次 System.nanoTime() + 一次 ConcurrentHashMap 查找 + 若干原子自增，为亚微秒级。
+ * SQL 指纹的计算（JSqlParser 解析）较重，所以仅在首次、以及按 1 / fingerprintSampleInterval 采样时计算；
+ * 并且按 SQL 缓存计算结果，相同的 SQL 只解析一次，采样时只需要一次缓存查找
+ *
+ * @author Laby
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+@Slf4j
+public class SqlStatInterceptor implements Interceptor {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * SQL 指纹缓存的容量。KEY 为完整的 SQL，需要限制数量，避免 IN 列表长度不同等导致 SQL 过多时占用过多内存
+     */
+    private static final long FINGERPRINT_CACHE_SIZE = 2000;
+
+    private final SqlStatRecorder recorder;
+    /**
+     * SQL 指纹的采样间隔，即每多少次执行计算一次，必须大于 0。为 1 时，每次执行都计算
+     */
+    private final int fingerprintSampleInterval;
+    /**
+     * SQL 指纹缓存
+     *
+     * KEY：SQL
+     * VALUE：指纹
+     */
+    private final Cache<String, String> fingerprintCache = CacheUtils.buildCache("sql_fingerprint",
+            Caffeine.newBuilder().maximumSize(FINGERPRINT_CACHE_SIZE));
+
+    public SqlStatInterceptor(SqlStatRecorder recorder, int fingerprintSampleInterval) {
+        Assert.isTrue(fingerprintSampleInterval > 0,
+                "配置项(laby.mybatis.sql-stat.fingerprint-sample-interval) 必须大于 0，当前值为 {}", fingerprintSampleInterval);
+        this.recorder = recorder;
+        this.fingerprintSampleInterval = fingerprintSampleInterval;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long startTime = System.nanoTime();
+        Object result = null;
+        boolean error = true;
+        try {
+            result = invocation.proceed();
+            error = false;
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - startTime;
+            ServerTimingUtils.record(ServerTimingPhaseEnum.DB, nanos);
+            long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+            MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+            SqlStat stat = recorder.getOrCreate(ms.getId());
+            stat.record(micros, getRows(result), error);
+            if (stat.getFingerprint() == null || fingerprintSampleInterval <= 1
+                    || ThreadLocalRandom.current().nextInt(fingerprintSampleInterval) == 0) {
+                updateFingerprint(stat, ms, invocation.getArgs());
+            }
+        }
+    }
+
+    private static long getRows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Number number) {
+            return number.longValue();
+        }
+        return 0;
+    }
+
+    private void updateFingerprint(SqlStat stat, MappedStatement ms, Object[] args) {
+        try {
+            BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+            stat.setFingerprint(fingerprintCache.get(boundSql.getSql(), SqlStatInterceptor::buildFingerprint));
+        } catch (Exception ex) {
+            // 指纹只用于展示，失败不影响 SQL 执行
+            log.debug("[updateFingerprint][MappedStatement({}) 计算 SQL 指纹失败]", ms.getId(), ex);
+        }
+    }
+
+    /**
+     * 计算 SQL 指纹：通过 JSqlParser 规范化格式后，将字面量替换为 ?，并合并 IN 列表
+     *
+     * 例如说：SELECT * FROM t WHERE a = 1 AND b IN (?, ?, ?) 转换为 SELECT * FROM t WHERE a = ? AND b IN (?...)
+     *
+     * @param sql SQL
+     * @return 指纹
+     */
+    static String buildFingerprint(String sql) {
+        String normalized;
+        try {
+            normalized = CCJSqlParserUtil.parse(sql).toString();
+        } catch (Exception ex) {
+            // 解析失败（例如说数据库方言），仅做格式处理
+            normalized = sql;
+        }
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+        return StrUtil.trim(WHITESPACE.matcher(normalized).replaceAll(" "));
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.laby.framework.mybatis.core.stat;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToLongFunction;
+
+import static com.laby.framework.common.util.collection.CollectionUtils.convertMap;
+import static com.laby.framework.common.util.collection.CollectionUtils.filterList;
+
+/**
+ * SQL 执行统计的记录器，按 MappedStatement 编号聚合
+ *
+ * 数据只保存在当前进程内存中，重启或 {@link #reset()} 后清空
+ *
+ * @author Laby
+ */
+public class SqlStatRecorder {
+
+    private final ConcurrentMap<String, SqlStat> stats = new ConcurrentHashMap<>();
+
+    /**
+     * 获得 MappedStatement 的统计，不存在时创建
+     *
+     * @param id MappedStatement 编号
+     * @return 统计
+     */
+    SqlStat getOrCreate(String id) {
+        // 先 get 再 computeIfAbsent，避免已存在时 computeIfAbsent 的加锁开销
+        SqlStat stat = stats.get(id);
+        return stat != null ? stat : stats.computeIfAbsent(id, SqlStat::new);
+    }
+
+    /**
+     * 获得按 p99 耗时排序的前 N 条
+     *
+     * @param limit 数量
+     * @return 统计列表
+     */
+    public List<SqlStat> getTopListByP99(int limit) {
+        return getTopList(stat -> stat.getPercentileMicros(0.99), limit);
+    }
+
+    /**
+     * 获得按总耗时排序的前 N 条
+     *
+     * @param limit 数量
+     * @return 统计列表
+     */
+    public List<SqlStat> getTopListByTotalTime(int limit) {
+        return getTopList(SqlStat::getTotalMicros, limit);
+    }
+
+    private List<SqlStat> getTopList(ToLongFunction<SqlStat> keyFunction, int limit) {
+        List<SqlStat> list = filterList(stats.values(), stat -> stat.getCount() > 0);
+        // 先计算好排序值，避免排序比较时重复计算百分位
+        Map<String, Long> keys = convertMap(list, SqlStat::getId, keyFunction::applyAsLong);
+        list.sort(Comparator.comparing((SqlStat stat) -> keys.get(stat.getId())).reversed());
+        return list.size() > limit ? list.subList(0, limit) : list;
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.laby.framework.mybatis.core.stream;
+
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.SystemMetaObject;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 流式查询的拦截器，为 {@link StreamResultHandler} 的查询设置 fetchSize，使驱动逐行读取结果集，而不是一次性读入内存
+ *
+ * 1. MySQL、MariaDB：fetchSize 为 Integer.MIN_VALUE，驱动按行流式读取
+ * 2. 其它数据库：fetchSize 为 {@link #FETCH_SIZE}，驱动按批读取（例如说 PostgreSQL 需要在事务中才生效）
+ *
+ * 注意，MySQL 流式读取期间，该连接不能执行其它 SQL，所以 consumer 中不要再查询数据库
+ *
+ * @author Laby
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class})
+})
+public class StreamQueryInterceptor implements Interceptor {
+
+    /**
+     * 非 MySQL 数据库的 fetchSize
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if (result instanceof Statement statement && isStreamQuery(invocation.getTarget())) {
+            statement.setFetchSize(getFetchSize((Connection) invocation.getArgs()[0]));
+        }
+        return result;
+    }
+
+    private static boolean isStreamQuery(Object target) {
+        StatementHandler handler = PluginUtils.realTarget(target);
+        return SystemMetaObject.forObject(handler).getValue("delegate.resultHandler") instanceof StreamResultHandler;
+    }
+
+    private static int getFetchSize(Connection connection) throws SQLException {
+        String productName = connection.getMetaData().getDatabaseProductName();
+        return StrUtil.equalsAnyIgnoreCase(productName, "MySQL", "MariaDB") ? Integer.MIN_VALUE : FETCH_SIZE;
+    }
+
+}
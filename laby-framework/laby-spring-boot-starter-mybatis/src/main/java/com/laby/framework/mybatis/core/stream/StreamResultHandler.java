@@ -0,0 +1,28 @@
+package com.laby.framework.mybatis.core.stream;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.function.Consumer;
+
+/**
+ * 流式查询的 ResultHandler，逐条交给 consumer 处理
+ *
+ * 同时作为标记，由 {@link StreamQueryInterceptor} 识别，设置驱动层面流式读取的 fetchSize
+ *
+ * @author Laby
+ */
+public class StreamResultHandler<T> implements ResultHandler<T> {
+
+    private final Consumer<T> consumer;
+
+    public StreamResultHandler(Consumer<T> consumer) {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void handleResult(ResultContext<? extends T> context) {
+        consumer.accept(context.getResultObject());
+    }
+
+}
@@ -0,0 +1,189 @@
+package com.laby.framework.mybatis.core.util;
+
+import cn.hutool.core.codec.Base64;
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.LambdaUtils;
+import com.baomidou.mybatisplus.core.toolkit.support.LambdaMeta;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.laby.framework.common.exception.ServiceException;
+import com.laby.framework.common.pojo.PageResult;
+import org.apache.ibatis.reflection.property.PropertyNamer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.laby.framework.common.exception.util.ServiceExceptionUtil.invalidParamException;
+
+/**
+ * 游标（keyset / seek）分页工具类
+ *
+ * 与 OFFSET 分页不同，游标分页使用上一页最后一条记录的 (排序字段, 主键) 作为起点，
+ * 通过 WHERE (sort, id) &lt; (?, ?) 直接定位到索引位置，深翻页时耗时不会随页码增长，也不需要执行 COUNT 查询。
+ *
+ * 游标为 Base64 编码的不透明字符串，格式为「排序字段值 + 换行 + 主键值」；排序字段就是主键时，只包含主键值。
+ *
+ * 排序字段必须不可变且非空（例如说 id、create_time）：可变字段（例如说 update_time）在翻页期间被修改时，
+ * 记录会跳过或重复出现；为空时无法生成游标
+ *
+ * @author Laby
+ */
+public class KeysetPageUtils {
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * 构建游标分页的 MyBatis Plus 分页对象，并在查询条件上追加 seek 条件
+     *
+     * @param cursor       游标，为空时从第一条开始
+     * @param size         每页条数
+     * @param sortColumn   排序字段
+     * @param asc          是否升序
+     * @param queryWrapper 查询条件，注意不能再包含排序
+     * @return 分页对象。多查询 1 条，用于判断是否有下一页；不执行 COUNT 查询
+     */
+    public static <T> Page<T> buildPage(String cursor, Integer size, SFunction<T, ?> sortColumn, boolean asc,
+                                        LambdaQueryWrapper<T> queryWrapper) {
+        validateSize(size);
+        SeekColumns columns = SeekColumns.of(sortColumn);
+        // 1. 追加 seek 条件
+        if (StrUtil.isNotEmpty(cursor)) {
+            String operator = asc ? " > " : " < ";
+            Object[] values = decodeCursor(cursor, columns);
+            Object id = values[values.length - 1];
+            if (columns.sortField == null) {
+                queryWrapper.apply(columns.keyColumn + operator + "{0}", id);
+            } else {
+                Object sortValue = values[0];
+                String sortColumnName = columns.sortField.getColumn();
+                queryWrapper.and(w -> w.apply(sortColumnName + operator + "{0}", sortValue)
+                        .or().apply(sortColumnName + " = {0} AND " + columns.keyColumn + operator + "{1}", sortValue, id));
+            }
+        }
+
+        // 2. 排序 + 条数。注意：不查询总量
+        Page<T> page = new Page<>(1, size + 1, false);
+        if (columns.sortField != null) {
+            page.addOrder(new OrderItem().setColumn(columns.sortField.getColumn()).setAsc(asc));
+        }
+        page.addOrder(new OrderItem().setColumn(columns.keyColumn).setAsc(asc));
+        return page;
+    }
+
+    /**
+     * 将查询结果转换为 PageResult，并计算下一页的游标
+     *
+     * @param records    查询结果，可能多 1 条
+     * @param size       每页条数
+     * @param sortColumn 排序字段
+     * @return 分页结果，total 为 null
+     */
+    public static <T> PageResult<T> buildPageResult(List<T> records, Integer size, SFunction<T, ?> sortColumn) {
+        validateSize(size);
+        if (records.size() <= size) {
+            return new PageResult<>(records, null, null);
+        }
+        List<T> list = records.subList(0, size);
+        return new PageResult<>(list, null, encodeCursor(CollUtil.getLast(list), sortColumn));
+    }
+
+    private static <T> String encodeCursor(T last, SFunction<T, ?> sortColumn) {
+        SeekColumns columns = SeekColumns.of(sortColumn);
+        String id = StrUtil.toString(columns.tableInfo.getPropertyValue(last, columns.tableInfo.getKeyProperty()));
+        if (columns.sortField == null) {
+            return Base64.encodeUrlSafe(id, StandardCharsets.UTF_8);
+        }
+        Object sortValue = columns.tableInfo.getPropertyValue(last, columns.sortField.getProperty());
+        if (sortValue == null) {
+            throw new IllegalStateException(StrUtil.format("游标分页的排序字段({}) 不能为空，主键为 {}",
+                    columns.sortField.getProperty(), id));
+        }
+        String cursor = StrUtil.toString(sortValue) + SEPARATOR + id;
+        return Base64.encodeUrlSafe(cursor, StandardCharsets.UTF_8);
+    }
+
+    private static void validateSize(Integer size) {
+        if (size == null || size <= 0) {
+            throw invalidParamException("游标分页的每页条数必须大于 0");
+        }
+    }
+
+    /**
+     * 解析游标。游标来自客户端，可能被篡改，解析失败时抛出参数错误，而不是 500
+     *
+     * @return 游标中的值：排序字段是主键时为 [主键]，否则为 [排序字段, 主键]
+     */
+    private static Object[] decodeCursor(String cursor, SeekColumns columns) {
+        int segments = columns.sortField == null ? 1 : 2;
+        try {
+            List<String> values = StrUtil.split(Base64.decodeStr(cursor, StandardCharsets.UTF_8), SEPARATOR);
+            if (values.size() != segments || values.contains(StrUtil.EMPTY)) {
+                throw invalidParamException("游标格式不正确");
+            }
+            Object id = Convert.convert(columns.tableInfo.getKeyType(), values.get(segments - 1));
+            if (id == null) {
+                throw invalidParamException("游标格式不正确");
+            }
+            return columns.sortField == null ? new Object[]{id}
+                    : new Object[]{parseValue(columns.sortField.getPropertyType(), values.get(0)), id};
+        } catch (ServiceException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw invalidParamException("游标格式不正确");
+        }
+    }
+
+    private static Object parseValue(Class<?> type, String value) {
+        // LocalDateTime、LocalDate 的 toString 为 ISO 格式，直接按 ISO 解析，避免精度丢失
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        }
+        return Convert.convert(type, value);
+    }
+
+    /**
+     * seek 使用的字段：排序字段 + 主键
+     */
+    private static class SeekColumns {
+
+        private TableInfo tableInfo;
+        private String keyColumn;
+        /**
+         * 排序字段；为 null 时，表示排序字段就是主键
+         */
+        private TableFieldInfo sortField;
+
+        private static <T> SeekColumns of(SFunction<T, ?> sortColumn) {
+            LambdaMeta meta = LambdaUtils.extract(sortColumn);
+            SeekColumns columns = new SeekColumns();
+            columns.tableInfo = TableInfoHelper.getTableInfo(meta.getInstantiatedClass());
+            if (columns.tableInfo == null || !columns.tableInfo.havePK()) {
+                throw new IllegalArgumentException("游标分页要求实体存在主键：" + meta.getInstantiatedClass().getName());
+            }
+            columns.keyColumn = columns.tableInfo.getKeyColumn();
+            String property = PropertyNamer.methodToProperty(meta.getImplMethodName());
+            if (!property.equals(columns.tableInfo.getKeyProperty())) {
+                columns.sortField = CollUtil.findOne(columns.tableInfo.getFieldList(),
+                        field -> field.getProperty().equals(property));
+                if (columns.sortField == null) {
+                    throw new IllegalArgumentException("游标分页的排序字段不存在：" + property);
+                }
+            }
+            return columns;
+        }
+
+    }
+
+}
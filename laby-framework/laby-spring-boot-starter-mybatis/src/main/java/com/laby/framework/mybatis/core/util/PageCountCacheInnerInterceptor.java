@@ -0,0 +1,80 @@
+package com.laby.framework.mybatis.core.util;
+
+import com.baomidou.mybatisplus.core.toolkit.ParameterUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.laby.framework.common.enums.PageCountModeEnum;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * {@link PageCountModeEnum#CACHE} 模式的总量缓存拦截器
+ *
+ * 需要位于多租户、数据权限等重写 SQL 的拦截器之后，{@link PaginationInnerInterceptor} 之前：
+ * 此时的 SQL 已经包含租户编号、数据权限等条件，以「MappedStatement 编号 + SQL + 参数值」作为缓存 Key，
+ * 不同租户、不同数据权限范围的用户，即使查询条件相同，也不会共享总量
+ *
+ * 命中缓存时，关闭分页插件的 COUNT，直接使用缓存的 total
+ *
+ * @author Laby
+ */
+public class PageCountCacheInnerInterceptor implements InnerInterceptor {
+
+    @Override
+    public boolean willDoQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                               ResultHandler resultHandler, BoundSql boundSql) {
+        Object page = ParameterUtils.findPage(parameter).orElse(null);
+        if (!(page instanceof PageCountUtils.CacheCountPage<?> cachePage) || resultHandler != Executor.NO_RESULT_HANDLER) {
+            return true;
+        }
+        cachePage.cacheKey = buildCacheKey(ms, boundSql);
+        Long total = PageCountUtils.getCacheTotal(cachePage.cacheKey);
+        if (total != null) {
+            cachePage.cacheHit = true;
+            cachePage.setSearchCount(false);
+            cachePage.setTotal(total);
+        }
+        return true;
+    }
+
+    /**
+     * 构建缓存 Key：MappedStatement 编号 + 最终执行的 SQL + 参数值
+     *
+     * 参数值的解析与 MyBatis 的 DefaultParameterHandler 保持一致，包含 SQL 重写时追加的参数（例如说租户编号）
+     */
+    private static String buildCacheKey(MappedStatement ms, BoundSql boundSql) {
+        Configuration configuration = ms.getConfiguration();
+        Object parameterObject = boundSql.getParameterObject();
+        MetaObject metaObject = null;
+        StringBuilder key = new StringBuilder(ms.getId()).append('\n').append(boundSql.getSql());
+        for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+            if (parameterMapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = parameterMapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                value = metaObject.getValue(property);
+            }
+            key.append('\n').append(value);
+        }
+        return key.toString();
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.laby.framework.mybatis.core.util;
+
+import cn.hutool.core.collection.CollUtil;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.laby.framework.common.enums.PageCountModeEnum;
+import com.laby.framework.common.pojo.PageParam;
+import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.common.pojo.SortingField;
+import com.laby.framework.common.util.cache.CacheUtils;
+import com.laby.framework.mybatis.core.mapper.BaseMapperX;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 分页总量查询工具类，实现 {@link PageCountModeEnum} 中非精确的几种模式
+ *
+ * 1. NONE：多查询 1 条判断是否有下一页，不执行 COUNT
+ * 2. ESTIMATE：先用 LIMIT 阈值, 1 探测是否超过阈值；超过则不执行 COUNT，total 返回阈值
+ * 3. CACHE：按「最终执行的 SQL + 参数值」缓存 total 一小段时间，参见 {@link PageCountCacheInnerInterceptor}
+ *
+ * 注意：探测、数据查询都会经过 MyBatis 拦截器，所以多租户、数据权限依然生效
+ *
+ * @author Laby
+ */
+public class PageCountUtils {
+
+    /**
+     * ESTIMATE 模式的阈值：总量超过该值时，不再精确 COUNT
+     */
+    public static final int ESTIMATE_THRESHOLD = 10000;
+
+    /**
+     * CACHE 模式的总量缓存
+     */
+    private static final Cache<String, Long> TOTAL_CACHE = CacheUtils.buildCache("page_count_total",
+            Caffeine.newBuilder().maximumSize(10000).expireAfterWrite(Duration.ofSeconds(60)));
+
+    public static <T> PageResult<T> selectPage(BaseMapperX<T> mapper, PageParam pageParam,
+                                               Collection<SortingField> sortingFields, Wrapper<T> queryWrapper,
+                                               PageCountModeEnum countMode) {
+        switch (countMode) {
+            case NONE:
+                return selectPageWithoutCount(mapper, pageParam, sortingFields, queryWrapper);
+            case ESTIMATE:
+                return selectPageWithEstimateCount(mapper, pageParam, sortingFields, queryWrapper);
+            case CACHE:
+                return selectPageWithCacheCount(mapper, pageParam, sortingFields, queryWrapper);
+            default:
+                IPage<T> mpPage = MyBatisUtils.buildPage(pageParam, sortingFields);
+                mapper.selectPage(mpPage, queryWrapper);
+                return new PageResult<>(mpPage.getRecords(), mpPage.getTotal());
+        }
+    }
+
+    private static <T> PageResult<T> selectPageWithoutCount(BaseMapperX<T> mapper, PageParam pageParam,
+                                                            Collection<SortingField> sortingFields, Wrapper<T> queryWrapper) {
+        // 多查询 1 条，判断是否有下一页
+        Page<T> mpPage = buildPage(pageParam, sortingFields, pageParam.getPageSize() + 1);
+        mapper.selectPage(mpPage, queryWrapper);
+        List<T> records = mpPage.getRecords();
+        long offset = mpPage.offset();
+        if (records.size() <= pageParam.getPageSize()) {
+            // 最后一页，total 是精确的
+            return new PageResult<>(records, offset + records.size());
+        }
+        // 还有下一页，total 返回「已知的最少条数」，前端可以据此展示「下一页」
+        return new PageResult<>(records.subList(0, pageParam.getPageSize()), offset + records.size());
+    }
+
+    private static <T> PageResult<T> selectPageWithEstimateCount(BaseMapperX<T> mapper, PageParam pageParam,
+                                                                 Collection<SortingField> sortingFields, Wrapper<T> queryWrapper) {
+        // 1. 探测是否超过阈值：只查询第 ESTIMATE_THRESHOLD + 1 条
+        Page<T> probePage = new Page<>(ESTIMATE_THRESHOLD + 1, 1, false);
+        mapper.selectPage(probePage, queryWrapper);
+        if (CollUtil.isEmpty(probePage.getRecords())) {
+            // 未超过阈值，COUNT 的代价可控，精确查询
+            return selectPage(mapper, pageParam, sortingFields, queryWrapper, PageCountModeEnum.EXACT);
+        }
+
+        // 2. 超过阈值，只查询数据，total 返回阈值（或者已知的更大值）
+        Page<T> mpPage = buildPage(pageParam, sortingFields, pageParam.getPageSize());
+        mapper.selectPage(mpPage, queryWrapper);
+        long total = Math.max(ESTIMATE_THRESHOLD + 1, mpPage.offset() + mpPage.getRecords().size());
+        return new PageResult<>(mpPage.getRecords(), total);
+    }
+
+    private static <T> PageResult<T> selectPageWithCacheCount(BaseMapperX<T> mapper, PageParam pageParam,
+                                                              Collection<SortingField> sortingFields, Wrapper<T> queryWrapper) {
+        // 1. 查询。是否命中缓存，由 PageCountCacheInnerInterceptor 在多租户、数据权限重写 SQL 之后判断
+        CacheCountPage<T> mpPage = new CacheCountPage<>(pageParam.getPageNo(), pageParam.getPageSize());
+        mpPage.setOrders(MyBatisUtils.buildPage(pageParam, sortingFields).orders());
+        mapper.selectPage(mpPage, queryWrapper);
+        // 2. 未命中缓存时，total 是刚 COUNT 出来的，缓存起来
+        if (mpPage.cacheKey != null && !mpPage.cacheHit) {
+            TOTAL_CACHE.put(mpPage.cacheKey, mpPage.getTotal());
+        }
+        return new PageResult<>(mpPage.getRecords(), mpPage.getTotal());
+    }
+
+    /**
+     * 获得缓存的总量，由 {@link PageCountCacheInnerInterceptor} 调用
+     *
+     * @param cacheKey 缓存 Key
+     * @return 总量；未缓存时返回 null
+     */
+    static Long getCacheTotal(String cacheKey) {
+        return TOTAL_CACHE.getIfPresent(cacheKey);
+    }
+
+    private static <T> Page<T> buildPage(PageParam pageParam, Collection<SortingField> sortingFields, int size) {
+        Page<T> page = new OffsetPage<>((long) (pageParam.getPageNo() - 1) * pageParam.getPageSize(), size);
+        Page<T> sortedPage = MyBatisUtils.buildPage(pageParam, sortingFields);
+        page.setOrders(sortedPage.orders());
+        return page;
+    }
+
+    /**
+     * CACHE 模式的分页对象
+     *
+     * {@link PageCountCacheInnerInterceptor} 根据最终执行的 SQL 计算 cacheKey：命中时关闭 COUNT，并填充缓存的 total
+     */
+    static class CacheCountPage<T> extends Page<T> {
+
+        /**
+         * 缓存 Key；为 null 时，表示未经过拦截器，不缓存
+         */
+        String cacheKey;
+        /**
+         * 是否命中缓存
+         */
+        boolean cacheHit;
+
+        private CacheCountPage(long current, long size) {
+            super(current, size);
+        }
+
+    }
+
+    /**
+     * 指定 offset 的分页对象，不执行 COUNT
+     *
+     * 用于查询条数和每页条数不一致的场景，例如说：多查询 1 条判断是否有下一页
+     */
+    private static class OffsetPage<T> extends Page<T> {
+
+        private final long offset;
+
+        private OffsetPage(long offset, long size) {
+            super(1, size, false);
+            this.offset = offset;
+        }
+
+        @Override
+        public long offset() {
+            return offset;
+        }
+
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.laby.framework.datasource.core.aop;
+
+import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
+import com.laby.framework.datasource.core.enums.DataSourceEnum;
+import com.laby.framework.datasource.core.lag.ReplicaLagProbe;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link ReadReplicaAspect} 的单元测试
+ *
+ * 主库、从库各是一个 H2 内存数据库，通过 dynamic-datasource 路由，查询结果为所在数据源的名字
+ *
+ * @author Laby
+ */
+@SpringJUnitConfig(ReadReplicaAspectTest.Application.class)
+public class ReadReplicaAspectTest {
+
+    @Resource
+    private AtomicLong lagMillis;
+    @Resource
+    private ReplicaQueryService replicaQueryService;
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        lagMillis.set(0);
+    }
+
+    @Test
+    public void testRoute_replica() {
+        // 准备参数：延迟在阈值内
+        lagMillis.set(500);
+
+        // 调用，并断言：读从库
+        assertEquals(DataSourceEnum.SLAVE, replicaQueryService.queryByReadReplica());
+    }
+
+    @Test
+    public void testRoute_lagExceeded() {
+        // 准备参数：延迟超过阈值
+        lagMillis.set(1001);
+
+        // 调用，并断言：读主库
+        assertEquals(DataSourceEnum.MASTER, replicaQueryService.queryByReadReplica());
+    }
+
+    @Test
+    public void testRoute_lagUnknown() {
+        // 准备参数：延迟未知，例如说心跳失败
+        lagMillis.set(ReplicaLagProbe.UNKNOWN);
+
+        // 调用，并断言：读主库
+        assertEquals(DataSourceEnum.MASTER, replicaQueryService.queryByReadReplica());
+    }
+
+    @Test
+    public void testRoute_inTransaction() {
+        // 调用：事务中，即使延迟在阈值内
+        String name = transactionTemplate.execute(status -> replicaQueryService.queryByReadReplica());
+        // 断言：读主库
+        assertEquals(DataSourceEnum.MASTER, name);
+    }
+
+    @Test
+    public void testRoute_restoreAfterReturn() {
+        // 调用：先读从库，再执行未声明注解的查询
+        assertEquals(DataSourceEnum.SLAVE, replicaQueryService.queryByReadReplica());
+        // 断言：数据源已经恢复为主库
+        assertEquals(DataSourceEnum.MASTER, replicaQueryService.query());
+    }
+
+    @Test
+    public void testRoute_restoreAfterException() {
+        // 调用：读从库的过程中抛出异常
+        try {
+            replicaQueryService.queryByReadReplicaThenThrow();
+        } catch (IllegalStateException ignore) {
+        }
+        // 断言：数据源已经恢复为主库
+        assertEquals(DataSourceEnum.MASTER, replicaQueryService.query());
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    public static class Application {
+
+        @Bean
+        public AtomicLong lagMillis() {
+            return new AtomicLong();
+        }
+
+        @Bean
+        public DataSource dataSource() {
+            DynamicRoutingDataSource dataSource = new DynamicRoutingDataSource(Collections.emptyList());
+            dataSource.setPrimary(DataSourceEnum.MASTER);
+            dataSource.addDataSource(DataSourceEnum.MASTER, buildDatabase(DataSourceEnum.MASTER));
+            dataSource.addDataSource(DataSourceEnum.SLAVE, buildDatabase(DataSourceEnum.SLAVE));
+            return dataSource;
+        }
+
+        @Bean
+        public TransactionTemplate transactionTemplate(DataSource dataSource) {
+            return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+
+        @Bean
+        public ReadReplicaAspect readReplicaAspect(AtomicLong lagMillis) {
+            return new ReadReplicaAspect(lagMillis::get);
+        }
+
+        @Bean
+        public ReplicaQueryService replicaQueryService(DataSource dataSource) {
+            return new ReplicaQueryService(new JdbcTemplate(dataSource));
+        }
+
+        private static EmbeddedDatabase buildDatabase(String name) {
+            EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+                    .setName("read_replica_" + name).build();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS test_source (name VARCHAR(16))");
+            jdbcTemplate.update("DELETE FROM test_source");
+            jdbcTemplate.update("INSERT INTO test_source (name) VALUES (?)", name);
+            return database;
+        }
+
+    }
+
+    public static class ReplicaQueryService {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        public ReplicaQueryService(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @ReadReplica
+        public String queryByReadReplica() {
+            return query();
+        }
+
+        @ReadReplica
+        public String queryByReadReplicaThenThrow() {
+            query();
+            throw new IllegalStateException("模拟异常");
+        }
+
+        public String query() {
+            return jdbcTemplate.queryForObject("SELECT name FROM test_source", String.class);
+        }
+
+    }
+
+}
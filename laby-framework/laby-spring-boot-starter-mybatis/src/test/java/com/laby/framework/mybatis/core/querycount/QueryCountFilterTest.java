@@ -0,0 +1,180 @@
+package com.laby.framework.mybatis.core.querycount;
+
+import com.laby.framework.mybatis.config.QueryCountProperties;
+import com.laby.framework.web.config.WebProperties;
+import jakarta.servlet.FilterChain;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link QueryCountFilter} 和 {@link QueryCountInterceptor} 的单元测试
+ *
+ * @author Laby
+ */
+public class QueryCountFilterTest {
+
+    private static final String STATEMENT_ID = "com.laby.module.wms.dal.mysql.goods.GoodsMapper.selectById";
+
+    private final QueryCountProperties properties = new QueryCountProperties();
+    private final List<String> reports = new ArrayList<>();
+
+    private QueryCountInterceptor interceptor;
+    private QueryCountFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        properties.setStatementThreshold(3);
+        properties.setTotalThreshold(5);
+        interceptor = new QueryCountInterceptor(properties);
+        filter = new QueryCountFilter(new WebProperties(), properties,
+                List.of((endpoint, statementId, count) -> reports.add(endpoint + "|" + statementId + "|" + count)));
+    }
+
+    @Test
+    public void testStrict_statementThresholdExceeded() throws Exception {
+        // 准备参数
+        properties.setStrict(true);
+        Invocation invocation = mockInvocation(STATEMENT_ID);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin-api/wms/goods/page");
+
+        // 调用，并断言：前 3 次执行 SQL，第 4 次抛出异常
+        FilterChain chain = (req, resp) -> {
+            try {
+                for (int i = 0; i < 3; i++) {
+                    interceptor.intercept(invocation);
+                }
+                IllegalStateException ex = assertThrows(IllegalStateException.class,
+                        () -> interceptor.intercept(invocation));
+                assertTrue(ex.getMessage().contains("GET /admin-api/wms/goods/page"));
+                assertTrue(ex.getMessage().contains(STATEMENT_ID));
+            } catch (Throwable ex) {
+                throw new RuntimeException(ex);
+            }
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        // 断言：超过阈值的 SQL 不执行
+        verify(invocation, times(3)).proceed();
+        // 断言：上下文已清理
+        assertNull(QueryCountContextHolder.get());
+    }
+
+    @Test
+    public void testStrict_totalThresholdExceeded() throws Exception {
+        // 准备参数
+        properties.setStrict(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin-api/wms/goods/page");
+
+        // 调用，并断言：5 个不同的 MappedStatement 各执行一次，第 6 次抛出异常
+        FilterChain chain = (req, resp) -> {
+            try {
+                for (int i = 0; i < 5; i++) {
+                    interceptor.intercept(mockInvocation(STATEMENT_ID + i));
+                }
+                assertThrows(IllegalStateException.class, () -> interceptor.intercept(mockInvocation(STATEMENT_ID)));
+            } catch (Throwable ex) {
+                throw new RuntimeException(ex);
+            }
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    @Test
+    public void testReport_thresholdExceeded() throws Exception {
+        // 准备参数
+        Invocation invocation = mockInvocation(STATEMENT_ID);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin-api/wms/goods/get/1");
+
+        // 调用：非严格模式，执行 4 次
+        FilterChain chain = (req, resp) -> {
+            try {
+                for (int i = 0; i < 4; i++) {
+                    interceptor.intercept(invocation);
+                }
+            } catch (Throwable ex) {
+                throw new RuntimeException(ex);
+            }
+            // 模拟 Spring MVC 匹配到的路径模板
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/admin-api/wms/goods/get/{id}");
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // 断言：SQL 都执行，并按路径模板上报
+        verify(invocation, times(4)).proceed();
+        assertEquals(List.of("GET /admin-api/wms/goods/get/{id}|" + STATEMENT_ID + "|4"), reports);
+        assertNull(QueryCountContextHolder.get());
+    }
+
+    @Test
+    public void testReport_withinThreshold() throws Exception {
+        // 准备参数
+        Invocation invocation = mockInvocation(STATEMENT_ID);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin-api/wms/goods/page");
+
+        // 调用：执行 3 次，未超过阈值
+        FilterChain chain = (req, resp) -> {
+            try {
+                for (int i = 0; i < 3; i++) {
+                    interceptor.intercept(invocation);
+                }
+            } catch (Throwable ex) {
+                throw new RuntimeException(ex);
+            }
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // 断言
+        assertTrue(reports.isEmpty());
+    }
+
+    @Test
+    public void testIntercept_noContext() throws Throwable {
+        // 准备参数：严格模式，但不在 HTTP 请求中
+        properties.setStrict(true);
+        Invocation invocation = mockInvocation(STATEMENT_ID);
+
+        // 调用，并断言：不计数，也不抛出异常
+        for (int i = 0; i < 10; i++) {
+            interceptor.intercept(invocation);
+        }
+        verify(invocation, times(10)).proceed();
+    }
+
+    @Test
+    public void testShouldNotFilter_notApiRequest() throws Exception {
+        // 准备参数
+        Invocation invocation = mockInvocation(STATEMENT_ID);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+
+        // 调用：非 API 请求，不创建上下文
+        filter.doFilter(request, new MockHttpServletResponse(), (req, resp) -> assertNull(QueryCountContextHolder.get()));
+        // 断言
+        assertTrue(reports.isEmpty());
+        verifyNoInteractions(invocation);
+    }
+
+    private static Invocation mockInvocation(String statementId) throws Exception {
+        Configuration configuration = new Configuration();
+        SqlSource sqlSource = parameterObject -> null;
+        MappedStatement ms = new MappedStatement.Builder(configuration, statementId, sqlSource, SqlCommandType.SELECT)
+                .build();
+        Invocation invocation = mock(Invocation.class);
+        when(invocation.getArgs()).thenReturn(new Object[]{ms, null});
+        when(invocation.proceed()).thenReturn(List.of());
+        return invocation;
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.laby.framework.mybatis.core.rewrite;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.laby.framework.common.util.collection.CollectionUtils.convertList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link SqlRewriteTemplate} 的单元测试
+ *
+ * @author Laby
+ */
+public class SqlRewriteTemplateTest {
+
+    private final Configuration configuration = new Configuration();
+
+    @Test
+    public void testApply_noParameter() {
+        // 准备参数
+        String sql = "SELECT * FROM system_users WHERE id = ?";
+        BoundSql boundSql = buildBoundSql(sql, "id");
+
+        // 调用
+        SqlRewriteTemplate.build(sql).apply(configuration, boundSql, Map.of());
+        // 断言
+        assertEquals(sql, boundSql.getSql());
+        assertEquals(List.of("id"), getProperties(boundSql));
+    }
+
+    @Test
+    public void testApply_mixedParameters() {
+        // 准备参数：占位参数夹在原 SQL 的参数中间
+        String rewrittenSql = "SELECT * FROM system_users WHERE status = ? AND tenant_id = :__laby_rw_tenant_id"
+                + " AND (dept_id IN (:__laby_rw_dept_0, :__laby_rw_dept_1) OR user_id = ?)";
+        BoundSql boundSql = buildBoundSql("SELECT * FROM system_users WHERE status = ? AND user_id = ?",
+                "status", "userId");
+        Map<String, Supplier<?>> parameters = Map.of(
+                "tenant_id", () -> 1L,
+                "dept_0", () -> 100L,
+                "dept_1", () -> 101L);
+
+        // 调用
+        SqlRewriteTemplate.build(rewrittenSql).apply(configuration, boundSql, parameters);
+        // 断言：SQL
+        assertEquals("SELECT * FROM system_users WHERE status = ? AND tenant_id = ?"
+                + " AND (dept_id IN (?, ?) OR user_id = ?)", boundSql.getSql());
+        // 断言：ParameterMapping 的顺序与 ? 一致
+        assertEquals(List.of("status", "__laby_rw_tenant_id", "__laby_rw_dept_0", "__laby_rw_dept_1", "userId"),
+                getProperties(boundSql));
+        // 断言：占位参数的值与类型
+        assertEquals(1L, boundSql.getAdditionalParameter("__laby_rw_tenant_id"));
+        assertEquals(100L, boundSql.getAdditionalParameter("__laby_rw_dept_0"));
+        assertEquals(101L, boundSql.getAdditionalParameter("__laby_rw_dept_1"));
+        assertEquals(Long.class, boundSql.getParameterMappings().get(1).getJavaType());
+    }
+
+    @Test
+    public void testApply_quoted() {
+        // 准备参数：字符串、带引号的标识符中的 ? 与占位参数，都不处理
+        String rewrittenSql = "SELECT '?', ':__laby_rw_x', `a?` FROM t WHERE name = 'it''s ?' AND tenant_id = :__laby_rw_tenant_id AND id = ?";
+        BoundSql boundSql = buildBoundSql("SELECT '?', ':__laby_rw_x', `a?` FROM t WHERE name = 'it''s ?' AND id = ?", "id");
+
+        // 调用
+        SqlRewriteTemplate.build(rewrittenSql).apply(configuration, boundSql, Map.of("tenant_id", () -> 1L));
+        // 断言
+        assertEquals("SELECT '?', ':__laby_rw_x', `a?` FROM t WHERE name = 'it''s ?' AND tenant_id = ? AND id = ?",
+                boundSql.getSql());
+        assertEquals(List.of("__laby_rw_tenant_id", "id"), getProperties(boundSql));
+    }
+
+    @Test
+    public void testApply_reuse() {
+        // 准备参数：同一个模板，应用到不同的租户
+        SqlRewriteTemplate template = SqlRewriteTemplate.build(
+                "SELECT * FROM t WHERE id = ? AND tenant_id = :__laby_rw_tenant_id");
+        BoundSql boundSql01 = buildBoundSql("SELECT * FROM t WHERE id = ?", "id");
+        BoundSql boundSql02 = buildBoundSql("SELECT * FROM t WHERE id = ?", "id");
+
+        // 调用
+        template.apply(configuration, boundSql01, Map.of("tenant_id", () -> 1L));
+        template.apply(configuration, boundSql02, Map.of("tenant_id", () -> 2L));
+        // 断言
+        assertEquals(boundSql01.getSql(), boundSql02.getSql());
+        assertEquals(1L, boundSql01.getAdditionalParameter("__laby_rw_tenant_id"));
+        assertEquals(2L, boundSql02.getAdditionalParameter("__laby_rw_tenant_id"));
+        assertEquals(List.of("id", "__laby_rw_tenant_id"), getProperties(boundSql02));
+    }
+
+    @Test
+    public void testApply_nullValue() {
+        // 准备参数
+        BoundSql boundSql = buildBoundSql("SELECT * FROM t", new String[0]);
+
+        // 调用
+        SqlRewriteTemplate.build("SELECT * FROM t WHERE user_id = :__laby_rw_user_id")
+                .apply(configuration, boundSql, Map.of("user_id", () -> null));
+        // 断言
+        assertEquals("SELECT * FROM t WHERE user_id = ?", boundSql.getSql());
+        assertNull(boundSql.getAdditionalParameter("__laby_rw_user_id"));
+        assertEquals(Object.class, boundSql.getParameterMappings().get(0).getJavaType());
+    }
+
+    @Test
+    public void testApply_missingParameter() {
+        // 准备参数
+        BoundSql boundSql = buildBoundSql("SELECT * FROM t", new String[0]);
+        SqlRewriteTemplate template = SqlRewriteTemplate.build("SELECT * FROM t WHERE tenant_id = :__laby_rw_tenant_id");
+
+        // 调用，并断言
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> template.apply(configuration, boundSql, Map.of()));
+        assertTrue(exception.getMessage().contains("tenant_id"));
+    }
+
+    private BoundSql buildBoundSql(String sql, String... properties) {
+        List<ParameterMapping> mappings = new ArrayList<>();
+        for (String property : properties) {
+            mappings.add(new ParameterMapping.Builder(configuration, property, Object.class).build());
+        }
+        return new BoundSql(configuration, sql, mappings, null);
+    }
+
+    private static List<String> getProperties(BoundSql boundSql) {
+        return convertList(boundSql.getParameterMappings(), ParameterMapping::getProperty);
+    }
+
+}
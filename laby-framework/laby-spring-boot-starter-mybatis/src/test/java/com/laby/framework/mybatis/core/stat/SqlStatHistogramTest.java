@@ -0,0 +1,93 @@
+package com.laby.framework.mybatis.core.stat;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link SqlStatHistogram} 的单元测试
+ *
+ * @author Laby
+ */
+public class SqlStatHistogramTest {
+
+    @Test
+    public void testGetBucketIndex_linear() {
+        // 断言：[0, 16) 微秒，每 1 微秒一个桶
+        for (int micros = 0; micros < 16; micros++) {
+            assertEquals(micros, SqlStatHistogram.getBucketIndex(micros));
+            assertEquals(micros + 1, SqlStatHistogram.getBucketUpperBound(micros));
+        }
+        // 断言：负数记录到第一个桶
+        assertEquals(0, SqlStatHistogram.getBucketIndex(-1));
+    }
+
+    @Test
+    public void testGetBucketIndex_exponential() {
+        // 断言：[16, 32) 均分为 8 个桶，每个桶 2 微秒
+        assertEquals(16, SqlStatHistogram.getBucketIndex(16));
+        assertEquals(16, SqlStatHistogram.getBucketIndex(17));
+        assertEquals(17, SqlStatHistogram.getBucketIndex(18));
+        assertEquals(23, SqlStatHistogram.getBucketIndex(31));
+        assertEquals(18, SqlStatHistogram.getBucketUpperBound(16));
+        assertEquals(32, SqlStatHistogram.getBucketUpperBound(23));
+        // 断言：[32, 64) 的第一个桶
+        assertEquals(24, SqlStatHistogram.getBucketIndex(32));
+        assertEquals(36, SqlStatHistogram.getBucketUpperBound(24));
+    }
+
+    @Test
+    public void testGetBucketIndex_overflow() {
+        // 断言：超过 2^36 的值，记录到最后一个桶
+        int lastIndex = SqlStatHistogram.BUCKET_COUNT - 1;
+        assertEquals(lastIndex, SqlStatHistogram.getBucketIndex((1L << 36) - 1));
+        assertEquals(lastIndex, SqlStatHistogram.getBucketIndex(1L << 36));
+        assertEquals(lastIndex, SqlStatHistogram.getBucketIndex(Long.MAX_VALUE));
+        assertEquals(1L << 36, SqlStatHistogram.getBucketUpperBound(lastIndex));
+    }
+
+    @Test
+    public void testGetBucketIndex_boundsContainValue() {
+        // 断言：每个值都落在所在桶的 (上一个桶的上界, 上界] 之间，且相对误差不超过 12.5%
+        for (long micros = 0; micros < (1L << 36); micros = micros < 64 ? micros + 1 : micros * 3 / 2 + 1) {
+            int index = SqlStatHistogram.getBucketIndex(micros);
+            long upperBound = SqlStatHistogram.getBucketUpperBound(index);
+            long lowerBound = index == 0 ? 0 : SqlStatHistogram.getBucketUpperBound(index - 1);
+            assertTrue(micros >= lowerBound && micros < upperBound,
+                    "micros(" + micros + ") 不在桶 " + index + " [" + lowerBound + ", " + upperBound + ") 内");
+            if (micros >= 16) {
+                assertTrue(upperBound - micros <= micros / 8 + 1, "micros(" + micros + ") 的误差过大");
+            }
+        }
+    }
+
+    @Test
+    public void testGetBucketUpperBound_increasing() {
+        // 断言：桶的上界严格递增
+        for (int i = 1; i < SqlStatHistogram.BUCKET_COUNT; i++) {
+            assertTrue(SqlStatHistogram.getBucketUpperBound(i) > SqlStatHistogram.getBucketUpperBound(i - 1));
+        }
+    }
+
+    @Test
+    public void testGetPercentile() {
+        // 准备参数
+        SqlStatHistogram histogram = new SqlStatHistogram();
+        // 断言：没有记录时，返回 0
+        assertEquals(0, histogram.getPercentile(0.99));
+
+        // 调用：90 次 5 微秒，10 次 1000 微秒
+        for (int i = 0; i < 90; i++) {
+            histogram.record(5);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1000);
+        }
+        // 断言
+        assertEquals(6, histogram.getPercentile(0.5));
+        assertEquals(6, histogram.getPercentile(0.9));
+        assertEquals(SqlStatHistogram.getBucketUpperBound(SqlStatHistogram.getBucketIndex(1000)),
+                histogram.getPercentile(0.99));
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.laby.framework.mybatis.core.stat;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SqlStatInterceptor} 的 JMH 微基准测试：每次执行时统计、计算 SQL 指纹的开销
+ *
+ * 不是单测，不会被 mvn test 执行。运行方式：先 mvn test-compile，再在 IDE 中运行 {@link #main(String[])}
+ *
+ * @author Laby
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqlStatInterceptorBenchmark {
+
+    private static final String SQL = "SELECT id, username, nickname, dept_id, status FROM system_users"
+            + " WHERE deleted = 0 AND tenant_id = 1 AND status = ? AND dept_id IN (?, ?, ?) ORDER BY id DESC LIMIT ?";
+
+    /**
+     * 指纹的采样间隔：1 为每次执行都计算，1024 为默认值
+     */
+    @Param({"1", "1024"})
+    private int fingerprintSampleInterval;
+
+    private SqlStatInterceptor interceptor;
+    private Invocation invocation;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        interceptor = new SqlStatInterceptor(new SqlStatRecorder(), fingerprintSampleInterval);
+        Configuration configuration = new Configuration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, "benchmark.selectList",
+                new StaticSqlSource(configuration, SQL), SqlCommandType.SELECT).build();
+        // 不访问数据库，直接返回空列表，只测量拦截器自身的开销
+        Executor executor = (Executor) Proxy.newProxyInstance(Executor.class.getClassLoader(),
+                new Class<?>[]{Executor.class}, (proxy, method, args) -> Collections.emptyList());
+        Method method = Executor.class.getMethod("query", MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class);
+        invocation = new Invocation(executor, method, new Object[]{ms, null, RowBounds.DEFAULT, null});
+    }
+
+    /**
+     * 优化后：按 SQL 缓存指纹
+     */
+    @Benchmark
+    public Object intercept() throws Throwable {
+        return interceptor.intercept(invocation);
+    }
+
+    /**
+     * 优化前：每次计算指纹都通过 JSqlParser 解析
+     */
+    @Benchmark
+    public String buildFingerprint() {
+        return SqlStatInterceptor.buildFingerprint(SQL);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SqlStatInterceptorBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
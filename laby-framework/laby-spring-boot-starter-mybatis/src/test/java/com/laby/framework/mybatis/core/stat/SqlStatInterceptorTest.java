@@ -0,0 +1,72 @@
+package com.laby.framework.mybatis.core.stat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link SqlStatInterceptor} 的单元测试
+ *
+ * @author Laby
+ */
+public class SqlStatInterceptorTest {
+
+    @Test
+    public void testConstructor_invalidFingerprintSampleInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new SqlStatInterceptor(new SqlStatRecorder(), 0));
+        assertThrows(IllegalArgumentException.class, () -> new SqlStatInterceptor(new SqlStatRecorder(), -1));
+    }
+
+    @Test
+    public void testConstructor_validFingerprintSampleInterval() {
+        assertDoesNotThrow(() -> new SqlStatInterceptor(new SqlStatRecorder(), 1));
+        assertDoesNotThrow(() -> new SqlStatInterceptor(new SqlStatRecorder(), 1024));
+    }
+
+    @Test
+    public void testIntercept_fingerprintCache() throws Throwable {
+        // 准备参数：每次执行都计算指纹
+        SqlStatRecorder recorder = new SqlStatRecorder();
+        SqlStatInterceptor interceptor = new SqlStatInterceptor(recorder, 1);
+        Configuration configuration = new Configuration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, "test.selectList",
+                new StaticSqlSource(configuration, "SELECT id FROM t WHERE a = 1"), SqlCommandType.SELECT).build();
+        Method method = Executor.class.getMethod("query", MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class);
+        Executor executor = mock(Executor.class);
+
+        // 调用
+        for (int i = 0; i < 3; i++) {
+            interceptor.intercept(new Invocation(executor, method, new Object[]{ms, null, RowBounds.DEFAULT, null}));
+        }
+        // 断言
+        SqlStat stat = recorder.getOrCreate(ms.getId());
+        assertEquals(3, stat.getCount());
+        assertEquals("SELECT id FROM t WHERE a = ?", stat.getFingerprint());
+        // 断言：相同的 SQL 只解析一次
+        Cache<?, ?> fingerprintCache = (Cache<?, ?>) ReflectionTestUtils.getField(interceptor, "fingerprintCache");
+        assertNotNull(fingerprintCache);
+        assertEquals(1, fingerprintCache.stats().missCount());
+        assertEquals(2, fingerprintCache.stats().hitCount());
+    }
+
+    @Test
+    public void testBuildFingerprint() {
+        assertEquals("SELECT * FROM t WHERE a = ? AND b = ? AND c IN (?...)",
+                SqlStatInterceptor.buildFingerprint("SELECT * FROM t WHERE a = 1 AND b = 'x''y' AND c IN (?, ?, ?)"));
+    }
+
+}
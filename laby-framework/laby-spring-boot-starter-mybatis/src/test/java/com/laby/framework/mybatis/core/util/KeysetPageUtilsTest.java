@@ -0,0 +1,80 @@
+package com.laby.framework.mybatis.core.util;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.laby.framework.common.pojo.PageResult;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link KeysetPageUtils} 的单元测试
+ *
+ * @author Laby
+ */
+public class KeysetPageUtilsTest {
+
+    @BeforeAll
+    public static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), TestDO.class);
+    }
+
+    @Test
+    public void testBuildPageResult_id() {
+        // 准备参数：多查询了 1 条
+        List<TestDO> records = List.of(new TestDO(3L, null), new TestDO(2L, null), new TestDO(1L, null));
+
+        // 调用
+        PageResult<TestDO> result = KeysetPageUtils.buildPageResult(records, 2, TestDO::getId);
+
+        // 断言：按 ID seek 时，不依赖其它字段，也就不受空值影响
+        assertEquals(2, result.getList().size());
+        assertNotNull(result.getNextCursor());
+    }
+
+    @Test
+    public void testBuildPageResult_sortValueNull() {
+        // 准备参数：最后一条的排序字段为空
+        List<TestDO> records = List.of(new TestDO(3L, LocalDateTime.now()), new TestDO(2L, null), new TestDO(1L, null));
+
+        // 调用，并断言：不生成无法使用的游标
+        assertThrows(IllegalStateException.class,
+                () -> KeysetPageUtils.buildPageResult(records, 2, TestDO::getCreateTime));
+    }
+
+    @Test
+    public void testBuildPageResult_lastPage() {
+        // 准备参数：不足一页
+        List<TestDO> records = List.of(new TestDO(1L, null));
+
+        // 调用
+        PageResult<TestDO> result = KeysetPageUtils.buildPageResult(records, 2, TestDO::getCreateTime);
+
+        // 断言
+        assertEquals(1, result.getList().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @TableName("test_keyset")
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TestDO {
+
+        @TableId
+        private Long id;
+        private LocalDateTime createTime;
+
+    }
+
+}
@@ -7,11 +7,13 @@ import com.laby.framework.ratelimiter.core.redis.RateLimiterRedisDAO;
 import com.laby.framework.redis.config.LabyRedisAutoConfiguration;
 import org.redisson.api.RedissonClient;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
 import java.util.List;
 
 @AutoConfiguration(after = LabyRedisAutoConfiguration.class)
+@EnableConfigurationProperties(RateLimiterProperties.class)
 public class LabyRateLimiterConfiguration {
 
     @Bean
@@ -21,8 +23,8 @@ public class LabyRateLimiterConfiguration {
 
     @Bean
     @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
-    public RateLimiterRedisDAO rateLimiterRedisDAO(RedissonClient redissonClient) {
-        return new RateLimiterRedisDAO(redissonClient);
+    public RateLimiterRedisDAO rateLimiterRedisDAO(RedissonClient redissonClient, RateLimiterProperties properties) {
+        return new RateLimiterRedisDAO(redissonClient, properties);
     }
 
     // ========== 各种 RateLimiterRedisDAO Bean ==========
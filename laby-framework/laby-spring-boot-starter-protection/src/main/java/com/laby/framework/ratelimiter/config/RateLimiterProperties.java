@@ -0,0 +1,36 @@
+package com.laby.framework.ratelimiter.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * 限流配置属性
+ *
+ * @author Laby
+ */
+@ConfigurationProperties(prefix = "laby.rate-limiter")
+@Validated
+@Data
+public class RateLimiterProperties {
+
+    /**
+     * 本地令牌桶的启用阈值，默认为 200
+     *
+     * 限流次数大于等于该值时，每个节点从 Redis 批量租借令牌到本地，用完后再次租借；小于该值时，每次请求都访问 Redis
+     */
+    @Min(value = 1, message = "本地令牌桶的启用阈值不能小于 1")
+    private int leaseThreshold = 200;
+    /**
+     * 单次租借的令牌数，占限流次数的比例，默认为 0.02
+     *
+     * 租借的令牌在 Redis 中已扣减，未用完的部分会被浪费，所以集群整体最多少放行「节点数 * 限流次数 * 该比例」次请求，不会多放行
+     */
+    @DecimalMin(value = "0", inclusive = false, message = "单次租借的令牌比例必须大于 0")
+    @DecimalMax(value = "1", message = "单次租借的令牌比例不能大于 1")
+    private double leaseTolerance = 0.02;
+
+}
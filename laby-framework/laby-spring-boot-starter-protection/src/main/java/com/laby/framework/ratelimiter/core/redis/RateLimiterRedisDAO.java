@@ -1,18 +1,26 @@
 package com.laby.framework.ratelimiter.core.redis;
 
-import lombok.AllArgsConstructor;
+import com.laby.framework.ratelimiter.config.RateLimiterProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.redisson.api.*;
 
 import java.time.Duration;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 限流 Redis DAO
  *
+ * 在 Redisson RRateLimiter 的基础上，增加本地的一层：
+ * 1. 速率配置：设置后在本地记录到 Redis Key 过期为止，期间不再每次调用 getConfig 校验
+ * 2. 令牌租借：限流次数达到 {@link RateLimiterProperties#getLeaseThreshold()} 时，每个节点从 Redis 批量获取令牌，
+ *    放到本地的无锁令牌桶中消费，用完后再次租借。租借的令牌只在 Redis 的一个限流周期内有效，所以集群整体不会多放行
+ *
  * @author Laby
  */
-@AllArgsConstructor
 public class RateLimiterRedisDAO {
 
     /**
@@ -26,41 +34,170 @@ public class RateLimiterRedisDAO {
 
     private final RedissonClient redissonClient;
 
+    private final RateLimiterProperties properties;
+
+    /**
+     * 本地限流状态
+     *
+     * KEY：限流 Key
+     */
+    private final Cache<String, LocalRateLimiter> localRateLimiters = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    public RateLimiterRedisDAO(RedissonClient redissonClient, RateLimiterProperties properties) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+    }
+
     public Boolean tryAcquire(String key, int count, int time, TimeUnit timeUnit) {
-        // 1. 获得 RRateLimiter，并设置 rate 速率
-        RRateLimiter rateLimiter = getRRateLimiter(key, count, time, timeUnit);
-        // 2. 尝试获取 1 个
-        return rateLimiter.tryAcquire();
+        LocalRateLimiter local = localRateLimiters.get(key, k -> new LocalRateLimiter());
+        // 1. 优先消费本地租借的令牌
+        if (local.tryConsume()) {
+            return true;
+        }
+
+        // 2. 获得 RRateLimiter，并设置 rate 速率
+        RRateLimiter rateLimiter = getRRateLimiter(key, count, time, timeUnit, local);
+        // 3.1 限流次数较小时，直接获取 1 个
+        long batch = getLeaseBatch(count);
+        if (batch <= 1) {
+            return rateLimiter.tryAcquire();
+        }
+        // 3.2 限流次数较大时，批量租借令牌。同一时刻只有一个线程租借，其它线程直接获取 1 个
+        if (!local.leasing.compareAndSet(false, true)) {
+            return rateLimiter.tryAcquire();
+        }
+        try {
+            long interval = timeUnit.toMillis(time);
+            if (rateLimiter.tryAcquire(batch)) {
+                // 自己消费 1 个，剩余的放到本地
+                local.lease(batch - 1, System.currentTimeMillis() + interval);
+                return true;
+            }
+            // 剩余令牌不足一批时，退化为获取 1 个
+            return rateLimiter.tryAcquire();
+        } finally {
+            local.leasing.set(false);
+        }
+    }
+
+    private long getLeaseBatch(int count) {
+        if (count < properties.getLeaseThreshold()) {
+            return 1;
+        }
+        return Math.max(1, (long) (count * properties.getLeaseTolerance()));
     }
 
     private static String formatKey(String key) {
         return String.format(RATE_LIMITER, key);
     }
 
-    private RRateLimiter getRRateLimiter(String key, long count, int time, TimeUnit timeUnit) {
+    private RRateLimiter getRRateLimiter(String key, long count, int time, TimeUnit timeUnit, LocalRateLimiter local) {
         String redisKey = formatKey(key);
         RRateLimiter rateLimiter = redissonClient.getRateLimiter(redisKey);
         long rateInterval = timeUnit.toSeconds(time);
         Duration duration = Duration.ofSeconds(rateInterval);
+        // 0. 本地记录的配置相同，并且 Redis Key 未过期，则直接返回
+        if (local.isConfigured(count, rateInterval)) {
+            return rateLimiter;
+        }
         // 1. 如果不存在，设置 rate 速率
         RateLimiterConfig config = rateLimiter.getConfig();
         if (config == null) {
             rateLimiter.trySetRate(RateType.OVERALL, count, duration);
             // 原因参见 https://t.zsxq.com/lcR0W
             rateLimiter.expire(duration);
+            local.configured(count, rateInterval, duration);
             return rateLimiter;
         }
-        // 2. 如果存在，并且配置相同，则直接返回
+        // 2. 如果存在，并且配置相同，则按 Redis Key 的剩余过期时间记录到本地，期间不再调用 getConfig 校验
         if (config.getRateType() == RateType.OVERALL
                 && Objects.equals(config.getRate(), count)
                 && Objects.equals(config.getRateInterval(), TimeUnit.SECONDS.toMillis(rateInterval))) {
+            long ttl = rateLimiter.remainTimeToLive();
+            if (ttl > 0) {
+                local.configured(count, rateInterval, Duration.ofMillis(ttl));
+            } else if (ttl == -1) {
+                // 未设置过期时间（例如说，历史版本创建的 Key），补充设置
+                rateLimiter.expire(duration);
+                local.configured(count, rateInterval, duration);
+            }
             return rateLimiter;
         }
         // 3. 如果存在，并且配置不同，则进行新建
         rateLimiter.setRate(RateType.OVERALL, count, duration);
         // 原因参见 https://t.zsxq.com/lcR0W
         rateLimiter.expire(duration);
+        local.configured(count, rateInterval, duration);
         return rateLimiter;
     }
 
+    /**
+     * 本地限流状态：速率配置 + 租借的令牌桶
+     */
+    private static class LocalRateLimiter {
+
+        /**
+         * 已设置的速率配置
+         */
+        private volatile long configuredCount;
+        private volatile long configuredInterval;
+        /**
+         * 速率配置的过期时间，即 Redis Key 的过期时间
+         */
+        private volatile long configExpireTime;
+
+        /**
+         * 本地剩余的令牌数
+         */
+        private final AtomicLong permits = new AtomicLong();
+        /**
+         * 令牌的过期时间，超过后 Redis 已归还这批令牌，本地不能再使用
+         */
+        private volatile long permitsExpireTime;
+        /**
+         * 是否正在租借
+         */
+        private final AtomicBoolean leasing = new AtomicBoolean();
+
+        private boolean isConfigured(long count, long interval) {
+            return configuredCount == count && configuredInterval == interval
+                    && System.currentTimeMillis() < configExpireTime;
+        }
+
+        private void configured(long count, long interval, Duration duration) {
+            this.configuredCount = count;
+            this.configuredInterval = interval;
+            // 预留 10% 的时间，避免本地认为未过期、而 Redis Key 已过期，导致 tryAcquire 报「未初始化」
+            this.configExpireTime = System.currentTimeMillis() + duration.toMillis() * 9 / 10;
+        }
+
+        private boolean tryConsume() {
+            if (System.currentTimeMillis() >= permitsExpireTime) {
+                return false;
+            }
+            long current;
+            do {
+                current = permits.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        private void lease(long count, long expireTime) {
+            // Redis Key 先过期时，限流被重置，租借的令牌也随之作废
+            if (configExpireTime > System.currentTimeMillis()) {
+                expireTime = Math.min(expireTime, configExpireTime);
+            }
+            // 先设置过期时间，再放入令牌，保证其它线程拿到令牌时过期时间已生效
+            this.permitsExpireTime = expireTime;
+            permits.set(count);
+        }
+
+    }
+
 }
@@ -3,11 +3,14 @@ package com.laby.framework.redis.config;
 import cn.hutool.core.util.ReflectUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.laby.framework.redis.core.ServerTimingRedisTemplate;
+import com.laby.framework.redis.core.ServerTimingStringRedisTemplate;
 import org.redisson.spring.starter.RedissonAutoConfigurationV2;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
 /**
@@ -22,7 +25,7 @@ public class LabyRedisAutoConfiguration {
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory) {
         // 创建 RedisTemplate 对象
-        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        RedisTemplate<String, Object> template = new ServerTimingRedisTemplate<>();
         // 设置 RedisConnection 工厂。😈 它就是实现多种 Java Redis 客户端接入的秘密工厂。感兴趣的胖友，可以自己去撸下。
         template.setConnectionFactory(factory);
         // 使用 String 序列化方式，序列化 KEY 。
@@ -34,6 +37,14 @@ public class LabyRedisAutoConfiguration {
         return template;
     }
 
+    /**
+     * 创建 StringRedisTemplate Bean，与 {@link #redisTemplate(RedisConnectionFactory)} 一样记录 Server-Timing 耗时
+     */
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory factory) {
+        return new ServerTimingStringRedisTemplate(factory);
+    }
+
     public static RedisSerializer<?> buildRedisSerializer() {
         RedisSerializer<Object> json = RedisSerializer.json();
         // 解决 LocalDateTime 的序列化
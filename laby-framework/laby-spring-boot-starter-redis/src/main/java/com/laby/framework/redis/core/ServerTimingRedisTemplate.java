@@ -0,0 +1,28 @@
+package com.laby.framework.redis.core;
+
+import com.laby.framework.common.enums.ServerTimingPhaseEnum;
+import com.laby.framework.common.util.monitor.ServerTimingUtils;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * 记录 Server-Timing 耗时的 {@link RedisTemplate} 实现类
+ *
+ * opsForXXX、executePipelined、execute(RedisScript) 等操作，最终都会调用 {@link #execute(RedisCallback, boolean, boolean)}，
+ * 所以只需要在这里计时。直接使用 RedissonClient 的操作（例如说分布式锁）不在统计范围内
+ *
+ * @author Laby
+ */
+public class ServerTimingRedisTemplate<K, V> extends RedisTemplate<K, V> {
+
+    @Override
+    public <T> T execute(RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
+        long startTime = ServerTimingUtils.start();
+        try {
+            return super.execute(action, exposeConnection, pipeline);
+        } finally {
+            ServerTimingUtils.stop(ServerTimingPhaseEnum.REDIS, startTime);
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.laby.framework.redis.core;
+
+import com.laby.framework.common.enums.ServerTimingPhaseEnum;
+import com.laby.framework.common.util.monitor.ServerTimingUtils;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 记录 Server-Timing 耗时的 {@link StringRedisTemplate} 实现类
+ *
+ * @author Laby
+ * @see ServerTimingRedisTemplate
+ */
+public class ServerTimingStringRedisTemplate extends StringRedisTemplate {
+
+    public ServerTimingStringRedisTemplate(RedisConnectionFactory connectionFactory) {
+        super(connectionFactory);
+    }
+
+    @Override
+    public <T> T execute(RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
+        long startTime = ServerTimingUtils.start();
+        try {
+            return super.execute(action, exposeConnection, pipeline);
+        } finally {
+            ServerTimingUtils.stop(ServerTimingPhaseEnum.REDIS, startTime);
+        }
+    }
+
+}
@@ -4,8 +4,10 @@ import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
 import com.laby.framework.common.biz.system.oauth2.OAuth2TokenCommonApi;
 import com.laby.framework.common.biz.system.oauth2.dto.OAuth2AccessTokenCheckRespDTO;
+import com.laby.framework.common.enums.ServerTimingPhaseEnum;
 import com.laby.framework.common.exception.ServiceException;
 import com.laby.framework.common.pojo.CommonResult;
+import com.laby.framework.common.util.monitor.ServerTimingUtils;
 import com.laby.framework.common.util.servlet.ServletUtils;
 import com.laby.framework.security.config.SecurityProperties;
 import com.laby.framework.security.core.LoginUser;
@@ -45,6 +47,7 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
                 securityProperties.getTokenHeader(), securityProperties.getTokenParameter());
         if (StrUtil.isNotEmpty(token)) {
             Integer userType = WebFrameworkUtils.getLoginUserType(request);
+            long startTime = ServerTimingUtils.start();
             try {
                 // 1.1 基于 token 构建登录用户
                 LoginUser loginUser = buildLoginUserByToken(token, userType);
@@ -61,6 +64,8 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
                 CommonResult<?> result = globalExceptionHandler.allExceptionHandler(request, ex);
                 ServletUtils.writeJSON(response, result);
                 return;
+            } finally {
+                ServerTimingUtils.stop(ServerTimingPhaseEnum.AUTH, startTime);
             }
         }
 
@@ -18,6 +18,7 @@ import com.laby.framework.common.util.monitor.TracerUtils;
 import com.laby.framework.common.util.servlet.ServletUtils;
 import com.laby.framework.web.config.WebProperties;
 import com.laby.framework.web.core.filter.ApiRequestFilter;
+import com.laby.framework.web.core.filter.RequestBodyBuffer;
 import com.laby.framework.web.core.util.WebFrameworkUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,6 +36,7 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import static com.laby.framework.apilog.core.interceptor.ApiAccessLogInterceptor.ATTRIBUTE_HANDLER_METHOD;
 import static com.laby.framework.common.util.json.JsonUtils.toJsonString;
@@ -51,6 +53,11 @@ public class ApiAccessLogFilter extends ApiRequestFilter {
 
     private static final String[] SANITIZE_KEYS = new String[]{"password", "token", "accessToken", "refreshToken"};
 
+    /**
+     * 请求内容被截断时的后缀
+     */
+    private static final String TRUNCATED_SUFFIX = "...(truncated)";
+
     private final String applicationName;
 
     private final ApiAccessLogCommonApi apiAccessLogApi;
@@ -69,7 +76,7 @@ public class ApiAccessLogFilter extends ApiRequestFilter {
         LocalDateTime beginTime = LocalDateTime.now();
         // 提前获得参数，避免 XssFilter 过滤处理
         Map<String, String> queryString = ServletUtils.getParamMap(request);
-        String requestBody = ServletUtils.isJsonRequest(request) ? ServletUtils.getBody(request) : null;
+        String requestBody = ServletUtils.isJsonRequest(request) ? getRequestBody(request) : null;
 
         try {
             // 继续过滤器
@@ -83,6 +90,21 @@ public class ApiAccessLogFilter extends ApiRequestFilter {
         }
     }
 
+    /**
+     * 获得请求内容，超过 {@link WebProperties.RequestBody#getPreviewLength()} 时截断，避免大请求（例如说导入）整体解码
+     */
+    private String getRequestBody(HttpServletRequest request) {
+        RequestBodyBuffer body = RequestBodyBuffer.get(request);
+        if (body == null) {
+            return ServletUtils.getBody(request);
+        }
+        int previewLength = (int) webProperties.getRequestBody().getPreviewLength().toBytes();
+        if (body.length() <= previewLength) {
+            return body.getPreview(previewLength);
+        }
+        return body.getPreview(previewLength) + TRUNCATED_SUFFIX;
+    }
+
     private void createApiAccessLog(HttpServletRequest request, LocalDateTime beginTime,
                                     Map<String, String> queryString, String requestBody, Exception ex) {
         ApiAccessLogCreateReqDTO accessLog = new ApiAccessLogCreateReqDTO();
@@ -197,6 +219,10 @@ public class ApiAccessLogFilter extends ApiRequestFilter {
         if (StrUtil.isEmpty(jsonString)) {
             return null;
         }
+        // 被截断的内容，不是完整的 JSON，只能按正则脱敏
+        if (jsonString.endsWith(TRUNCATED_SUFFIX)) {
+            return sanitizeTruncatedJson(jsonString, sanitizeKeys);
+        }
         try {
             JsonNode rootNode = JsonUtils.parseTree(jsonString);
             sanitizeJson(rootNode, sanitizeKeys);
@@ -208,6 +234,20 @@ public class ApiAccessLogFilter extends ApiRequestFilter {
         }
     }
 
+    private static String sanitizeTruncatedJson(String jsonString, String[] sanitizeKeys) {
+        String[] keys = ArrayUtil.addAll(SANITIZE_KEYS, sanitizeKeys);
+        StringBuilder regex = new StringBuilder("\"(");
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                regex.append('|');
+            }
+            regex.append(Pattern.quote(keys[i]));
+        }
+        // 字符串值，或者其它值（数字、布尔等）；截断在值中间时，也匹配到末尾
+        regex.append(")\"\\s*:\\s*(\"(?:[^\"\\\\]|\\\\.)*\"?|[^,}\\]]*)");
+        return Pattern.compile(regex.toString()).matcher(jsonString).replaceAll("\"$1\":\"***\"");
+    }
+
     private static String sanitizeJson(CommonResult<?> commonResult, String[] sanitizeKeys) {
         if (commonResult == null) {
             return null;
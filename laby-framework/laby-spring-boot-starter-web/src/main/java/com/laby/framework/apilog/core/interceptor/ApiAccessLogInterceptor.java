@@ -6,6 +6,7 @@ import cn.hutool.core.io.resource.ResourceUtil;
 import cn.hutool.core.util.StrUtil;
 import com.laby.framework.common.util.servlet.ServletUtils;
 import com.laby.framework.common.util.spring.SpringUtils;
+import com.laby.framework.web.core.filter.RequestBodyBuffer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -44,7 +45,7 @@ public class ApiAccessLogInterceptor implements HandlerInterceptor {
         // 打印 request 日志
         if (!SpringUtils.isProd()) {
             Map<String, String> queryString = ServletUtils.getParamMap(request);
-            String requestBody = ServletUtils.isJsonRequest(request) ? ServletUtils.getBody(request) : null;
+            CharSequence requestBody = ServletUtils.isJsonRequest(request) ? getRequestBody(request) : null;
             if (CollUtil.isEmpty(queryString) && StrUtil.isEmpty(requestBody)) {
                 log.info("[preHandle][开始请求 URL({}) 无参数]", request.getRequestURI());
             } else {
@@ -61,6 +62,12 @@ public class ApiAccessLogInterceptor implements HandlerInterceptor {
         return true;
     }
 
+    private static CharSequence getRequestBody(HttpServletRequest request) {
+        // 优先使用 CacheRequestBodyFilter 缓存的内容，不需要再读取一遍
+        RequestBodyBuffer body = RequestBodyBuffer.get(request);
+        return body != null ? body.getText() : ServletUtils.getBody(request);
+    }
+
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
         // 打印 response 日志
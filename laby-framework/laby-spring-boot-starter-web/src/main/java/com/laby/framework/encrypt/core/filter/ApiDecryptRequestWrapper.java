@@ -5,24 +5,26 @@ import cn.hutool.core.util.StrUtil;
 import cn.hutool.crypto.asymmetric.AsymmetricDecryptor;
 import cn.hutool.crypto.asymmetric.KeyType;
 import cn.hutool.crypto.symmetric.SymmetricDecryptor;
-import jakarta.servlet.ReadListener;
+import com.laby.framework.web.core.filter.RequestBodyBuffer;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 
 /**
  * 解密请求 {@link HttpServletRequestWrapper} 实现类
  *
+ * 解密后的内容替换请求的 {@link RequestBodyBuffer}，使访问日志等记录的是解密后的内容
+ *
  * @author Laby
  */
 public class ApiDecryptRequestWrapper extends HttpServletRequestWrapper {
 
-    private final byte[] body;
+    private final RequestBodyBuffer body;
 
     public ApiDecryptRequestWrapper(HttpServletRequest request,
                                     SymmetricDecryptor symmetricDecryptor,
@@ -33,54 +35,30 @@ public class ApiDecryptRequestWrapper extends HttpServletRequestWrapper {
                 IoUtil.readBytes(request.getInputStream(), false));
 
         // 解密 body
-        body = symmetricDecryptor != null ? symmetricDecryptor.decrypt(requestBody)
+        byte[] bytes = symmetricDecryptor != null ? symmetricDecryptor.decrypt(requestBody)
                 : asymmetricDecryptor.decrypt(requestBody, KeyType.PrivateKey);
+        body = RequestBodyBuffer.wrap(bytes, StandardCharsets.UTF_8);
+        RequestBodyBuffer.set(request, body);
     }
 
     @Override
-    public BufferedReader getReader() {
-        return new BufferedReader(new InputStreamReader(this.getInputStream()));
+    public BufferedReader getReader() throws IOException {
+        return new BufferedReader(new InputStreamReader(this.getInputStream(), body.getCharset()));
     }
 
     @Override
     public int getContentLength() {
-        return body.length;
+        return (int) body.length();
     }
 
     @Override
     public long getContentLengthLong() {
-        return body.length;
+        return body.length();
     }
 
     @Override
-    public ServletInputStream getInputStream() {
-        ByteArrayInputStream stream = new ByteArrayInputStream(body);
-        return new ServletInputStream() {
-
-            @Override
-            public int read() {
-                return stream.read();
-            }
-
-            @Override
-            public int available() {
-                return body.length;
-            }
-
-            @Override
-            public boolean isFinished() {
-                return false;
-            }
-
-            @Override
-            public boolean isReady() {
-                return false;
-            }
-
-            @Override
-            public void setReadListener(ReadListener readListener) {
-            }
-
-        };
+    public ServletInputStream getInputStream() throws IOException {
+        return body.getInputStream();
     }
+
 }
@@ -4,8 +4,10 @@ import com.laby.framework.common.biz.infra.logger.ApiErrorLogCommonApi;
 import com.laby.framework.common.enums.WebFilterOrderEnum;
 import com.laby.framework.web.core.filter.CacheRequestBodyFilter;
 import com.laby.framework.web.core.filter.DemoFilter;
+import com.laby.framework.web.core.filter.ServerTimingFilter;
 import com.laby.framework.web.core.handler.GlobalExceptionHandler;
 import com.laby.framework.web.core.handler.GlobalResponseBodyHandler;
+import com.laby.framework.web.core.stream.CommonStreamResultHttpMessageConverter;
 import com.laby.framework.web.core.util.WebFrameworkUtils;
 import jakarta.annotation.Resource;
 import jakarta.servlet.Filter;
@@ -18,6 +20,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
@@ -27,6 +31,8 @@ import org.springframework.web.filter.CorsFilter;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @AutoConfiguration
 @EnableConfigurationProperties(WebProperties.class)
 public class LabyWebAutoConfiguration implements WebMvcConfigurer {
@@ -57,6 +63,16 @@ public class LabyWebAutoConfiguration implements WebMvcConfigurer {
                 && antPathMatcher.match(api.getController(), clazz.getPackage().getName())); // 仅仅匹配 controller 包
     }
 
+    /**
+     * 添加 {@link CommonStreamResultHttpMessageConverter}，复用 Jackson 转换器的 ObjectMapper，保证序列化结果一致
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.stream().filter(converter -> converter instanceof MappingJackson2HttpMessageConverter).findFirst()
+                .ifPresent(converter -> converters.add(0, new CommonStreamResultHttpMessageConverter(
+                        ((MappingJackson2HttpMessageConverter) converter).getObjectMapper())));
+    }
+
     @Bean
     @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
     public GlobalExceptionHandler globalExceptionHandler(ApiErrorLogCommonApi apiErrorLogApi) {
@@ -99,7 +115,16 @@ public class LabyWebAutoConfiguration implements WebMvcConfigurer {
      */
     @Bean
     public FilterRegistrationBean<CacheRequestBodyFilter> requestBodyCacheFilter() {
-        return createFilterBean(new CacheRequestBodyFilter(), WebFilterOrderEnum.REQUEST_BODY_CACHE_FILTER);
+        return createFilterBean(new CacheRequestBodyFilter(webProperties.getRequestBody()), WebFilterOrderEnum.REQUEST_BODY_CACHE_FILTER);
+    }
+
+    /**
+     * 创建 ServerTimingFilter Bean，记录请求的耗时分解
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "laby.web.server-timing", value = "enable", havingValue = "true") // 默认关闭，使用 laby.web.server-timing.enable=true 开启
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        return createFilterBean(new ServerTimingFilter(webProperties), WebFilterOrderEnum.SERVER_TIMING_FILTER);
     }
 
     /**
@@ -4,12 +4,16 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
 
 @ConfigurationProperties(prefix = "laby.web")
 @Validated
@@ -24,6 +28,12 @@ public class WebProperties {
     @NotNull(message = "Admin UI 不能为空")
     private Ui adminUi;
 
+    @NotNull(message = "Request Body 缓存配置不能为空")
+    private RequestBody requestBody = new RequestBody();
+
+    @NotNull(message = "Server-Timing 配置不能为空")
+    private ServerTiming serverTiming = new ServerTiming();
+
     @Data
     @AllArgsConstructor
     @NoArgsConstructor
@@ -63,4 +73,61 @@ public class WebProperties {
 
     }
 
+    /**
+     * Request Body 缓存配置
+     *
+     * @see com.laby.framework.web.core.filter.CacheRequestBodyFilter
+     */
+    @Data
+    @Valid
+    public static class RequestBody {
+
+        /**
+         * 内存中缓存的最大长度，超过时写入临时文件
+         */
+        @NotNull(message = "内存缓存的最大长度不能为空")
+        private DataSize memoryThreshold = DataSize.ofMegabytes(1);
+        /**
+         * 缓冲区池的最大容量，超过时缓冲区直接丢弃，不再归还到池中
+         */
+        @NotNull(message = "缓冲区池的最大容量不能为空")
+        private DataSize poolCapacity = DataSize.ofMegabytes(16);
+        /**
+         * API 访问日志记录的最大长度，超过时截断
+         */
+        @NotNull(message = "访问日志记录的最大长度不能为空")
+        private DataSize previewLength = DataSize.ofKilobytes(4);
+
+    }
+
+    /**
+     * Server-Timing 耗时分解配置
+     *
+     * 注意，db 阶段依赖 SQL 执行统计，需要同时开启 laby.mybatis.sql-stat.enable（默认开启）
+     *
+     * @see com.laby.framework.web.core.filter.ServerTimingFilter
+     */
+    @Data
+    @Valid
+    public static class ServerTiming {
+
+        /**
+         * 是否开启。关闭时，各处埋点只有一次 ThreadLocal 读取的开销
+         */
+        private Boolean enable = false;
+        /**
+         * 日志的采样率，范围 [0, 1]
+         */
+        @NotNull(message = "日志的采样率不能为空")
+        @DecimalMin(value = "0", message = "日志的采样率不能小于 0")
+        @DecimalMax(value = "1", message = "日志的采样率不能大于 1")
+        private Double logSampleRate = 0.01;
+        /**
+         * 慢请求的阈值，超过时不考虑采样率，一定打印日志
+         */
+        @NotNull(message = "慢请求的阈值不能为空")
+        private Duration logSlowThreshold = Duration.ofSeconds(1);
+
+    }
+
 }
@@ -1,18 +1,28 @@
 package com.laby.framework.web.core.filter;
 
 import cn.hutool.core.util.StrUtil;
+import com.laby.framework.common.enums.ServerTimingPhaseEnum;
+import com.laby.framework.common.util.monitor.ServerTimingUtils;
 import com.laby.framework.common.util.servlet.ServletUtils;
+import com.laby.framework.web.config.WebProperties;
+import lombok.RequiredArgsConstructor;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Request Body 缓存 Filter，实现它的可重复读取
  *
+ * 整个请求只缓存一份 {@link RequestBodyBuffer}，后续的 Filter、日志、Controller 共享；请求结束后释放
+ *
  * @author Laby
  */
 public class CacheRequestBodyFilter extends OncePerRequestFilter {
@@ -24,10 +34,38 @@ public class CacheRequestBodyFilter extends OncePerRequestFilter {
      */
     private static final String[] IGNORE_URIS = {"/admin/", "/actuator/"};
 
+    private final WebProperties.RequestBody properties;
+
+    private final RequestBodyBufferPool pool;
+
+    public CacheRequestBodyFilter(WebProperties.RequestBody properties) {
+        this.properties = properties;
+        this.pool = new RequestBodyBufferPool(RequestBodyBufferPool.DEFAULT_CHUNK_SIZE,
+                properties.getPoolCapacity().toBytes());
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws IOException, ServletException {
-        filterChain.doFilter(new CacheRequestBodyWrapper(request), response);
+        long startTime = ServerTimingUtils.start();
+        RequestBodyBuffer body = RequestBodyBuffer.read(request.getInputStream(), getCharset(request),
+                pool, properties.getMemoryThreshold().toBytes());
+        ServerTimingUtils.stop(ServerTimingPhaseEnum.BODY, startTime);
+        try {
+            filterChain.doFilter(new CacheRequestBodyWrapper(request, body), response);
+        } finally {
+            // 异步请求，在异步处理完成后释放；否则，直接释放
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseAsyncListener(body));
+            } else {
+                body.release();
+            }
+        }
+    }
+
+    private static Charset getCharset(HttpServletRequest request) {
+        String encoding = request.getCharacterEncoding();
+        return StrUtil.isNotEmpty(encoding) ? Charset.forName(encoding) : StandardCharsets.UTF_8;
     }
 
     @Override
@@ -42,4 +80,33 @@ public class CacheRequestBodyFilter extends OncePerRequestFilter {
         return !ServletUtils.isJsonRequest(request);
     }
 
+    /**
+     * 异步请求完成后，释放 {@link RequestBodyBuffer}
+     */
+    @RequiredArgsConstructor
+    private static class ReleaseAsyncListener implements AsyncListener {
+
+        private final RequestBodyBuffer body;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            body.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {}
+
+        @Override
+        public void onError(AsyncEvent event) {
+            body.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // 再次开始异步时，需要重新注册
+            event.getAsyncContext().addListener(this);
+        }
+
+    }
+
 }
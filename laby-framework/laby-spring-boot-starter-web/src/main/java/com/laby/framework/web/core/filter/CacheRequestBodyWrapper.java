@@ -1,13 +1,11 @@
 package com.laby.framework.web.core.filter;
 
-import com.laby.framework.common.util.servlet.ServletUtils;
-import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
 
 /**
@@ -20,58 +18,32 @@ public class CacheRequestBodyWrapper extends HttpServletRequestWrapper {
     /**
      * 缓存的内容
      */
-    private final byte[] body;
+    private final RequestBodyBuffer body;
 
-    public CacheRequestBodyWrapper(HttpServletRequest request) {
+    public CacheRequestBodyWrapper(HttpServletRequest request, RequestBodyBuffer body) {
         super(request);
-        body = ServletUtils.getBodyBytes(request);
+        this.body = body;
+        RequestBodyBuffer.set(request, body);
     }
 
     @Override
-    public BufferedReader getReader() {
-        return new BufferedReader(new InputStreamReader(this.getInputStream()));
+    public BufferedReader getReader() throws IOException {
+        return new BufferedReader(new InputStreamReader(this.getInputStream(), body.getCharset()));
     }
 
     @Override
     public int getContentLength() {
-        return body.length;
+        return (int) Math.min(Integer.MAX_VALUE, body.length());
     }
 
     @Override
     public long getContentLengthLong() {
-        return body.length;
+        return body.length();
     }
 
     @Override
-    public ServletInputStream getInputStream() {
-        final ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
-        // 返回 ServletInputStream
-        return new ServletInputStream() {
-
-            @Override
-            public int read() {
-                return inputStream.read();
-            }
-
-            @Override
-            public boolean isFinished() {
-                return false;
-            }
-
-            @Override
-            public boolean isReady() {
-                return false;
-            }
-
-            @Override
-            public void setReadListener(ReadListener readListener) {}
-
-            @Override
-            public int available() {
-                return body.length;
-            }
-
-        };
+    public ServletInputStream getInputStream() throws IOException {
+        return body.getInputStream();
     }
 
 }
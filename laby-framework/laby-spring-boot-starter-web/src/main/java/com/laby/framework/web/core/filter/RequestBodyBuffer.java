@@ -0,0 +1,420 @@
+package com.laby.framework.web.core.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 请求级别的 Request Body 缓存
+ *
+ * 1. 存储：小于 memoryThreshold 时，存放在 {@link RequestBodyBufferPool} 的分块中；超过时，写入临时文件
+ * 2. 读取：{@link #getInputStream()} 每次返回一个新的流，支持重复读取，不复制数据
+ * 3. 日志：{@link #getText()} 首次使用时才解码；{@link #getPreview(int)} 只解码前 N 个字节
+ * 4. 释放：由 {@link CacheRequestBodyFilter} 在请求结束时调用 {@link #release()}，分块归还到池中，临时文件被删除
+ *
+ * 整个请求共享一个实例，通过 {@link #get(ServletRequest)} 获取
+ *
+ * @author Laby
+ */
+@Slf4j
+public class RequestBodyBuffer {
+
+    /**
+     * 存放在 Request Attribute 中的 KEY
+     */
+    private static final String REQUEST_ATTRIBUTE = "REQUEST_BODY_BUFFER";
+
+    private static final String TEMP_FILE_PREFIX = "laby-request-body-";
+
+    /**
+     * 分块所属的池；为空时，分块不需要归还
+     */
+    private final RequestBodyBufferPool pool;
+    private final Charset charset;
+
+    private final List<byte[]> chunks = new ArrayList<>();
+    /**
+     * 临时文件，超过 memoryThreshold 时使用
+     */
+    private Path file;
+    private long length;
+
+    /**
+     * 已打开的临时文件流，释放时统一关闭
+     */
+    private final List<InputStream> fileStreams = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean released;
+
+    /**
+     * 解码后的内容，首次使用时解码
+     */
+    private volatile String text;
+
+    private RequestBodyBuffer(RequestBodyBufferPool pool, Charset charset) {
+        this.pool = pool;
+        this.charset = charset;
+    }
+
+    /**
+     * 读取输入流，构建 RequestBodyBuffer 对象
+     *
+     * @param in              输入流
+     * @param charset         字符集
+     * @param pool            缓冲区池
+     * @param memoryThreshold 内存中缓存的最大长度
+     * @return RequestBodyBuffer 对象
+     */
+    public static RequestBodyBuffer read(InputStream in, Charset charset,
+                                         RequestBodyBufferPool pool, long memoryThreshold) throws IOException {
+        RequestBodyBuffer buffer = new RequestBodyBuffer(pool, charset);
+        try {
+            buffer.readFrom(in, memoryThreshold);
+            return buffer;
+        } catch (IOException | RuntimeException ex) {
+            buffer.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * 包装已有的内容，例如说：解密后的 Request Body
+     *
+     * @param bytes   内容
+     * @param charset 字符集
+     * @return RequestBodyBuffer 对象
+     */
+    public static RequestBodyBuffer wrap(byte[] bytes, Charset charset) {
+        RequestBodyBuffer buffer = new RequestBodyBuffer(null, charset);
+        buffer.chunks.add(bytes);
+        buffer.length = bytes.length;
+        return buffer;
+    }
+
+    /**
+     * 获得请求的 RequestBodyBuffer 对象
+     *
+     * @param request 请求
+     * @return RequestBodyBuffer 对象；非 JSON 请求、或者被排除的请求，返回 null
+     */
+    public static RequestBodyBuffer get(ServletRequest request) {
+        return (RequestBodyBuffer) request.getAttribute(REQUEST_ATTRIBUTE);
+    }
+
+    /**
+     * 设置请求的 RequestBodyBuffer 对象
+     *
+     * @param request 请求
+     * @param buffer  RequestBodyBuffer 对象
+     */
+    public static void set(ServletRequest request, RequestBodyBuffer buffer) {
+        request.setAttribute(REQUEST_ATTRIBUTE, buffer);
+    }
+
+    private void readFrom(InputStream in, long memoryThreshold) throws IOException {
+        byte[] chunk = null;
+        int position = 0;
+        while (true) {
+            // 1. 当前分块已满，申请新的分块；超过 memoryThreshold 时，改为写入临时文件
+            if (chunk == null || position == chunk.length) {
+                if (length >= memoryThreshold) {
+                    // 恰好读完时，无需写入临时文件
+                    int next = in.read();
+                    if (next < 0) {
+                        return;
+                    }
+                    spill(next, in);
+                    return;
+                }
+                chunk = pool.acquire();
+                chunks.add(chunk);
+                position = 0;
+            }
+            // 2. 读取到分块中
+            int count = in.read(chunk, position, chunk.length - position);
+            if (count < 0) {
+                return;
+            }
+            position += count;
+            length += count;
+        }
+    }
+
+    private void spill(int next, InputStream in) throws IOException {
+        file = Files.createTempFile(TEMP_FILE_PREFIX, ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            // 已读取的分块，写入后归还
+            for (byte[] chunk : chunks) {
+                out.write(chunk);
+                pool.release(chunk);
+            }
+            chunks.clear();
+            out.write(next);
+            length += 1 + in.transferTo(out);
+        }
+    }
+
+    /**
+     * @return 内容的字节数
+     */
+    public long length() {
+        return length;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * 获得输入流。每次调用返回一个新的流，从头开始读取
+     *
+     * @return 输入流
+     */
+    public ServletInputStream getInputStream() throws IOException {
+        if (released) {
+            throw new IllegalStateException("Request Body 已经释放，不能再读取");
+        }
+        if (file == null) {
+            return new BodyServletInputStream(new ChunkInputStream());
+        }
+        InputStream in = new BufferedInputStream(Files.newInputStream(file));
+        fileStreams.add(in);
+        return new BodyServletInputStream(in);
+    }
+
+    /**
+     * 获得解码后的内容，用于日志等场景
+     *
+     * 返回的 CharSequence 在首次使用时才解码，例如说日志级别未开启时，不会解码
+     *
+     * @return 内容
+     */
+    public CharSequence getText() {
+        return new LazyText();
+    }
+
+    /**
+     * 获得前 maxBytes 个字节解码后的内容，用于访问日志等只需要预览的场景
+     *
+     * @param maxBytes 最大字节数
+     * @return 内容；被截断时，不包含末尾不完整的字符
+     */
+    public String getPreview(int maxBytes) {
+        if (length <= maxBytes) {
+            return toText();
+        }
+        try {
+            byte[] bytes = readPrefix(maxBytes);
+            return charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.IGNORE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(ByteBuffer.wrap(bytes)).toString();
+        } catch (CharacterCodingException ex) {
+            // IGNORE、REPLACE 模式下不会出现，兜底
+            throw new IllegalStateException(ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String toText() {
+        String text = this.text;
+        if (text == null) {
+            try (InputStream in = getInputStream()) {
+                text = new String(in.readAllBytes(), charset);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            this.text = text;
+        }
+        return text;
+    }
+
+    private byte[] readPrefix(int maxBytes) throws IOException {
+        try (InputStream in = getInputStream()) {
+            return in.readNBytes(maxBytes);
+        }
+    }
+
+    /**
+     * 释放：分块归还到池中，删除临时文件。重复调用无影响
+     */
+    public synchronized void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        if (pool != null) {
+            chunks.forEach(pool::release);
+        }
+        chunks.clear();
+        text = null;
+        if (file != null) {
+            synchronized (fileStreams) {
+                fileStreams.forEach(in -> {
+                    try {
+                        in.close();
+                    } catch (IOException ignored) {
+                    }
+                });
+                fileStreams.clear();
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                log.warn("[release][删除临时文件({}) 失败]", file, ex);
+            }
+        }
+    }
+
+    /**
+     * 基于分块的输入流，直接读取分块，不复制
+     */
+    private class ChunkInputStream extends InputStream {
+
+        /**
+         * 已读取的字节数
+         */
+        private long position;
+
+        @Override
+        public int read() {
+            if (position >= length) {
+                return -1;
+            }
+            byte[] chunk = chunks.get(chunkIndex());
+            int value = chunk[chunkOffset()] & 0xFF;
+            position++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= length) {
+                return -1;
+            }
+            int total = 0;
+            while (total < len && position < length) {
+                byte[] chunk = chunks.get(chunkIndex());
+                int offset = chunkOffset();
+                int count = (int) Math.min(Math.min(len - total, chunk.length - offset), length - position);
+                System.arraycopy(chunk, offset, b, off + total, count);
+                total += count;
+                position += count;
+            }
+            return total;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, length - position);
+        }
+
+        private int chunkIndex() {
+            // wrap 创建时只有一个分块，大小不固定
+            return pool == null ? 0 : (int) (position / pool.getChunkSize());
+        }
+
+        private int chunkOffset() {
+            return pool == null ? (int) position : (int) (position % pool.getChunkSize());
+        }
+
+    }
+
+    /**
+     * {@link ServletInputStream} 的包装，数据已经全部就绪
+     */
+    private static class BodyServletInputStream extends ServletInputStream {
+
+        private final InputStream in;
+        private boolean finished;
+
+        private BodyServletInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = in.read();
+            if (value < 0) {
+                finished = true;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = in.read(b, off, len);
+            if (count < 0) {
+                finished = true;
+            }
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return in.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {}
+
+    }
+
+    /**
+     * 首次使用时才解码的 CharSequence
+     */
+    private class LazyText implements CharSequence {
+
+        @Override
+        public int length() {
+            return toText().length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return toText().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toText().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return toText();
+        }
+
+    }
+
+}
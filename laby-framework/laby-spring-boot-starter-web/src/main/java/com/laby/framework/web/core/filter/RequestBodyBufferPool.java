@@ -0,0 +1,70 @@
+package com.laby.framework.web.core.filter;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Request Body 缓冲区池
+ *
+ * 固定大小的 byte[] 分块，请求结束后归还，避免每个请求都分配、回收一次完整的 Request Body 数组。
+ * 池中最多保留 maxChunks 个分块，超过时直接丢弃，交给 GC 回收
+ *
+ * @author Laby
+ */
+public class RequestBodyBufferPool {
+
+    /**
+     * 默认分块大小：8KB
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+
+    private final int chunkSize;
+    private final int maxChunks;
+
+    private final Queue<byte[]> chunks = new ConcurrentLinkedQueue<>();
+    /**
+     * 池中的分块数量。ConcurrentLinkedQueue 的 size() 是 O(n) 的，所以单独计数
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    public RequestBodyBufferPool(int chunkSize, long capacity) {
+        this.chunkSize = chunkSize;
+        this.maxChunks = (int) Math.min(Integer.MAX_VALUE, capacity / chunkSize);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * 获得一个分块，池为空时新建
+     *
+     * @return 分块
+     */
+    public byte[] acquire() {
+        byte[] chunk = chunks.poll();
+        if (chunk == null) {
+            return new byte[chunkSize];
+        }
+        size.decrementAndGet();
+        return chunk;
+    }
+
+    /**
+     * 归还一个分块
+     *
+     * @param chunk 分块
+     */
+    public void release(byte[] chunk) {
+        if (chunk.length != chunkSize) {
+            return;
+        }
+        if (size.incrementAndGet() > maxChunks) {
+            size.decrementAndGet();
+            return;
+        }
+        chunks.offer(chunk);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.laby.framework.web.core.filter;
+
+import com.laby.framework.common.util.monitor.ServerTimingContext;
+import com.laby.framework.common.util.monitor.ServerTimingUtils;
+import com.laby.framework.web.config.WebProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Server-Timing 过滤器，记录请求的耗时分解
+ *
+ * 1. 响应头：通过 {@link ServerTimingResponseWrapper} 写入 Server-Timing，浏览器开发者工具可直接查看
+ * 2. 日志：按采样率打印，慢请求一定打印
+ *
+ * 各阶段的耗时由各处埋点通过 {@link ServerTimingUtils} 记录
+ *
+ * @author Laby
+ */
+@Slf4j
+public class ServerTimingFilter extends ApiRequestFilter {
+
+    private final WebProperties.ServerTiming properties;
+
+    public ServerTimingFilter(WebProperties webProperties) {
+        super(webProperties);
+        this.properties = webProperties.getServerTiming();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ServerTimingContext context = ServerTimingUtils.begin();
+        ServerTimingResponseWrapper responseWrapper = new ServerTimingResponseWrapper(response, context);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            // 没有响应体时（例如说 204），在此写入响应头
+            responseWrapper.writeHeader();
+            ServerTimingUtils.end();
+            log(request, response, context);
+        }
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, ServerTimingContext context) {
+        if (context.getElapsed() < properties.getLogSlowThreshold().toNanos()
+                && ThreadLocalRandom.current().nextDouble() >= properties.getLogSampleRate()) {
+            return;
+        }
+        log.info("[serverTiming] method={} uri={} status={} {}", request.getMethod(), request.getRequestURI(),
+                response.getStatus(), context.toLogString());
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.laby.framework.web.core.filter;
+
+import com.laby.framework.common.enums.ServerTimingPhaseEnum;
+import com.laby.framework.common.util.monitor.ServerTimingContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Server-Timing 响应 Wrapper，在响应提交前写入 Server-Timing 响应头
+ *
+ * 响应头必须在响应体之前发送，而 Spring MVC 的 HttpMessageConverter 序列化完成后会立即 flush 提交响应，
+ * 所以在 flush、close、或者写入量超过容器缓冲区大小之前，写入响应头。OutputStream 和 PrintWriter 两种输出方式都会统计写入量。
+ * 序列化耗时，记为「首次获取输出流」到「写入响应头」的时间；响应体超过缓冲区时，序列化耗时是不完整的
+ *
+ * @author Laby
+ */
+public class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+    public static final String HEADER_NAME = "Server-Timing";
+
+    private final ServerTimingContext context;
+
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    /**
+     * 首次获取输出流的时间，单位：纳秒
+     */
+    private long bodyStartTime;
+    /**
+     * 已经写入的字节数
+     */
+    private long written;
+    private boolean headerWritten;
+
+    public ServerTimingResponseWrapper(HttpServletResponse response, ServerTimingContext context) {
+        super(response);
+        this.context = context;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            markBodyStart();
+            outputStream = new ServerTimingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            markBodyStart();
+            // 按编码的最大字节数估算写入的字节数，宁可提前写入响应头，也不能在响应头之前提交响应
+            float maxBytesPerChar = Charset.forName(getCharacterEncoding()).newEncoder().maxBytesPerChar();
+            writer = new PrintWriter(super.getWriter()) {
+
+                @Override
+                public void write(int c) {
+                    beforeWrite((long) Math.ceil(maxBytesPerChar));
+                    super.write(c);
+                }
+
+                @Override
+                public void write(char[] buf, int off, int len) {
+                    beforeWrite((long) Math.ceil(len * maxBytesPerChar));
+                    super.write(buf, off, len);
+                }
+
+                @Override
+                public void write(String s, int off, int len) {
+                    beforeWrite((long) Math.ceil(len * maxBytesPerChar));
+                    super.write(s, off, len);
+                }
+
+                @Override
+                public void flush() {
+                    writeHeader();
+                    super.flush();
+                }
+
+                @Override
+                public void close() {
+                    writeHeader();
+                    super.close();
+                }
+
+            };
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        writeHeader();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeHeader();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeHeader();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        writeHeader();
+        super.sendRedirect(location);
+    }
+
+    private void markBodyStart() {
+        if (bodyStartTime == 0) {
+            bodyStartTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * 写入 Server-Timing 响应头，只写入一次；响应已经提交时，忽略
+     */
+    public void writeHeader() {
+        if (headerWritten) {
+            return;
+        }
+        headerWritten = true;
+        if (bodyStartTime != 0) {
+            context.add(ServerTimingPhaseEnum.SERIALIZE, System.nanoTime() - bodyStartTime);
+        }
+        if (!isCommitted()) {
+            setHeader(HEADER_NAME, context.toHeaderValue());
+        }
+    }
+
+    private void beforeWrite(long length) {
+        written += length;
+        // 超过容器缓冲区大小时，容器会自动提交响应，所以提前写入响应头
+        if (!headerWritten && written >= getBufferSize()) {
+            writeHeader();
+        }
+    }
+
+    private class ServerTimingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private ServerTimingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            beforeWrite(1);
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            beforeWrite(len);
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writeHeader();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writeHeader();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.laby.framework.web.core.stream;
+
+import com.laby.framework.common.pojo.CommonResult;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 流式的通用返回
+ *
+ * 与 {@link CommonResult#success(Object)} 返回的 JSON 完全一致，只是 data 数组不在内存中构建，
+ * 而是在写响应时，由 {@link CommonStreamResultHttpMessageConverter} 逐条查询、转换、写出，适合数据量很大的列表接口
+ *
+ * 注意，数据是在 Controller 方法返回之后才查询的：
+ * 1. 不能依赖 Controller、Service 上的事务，查询需要自行完成，例如 BaseMapperX#selectStream 方法
+ * 2. 响应一旦提交，查询出错时只能中断连接，客户端会收到不完整的 JSON
+ *
+ * @param <T> 数据泛型
+ * @author Laby
+ */
+public class CommonStreamResult<T> {
+
+    /**
+     * 数据生产者：逐条调用传入的 Consumer，将数据写出
+     */
+    private final Consumer<Consumer<T>> producer;
+
+    private CommonStreamResult(Consumer<Consumer<T>> producer) {
+        this.producer = producer;
+    }
+
+    /**
+     * 写出所有数据
+     *
+     * @param writer 逐条写出
+     */
+    public void forEach(Consumer<T> writer) {
+        producer.accept(writer);
+    }
+
+    public static <T> CommonStreamResult<T> success(Consumer<Consumer<T>> producer) {
+        return new CommonStreamResult<>(producer);
+    }
+
+    /**
+     * 创建流式返回，并逐条转换数据
+     *
+     * @param producer  数据生产者，例如 DO 的流式查询
+     * @param converter 转换器，例如 DO 转换成 RespVO
+     * @return 流式返回
+     */
+    public static <S, T> CommonStreamResult<T> success(Consumer<Consumer<S>> producer, Function<S, T> converter) {
+        return new CommonStreamResult<>(writer -> producer.accept(source -> writer.accept(converter.apply(source))));
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.laby.framework.web.core.stream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.laby.framework.common.pojo.CommonResult;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * {@link CommonStreamResult} 的 HttpMessageConverter 实现类
+ *
+ * 通过 {@link JsonGenerator} 按 {@link CommonResult} 的字段顺序，写出 code、msg、data，
+ * data 数组中的每条数据使用 Spring MVC 的 {@link ObjectMapper} 序列化，保证与非流式的返回结果字节一致
+ *
+ * @author Laby
+ */
+public class CommonStreamResultHttpMessageConverter extends AbstractHttpMessageConverter<CommonStreamResult<?>> {
+
+    private final ObjectMapper objectMapper;
+    /**
+     * 逐条写出时，不需要每条都 flush，由 JsonGenerator 的缓冲区满时再写出
+     */
+    private final ObjectWriter objectWriter;
+
+    public CommonStreamResultHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CommonStreamResult.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected CommonStreamResult<?> readInternal(Class<? extends CommonStreamResult<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("CommonStreamResult 不支持读取", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(CommonStreamResult<?> result, HttpOutputMessage outputMessage) throws IOException {
+        CommonResult<?> envelope = CommonResult.success(null);
+        // 不使用 try-with-resources：出错时不能 close，否则会将缓冲中不完整的 JSON 写出。
+        // 未写出的内容，会在 DispatcherServlet 处理异常时，通过 resetBuffer 丢弃，最终返回正常的错误结果
+        JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8);
+        try {
+            generator.writeStartObject();
+            generator.writeFieldName("code");
+            objectWriter.writeValue(generator, envelope.getCode());
+            generator.writeFieldName("msg");
+            objectWriter.writeValue(generator, envelope.getMsg());
+            generator.writeFieldName("data");
+            generator.writeStartArray();
+            result.forEach(data -> {
+                try {
+                    objectWriter.writeValue(generator, data);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (UncheckedIOException ex) {
+            throw new HttpMessageNotWritableException("写出 CommonStreamResult 失败：" + ex.getMessage(), ex.getCause());
+        }
+        generator.close();
+    }
+
+}
@@ -1,5 +1,9 @@
 package com.laby.framework.xss.core.clean;
 
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import com.laby.framework.common.enums.ServerTimingPhaseEnum;
+import com.laby.framework.common.util.monitor.ServerTimingUtils;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.safety.Safelist;
@@ -9,8 +13,25 @@ import org.jsoup.safety.Safelist;
  */
 public class JsoupXssCleaner implements XssCleaner {
 
+    /**
+     * 清理结果缓存的容量
+     */
+    private static final int CACHE_CAPACITY = 256;
+    /**
+     * 允许缓存的文本最大长度，避免大文本占用内存
+     */
+    private static final int CACHE_MAX_LENGTH = 1024;
+
+    private static final String JAVASCRIPT_PROTOCOL = "javascript";
+    private static final String VBSCRIPT_PROTOCOL = "vbscript";
+
     private final Safelist safelist;
 
+    /**
+     * 清理结果缓存：批量导入等场景，同一个值（例如说，富文本模板）会重复出现
+     */
+    private final LRUCache<String, String> cache = CacheUtil.newLRUCache(CACHE_CAPACITY);
+
     /**
      * 用于在 src 属性使用相对路径时，强制转换为绝对路径。 为空时不处理，值应为绝对路径的前缀（包含协议部分）
      */
@@ -57,7 +78,73 @@ public class JsoupXssCleaner implements XssCleaner {
 
     @Override
     public String clean(String html) {
-        return Jsoup.clean(html, baseUri, safelist, new Document.OutputSettings().prettyPrint(false));
+        // 快速路径：绝大多数字段是普通文本，不包含任何 HTML 相关字符时，Jsoup 的清理结果与原文一致，直接返回
+        if (!containsHtml(html)) {
+            return html;
+        }
+        // 快速路径不计时，避免每个字段都调用 System.nanoTime()
+        long startTime = ServerTimingUtils.start();
+        try {
+            return doClean(html);
+        } finally {
+            ServerTimingUtils.stop(ServerTimingPhaseEnum.XSS, startTime);
+        }
+    }
+
+    private String doClean(String html) {
+        // 命中缓存
+        boolean cacheable = html.length() <= CACHE_MAX_LENGTH;
+        if (cacheable) {
+            String cleaned = cache.get(html);
+            if (cleaned != null) {
+                return cleaned;
+            }
+        }
+        // 真正使用 Jsoup 清理
+        String cleaned = Jsoup.clean(html, baseUri, safelist, new Document.OutputSettings().prettyPrint(false));
+        if (cacheable) {
+            cache.put(html, cleaned);
+        }
+        return cleaned;
+    }
+
+    /**
+     * 预扫描：是否包含需要 Jsoup 处理的内容，不产生任何对象分配
+     *
+     * 1. 标签、实体相关的字符：&lt; &gt; &amp;
+     * 2. 不换行空格：Jsoup 输出时会转义为 &amp;nbsp;
+     * 3. 控制字符（\t \r \n 除外）：Jsoup 输出时会转义为数字实体，其中 \0 可能被删除
+     * 4. \uFFFF：Jsoup 解析时视为输入结束，之后的内容会被截断
+     * 5. 脚本协议：javascript:、vbscript:（忽略大小写）
+     *
+     * 只要包含其中之一，就交给 Jsoup 处理，保证快速路径的结果与 Jsoup 一致，参见 JsoupXssCleanerTest
+     *
+     * @param text 文本
+     * @return 是否包含
+     */
+    private static boolean containsHtml(String text) {
+        if (text == null) {
+            return false;
+        }
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '<' || c == '>' || c == '&' || c == '\u00A0' || c == '\uFFFF') {
+                return true;
+            }
+            if (c < ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return true;
+            }
+            if (c == ':' && (endsWithIgnoreCase(text, i, JAVASCRIPT_PROTOCOL)
+                    || endsWithIgnoreCase(text, i, VBSCRIPT_PROTOCOL))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean endsWithIgnoreCase(String text, int end, String suffix) {
+        int start = end - suffix.length();
+        return start >= 0 && text.regionMatches(true, start, suffix, 0, suffix.length());
     }
 
 }
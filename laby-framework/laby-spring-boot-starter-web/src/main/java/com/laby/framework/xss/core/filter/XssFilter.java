@@ -20,6 +20,13 @@ import java.io.IOException;
 @AllArgsConstructor
 public class XssFilter extends OncePerRequestFilter {
 
+    /**
+     * 请求属性：当前请求是否为排除的 URL
+     *
+     * 每个请求只计算一次，避免 JSON 反序列化时，每个字符串字段都匹配一遍 excludeUrls
+     */
+    private static final String ATTRIBUTE_EXCLUDE_URL = "XSS_EXCLUDE_URL";
+
     /**
      * 属性
      */
@@ -45,8 +52,25 @@ public class XssFilter extends OncePerRequestFilter {
         }
 
         // 如果匹配到无需过滤，则不过滤
-        String uri = request.getRequestURI();
-        return properties.getExcludeUrls().stream().anyMatch(excludeUrl -> pathMatcher.match(excludeUrl, uri));
+        return isExcludeUrl(request, properties, pathMatcher);
+    }
+
+    /**
+     * 判断请求是否为排除的 URL，结果缓存在请求属性中
+     *
+     * @param request     请求
+     * @param properties  属性
+     * @param pathMatcher 路径匹配器
+     * @return 是否排除
+     */
+    public static boolean isExcludeUrl(HttpServletRequest request, XssProperties properties, PathMatcher pathMatcher) {
+        Boolean exclude = (Boolean) request.getAttribute(ATTRIBUTE_EXCLUDE_URL);
+        if (exclude == null) {
+            String uri = request.getRequestURI();
+            exclude = properties.getExcludeUrls().stream().anyMatch(excludeUrl -> pathMatcher.match(excludeUrl, uri));
+            request.setAttribute(ATTRIBUTE_EXCLUDE_URL, exclude);
+        }
+        return exclude;
     }
 
 }
@@ -16,6 +16,11 @@ public class XssRequestWrapper extends HttpServletRequestWrapper {
 
     private final XssCleaner xssCleaner;
 
+    /**
+     * 清理后的参数，首次调用 {@link #getParameterMap()} 时构建
+     */
+    private Map<String, String[]> parameterMap;
+
     public XssRequestWrapper(HttpServletRequest request, XssCleaner xssCleaner) {
         super(request);
         this.xssCleaner = xssCleaner;
@@ -24,15 +29,15 @@ public class XssRequestWrapper extends HttpServletRequestWrapper {
     // ============================ parameter ============================
     @Override
     public Map<String, String[]> getParameterMap() {
+        if (parameterMap != null) {
+            return parameterMap;
+        }
         Map<String, String[]> map = new LinkedHashMap<>();
         Map<String, String[]> parameters = super.getParameterMap();
         for (Map.Entry<String, String[]> entry : parameters.entrySet()) {
-            String[] values = entry.getValue();
-            for (int i = 0; i < values.length; i++) {
-                values[i] = xssCleaner.clean(values[i]);
-            }
-            map.put(entry.getKey(), values);
+            map.put(entry.getKey(), cleanValues(entry.getValue()));
         }
+        parameterMap = map;
         return map;
     }
 
@@ -42,12 +47,25 @@ public class XssRequestWrapper extends HttpServletRequestWrapper {
         if (values == null) {
             return null;
         }
-        int count = values.length;
-        String[] encodedValues = new String[count];
-        for (int i = 0; i < count; i++) {
-            encodedValues[i] = xssCleaner.clean(values[i]);
+        return cleanValues(values);
+    }
+
+    /**
+     * 清理参数值。不修改原数组，值都不需要清理时，直接返回原数组
+     */
+    private String[] cleanValues(String[] values) {
+        String[] cleanedValues = values;
+        for (int i = 0; i < values.length; i++) {
+            String cleaned = xssCleaner.clean(values[i]);
+            if (cleaned == values[i]) {
+                continue;
+            }
+            if (cleanedValues == values) {
+                cleanedValues = values.clone();
+            }
+            cleanedValues[i] = cleaned;
         }
-        return encodedValues;
+        return cleanedValues;
     }
 
     @Override
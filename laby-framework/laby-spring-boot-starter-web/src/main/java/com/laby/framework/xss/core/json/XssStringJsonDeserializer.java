@@ -3,6 +3,7 @@ package com.laby.framework.xss.core.json;
 import com.laby.framework.common.util.servlet.ServletUtils;
 import com.laby.framework.xss.config.XssProperties;
 import com.laby.framework.xss.core.clean.XssCleaner;
+import com.laby.framework.xss.core.filter.XssFilter;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
@@ -37,13 +38,10 @@ public class XssStringJsonDeserializer extends StringDeserializer {
 
     @Override
     public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        // 1. 白名单 URL 的处理
+        // 1. 白名单 URL 的处理：每个请求只匹配一次，结果缓存在请求属性中
         HttpServletRequest request = ServletUtils.getRequest();
-        if (request != null) {
-            String uri = ServletUtils.getRequest().getRequestURI();
-            if (properties.getExcludeUrls().stream().anyMatch(excludeUrl -> pathMatcher.match(excludeUrl, uri))) {
-                return p.getText();
-            }
+        if (request != null && XssFilter.isExcludeUrl(request, properties, pathMatcher)) {
+            return p.getText();
         }
 
         // 2. 真正使用 xssCleaner 进行过滤
@@ -0,0 +1,89 @@
+package com.laby.framework.apilog.core.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ApiAccessLogFilter} 的单元测试，主要覆盖被截断的请求内容的脱敏
+ *
+ * @author Laby
+ */
+public class ApiAccessLogFilterTest {
+
+    private static final String TRUNCATED_SUFFIX = "...(truncated)";
+
+    @Test
+    public void testSanitizeJson_truncatedInPassword() {
+        // 准备参数：截断在 password 的值中间，没有结束的引号
+        String json = "{\"username\":\"admin\",\"password\":\"abc" + TRUNCATED_SUFFIX;
+
+        // 调用
+        String result = sanitizeJson(json, null);
+        // 断言
+        assertEquals("{\"username\":\"admin\",\"password\":\"***\"", result);
+    }
+
+    @Test
+    public void testSanitizeJson_truncatedAfterPassword() {
+        // 准备参数：password 完整，包含转义的引号；截断在后面的字段中
+        String json = "{\"password\" : \"a\\\"b,c\",\"token\":123,\"name\":\"laby\",\"remark\":\"xx" + TRUNCATED_SUFFIX;
+
+        // 调用
+        String result = sanitizeJson(json, null);
+        // 断言
+        assertEquals("{\"password\":\"***\",\"token\":\"***\",\"name\":\"laby\",\"remark\":\"xx" + TRUNCATED_SUFFIX,
+                result);
+    }
+
+    @Test
+    public void testSanitizeJson_truncatedInNumber() {
+        // 准备参数：截断在数字类型的值中间
+        String json = "{\"list\":[{\"refreshToken\":12" + TRUNCATED_SUFFIX;
+
+        // 调用
+        String result = sanitizeJson(json, null);
+        // 断言
+        assertEquals("{\"list\":[{\"refreshToken\":\"***\"", result);
+    }
+
+    @Test
+    public void testSanitizeJson_truncatedInKey() {
+        // 准备参数：截断在 key 中间，无法判断是否为敏感字段
+        String json = "{\"name\":\"laby\",\"passw" + TRUNCATED_SUFFIX;
+
+        // 调用
+        String result = sanitizeJson(json, null);
+        // 断言
+        assertEquals(json, result);
+    }
+
+    @Test
+    public void testSanitizeJson_truncatedCustomKeys() {
+        // 准备参数：自定义的脱敏字段
+        String json = "{\"secret\":\"s1\",\"mobile\":\"15601691000\",\"password\":\"p1\",\"data\":\"" + TRUNCATED_SUFFIX;
+
+        // 调用
+        String result = sanitizeJson(json, new String[]{"secret"});
+        // 断言
+        assertEquals("{\"secret\":\"***\",\"mobile\":\"15601691000\",\"password\":\"***\",\"data\":\"" + TRUNCATED_SUFFIX,
+                result);
+    }
+
+    @Test
+    public void testSanitizeJson_complete() {
+        // 准备参数：完整的 JSON，按字段移除
+        String json = "{\"username\":\"admin\",\"password\":\"abc\",\"data\":{\"token\":\"t\"}}";
+
+        // 调用
+        String result = sanitizeJson(json, null);
+        // 断言
+        assertEquals("{\"username\":\"admin\",\"data\":{}}", result);
+    }
+
+    private static String sanitizeJson(String json, String[] sanitizeKeys) {
+        return ReflectionTestUtils.invokeMethod(ApiAccessLogFilter.class, "sanitizeJson", json, sanitizeKeys);
+    }
+
+}
@@ -0,0 +1,285 @@
+package com.laby.framework.web.core.filter;
+
+import com.laby.framework.web.config.WebProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link RequestBodyBuffer}、{@link RequestBodyBufferPool} 的单元测试
+ *
+ * @author Laby
+ */
+public class RequestBodyBufferTest {
+
+    private static final int CHUNK_SIZE = 8;
+
+    @Test
+    public void testRead_crossChunk() throws IOException {
+        // 准备参数：30 字节，跨 4 个分块；输入流每次最多返回 3 字节
+        RequestBodyBufferPool pool = new RequestBodyBufferPool(CHUNK_SIZE, 1024);
+        byte[] bytes = buildBytes(30);
+
+        // 调用
+        RequestBodyBuffer buffer = RequestBodyBuffer.read(slowInputStream(bytes, 3), StandardCharsets.UTF_8,
+                pool, 1024);
+        // 断言：逐字节读取
+        assertEquals(30, buffer.length());
+        assertNull(getFile(buffer));
+        try (InputStream in = buffer.getInputStream()) {
+            for (byte b : bytes) {
+                assertEquals(b & 0xFF, in.read());
+            }
+            assertEquals(-1, in.read());
+        }
+        // 断言：按不同长度读取，每次读取都可能跨分块
+        for (int length : new int[]{1, 5, 7, 8, 9, 16, 64}) {
+            assertArrayEquals(bytes, readAll(buffer.getInputStream(), length), "length=" + length);
+        }
+    }
+
+    @Test
+    public void testRead_memoryThreshold() throws IOException {
+        RequestBodyBufferPool pool = new RequestBodyBufferPool(CHUNK_SIZE, 1024);
+        // 调用：恰好等于 memoryThreshold，不写入临时文件
+        RequestBodyBuffer exact = RequestBodyBuffer.read(new ByteArrayInputStream(buildBytes(16)),
+                StandardCharsets.UTF_8, pool, 16);
+        // 断言
+        assertNull(getFile(exact));
+        assertEquals(16, exact.length());
+        assertArrayEquals(buildBytes(16), exact.getInputStream().readAllBytes());
+
+        // 调用：超过 1 字节，写入临时文件
+        RequestBodyBuffer spilled = RequestBodyBuffer.read(new ByteArrayInputStream(buildBytes(17)),
+                StandardCharsets.UTF_8, pool, 16);
+        // 断言：内容完整，已读取的分块归还到池中
+        Path file = getFile(spilled);
+        assertNotNull(file);
+        assertTrue(Files.exists(file));
+        assertEquals(17, spilled.length());
+        assertArrayEquals(buildBytes(17), spilled.getInputStream().readAllBytes());
+        assertTrue(getChunks(spilled).isEmpty());
+        assertEquals(2, getPoolSize(pool));
+
+        // 调用：释放，临时文件被删除
+        spilled.release();
+        exact.release();
+        // 断言
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testGetInputStream_repeat() throws IOException {
+        // 准备参数：内存、临时文件两种情况
+        RequestBodyBufferPool pool = new RequestBodyBufferPool(CHUNK_SIZE, 1024);
+        byte[] bytes = buildBytes(20);
+        for (long memoryThreshold : new long[]{1024, 8}) {
+            RequestBodyBuffer buffer = RequestBodyBuffer.read(new ByteArrayInputStream(bytes),
+                    StandardCharsets.UTF_8, pool, memoryThreshold);
+
+            // 调用：两个流交替读取，互不影响
+            ServletInputStream in01 = buffer.getInputStream();
+            ServletInputStream in02 = buffer.getInputStream();
+            assertEquals(bytes[0], (byte) in01.read());
+            assertArrayEquals(bytes, in02.readAllBytes());
+            assertTrue(in02.isFinished());
+            assertFalse(in01.isFinished());
+            byte[] rest = in01.readAllBytes();
+            // 断言
+            assertEquals(bytes.length - 1, rest.length);
+            assertEquals(bytes[1], rest[0]);
+            assertArrayEquals(bytes, buffer.getInputStream().readAllBytes());
+            assertEquals(new String(bytes, StandardCharsets.UTF_8), buffer.getText().toString());
+
+            // 调用：释放后，不能再读取
+            buffer.release();
+            buffer.release();
+            // 断言
+            assertThrows(IllegalStateException.class, buffer::getInputStream);
+        }
+    }
+
+    @Test
+    public void testRelease_returnToPool() throws IOException {
+        // 准备参数：池中最多保留 2 个分块
+        RequestBodyBufferPool pool = new RequestBodyBufferPool(CHUNK_SIZE, 2 * CHUNK_SIZE);
+        RequestBodyBuffer buffer = RequestBodyBuffer.read(new ByteArrayInputStream(buildBytes(20)),
+                StandardCharsets.UTF_8, pool, 1024);
+        List<byte[]> chunks = new ArrayList<>(getChunks(buffer));
+        assertEquals(3, chunks.size());
+
+        // 调用
+        buffer.release();
+        // 断言：归还 2 个，超过容量的丢弃
+        assertEquals(2, getPoolSize(pool));
+        Set<byte[]> acquired = Collections.newSetFromMap(new IdentityHashMap<>());
+        acquired.add(pool.acquire());
+        acquired.add(pool.acquire());
+        assertTrue(chunks.containsAll(acquired));
+        assertEquals(0, getPoolSize(pool));
+        // 断言：池为空时，新建分块
+        assertFalse(chunks.contains(pool.acquire()));
+    }
+
+    @Test
+    public void testRelease_wrap() throws IOException {
+        // 准备参数：wrap 创建的分块，大小不固定
+        RequestBodyBuffer buffer = RequestBodyBuffer.wrap(buildBytes(20), StandardCharsets.UTF_8);
+
+        // 调用，并断言：可以按任意长度读取
+        assertArrayEquals(buildBytes(20), readAll(buffer.getInputStream(), 7));
+        buffer.release();
+        assertThrows(IllegalStateException.class, buffer::getInputStream);
+
+        // 调用，并断言：大小不一致的分块，不归还到池中
+        RequestBodyBufferPool pool = new RequestBodyBufferPool(CHUNK_SIZE, 1024);
+        pool.release(new byte[3]);
+        assertEquals(0, getPoolSize(pool));
+    }
+
+    @Test
+    public void testFilter_release() throws Exception {
+        // 准备参数
+        CacheRequestBodyFilter filter = new CacheRequestBodyFilter(buildProperties());
+        RequestBodyBufferPool pool = (RequestBodyBufferPool) ReflectionTestUtils.getField(filter, "pool");
+        MockHttpServletRequest request = buildRequest(buildBytes(20));
+        AtomicReference<RequestBodyBuffer> body = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            body.set(RequestBodyBuffer.get(req));
+            assertArrayEquals(buildBytes(20), req.getInputStream().readAllBytes());
+        };
+
+        // 调用
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        // 断言：请求结束后，直接释放
+        assertThrows(IllegalStateException.class, () -> body.get().getInputStream());
+        assertEquals(3, getPoolSize(pool));
+    }
+
+    @Test
+    public void testFilter_releaseAsync() throws Exception {
+        // 准备参数
+        CacheRequestBodyFilter filter = new CacheRequestBodyFilter(buildProperties());
+        RequestBodyBufferPool pool = (RequestBodyBufferPool) ReflectionTestUtils.getField(filter, "pool");
+        MockHttpServletRequest request = buildRequest(buildBytes(20));
+        request.setAsyncSupported(true);
+        AtomicReference<RequestBodyBuffer> body = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            body.set(RequestBodyBuffer.get(req));
+            req.startAsync();
+        };
+
+        // 调用
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        // 断言：异步处理中，不释放，仍然可以读取
+        assertArrayEquals(buildBytes(20), body.get().getInputStream().readAllBytes());
+        assertEquals(0, getPoolSize(pool));
+
+        // 调用：异步处理完成
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        // 断言：释放，分块归还到池中
+        assertThrows(IllegalStateException.class, () -> body.get().getInputStream());
+        assertEquals(3, getPoolSize(pool));
+    }
+
+    @Test
+    public void testGetPreview_multibyte() throws IOException {
+        // 准备参数："ab" 2 字节 + "中文" 6 字节，分块大小 4，"中" 跨分块
+        RequestBodyBufferPool pool = new RequestBodyBufferPool(4, 1024);
+        byte[] bytes = "ab中文".getBytes(StandardCharsets.UTF_8);
+        RequestBodyBuffer buffer = RequestBodyBuffer.read(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8,
+                pool, 1024);
+
+        // 调用，并断言：截断在字符中间时，丢弃不完整的字符
+        assertEquals("ab", buffer.getPreview(3));
+        assertEquals("ab", buffer.getPreview(4));
+        assertEquals("ab中", buffer.getPreview(5));
+        assertEquals("ab中", buffer.getPreview(7));
+        // 调用，并断言：未超过时，返回完整的内容
+        assertEquals("ab中文", buffer.getPreview(8));
+        assertEquals("ab中文", buffer.getPreview(100));
+    }
+
+    private static WebProperties.RequestBody buildProperties() {
+        WebProperties.RequestBody properties = new WebProperties.RequestBody();
+        properties.setMemoryThreshold(DataSize.ofBytes(1024));
+        properties.setPoolCapacity(DataSize.ofKilobytes(64));
+        return properties;
+    }
+
+    private static MockHttpServletRequest buildRequest(byte[] content) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/admin-api/test");
+        request.setContentType("application/json");
+        request.setContent(content);
+        return request;
+    }
+
+    private static byte[] buildBytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) ('a' + i % 26);
+        }
+        return bytes;
+    }
+
+    /**
+     * 每次最多返回 maxRead 字节的输入流，模拟网络分多次到达
+     */
+    private static InputStream slowInputStream(byte[] bytes, int maxRead) {
+        return new ByteArrayInputStream(bytes) {
+
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, maxRead));
+            }
+
+        };
+    }
+
+    private static byte[] readAll(InputStream in, int length) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[length];
+        int count;
+        while ((count = in.read(buffer, 0, length)) >= 0) {
+            out.write(buffer, 0, count);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+
+    private static Path getFile(RequestBodyBuffer buffer) {
+        return (Path) ReflectionTestUtils.getField(buffer, "file");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<byte[]> getChunks(RequestBodyBuffer buffer) {
+        return (List<byte[]>) ReflectionTestUtils.getField(buffer, "chunks");
+    }
+
+    private static int getPoolSize(RequestBodyBufferPool pool) {
+        return ((AtomicInteger) ReflectionTestUtils.getField(pool, "size")).get();
+    }
+
+}
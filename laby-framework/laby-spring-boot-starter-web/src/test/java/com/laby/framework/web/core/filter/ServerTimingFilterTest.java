@@ -0,0 +1,133 @@
+package com.laby.framework.web.core.filter;
+
+import com.laby.framework.common.enums.ServerTimingPhaseEnum;
+import com.laby.framework.common.util.monitor.ServerTimingUtils;
+import com.laby.framework.web.config.WebProperties;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * {@link ServerTimingFilter} 的单元测试
+ *
+ * @author Laby
+ */
+public class ServerTimingFilterTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        WebProperties webProperties = new WebProperties();
+        webProperties.getServerTiming().setLogSampleRate(0D);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TestController())
+                .addFilters(new ServerTimingFilter(webProperties))
+                .build();
+    }
+
+    @Test
+    public void testHeader_json() throws Exception {
+        // 调用
+        MvcResult result = mockMvc.perform(get("/admin-api/test/json")).andReturn();
+
+        // 断言：db 阶段 2 次，共 3ms；序列化、总耗时
+        String header = result.getResponse().getHeader(ServerTimingResponseWrapper.HEADER_NAME);
+        assertNotNull(header);
+        assertTrue(header.startsWith("db;dur=3.000;desc=\"2\", "), header);
+        assertTrue(header.contains("ser;dur="), header);
+        assertTrue(header.matches(".*, total;dur=\\d+\\.\\d{3}$"), header);
+        assertFalse(header.contains("redis"), header);
+        assertEquals("{\"name\":\"laby\"}", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    public void testHeader_noContent() throws Exception {
+        // 调用
+        MvcResult result = mockMvc.perform(get("/admin-api/test/no-content")).andReturn();
+
+        // 断言：没有响应体时，也写入响应头
+        assertEquals(HttpStatus.NO_CONTENT.value(), result.getResponse().getStatus());
+        String header = result.getResponse().getHeader(ServerTimingResponseWrapper.HEADER_NAME);
+        assertNotNull(header);
+        assertTrue(header.startsWith("total;dur="), header);
+    }
+
+    @Test
+    public void testHeader_largeWriter() throws Exception {
+        // 调用：通过 PrintWriter 写入超过缓冲区大小的响应体，容器会在写入时提交响应
+        MvcResult result = mockMvc.perform(get("/admin-api/test/large-writer")).andReturn();
+
+        // 断言：响应头在提交前写入
+        String header = result.getResponse().getHeader(ServerTimingResponseWrapper.HEADER_NAME);
+        assertNotNull(header);
+        assertTrue(header.contains("ser;dur="), header);
+        assertEquals(TestController.LARGE_CONTENT, result.getResponse().getContentAsString());
+    }
+
+    @Test
+    public void testHeader_largeOutputStream() throws Exception {
+        // 调用：通过 OutputStream 写入超过缓冲区大小的响应体
+        MvcResult result = mockMvc.perform(get("/admin-api/test/large-stream")).andReturn();
+
+        // 断言：响应头在提交前写入
+        assertNotNull(result.getResponse().getHeader(ServerTimingResponseWrapper.HEADER_NAME));
+        assertEquals(TestController.LARGE_CONTENT.length() * 3, result.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    public void testHeader_notApiRequest() throws Exception {
+        // 调用
+        MvcResult result = mockMvc.perform(get("/test/json")).andReturn();
+
+        // 断言：非 API 请求，不写入响应头，也不记录耗时
+        assertNull(result.getResponse().getHeader(ServerTimingResponseWrapper.HEADER_NAME));
+    }
+
+    @RestController
+    public static class TestController {
+
+        static final String LARGE_CONTENT = "中".repeat(4096);
+
+        @GetMapping({"/admin-api/test/json", "/test/json"})
+        public Map<String, String> json() {
+            ServerTimingUtils.record(ServerTimingPhaseEnum.DB, TimeUnit.MILLISECONDS.toNanos(1));
+            ServerTimingUtils.record(ServerTimingPhaseEnum.DB, TimeUnit.MILLISECONDS.toNanos(2));
+            return Map.of("name", "laby");
+        }
+
+        @GetMapping("/admin-api/test/no-content")
+        @ResponseStatus(HttpStatus.NO_CONTENT)
+        public void noContent() {
+        }
+
+        @GetMapping("/admin-api/test/large-writer")
+        public void largeWriter(HttpServletResponse response) throws IOException {
+            response.setCharacterEncoding("UTF-8");
+            response.setContentType("text/plain");
+            response.getWriter().write(LARGE_CONTENT);
+        }
+
+        @GetMapping("/admin-api/test/large-stream")
+        public void largeStream(HttpServletResponse response) throws IOException {
+            response.setContentType("application/octet-stream");
+            response.getOutputStream().write(LARGE_CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+
+    }
+
+}
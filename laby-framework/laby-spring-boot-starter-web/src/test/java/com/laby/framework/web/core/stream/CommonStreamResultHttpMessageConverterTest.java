@@ -0,0 +1,128 @@
+package com.laby.framework.web.core.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.laby.framework.common.pojo.CommonResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CommonStreamResultHttpMessageConverter} 的单元测试
+ *
+ * 对比流式写出的字节，与 {@link CommonResult#success(Object)} 经 ObjectMapper 序列化的字节完全一致
+ *
+ * @author Laby
+ */
+public class CommonStreamResultHttpMessageConverterTest {
+
+    private ObjectMapper objectMapper;
+    private CommonStreamResultHttpMessageConverter converter;
+
+    @BeforeEach
+    public void setUp() {
+        // 与 Spring MVC 的 ObjectMapper 类似：Long 序列化为字符串，时间使用 JavaTimeModule
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(Long.class, ToStringSerializer.instance);
+        module.addSerializer(Long.TYPE, ToStringSerializer.instance);
+        objectMapper = new ObjectMapper().registerModule(module).registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        converter = new CommonStreamResultHttpMessageConverter(objectMapper);
+    }
+
+    @Test
+    public void testWrite_empty() throws Exception {
+        assertSameBytes(new ArrayList<>());
+    }
+
+    @Test
+    public void testWrite_single() throws Exception {
+        assertSameBytes(List.of(buildRow(1)));
+    }
+
+    @Test
+    public void testWrite_many() throws Exception {
+        // 准备参数：超过 JsonGenerator 的缓冲区大小，需要多次写出
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            rows.add(buildRow(i));
+        }
+        assertSameBytes(rows);
+    }
+
+    @Test
+    public void testWrite_specialValues() throws Exception {
+        // 准备参数：null 字段、转义字符、中文、emoji
+        List<Row> rows = List.of(new Row(null, null, null, List.of()),
+                new Row(Long.MAX_VALUE, "\"引号\"\n换行\t\\ 😀 </script>", LocalDateTime.of(2024, 2, 29, 23, 59, 59, 999_000_000),
+                        List.of("a", "", "中文")));
+        assertSameBytes(rows);
+    }
+
+    @Test
+    public void testWrite_convert() throws Exception {
+        // 准备参数
+        List<Integer> sources = List.of(1, 2, 3);
+        CommonStreamResult<Row> result = CommonStreamResult.success(sources::forEach, this::buildRow);
+
+        // 调用
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(result, MediaType.APPLICATION_JSON, outputMessage);
+
+        // 断言
+        byte[] expected = objectMapper.writeValueAsBytes(CommonResult.success(
+                List.of(buildRow(1), buildRow(2), buildRow(3))));
+        assertArrayEquals(expected, outputMessage.getBodyAsBytes());
+    }
+
+    @Test
+    public void testWrite_error() {
+        // 准备参数：写出部分数据后，查询出错
+        CommonStreamResult<Row> result = CommonStreamResult.success(consumer -> {
+            consumer.accept(buildRow(1));
+            throw new IllegalStateException("模拟查询出错");
+        });
+
+        // 调用，并断言：异常抛出，缓冲中不完整的 JSON 不写出
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        assertThrows(IllegalStateException.class,
+                () -> converter.write(result, MediaType.APPLICATION_JSON, outputMessage));
+        assertEquals(0, outputMessage.getBodyAsBytes().length);
+    }
+
+    @Test
+    public void testCanReadWrite() {
+        assertTrue(converter.canWrite(CommonStreamResult.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(CommonResult.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(CommonStreamResult.class, MediaType.APPLICATION_JSON));
+    }
+
+    private void assertSameBytes(List<Row> rows) throws Exception {
+        // 调用
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(CommonStreamResult.success(rows::forEach), MediaType.APPLICATION_JSON, outputMessage);
+
+        // 断言
+        byte[] expected = objectMapper.writeValueAsBytes(CommonResult.success(rows));
+        assertArrayEquals(expected, outputMessage.getBodyAsBytes());
+    }
+
+    private Row buildRow(Integer i) {
+        return new Row(i.longValue(), "名称-" + i, LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i),
+                List.of("tag" + i, "标签"));
+    }
+
+    public record Row(Long id, String name, LocalDateTime createTime, List<String> tags) {
+    }
+
+}
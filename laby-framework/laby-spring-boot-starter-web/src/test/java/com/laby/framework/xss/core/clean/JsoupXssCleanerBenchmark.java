@@ -0,0 +1,65 @@
+package com.laby.framework.xss.core.clean;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Safelist;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JsoupXssCleaner} 的 JMH 微基准测试：快速路径、缓存与直接调用 Jsoup 的对比
+ *
+ * 不是单测，不会被 mvn test 执行。运行方式：先 mvn test-compile，再在 IDE 中运行 {@link #main(String[])}
+ *
+ * @author Laby
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsoupXssCleanerBenchmark {
+
+    /**
+     * 测试的值：普通文本（短、长），以及富文本
+     */
+    @Param({"laby", "芋道源码是一个基于 Spring Boot 的快速开发平台，支持多租户、工作流、数据权限等功能",
+            "<p style=\"color:red\">富文本 <a href=\"https://www.iocoder.cn\">链接</a></p>"})
+    private String value;
+
+    private JsoupXssCleaner cleaner;
+    private Safelist safelist;
+
+    @Setup
+    public void setUp() {
+        cleaner = new JsoupXssCleaner();
+        safelist = (Safelist) ReflectionTestUtils.getField(cleaner, "safelist");
+    }
+
+    /**
+     * 优化后：快速路径 + 缓存
+     */
+    @Benchmark
+    public String clean() {
+        return cleaner.clean(value);
+    }
+
+    /**
+     * 优化前：每个值都直接调用 Jsoup
+     */
+    @Benchmark
+    public String jsoupClean() {
+        return Jsoup.clean(value, "", safelist, new Document.OutputSettings().prettyPrint(false));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsoupXssCleanerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
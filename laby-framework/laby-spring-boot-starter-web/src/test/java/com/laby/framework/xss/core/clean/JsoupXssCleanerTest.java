@@ -0,0 +1,122 @@
+package com.laby.framework.xss.core.clean;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Safelist;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link JsoupXssCleaner} 的单元测试
+ *
+ * 快速路径（不调用 Jsoup，直接返回原文）是安全相关的捷径，这里验证：任意输入的清理结果，都与直接调用 Jsoup 一致
+ *
+ * @author Laby
+ */
+public class JsoupXssCleanerTest {
+
+    /**
+     * 快速路径直接返回原文的输入：普通文本，以及看起来像 HTML、但不包含需要 Jsoup 处理的字符的内容
+     */
+    private static final List<String> FAST_PATH_INPUTS = List.of(
+            "", "laby", "芋道 源码 123", "  前后空格  ", "多行\r\n文本\n\t缩进",
+            "{\"name\":\"laby\",\"tags\":[1,2]}", "https://www.iocoder.cn/path?id=1", "a=1; b='2'",
+            // 编码后的尖括号：URL 编码、JSON 转义的字面量、全角、小型尖括号，浏览器都不会当作标签解析
+            "%3Cscript%3Ealert(1)%3C/script%3E", "\\u003cscript\\u003ealert(1)\\u003c/script\\u003e",
+            "＜script＞alert(1)＜/script＞", "﹤script﹥", "‹script›",
+            // 脚本协议的变体：中间有空白、不是协议
+            "javascript :alert(1)", "java script:alert(1)", "javascripts", "the javascript language",
+            // 其它 Unicode：零宽字符、行分隔符、BOM、emoji、孤立的代理项
+            "\u200Ba\u200B", "a\u2028b\u2029c", "\uFEFFabc", "\uD83D\uDE00", "\uD800", "\uDC00x",
+            "\u007F\u0080\u009F\uFFFE");
+
+    /**
+     * 需要 Jsoup 处理的输入：标签、实体、尖括号变体、属性中的脚本协议、控制字符等
+     */
+    private static final List<String> SLOW_PATH_INPUTS = List.of(
+            "<script>alert(1)</script>", "<SCRIPT SRC=//xss.rocks/xss.js></SCRIPT>", "<img src=x onerror=alert(1)>",
+            "<a href=\"javascript:alert(1)\">x</a>", "<a href=\"JaVaScRiPt:alert(1)\">x</a>",
+            "<a href=\"jav&#x61;script:alert(1)\">x</a>", "<a href=\"jav&#97;script:alert(1)\">x</a>",
+            "<a href=\" javascript:alert(1)\">x</a>", "<a href=\"vbscript:msgbox(1)\">x</a>",
+            "<img src=\"data:image/png;base64,iVBORw0KGgo=\">", "<img STYLE=\"background-image:url(javascript:alert(1))\">",
+            "<svg/onload=alert(1)>", "<<script>script>alert(1)<</script>/script>", "<scr<script>ipt>alert(1)</script>",
+            "&lt;script&gt;alert(1)&lt;/script&gt;", "&#60;script&#62;", "&#x3C;script&#x3E;", "&amp;lt;", "a & b",
+            "&nbsp;", "a\u00A0b", "1 < 2", "2 > 1", "<", ">", "<!-- comment -->", "<![CDATA[x]]>",
+            "javascript:alert(1)", "JAVASCRIPT:alert(1)", "vbscript:msgbox(1)",
+            "java\0script:alert(1)", "\0", "a\0b", "a\u0001b", "a\u000Bb", "a\u000Cb", "a\u001Fb", "a\uFFFFb",
+            "<p style=\"color:red\" class=\"x\">文本</p>", "<a href=\"https://www.iocoder.cn\" target=\"_blank\">x</a>");
+
+    private final JsoupXssCleaner cleaner = new JsoupXssCleaner();
+    private final Safelist safelist = (Safelist) ReflectionTestUtils.getField(cleaner, "safelist");
+
+    @Test
+    public void testClean_fastPath() {
+        for (String input : FAST_PATH_INPUTS) {
+            // 调用
+            String result = cleaner.clean(input);
+            // 断言：直接返回原文，且与 Jsoup 的清理结果一致
+            assertSame(input, result, input);
+            assertEquals(jsoupClean(input), result, input);
+        }
+    }
+
+    @Test
+    public void testClean_slowPath() {
+        for (String input : SLOW_PATH_INPUTS) {
+            // 调用：两次，第二次命中缓存
+            String result = cleaner.clean(input);
+            String cachedResult = cleaner.clean(input);
+            // 断言
+            assertEquals(jsoupClean(input), result, input);
+            assertEquals(result, cachedResult, input);
+        }
+    }
+
+    @Test
+    public void testClean_dangerous() {
+        // 调用，并断言：危险内容被清理
+        assertEquals("", cleaner.clean("<script>alert(1)</script>"));
+        assertEquals("<img>", cleaner.clean("<img src=x onerror=alert(1)>"));
+        assertEquals("<a>x</a>", cleaner.clean("<a href=\"javascript:alert(1)\">x</a>"));
+        assertEquals("<a>x</a>", cleaner.clean("<a href=\"jav&#x61;script:alert(1)\">x</a>"));
+        assertEquals("&lt;script&gt;", cleaner.clean("&lt;script&gt;"));
+        assertNull(cleaner.clean(null));
+    }
+
+    @Test
+    public void testClean_random() {
+        // 准备参数：包含快速路径判断边界上的各种字符
+        String alphabet = "ab :<>&;/=\"'%\\\t\r\n\0\u0001\u000B\u001F\u007F\u0080\u00A0\u200B\u2028\u3000"
+                + "＜＞\uD800\uDC00\uFEFF\uFFFE\uFFFF";
+        String[] words = {"javascript:", "JavaScript:", "vbscript:", "<script>", "&lt;", "&#60;", "&nbsp;",
+                "<a href=\"", "\">", "</a>", "<img src=", " onerror=", "data:"};
+        Random random = new Random(20250101L);
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder builder = new StringBuilder();
+            for (int j = random.nextInt(12); j > 0; j--) {
+                if (random.nextInt(8) == 0) {
+                    builder.append(words[random.nextInt(words.length)]);
+                } else {
+                    builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            }
+            String input = builder.toString();
+
+            // 调用，并断言
+            assertEquals(jsoupClean(input), cleaner.clean(input), input);
+        }
+    }
+
+    /**
+     * 优化前的实现：每个值都直接调用 Jsoup
+     */
+    private String jsoupClean(String html) {
+        return Jsoup.clean(html, "", safelist, new Document.OutputSettings().prettyPrint(false));
+    }
+
+}
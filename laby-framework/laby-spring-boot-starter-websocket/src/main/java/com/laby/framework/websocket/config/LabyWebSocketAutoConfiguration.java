@@ -15,14 +15,20 @@ import com.laby.framework.websocket.core.sender.redis.RedisWebSocketMessageConsu
 import com.laby.framework.websocket.core.sender.redis.RedisWebSocketMessageSender;
 import com.laby.framework.websocket.core.sender.rocketmq.RocketMQWebSocketMessageConsumer;
 import com.laby.framework.websocket.core.sender.rocketmq.RocketMQWebSocketMessageSender;
+import com.laby.framework.websocket.core.session.BufferedWebSocketSessionDecorator;
 import com.laby.framework.websocket.core.session.WebSocketSessionHandlerDecorator;
 import com.laby.framework.websocket.core.session.WebSocketSessionManager;
 import com.laby.framework.websocket.core.session.WebSocketSessionManagerImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.apache.rocketmq.spring.core.RocketMQTemplate;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -65,11 +71,12 @@ public class LabyWebSocketAutoConfiguration {
 
     @Bean
     public WebSocketHandler webSocketHandler(WebSocketSessionManager sessionManager,
-                                             List<? extends WebSocketMessageListener<?>> messageListeners) {
+                                             List<? extends WebSocketMessageListener<?>> messageListeners,
+                                             WebSocketProperties webSocketProperties) {
         // 1. 创建 JsonWebSocketMessageHandler 对象，处理消息
         JsonWebSocketMessageHandler messageHandler = new JsonWebSocketMessageHandler(messageListeners);
         // 2. 创建 WebSocketSessionHandlerDecorator 对象，处理连接
-        return new WebSocketSessionHandlerDecorator(messageHandler, sessionManager);
+        return new WebSocketSessionHandlerDecorator(messageHandler, sessionManager, webSocketProperties);
     }
 
     @Bean
@@ -82,6 +89,38 @@ public class LabyWebSocketAutoConfiguration {
         return new WebSocketAuthorizeRequestsCustomizer(webSocketProperties);
     }
 
+    /**
+     * WebSocket 监控配置类，存在 Micrometer 时才生效
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class WebSocketMetricsConfiguration {
+
+        /**
+         * 注册 WebSocket 连接数、发送队列的监控指标
+         */
+        @Bean
+        public MeterBinder webSocketSessionMeterBinder(WebSocketSessionManager sessionManager) {
+            return registry -> {
+                Gauge.builder("websocket.session.count", sessionManager, WebSocketSessionManager::getSessionCount)
+                        .description("WebSocket 当前连接数")
+                        .register(registry);
+                Gauge.builder("websocket.send.queued", BufferedWebSocketSessionDecorator::getQueuedCount)
+                        .description("WebSocket 排队待发送的消息数")
+                        .register(registry);
+                FunctionCounter.builder("websocket.session.evicted", BufferedWebSocketSessionDecorator.class,
+                                clazz -> BufferedWebSocketSessionDecorator.getEvictedCount())
+                        .description("WebSocket 因消费过慢被关闭的连接数")
+                        .register(registry);
+                FunctionCounter.builder("websocket.send.failed", BufferedWebSocketSessionDecorator.class,
+                                clazz -> BufferedWebSocketSessionDecorator.getFailedCount())
+                        .description("WebSocket 发送失败的消息数")
+                        .register(registry);
+            };
+        }
+
+    }
+
     // ==================== Sender 相关 ====================
 
     @Configuration
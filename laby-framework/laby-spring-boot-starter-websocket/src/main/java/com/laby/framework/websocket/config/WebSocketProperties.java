@@ -4,8 +4,12 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 /**
  * WebSocket 配置项
@@ -31,4 +35,30 @@ public class WebSocketProperties {
     @NotNull(message = "WebSocket 的消息发送者不能为空")
     private String senderType = "local";
 
+    /**
+     * 单条消息发送的时间上限，超过后关闭连接
+     */
+    @NotNull(message = "WebSocket 的发送时间上限不能为空")
+    private Duration sendTimeLimit = Duration.ofSeconds(5);
+
+    /**
+     * 每个连接的发送缓冲上限，超过后关闭连接
+     */
+    @NotNull(message = "WebSocket 的发送缓冲上限不能为空")
+    private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(100);
+
+    /**
+     * 每个连接排队待发送的消息数上限，超过后视为慢消费者，关闭连接
+     */
+    @NotNull(message = "WebSocket 的发送队列上限不能为空")
+    @Min(value = 1, message = "WebSocket 的发送队列上限不能小于 1")
+    private Integer sendQueueLimit = 1000;
+
+    /**
+     * 异步发送消息的线程数
+     */
+    @NotNull(message = "WebSocket 的发送线程数不能为空")
+    @Min(value = 1, message = "WebSocket 的发送线程数不能小于 1")
+    private Integer sendPoolSize = 8;
+
 }
@@ -4,6 +4,7 @@ import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
 import com.laby.framework.common.util.json.JsonUtils;
 import com.laby.framework.websocket.core.message.JsonWebSocketMessage;
+import com.laby.framework.websocket.core.session.BufferedWebSocketSessionDecorator;
 import com.laby.framework.websocket.core.session.WebSocketSessionManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -82,7 +83,8 @@ public abstract class AbstractWebSocketMessageSender implements WebSocketMessage
      */
     public void doSend(Collection<WebSocketSession> sessions, String messageType, String messageContent) {
         JsonWebSocketMessage message = new JsonWebSocketMessage().setType(messageType).setContent(messageContent);
-        String payload = JsonUtils.toJsonString(message); // 关键，使用 JSON 序列化
+        // 关键，使用 JSON 序列化。只序列化一次，所有 Session 共享同一个 TextMessage，避免广播时重复编码
+        TextMessage textMessage = new TextMessage(JsonUtils.toJsonString(message));
         sessions.forEach(session -> {
             // 1. 各种校验，保证 Session 可以被发送
             if (session == null) {
@@ -90,13 +92,18 @@ public abstract class AbstractWebSocketMessageSender implements WebSocketMessage
                 return;
             }
             if (!session.isOpen()) {
-                log.error("[doSend][session({}) 已关闭, message({})]", session.getId(), message);
+                log.warn("[doSend][session({}) 已关闭, message({})]", session.getId(), message);
                 return;
             }
-            // 2. 执行发送
+            // 2.1 情况一：异步发送，由 Session 的发送队列排队执行，慢消费者不会阻塞当前线程
+            if (session instanceof BufferedWebSocketSessionDecorator bufferedSession) {
+                bufferedSession.sendMessageAsync(textMessage);
+                return;
+            }
+            // 2.2 情况二：同步发送
             try {
-                session.sendMessage(new TextMessage(payload));
-                log.info("[doSend][session({}) 发送消息成功，message({})]", session.getId(), message);
+                session.sendMessage(textMessage);
+                log.debug("[doSend][session({}) 发送消息成功，message({})]", session.getId(), message);
             } catch (IOException ex) {
                 log.error("[doSend][session({}) 发送消息失败，message({})]", session.getId(), message, ex);
             }
@@ -0,0 +1,168 @@
+package com.laby.framework.websocket.core.session;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 支持异步发送的 {@link WebSocketSession} 装饰类
+ *
+ * 在 {@link ConcurrentWebSocketSessionDecorator} 的基础上，增加每个 Session 独立的有界发送队列：
+ * 1. 发送：{@link #sendMessageAsync(WebSocketMessage)} 只入队，由 executor 异步按顺序发送，不阻塞调用方
+ * 2. 驱逐：队列超过 queueLimit、或者发送超时、缓冲超限的慢消费者，直接关闭连接，避免拖慢其它 Session
+ *
+ * @author Laby
+ */
+@Slf4j
+public class BufferedWebSocketSessionDecorator extends ConcurrentWebSocketSessionDecorator {
+
+    /**
+     * 所有 Session 排队中的消息数，用于监控
+     */
+    private static final AtomicLong QUEUED_COUNT = new AtomicLong();
+    /**
+     * 被驱逐的 Session 数，用于监控
+     */
+    private static final AtomicLong EVICTED_COUNT = new AtomicLong();
+    /**
+     * 发送失败的消息数，用于监控
+     */
+    private static final AtomicLong FAILED_COUNT = new AtomicLong();
+
+    private final Executor executor;
+    private final int queueLimit;
+
+    private final Queue<WebSocketMessage<?>> queue = new ConcurrentLinkedQueue<>();
+    /**
+     * 队列中的消息数。ConcurrentLinkedQueue 的 size() 是 O(n) 的，所以单独计数
+     */
+    private final AtomicInteger queueSize = new AtomicInteger();
+    /**
+     * 是否有线程正在发送
+     */
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    public BufferedWebSocketSessionDecorator(WebSocketSession delegate, int sendTimeLimit, int bufferSizeLimit,
+                                             Executor executor, int queueLimit) {
+        super(delegate, sendTimeLimit, bufferSizeLimit);
+        this.executor = executor;
+        this.queueLimit = queueLimit;
+    }
+
+    /**
+     * 异步发送消息
+     *
+     * @param message 消息。多个 Session 可以共享同一个消息对象
+     */
+    public void sendMessageAsync(WebSocketMessage<?> message) {
+        if (!isOpen()) {
+            return;
+        }
+        if (queueSize.incrementAndGet() > queueLimit) {
+            queueSize.decrementAndGet();
+            evict("发送队列超过上限(" + queueLimit + ")");
+            return;
+        }
+        queue.offer(message);
+        QUEUED_COUNT.incrementAndGet();
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException ex) {
+            draining.set(false);
+            log.error("[scheduleDrain][session({}) 发送任务被拒绝]", getId(), ex);
+        }
+    }
+
+    private void drain() {
+        try {
+            WebSocketMessage<?> message;
+            while ((message = poll()) != null) {
+                if (!isOpen()) {
+                    clearQueue();
+                    return;
+                }
+                try {
+                    sendMessage(message);
+                } catch (SessionLimitExceededException ex) {
+                    evict(ex.getMessage());
+                    return;
+                } catch (IOException | RuntimeException ex) {
+                    FAILED_COUNT.incrementAndGet();
+                    log.warn("[drain][session({}) 发送消息失败]", getId(), ex);
+                }
+            }
+        } finally {
+            draining.set(false);
+            // 释放标记后，可能有新的消息入队，需要再次调度
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private WebSocketMessage<?> poll() {
+        WebSocketMessage<?> message = queue.poll();
+        if (message != null) {
+            queueSize.decrementAndGet();
+            QUEUED_COUNT.decrementAndGet();
+        }
+        return message;
+    }
+
+    private void clearQueue() {
+        while (poll() != null) {
+            // 丢弃
+        }
+    }
+
+    /**
+     * 驱逐慢消费者：丢弃排队的消息，并关闭连接。关闭后，会触发 Session 从 {@link WebSocketSessionManager} 中移除
+     *
+     * @param reason 原因
+     */
+    private void evict(String reason) {
+        clearQueue();
+        if (!isOpen()) {
+            return;
+        }
+        EVICTED_COUNT.incrementAndGet();
+        log.warn("[evict][session({}) 消费过慢，关闭连接，原因：{}]", getId(), reason);
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException ex) {
+            log.warn("[evict][session({}) 关闭连接失败]", getId(), ex);
+        }
+    }
+
+    public static long getQueuedCount() {
+        return QUEUED_COUNT.get();
+    }
+
+    public static long getEvictedCount() {
+        return EVICTED_COUNT.get();
+    }
+
+    public static long getFailedCount() {
+        return FAILED_COUNT.get();
+    }
+
+}
@@ -1,42 +1,57 @@
 package com.laby.framework.websocket.core.session;
 
+import cn.hutool.core.thread.ThreadUtil;
+import com.laby.framework.websocket.config.WebSocketProperties;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
 import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * {@link WebSocketHandler} 的装饰类，实现了以下功能：
  *
  * 1. {@link WebSocketSession} 连接或关闭时，使用 {@link #sessionManager} 进行管理
- * 2. 封装 {@link WebSocketSession} 支持并发操作
+ * 2. 封装 {@link WebSocketSession} 支持并发操作、异步发送，参见 {@link BufferedWebSocketSessionDecorator}
  *
  * @author Laby
  */
-public class WebSocketSessionHandlerDecorator extends WebSocketHandlerDecorator {
+public class WebSocketSessionHandlerDecorator extends WebSocketHandlerDecorator implements DisposableBean {
 
+    private final WebSocketSessionManager sessionManager;
+
+    private final WebSocketProperties properties;
     /**
-     * 发送时间的限制，单位：毫秒
-     */
-    private static final Integer SEND_TIME_LIMIT = 1000 * 5;
-    /**
-     * 发送消息缓冲上线，单位：bytes
+     * 异步发送消息的线程池
+     *
+     * 每个 Session 同一时刻最多只有一个发送任务，所以任务队列不会无限增长
+     * 不声明为 Spring Bean 的原因是，避免影响 Spring Boot 默认的 applicationTaskExecutor 的创建
      */
-    private static final Integer BUFFER_SIZE_LIMIT = 1024 * 100;
-
-    private final WebSocketSessionManager sessionManager;
+    private final ExecutorService sendExecutor;
 
     public WebSocketSessionHandlerDecorator(WebSocketHandler delegate,
-                                            WebSocketSessionManager sessionManager) {
+                                            WebSocketSessionManager sessionManager,
+                                            WebSocketProperties properties) {
         super(delegate);
         this.sessionManager = sessionManager;
+        this.properties = properties;
+        this.sendExecutor = new ThreadPoolExecutor(properties.getSendPoolSize(), properties.getSendPoolSize(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                ThreadUtil.newNamedThreadFactory("websocket-send-", true));
     }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
         // 实现 session 支持并发，可参考 https://blog.csdn.net/abu935009066/article/details/131218149
-        session = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT, BUFFER_SIZE_LIMIT);
+        session = new BufferedWebSocketSessionDecorator(session,
+                (int) properties.getSendTimeLimit().toMillis(),
+                (int) properties.getSendBufferSizeLimit().toBytes(),
+                sendExecutor, properties.getSendQueueLimit());
         // 添加到 WebSocketSessionManager 中
         sessionManager.addSession(session);
     }
@@ -46,4 +61,9 @@ public class WebSocketSessionHandlerDecorator extends WebSocketHandlerDecorator
         sessionManager.removeSession(session);
     }
 
+    @Override
+    public void destroy() {
+        sendExecutor.shutdown();
+    }
+
 }
@@ -50,4 +50,11 @@ public interface WebSocketSessionManager {
      */
     Collection<WebSocketSession> getSessionList(Integer userType, Long userId);
 
-}
\ No newline at end of file
+    /**
+     * 获得当前的 Session 数量
+     *
+     * @return Session 数量
+     */
+    int getSessionCount();
+
+}
@@ -1,6 +1,7 @@
 package com.laby.framework.websocket.core.session;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.ObjUtil;
 import com.laby.framework.security.core.LoginUser;
 import com.laby.framework.tenant.core.context.TenantContextHolder;
 import com.laby.framework.websocket.core.util.WebSocketFrameworkUtils;
@@ -8,19 +9,25 @@ import org.springframework.web.socket.WebSocketSession;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * 默认的 {@link WebSocketSessionManager} 实现类
+ * 默认的 {@link WebSocketSession} 管理器实现类
+ *
+ * 按「用户类型 + 租户 + 用户编号」建立索引，按租户广播时只需要复制该租户的 Session，不需要遍历所有用户
  *
  * @author Laby
  */
 public class WebSocketSessionManagerImpl implements WebSocketSessionManager {
 
+    /**
+     * 未开启租户时，使用的租户编号
+     */
+    private static final Long TENANT_ID_NONE = 0L;
+
     /**
      * id 与 WebSocketSession 映射
      *
@@ -29,57 +36,43 @@ public class WebSocketSessionManagerImpl implements WebSocketSessionManager {
     private final ConcurrentMap<String, WebSocketSession> idSessions = new ConcurrentHashMap<>();
 
     /**
-     * user 与 WebSocketSession 映射
+     * 租户与 WebSocketSession 映射
      *
      * key1：用户类型
-     * key2：用户编号
+     * key2：租户编号
      */
-    private final ConcurrentMap<Integer, ConcurrentMap<Long, CopyOnWriteArrayList<WebSocketSession>>> userSessions
-            = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, ConcurrentMap<Long, TenantSessions>> tenantSessions = new ConcurrentHashMap<>();
 
     @Override
     public void addSession(WebSocketSession session) {
         // 添加到 idSessions 中
         idSessions.put(session.getId(), session);
-        // 添加到 userSessions 中
+        // 添加到 tenantSessions 中
         LoginUser user = WebSocketFrameworkUtils.getLoginUser(session);
         if (user == null) {
             return;
         }
-        ConcurrentMap<Long, CopyOnWriteArrayList<WebSocketSession>> userSessionsMap = userSessions.get(user.getUserType());
-        if (userSessionsMap == null) {
-            userSessionsMap = new ConcurrentHashMap<>();
-            if (userSessions.putIfAbsent(user.getUserType(), userSessionsMap) != null) {
-                userSessionsMap = userSessions.get(user.getUserType());
-            }
-        }
-        CopyOnWriteArrayList<WebSocketSession> sessions = userSessionsMap.get(user.getId());
-        if (sessions == null) {
-            sessions = new CopyOnWriteArrayList<>();
-            if (userSessionsMap.putIfAbsent(user.getId(), sessions) != null) {
-                sessions = userSessionsMap.get(user.getId());
-            }
-        }
-        sessions.add(session);
+        TenantSessions sessions = tenantSessions.computeIfAbsent(user.getUserType(), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(getTenantKey(user.getTenantId()), key -> new TenantSessions());
+        sessions.add(user.getId(), session);
     }
 
     @Override
     public void removeSession(WebSocketSession session) {
         // 移除从 idSessions 中
         idSessions.remove(session.getId());
-        // 移除从 idSessions 中
+        // 移除从 tenantSessions 中
         LoginUser user = WebSocketFrameworkUtils.getLoginUser(session);
         if (user == null) {
             return;
         }
-        ConcurrentMap<Long, CopyOnWriteArrayList<WebSocketSession>> userSessionsMap = userSessions.get(user.getUserType());
-        if (userSessionsMap == null) {
+        ConcurrentMap<Long, TenantSessions> userTypeSessions = tenantSessions.get(user.getUserType());
+        if (userTypeSessions == null) {
             return;
         }
-        CopyOnWriteArrayList<WebSocketSession> sessions = userSessionsMap.get(user.getId());
-        sessions.removeIf(session0 -> session0.getId().equals(session.getId()));
-        if (CollUtil.isEmpty(sessions)) {
-            userSessionsMap.remove(user.getId(), sessions);
+        TenantSessions sessions = userTypeSessions.get(getTenantKey(user.getTenantId()));
+        if (sessions != null) {
+            sessions.remove(user.getId(), session);
         }
     }
 
@@ -90,36 +83,79 @@ public class WebSocketSessionManagerImpl implements WebSocketSessionManager {
 
     @Override
     public Collection<WebSocketSession> getSessionList(Integer userType) {
-        ConcurrentMap<Long, CopyOnWriteArrayList<WebSocketSession>> userSessionsMap = userSessions.get(userType);
-        if (CollUtil.isEmpty(userSessionsMap)) {
+        ConcurrentMap<Long, TenantSessions> userTypeSessions = tenantSessions.get(userType);
+        if (CollUtil.isEmpty(userTypeSessions)) {
             return new ArrayList<>();
         }
-        LinkedList<WebSocketSession> result = new LinkedList<>(); // 避免扩容
+        // 情况一：指定租户，只返回该租户的 Session
         Long contextTenantId = TenantContextHolder.getTenantId();
-        for (List<WebSocketSession> sessions : userSessionsMap.values()) {
-            if (CollUtil.isEmpty(sessions)) {
-                continue;
-            }
-            // 特殊：如果租户不匹配，则直接排除
-            if (contextTenantId != null) {
-                Long userTenantId = WebSocketFrameworkUtils.getTenantId(sessions.get(0));
-                if (!contextTenantId.equals(userTenantId)) {
-                    continue;
-                }
-            }
-            result.addAll(sessions);
+        if (contextTenantId != null) {
+            TenantSessions sessions = userTypeSessions.get(contextTenantId);
+            return sessions != null ? new ArrayList<>(sessions.sessions.values()) : new ArrayList<>();
         }
+        // 情况二：未指定租户，返回所有租户的 Session
+        List<WebSocketSession> result = new ArrayList<>();
+        userTypeSessions.values().forEach(sessions -> result.addAll(sessions.sessions.values()));
         return result;
     }
 
     @Override
     public Collection<WebSocketSession> getSessionList(Integer userType, Long userId) {
-        ConcurrentMap<Long, CopyOnWriteArrayList<WebSocketSession>> userSessionsMap = userSessions.get(userType);
-        if (CollUtil.isEmpty(userSessionsMap)) {
+        ConcurrentMap<Long, TenantSessions> userTypeSessions = tenantSessions.get(userType);
+        if (CollUtil.isEmpty(userTypeSessions)) {
             return new ArrayList<>();
         }
-        CopyOnWriteArrayList<WebSocketSession> sessions = userSessionsMap.get(userId);
-        return CollUtil.isNotEmpty(sessions) ? new ArrayList<>(sessions) : new ArrayList<>();
+        // 用户编号是全局唯一的，所以不按租户过滤，查找所有租户。租户数量有限，代价可控
+        List<WebSocketSession> result = new ArrayList<>();
+        userTypeSessions.values().forEach(sessions -> result.addAll(sessions.getUserSessions(userId)));
+        return result;
+    }
+
+    @Override
+    public int getSessionCount() {
+        return idSessions.size();
+    }
+
+    private static Long getTenantKey(Long tenantId) {
+        return ObjUtil.defaultIfNull(tenantId, TENANT_ID_NONE);
+    }
+
+    /**
+     * 某个租户、某种用户类型下的 Session
+     */
+    private static class TenantSessions {
+
+        /**
+         * key：Session 编号
+         */
+        private final ConcurrentMap<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+        /**
+         * key：用户编号
+         */
+        private final ConcurrentMap<Long, CopyOnWriteArrayList<WebSocketSession>> userSessions = new ConcurrentHashMap<>();
+
+        private void add(Long userId, WebSocketSession session) {
+            sessions.put(session.getId(), session);
+            userSessions.computeIfAbsent(userId, key -> new CopyOnWriteArrayList<>()).add(session);
+        }
+
+        private void remove(Long userId, WebSocketSession session) {
+            sessions.remove(session.getId());
+            CopyOnWriteArrayList<WebSocketSession> list = userSessions.get(userId);
+            if (list == null) {
+                return;
+            }
+            list.removeIf(session0 -> session0.getId().equals(session.getId()));
+            if (list.isEmpty()) {
+                userSessions.remove(userId, list);
+            }
+        }
+
+        private List<WebSocketSession> getUserSessions(Long userId) {
+            CopyOnWriteArrayList<WebSocketSession> list = userSessions.get(userId);
+            return CollUtil.isNotEmpty(list) ? new ArrayList<>(list) : new ArrayList<>();
+        }
+
     }
 
 }
@@ -0,0 +1,251 @@
+package com.laby.framework.websocket.core.session;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link BufferedWebSocketSessionDecorator} 的单元测试
+ *
+ * 发送任务先放到 {@link #tasks} 中，由测试手动执行，从而控制发送的时机
+ *
+ * @author Laby
+ */
+public class BufferedWebSocketSessionDecoratorTest {
+
+    private final WebSocketSession delegate = mock(WebSocketSession.class);
+    private final AtomicBoolean open = new AtomicBoolean(true);
+    /**
+     * 已发送的消息
+     */
+    private final List<WebSocketMessage<?>> sentMessages = new CopyOnWriteArrayList<>();
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Executor executor = tasks::add;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        when(delegate.getId()).thenReturn("1");
+        when(delegate.isOpen()).thenAnswer(invocation -> open.get());
+        doAnswer(invocation -> {
+            open.set(false);
+            return null;
+        }).when(delegate).close(any(CloseStatus.class));
+        doAnswer(invocation -> sentMessages.add(invocation.getArgument(0)))
+                .when(delegate).sendMessage(any());
+    }
+
+    @Test
+    public void testSendMessageAsync_order() {
+        // 准备参数
+        BufferedWebSocketSessionDecorator session = buildSession(10_000, 1024, 100);
+
+        // 调用：发送过程中，继续入队
+        for (int i = 1; i <= 5; i++) {
+            session.sendMessageAsync(new TextMessage("m" + i));
+        }
+        // 断言：只调度一次，未执行前不发送
+        assertEquals(1, tasks.size());
+        assertTrue(sentMessages.isEmpty());
+
+        // 调用
+        runTasks();
+        // 断言：按入队顺序发送
+        assertEquals(List.of("m1", "m2", "m3", "m4", "m5"), getPayloads());
+        assertEquals(0, getQueueSize(session));
+        assertTrue(open.get());
+    }
+
+    @Test
+    public void testSendMessageAsync_queueLimit() throws Exception {
+        // 准备参数
+        BufferedWebSocketSessionDecorator session = buildSession(10_000, 1024, 2);
+        long evictedCount = BufferedWebSocketSessionDecorator.getEvictedCount();
+
+        // 调用：超过队列上限
+        session.sendMessageAsync(new TextMessage("m1"));
+        session.sendMessageAsync(new TextMessage("m2"));
+        session.sendMessageAsync(new TextMessage("m3"));
+        // 断言：驱逐，丢弃排队的消息
+        verify(delegate).close(eq(CloseStatus.SESSION_NOT_RELIABLE));
+        assertEquals(evictedCount + 1, BufferedWebSocketSessionDecorator.getEvictedCount());
+        assertEquals(0, getQueueSize(session));
+
+        // 调用：已关闭，不再发送，也不再入队
+        runTasks();
+        session.sendMessageAsync(new TextMessage("m4"));
+        // 断言
+        assertTrue(sentMessages.isEmpty());
+        assertTrue(tasks.isEmpty());
+        assertEquals(0, getQueueSize(session));
+    }
+
+    @Test
+    public void testSendMessageAsync_sendTimeLimit() throws Exception {
+        // 准备参数：发送超过 10 毫秒，视为超时
+        BufferedWebSocketSessionDecorator session = buildSession(10, 1024, 100);
+        CountDownLatch release = blockFirstSend();
+        Thread sender = startSender(session);
+
+        // 调用：其它线程阻塞在发送中，并超过发送时间上限
+        Thread.sleep(50);
+        session.sendMessageAsync(new TextMessage("m1"));
+        session.sendMessageAsync(new TextMessage("m2"));
+        runTasks();
+        // 断言：驱逐，丢弃排队的消息
+        verify(delegate).close(eq(CloseStatus.SESSION_NOT_RELIABLE));
+        assertEquals(0, getQueueSize(session));
+        release.countDown();
+        sender.join(1000);
+        assertEquals(List.of("blocked"), getPayloads());
+    }
+
+    @Test
+    public void testSendMessageAsync_bufferSizeLimit() throws Exception {
+        // 准备参数：缓冲最多 4 字节
+        BufferedWebSocketSessionDecorator session = buildSession(10_000, 4, 100);
+        CountDownLatch release = blockFirstSend();
+        Thread sender = startSender(session);
+
+        // 调用：其它线程阻塞在发送中，消息积压在缓冲中，超过缓冲上限
+        session.sendMessageAsync(new TextMessage("12345"));
+        runTasks();
+        // 断言：驱逐
+        verify(delegate).close(eq(CloseStatus.SESSION_NOT_RELIABLE));
+        release.countDown();
+        sender.join(1000);
+        assertEquals(List.of("blocked"), getPayloads());
+    }
+
+    @Test
+    public void testSendMessageAsync_rescheduleAfterDraining() {
+        // 准备参数
+        BufferedWebSocketSessionDecorator session = buildSession(10_000, 1024, 100);
+        // 模拟并发：发送线程取完消息、还未释放 draining 标记时，其它线程入队。此时入队方不会调度
+        AtomicBoolean raced = new AtomicBoolean();
+        Queue<WebSocketMessage<?>> queue = new ConcurrentLinkedQueue<>() {
+
+            @Override
+            public WebSocketMessage<?> poll() {
+                WebSocketMessage<?> message = super.poll();
+                if (message == null && raced.compareAndSet(false, true)) {
+                    session.sendMessageAsync(new TextMessage("m2"));
+                }
+                return message;
+            }
+
+        };
+        ReflectionTestUtils.setField(session, "queue", queue);
+        session.sendMessageAsync(new TextMessage("m1"));
+
+        // 调用
+        runTask();
+        // 断言：释放标记后，发现队列不为空，再次调度
+        assertTrue(raced.get());
+        assertEquals(List.of("m1"), getPayloads());
+        assertEquals(1, tasks.size());
+
+        // 调用
+        runTasks();
+        // 断言
+        assertEquals(List.of("m1", "m2"), getPayloads());
+        assertEquals(0, getQueueSize(session));
+    }
+
+    @Test
+    public void testSendMessageAsync_rejected() {
+        // 准备参数：第一次调度被拒绝
+        AtomicInteger executeCount = new AtomicInteger();
+        BufferedWebSocketSessionDecorator session = new BufferedWebSocketSessionDecorator(delegate,
+                10_000, 1024, task -> {
+            if (executeCount.incrementAndGet() == 1) {
+                throw new RejectedExecutionException();
+            }
+            tasks.add(task);
+        }, 100);
+
+        // 调用
+        session.sendMessageAsync(new TextMessage("m1"));
+        // 断言：释放标记，消息保留在队列中
+        assertTrue(tasks.isEmpty());
+        assertEquals(1, getQueueSize(session));
+
+        // 调用：下次入队时，重新调度，一起发送
+        session.sendMessageAsync(new TextMessage("m2"));
+        runTasks();
+        // 断言
+        assertEquals(List.of("m1", "m2"), getPayloads());
+    }
+
+    private BufferedWebSocketSessionDecorator buildSession(int sendTimeLimit, int bufferSizeLimit, int queueLimit) {
+        return new BufferedWebSocketSessionDecorator(delegate, sendTimeLimit, bufferSizeLimit, executor, queueLimit);
+    }
+
+    /**
+     * 第一次发送时阻塞，直到返回的 latch 被释放
+     */
+    private CountDownLatch blockFirstSend() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            sentMessages.add(invocation.getArgument(0));
+            if (first.compareAndSet(true, false)) {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            }
+            return null;
+        }).when(delegate).sendMessage(any());
+        return release;
+    }
+
+    /**
+     * 在其它线程中，直接同步发送一条消息，并等待其进入 delegate 的发送中
+     */
+    private Thread startSender(BufferedWebSocketSessionDecorator session) throws Exception {
+        Thread sender = new Thread(() -> {
+            try {
+                session.sendMessage(new TextMessage("blocked"));
+            } catch (Exception ignored) {
+            }
+        });
+        sender.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sentMessages.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, sentMessages.size());
+        return sender;
+    }
+
+    private void runTask() {
+        Objects.requireNonNull(tasks.poll()).run();
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private List<String> getPayloads() {
+        return sentMessages.stream().map(message -> (String) message.getPayload()).toList();
+    }
+
+    private static int getQueueSize(BufferedWebSocketSessionDecorator session) {
+        return ((AtomicInteger) ReflectionTestUtils.getField(session, "queueSize")).get();
+    }
+
+}
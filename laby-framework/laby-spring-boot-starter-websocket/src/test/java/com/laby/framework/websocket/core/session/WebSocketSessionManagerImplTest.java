@@ -0,0 +1,81 @@
+package com.laby.framework.websocket.core.session;
+
+import com.laby.framework.common.enums.UserTypeEnum;
+import com.laby.framework.security.core.LoginUser;
+import com.laby.framework.tenant.core.context.TenantContextHolder;
+import com.laby.framework.websocket.core.util.WebSocketFrameworkUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link WebSocketSessionManagerImpl} 的单元测试
+ *
+ * @author Laby
+ */
+public class WebSocketSessionManagerImplTest {
+
+    private final WebSocketSessionManagerImpl sessionManager = new WebSocketSessionManagerImpl();
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testGetSessionList_userType() {
+        // mock 数据
+        WebSocketSession session01 = buildSession("1", 1L, 1L);
+        WebSocketSession session02 = buildSession("2", 2L, 2L);
+        sessionManager.addSession(session01);
+        sessionManager.addSession(session02);
+
+        // 调用，并断言：指定租户时，只返回该租户的 Session
+        TenantContextHolder.setTenantId(1L);
+        assertEquals(Set.of(session01), Set.copyOf(sessionManager.getSessionList(UserTypeEnum.ADMIN.getValue())));
+        // 调用，并断言：未指定租户时，返回所有租户的 Session
+        TenantContextHolder.clear();
+        assertEquals(Set.of(session01, session02),
+                Set.copyOf(sessionManager.getSessionList(UserTypeEnum.ADMIN.getValue())));
+    }
+
+    @Test
+    public void testGetSessionList_userId() {
+        // mock 数据：用户 1 属于租户 2，例如说平台租户、定时任务中发送给其它租户的用户
+        WebSocketSession session01 = buildSession("1", 2L, 1L);
+        WebSocketSession session02 = buildSession("2", 2L, 2L);
+        sessionManager.addSession(session01);
+        sessionManager.addSession(session02);
+        TenantContextHolder.setTenantId(1L);
+
+        // 调用，并断言：用户编号是全局唯一的，不按当前租户过滤
+        assertEquals(Set.of(session01), Set.copyOf(sessionManager.getSessionList(UserTypeEnum.ADMIN.getValue(), 1L)));
+        assertTrue(sessionManager.getSessionList(UserTypeEnum.MEMBER.getValue(), 1L).isEmpty());
+
+        // 调用，并断言：移除后，不再返回
+        sessionManager.removeSession(session01);
+        assertTrue(sessionManager.getSessionList(UserTypeEnum.ADMIN.getValue(), 1L).isEmpty());
+        assertNull(sessionManager.getSession("1"));
+    }
+
+    private static WebSocketSession buildSession(String id, Long tenantId, Long userId) {
+        LoginUser loginUser = new LoginUser();
+        loginUser.setId(userId);
+        loginUser.setUserType(UserTypeEnum.ADMIN.getValue());
+        loginUser.setTenantId(tenantId);
+        Map<String, Object> attributes = new HashMap<>();
+        WebSocketFrameworkUtils.setLoginUser(loginUser, attributes);
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getAttributes()).thenReturn(attributes);
+        return session;
+    }
+
+}
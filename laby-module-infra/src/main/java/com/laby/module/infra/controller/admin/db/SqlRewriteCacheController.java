@@ -0,0 +1,53 @@
+package com.laby.module.infra.controller.admin.db;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.laby.framework.common.pojo.CommonResult;
+import com.laby.framework.mybatis.core.rewrite.SqlRewriteCacheInnerInterceptor;
+import com.laby.module.infra.controller.admin.db.vo.SqlRewriteCacheRespVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import static com.laby.framework.common.pojo.CommonResult.success;
+
+@Tag(name = "管理后台 - SQL 重写缓存")
+@RestController
+@RequestMapping("/infra/sql-rewrite-cache")
+@Validated
+@Slf4j
+public class SqlRewriteCacheController {
+
+    @Resource
+    private SqlRewriteCacheInnerInterceptor sqlRewriteCacheInnerInterceptor;
+
+    @GetMapping("/get")
+    @Operation(summary = "获得 SQL 重写缓存的状态", description = "统计的是当前节点，重启后清空")
+    @PreAuthorize("@ss.hasPermission('infra:sql-stat:query')")
+    public CommonResult<SqlRewriteCacheRespVO> getSqlRewriteCache() {
+        CacheStats stats = sqlRewriteCacheInnerInterceptor.stats();
+        SqlRewriteCacheRespVO respVO = new SqlRewriteCacheRespVO();
+        respVO.setEnable(sqlRewriteCacheInnerInterceptor.isEnable());
+        respVO.setSize(sqlRewriteCacheInnerInterceptor.size());
+        respVO.setHitCount(stats.hitCount());
+        respVO.setMissCount(stats.missCount());
+        respVO.setHitRate(stats.hitRate());
+        respVO.setEvictionCount(stats.evictionCount());
+        return success(respVO);
+    }
+
+    @PutMapping("/update-enable")
+    @Operation(summary = "开启或关闭 SQL 重写缓存", description = "仅切换当前节点，重启后恢复为 laby.mybatis.sql-rewrite-cache.enable 配置")
+    @Parameter(name = "enable", description = "是否开启", required = true, example = "false")
+    @PreAuthorize("@ss.hasPermission('infra:sql-stat:reset')")
+    public CommonResult<Boolean> updateSqlRewriteCacheEnable(@RequestParam("enable") Boolean enable) {
+        sqlRewriteCacheInnerInterceptor.setEnable(enable);
+        log.info("[updateSqlRewriteCacheEnable][SQL 重写缓存切换为 enable({})]", enable);
+        return success(true);
+    }
+
+}
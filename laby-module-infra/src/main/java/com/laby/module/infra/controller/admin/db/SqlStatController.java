@@ -0,0 +1,75 @@
+package com.laby.module.infra.controller.admin.db;
+
+import com.laby.framework.common.pojo.CommonResult;
+import com.laby.framework.mybatis.core.stat.SqlStat;
+import com.laby.framework.mybatis.core.stat.SqlStatRecorder;
+import com.laby.module.infra.controller.admin.db.vo.SqlStatRespVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.Resource;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static com.laby.framework.common.pojo.CommonResult.success;
+import static com.laby.framework.common.util.collection.CollectionUtils.convertList;
+
+@Tag(name = "管理后台 - SQL 执行统计")
+@RestController
+@RequestMapping("/infra/sql-stat")
+@Validated
+public class SqlStatController {
+
+    @Resource
+    private SqlStatRecorder sqlStatRecorder;
+
+    @GetMapping("/top-list-by-p99")
+    @Operation(summary = "获得 p99 耗时最高的 SQL 列表", description = "统计的是当前节点，重启后清空")
+    @Parameter(name = "limit", description = "数量", example = "20")
+    @PreAuthorize("@ss.hasPermission('infra:sql-stat:query')")
+    public CommonResult<List<SqlStatRespVO>> getSqlStatTopListByP99(
+            @RequestParam(value = "limit", defaultValue = "20") @Min(1) @Max(200) Integer limit) {
+        return success(buildSqlStatList(sqlStatRecorder.getTopListByP99(limit)));
+    }
+
+    @GetMapping("/top-list-by-total-time")
+    @Operation(summary = "获得总耗时最高的 SQL 列表", description = "统计的是当前节点，重启后清空")
+    @Parameter(name = "limit", description = "数量", example = "20")
+    @PreAuthorize("@ss.hasPermission('infra:sql-stat:query')")
+    public CommonResult<List<SqlStatRespVO>> getSqlStatTopListByTotalTime(
+            @RequestParam(value = "limit", defaultValue = "20") @Min(1) @Max(200) Integer limit) {
+        return success(buildSqlStatList(sqlStatRecorder.getTopListByTotalTime(limit)));
+    }
+
+    @DeleteMapping("/reset")
+    @Operation(summary = "清空 SQL 执行统计", description = "仅清空当前节点")
+    @PreAuthorize("@ss.hasPermission('infra:sql-stat:reset')")
+    public CommonResult<Boolean> resetSqlStat() {
+        sqlStatRecorder.reset();
+        return success(true);
+    }
+
+    private static List<SqlStatRespVO> buildSqlStatList(List<SqlStat> stats) {
+        return convertList(stats, stat -> {
+            SqlStatRespVO respVO = new SqlStatRespVO();
+            respVO.setId(stat.getId());
+            respVO.setFingerprint(stat.getFingerprint());
+            respVO.setCount(stat.getCount());
+            respVO.setErrorCount(stat.getErrorCount());
+            respVO.setTotalRows(stat.getTotalRows());
+            respVO.setTotalTime(stat.getTotalMicros());
+            respVO.setAvgTime(stat.getCount() > 0 ? stat.getTotalMicros() / stat.getCount() : 0);
+            respVO.setP50Time(stat.getPercentileMicros(0.5));
+            respVO.setP90Time(stat.getPercentileMicros(0.9));
+            respVO.setP99Time(stat.getPercentileMicros(0.99));
+            respVO.setMaxTime(stat.getMaxMicros());
+            return respVO;
+        });
+    }
+
+}
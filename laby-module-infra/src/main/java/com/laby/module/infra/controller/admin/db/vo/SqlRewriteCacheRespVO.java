@@ -0,0 +1,28 @@
+package com.laby.module.infra.controller.admin.db.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Schema(description = "管理后台 - SQL 重写缓存 Response VO")
+@Data
+public class SqlRewriteCacheRespVO {
+
+    @Schema(description = "是否开启", requiredMode = Schema.RequiredMode.REQUIRED, example = "true")
+    private Boolean enable;
+
+    @Schema(description = "缓存的模板数量", requiredMode = Schema.RequiredMode.REQUIRED, example = "512")
+    private Long size;
+
+    @Schema(description = "命中次数", requiredMode = Schema.RequiredMode.REQUIRED, example = "10240")
+    private Long hitCount;
+
+    @Schema(description = "未命中次数", requiredMode = Schema.RequiredMode.REQUIRED, example = "512")
+    private Long missCount;
+
+    @Schema(description = "命中率", requiredMode = Schema.RequiredMode.REQUIRED, example = "0.95")
+    private Double hitRate;
+
+    @Schema(description = "淘汰次数", requiredMode = Schema.RequiredMode.REQUIRED, example = "0")
+    private Long evictionCount;
+
+}
@@ -0,0 +1,44 @@
+package com.laby.module.infra.controller.admin.db.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Schema(description = "管理后台 - SQL 执行统计 Response VO")
+@Data
+public class SqlStatRespVO {
+
+    @Schema(description = "MappedStatement 编号", requiredMode = Schema.RequiredMode.REQUIRED,
+            example = "com.laby.module.system.dal.mysql.user.AdminUserMapper.selectById")
+    private String id;
+
+    @Schema(description = "SQL 指纹，字面量替换为 ?", example = "SELECT * FROM system_users WHERE id = ?")
+    private String fingerprint;
+
+    @Schema(description = "执行次数", requiredMode = Schema.RequiredMode.REQUIRED, example = "1024")
+    private Long count;
+
+    @Schema(description = "失败次数", requiredMode = Schema.RequiredMode.REQUIRED, example = "0")
+    private Long errorCount;
+
+    @Schema(description = "总行数，查询为返回行数，更新为影响行数", requiredMode = Schema.RequiredMode.REQUIRED, example = "2048")
+    private Long totalRows;
+
+    @Schema(description = "总耗时，单位：微秒", requiredMode = Schema.RequiredMode.REQUIRED, example = "1500000")
+    private Long totalTime;
+
+    @Schema(description = "平均耗时，单位：微秒", requiredMode = Schema.RequiredMode.REQUIRED, example = "1464")
+    private Long avgTime;
+
+    @Schema(description = "p50 耗时，单位：微秒", requiredMode = Schema.RequiredMode.REQUIRED, example = "1024")
+    private Long p50Time;
+
+    @Schema(description = "p90 耗时，单位：微秒", requiredMode = Schema.RequiredMode.REQUIRED, example = "2048")
+    private Long p90Time;
+
+    @Schema(description = "p99 耗时，单位：微秒", requiredMode = Schema.RequiredMode.REQUIRED, example = "4096")
+    private Long p99Time;
+
+    @Schema(description = "最大耗时，单位：微秒", requiredMode = Schema.RequiredMode.REQUIRED, example = "10000")
+    private Long maxTime;
+
+}
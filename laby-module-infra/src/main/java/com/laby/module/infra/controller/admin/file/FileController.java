@@ -21,6 +21,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -68,6 +69,38 @@ public class FileController {
         return success(fileService.createFile(createReqVO));
     }
 
+    @PostMapping("/chunk/init")
+    @Operation(summary = "初始化分片上传", description = "模式三：分片上传：适合大文件，支持断点续传")
+    public CommonResult<FileChunkUploadRespVO> initChunkUpload(@Valid @RequestBody FileChunkInitReqVO initReqVO) {
+        return success(fileService.initChunkUpload(initReqVO));
+    }
+
+    @GetMapping("/chunk/get")
+    @Operation(summary = "获得分片上传信息", description = "模式三：分片上传：断点续传时，获得已上传的分片")
+    @Parameter(name = "uploadId", description = "上传编号", required = true)
+    public CommonResult<FileChunkUploadRespVO> getChunkUpload(@RequestParam("uploadId") String uploadId) {
+        return success(fileService.getChunkUpload(uploadId));
+    }
+
+    @PutMapping(value = "/chunk/put", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "上传分片", description = "模式三：分片上传：请求体为分片的二进制内容，直接写入磁盘，不经过内存")
+    @Parameters({
+            @Parameter(name = "uploadId", description = "上传编号", required = true),
+            @Parameter(name = "offset", description = "分片的偏移量", required = true, example = "0")
+    })
+    public CommonResult<Boolean> uploadChunk(@RequestParam("uploadId") String uploadId,
+                                             @RequestParam("offset") Long offset,
+                                             HttpServletRequest request) throws Exception {
+        fileService.uploadChunk(uploadId, offset, request.getInputStream());
+        return success(true);
+    }
+
+    @PostMapping("/chunk/complete")
+    @Operation(summary = "完成分片上传", description = "模式三：分片上传：校验 SHA-256 后，保存到文件存储器")
+    public CommonResult<String> completeChunkUpload(@Valid @RequestBody FileChunkCompleteReqVO completeReqVO) {
+        return success(fileService.completeChunkUpload(completeReqVO));
+    }
+
     @DeleteMapping("/delete")
     @Operation(summary = "删除文件")
     @Parameter(name = "id", description = "编号", required = true)
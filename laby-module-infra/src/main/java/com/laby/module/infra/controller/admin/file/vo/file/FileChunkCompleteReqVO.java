@@ -0,0 +1,20 @@
+package com.laby.module.infra.controller.admin.file.vo.file;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+@Schema(description = "管理后台 - 完成分片上传 Request VO")
+@Data
+public class FileChunkCompleteReqVO {
+
+    @Schema(description = "上传编号", requiredMode = Schema.RequiredMode.REQUIRED, example = "758d3a5387507358c7236de4c8f96de1")
+    @NotEmpty(message = "上传编号不能为空")
+    private String uploadId;
+
+    @Schema(description = "文件的 SHA-256 校验和，16 进制", requiredMode = Schema.RequiredMode.REQUIRED,
+            example = "758d3a5387507358c7236de4c8f96de1c7f5097ff6a7722b34772fb7b76b140f")
+    @NotEmpty(message = "文件校验和不能为空")
+    private String checksum;
+
+}
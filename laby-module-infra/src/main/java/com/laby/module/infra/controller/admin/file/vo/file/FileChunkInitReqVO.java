@@ -0,0 +1,37 @@
+package com.laby.module.infra.controller.admin.file.vo.file;
+
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Schema(description = "管理后台 - 初始化分片上传 Request VO")
+@Data
+public class FileChunkInitReqVO {
+
+    @Schema(description = "文件名称", example = "laby.mp4")
+    private String name;
+
+    @Schema(description = "文件目录", example = "XXX/YYY")
+    private String directory;
+
+    @Schema(description = "文件 MIME 类型", example = "video/mp4")
+    private String type;
+
+    @Schema(description = "文件大小，单位：字节", requiredMode = Schema.RequiredMode.REQUIRED, example = "104857600")
+    @NotNull(message = "文件大小不能为空")
+    @Min(value = 1, message = "文件大小必须大于 0")
+    @Max(value = Integer.MAX_VALUE, message = "文件大小不能超过 2GB") // infra_file 的 size 字段为 int 类型
+    private Long size;
+
+    @AssertTrue(message = "文件目录不正确")
+    @JsonIgnore
+    public boolean isDirectoryValid() {
+        return !StrUtil.containsAny(directory, "..", "/", "\\");
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.laby.module.infra.controller.admin.file.vo.file;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+@Schema(description = "管理后台 - 分片上传 Response VO")
+@Data
+@Accessors(chain = true)
+public class FileChunkUploadRespVO {
+
+    @Schema(description = "上传编号", requiredMode = Schema.RequiredMode.REQUIRED, example = "758d3a5387507358c7236de4c8f96de1")
+    private String uploadId;
+
+    @Schema(description = "文件大小，单位：字节", requiredMode = Schema.RequiredMode.REQUIRED, example = "104857600")
+    private Long size;
+
+    @Schema(description = "分片大小，单位：字节。分片的偏移量为「序号 * 分片大小」", requiredMode = Schema.RequiredMode.REQUIRED, example = "5242880")
+    private Long chunkSize;
+
+    @Schema(description = "分片数量", requiredMode = Schema.RequiredMode.REQUIRED, example = "20")
+    private Integer chunkCount;
+
+    /**
+     * 断点续传时，客户端只需要上传不在其中的分片
+     */
+    @Schema(description = "已上传的分片序号，从 0 开始", requiredMode = Schema.RequiredMode.REQUIRED, example = "[0, 1, 3]")
+    private List<Integer> uploadedChunks;
+
+}
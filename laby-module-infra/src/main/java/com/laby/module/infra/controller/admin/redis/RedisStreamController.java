@@ -0,0 +1,91 @@
+package com.laby.module.infra.controller.admin.redis;
+
+import com.laby.framework.common.pojo.CommonResult;
+import com.laby.framework.common.util.object.BeanUtils;
+import com.laby.framework.mq.redis.core.stream.RedisStreamDeadLetterManager;
+import com.laby.module.infra.controller.admin.redis.vo.RedisStreamDeadLetterReqVO;
+import com.laby.module.infra.controller.admin.redis.vo.RedisStreamDeadLetterRespVO;
+import com.laby.module.infra.controller.admin.redis.vo.RedisStreamListenerRespVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.Resource;
+import jakarta.validation.Valid;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
+import static com.laby.framework.common.pojo.CommonResult.success;
+import static com.laby.framework.common.util.collection.CollectionUtils.convertList;
+import static com.laby.module.infra.enums.ErrorCodeConstants.REDIS_STREAM_LISTENER_NOT_EXISTS;
+
+@Tag(name = "管理后台 - Redis Stream 死信")
+@RestController
+@RequestMapping("/infra/redis-stream")
+@Validated
+public class RedisStreamController {
+
+    @Resource
+    private RedisStreamDeadLetterManager redisStreamDeadLetterManager;
+
+    @GetMapping("/listener-list")
+    @Operation(summary = "获得 Redis Stream 监听器列表", description = "包含每个消费者分组的死信数量")
+    @PreAuthorize("@ss.hasPermission('infra:redis-stream:query')")
+    public CommonResult<List<RedisStreamListenerRespVO>> getListenerList() {
+        return success(convertList(redisStreamDeadLetterManager.getListeners(), listener -> {
+            RedisStreamListenerRespVO respVO = new RedisStreamListenerRespVO();
+            respVO.setStreamKey(listener.getStreamKey());
+            respVO.setGroup(listener.getGroup());
+            respVO.setListenerClass(listener.getClass().getName());
+            respVO.setDeadLetterSize(redisStreamDeadLetterManager.getDeadLetterSize(listener.getStreamKey(), listener.getGroup()));
+            return respVO;
+        }));
+    }
+
+    @GetMapping("/dead-letter-list")
+    @Operation(summary = "获得 Redis Stream 死信列表", description = "按进入死信的时间，从早到晚")
+    @Parameter(name = "streamKey", description = "Stream Key", required = true, example = "MailSendMessage")
+    @Parameter(name = "group", description = "消费者分组", required = true, example = "laby-server")
+    @Parameter(name = "count", description = "数量", example = "100")
+    @PreAuthorize("@ss.hasPermission('infra:redis-stream:query')")
+    public CommonResult<List<RedisStreamDeadLetterRespVO>> getDeadLetterList(@RequestParam("streamKey") String streamKey,
+                                                                             @RequestParam("group") String group,
+                                                                             @RequestParam(value = "count", defaultValue = "100") Integer count) {
+        validateListenerExists(streamKey, group);
+        return success(BeanUtils.toBean(redisStreamDeadLetterManager.getDeadLetterList(streamKey, group, count),
+                RedisStreamDeadLetterRespVO.class));
+    }
+
+    @PostMapping("/dead-letter-replay")
+    @Operation(summary = "重放 Redis Stream 死信", description = "交给对应的监听器重新消费，成功后从死信中删除")
+    @PreAuthorize("@ss.hasPermission('infra:redis-stream:replay')")
+    public CommonResult<Integer> replayDeadLetter(@Valid @RequestBody RedisStreamDeadLetterReqVO reqVO) {
+        validateListenerExists(reqVO.getStreamKey(), reqVO.getGroup());
+        return success(redisStreamDeadLetterManager.replay(reqVO.getStreamKey(), reqVO.getGroup(), reqVO.getIds()));
+    }
+
+    @DeleteMapping("/dead-letter-delete")
+    @Operation(summary = "删除 Redis Stream 死信")
+    @Parameter(name = "streamKey", description = "Stream Key", required = true, example = "MailSendMessage")
+    @Parameter(name = "group", description = "消费者分组", required = true, example = "laby-server")
+    @Parameter(name = "ids", description = "死信编号数组", required = true)
+    @PreAuthorize("@ss.hasPermission('infra:redis-stream:delete')")
+    public CommonResult<Long> deleteDeadLetter(@RequestParam("streamKey") String streamKey,
+                                               @RequestParam("group") String group,
+                                               @RequestParam("ids") List<String> ids) {
+        validateListenerExists(streamKey, group);
+        return success(redisStreamDeadLetterManager.delete(streamKey, group, ids));
+    }
+
+    private void validateListenerExists(String streamKey, String group) {
+        boolean exists = redisStreamDeadLetterManager.getListeners().stream()
+                .anyMatch(listener -> listener.getStreamKey().equals(streamKey) && listener.getGroup().equals(group));
+        if (!exists) {
+            throw exception(REDIS_STREAM_LISTENER_NOT_EXISTS, streamKey, group);
+        }
+    }
+
+}
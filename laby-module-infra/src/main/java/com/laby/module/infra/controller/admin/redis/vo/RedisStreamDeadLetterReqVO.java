@@ -0,0 +1,25 @@
+package com.laby.module.infra.controller.admin.redis.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Schema(description = "管理后台 - Redis Stream 死信重放 Request VO")
+@Data
+public class RedisStreamDeadLetterReqVO {
+
+    @Schema(description = "Stream Key", requiredMode = Schema.RequiredMode.REQUIRED, example = "MailSendMessage")
+    @NotEmpty(message = "Stream Key 不能为空")
+    private String streamKey;
+
+    @Schema(description = "消费者分组", requiredMode = Schema.RequiredMode.REQUIRED, example = "laby-server")
+    @NotEmpty(message = "消费者分组不能为空")
+    private String group;
+
+    @Schema(description = "死信编号数组", requiredMode = Schema.RequiredMode.REQUIRED, example = "[\"1700000000000-0\"]")
+    @NotEmpty(message = "死信编号不能为空")
+    private List<String> ids;
+
+}
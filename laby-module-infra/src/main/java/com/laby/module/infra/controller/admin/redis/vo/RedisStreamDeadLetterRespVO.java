@@ -0,0 +1,22 @@
+package com.laby.module.infra.controller.admin.redis.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Schema(description = "管理后台 - Redis Stream 死信 Response VO")
+@Data
+public class RedisStreamDeadLetterRespVO {
+
+    @Schema(description = "死信编号", requiredMode = Schema.RequiredMode.REQUIRED, example = "1700000000000-0")
+    private String id;
+
+    @Schema(description = "原消息编号", example = "1690000000000-0")
+    private String sourceId;
+
+    @Schema(description = "投递次数", example = "6")
+    private Long deliveryCount;
+
+    @Schema(description = "消息内容", example = "{\"id\": 1024}")
+    private String payload;
+
+}
@@ -0,0 +1,22 @@
+package com.laby.module.infra.controller.admin.redis.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Schema(description = "管理后台 - Redis Stream 监听器 Response VO")
+@Data
+public class RedisStreamListenerRespVO {
+
+    @Schema(description = "Stream Key", requiredMode = Schema.RequiredMode.REQUIRED, example = "MailSendMessage")
+    private String streamKey;
+
+    @Schema(description = "消费者分组", requiredMode = Schema.RequiredMode.REQUIRED, example = "laby-server")
+    private String group;
+
+    @Schema(description = "监听器类名", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String listenerClass;
+
+    @Schema(description = "死信数量", requiredMode = Schema.RequiredMode.REQUIRED, example = "10")
+    private Long deadLetterSize;
+
+}
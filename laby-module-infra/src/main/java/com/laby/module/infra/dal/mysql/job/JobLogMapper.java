@@ -20,14 +20,17 @@ import java.time.LocalDateTime;
 public interface JobLogMapper extends BaseMapperX<JobLogDO> {
 
     default PageResult<JobLogDO> selectPage(JobLogPageReqVO reqVO) {
-        return selectPage(reqVO, new LambdaQueryWrapperX<JobLogDO>()
+        LambdaQueryWrapperX<JobLogDO> query = new LambdaQueryWrapperX<JobLogDO>()
                 .eqIfPresent(JobLogDO::getJobId, reqVO.getJobId())
                 .likeIfPresent(JobLogDO::getHandlerName, reqVO.getHandlerName())
                 .geIfPresent(JobLogDO::getBeginTime, reqVO.getBeginTime())
                 .leIfPresent(JobLogDO::getEndTime, reqVO.getEndTime())
-                .eqIfPresent(JobLogDO::getStatus, reqVO.getStatus())
-                .orderByDesc(JobLogDO::getId) // ID 倒序
-        );
+                .eqIfPresent(JobLogDO::getStatus, reqVO.getStatus());
+        // 游标分页：深翻页时按 ID seek，避免 OFFSET 扫描和 COUNT 查询
+        if (reqVO.getCursor() != null) {
+            return selectPageAfter(reqVO.getCursor(), reqVO.getPageSize(), JobLogDO::getId, false, query);
+        }
+        return selectPage(reqVO, query.orderByDesc(JobLogDO::getId)); // ID 倒序
     }
 
     /**
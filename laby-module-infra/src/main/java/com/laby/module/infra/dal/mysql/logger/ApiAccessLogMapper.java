@@ -20,16 +20,19 @@ import java.time.LocalDateTime;
 public interface ApiAccessLogMapper extends BaseMapperX<ApiAccessLogDO> {
 
     default PageResult<ApiAccessLogDO> selectPage(ApiAccessLogPageReqVO reqVO) {
-        return selectPage(reqVO, new LambdaQueryWrapperX<ApiAccessLogDO>()
+        LambdaQueryWrapperX<ApiAccessLogDO> query = new LambdaQueryWrapperX<ApiAccessLogDO>()
                 .eqIfPresent(ApiAccessLogDO::getUserId, reqVO.getUserId())
                 .eqIfPresent(ApiAccessLogDO::getUserType, reqVO.getUserType())
                 .eqIfPresent(ApiAccessLogDO::getApplicationName, reqVO.getApplicationName())
                 .likeIfPresent(ApiAccessLogDO::getRequestUrl, reqVO.getRequestUrl())
                 .betweenIfPresent(ApiAccessLogDO::getBeginTime, reqVO.getBeginTime())
                 .geIfPresent(ApiAccessLogDO::getDuration, reqVO.getDuration())
-                .eqIfPresent(ApiAccessLogDO::getResultCode, reqVO.getResultCode())
-                .orderByDesc(ApiAccessLogDO::getId)
-        );
+                .eqIfPresent(ApiAccessLogDO::getResultCode, reqVO.getResultCode());
+        // 游标分页：深翻页时按 ID seek，避免 OFFSET 扫描和 COUNT 查询
+        if (reqVO.getCursor() != null) {
+            return selectPageAfter(reqVO.getCursor(), reqVO.getPageSize(), ApiAccessLogDO::getId, false, query);
+        }
+        return selectPage(reqVO, query.orderByDesc(ApiAccessLogDO::getId));
     }
 
     /**
@@ -20,15 +20,18 @@ import java.time.LocalDateTime;
 public interface ApiErrorLogMapper extends BaseMapperX<ApiErrorLogDO> {
 
     default PageResult<ApiErrorLogDO> selectPage(ApiErrorLogPageReqVO reqVO) {
-        return selectPage(reqVO, new LambdaQueryWrapperX<ApiErrorLogDO>()
+        LambdaQueryWrapperX<ApiErrorLogDO> query = new LambdaQueryWrapperX<ApiErrorLogDO>()
                 .eqIfPresent(ApiErrorLogDO::getUserId, reqVO.getUserId())
                 .eqIfPresent(ApiErrorLogDO::getUserType, reqVO.getUserType())
                 .eqIfPresent(ApiErrorLogDO::getApplicationName, reqVO.getApplicationName())
                 .likeIfPresent(ApiErrorLogDO::getRequestUrl, reqVO.getRequestUrl())
                 .betweenIfPresent(ApiErrorLogDO::getExceptionTime, reqVO.getExceptionTime())
-                .eqIfPresent(ApiErrorLogDO::getProcessStatus, reqVO.getProcessStatus())
-                .orderByDesc(ApiErrorLogDO::getId)
-        );
+                .eqIfPresent(ApiErrorLogDO::getProcessStatus, reqVO.getProcessStatus());
+        // 游标分页：深翻页时按 ID seek，避免 OFFSET 扫描和 COUNT 查询
+        if (reqVO.getCursor() != null) {
+            return selectPageAfter(reqVO.getCursor(), reqVO.getPageSize(), ApiErrorLogDO::getId, false, query);
+        }
+        return selectPage(reqVO, query.orderByDesc(ApiErrorLogDO::getId));
     }
 
     /**
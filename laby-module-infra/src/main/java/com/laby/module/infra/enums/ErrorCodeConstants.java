@@ -33,6 +33,12 @@ public interface ErrorCodeConstants {
     ErrorCode FILE_PATH_EXISTS = new ErrorCode(1_001_003_000, "文件路径已存在");
     ErrorCode FILE_NOT_EXISTS = new ErrorCode(1_001_003_001, "文件不存在");
     ErrorCode FILE_IS_EMPTY = new ErrorCode(1_001_003_002, "文件为空");
+    ErrorCode FILE_CHUNK_UPLOAD_NOT_EXISTS = new ErrorCode(1_001_003_003, "分片上传不存在或已过期");
+    ErrorCode FILE_CHUNK_OFFSET_INVALID = new ErrorCode(1_001_003_004, "分片偏移量({})不正确，必须是分片大小({})的整数倍，且小于文件大小");
+    ErrorCode FILE_CHUNK_SIZE_INVALID = new ErrorCode(1_001_003_005, "分片大小不正确，期望 {} 字节，实际 {} 字节");
+    ErrorCode FILE_CHUNK_INCOMPLETE = new ErrorCode(1_001_003_006, "还有 {} 个分片未上传");
+    ErrorCode FILE_CHUNK_CHECKSUM_MISMATCH = new ErrorCode(1_001_003_007, "文件校验和不一致，请重新上传");
+    ErrorCode FILE_CHUNK_UPLOAD_EXCEEDS = new ErrorCode(1_001_003_008, "未完成的分片上传不能超过 {} 个，请先完成或等待过期");
 
     // ========== 代码生成器 1-001-004-000 ==========
     ErrorCode CODEGEN_TABLE_EXISTS = new ErrorCode(1_001_004_002, "表定义已经存在");
@@ -56,6 +62,9 @@ public interface ErrorCodeConstants {
     ErrorCode DATA_SOURCE_CONFIG_NOT_EXISTS = new ErrorCode(1_001_007_000, "数据源配置不存在");
     ErrorCode DATA_SOURCE_CONFIG_NOT_OK = new ErrorCode(1_001_007_001, "数据源配置不正确，无法进行连接");
 
+    // ========== Redis Stream 1-001-008-000 ==========
+    ErrorCode REDIS_STREAM_LISTENER_NOT_EXISTS = new ErrorCode(1_001_008_000, "Redis Stream({}) 消费者分组({}) 不存在监听器");
+
     // ========== 学生 1-001-201-000 ==========
     ErrorCode DEMO01_CONTACT_NOT_EXISTS = new ErrorCode(1_001_201_000, "示例联系人不存在");
     ErrorCode DEMO02_CATEGORY_NOT_EXISTS = new ErrorCode(1_001_201_001, "示例分类不存在");
@@ -0,0 +1,54 @@
+package com.laby.module.infra.framework.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.io.File;
+import java.time.Duration;
+
+/**
+ * 文件配置项
+ *
+ * @author Laby
+ */
+@ConfigurationProperties(prefix = "laby.file")
+@Validated
+@Data
+public class FileProperties {
+
+    /**
+     * 分片上传的临时目录
+     *
+     * 断点续传依赖该目录中的数据，如需重启后继续上传，需要配置为持久化的目录，而不是会被清理的系统临时目录。
+     * 多节点部署时，需要使用共享目录，或者保证同一个上传的请求路由到同一个节点
+     */
+    @NotEmpty(message = "分片上传的临时目录不能为空")
+    private String chunkTempDir = System.getProperty("java.io.tmpdir") + File.separator + "laby-file-chunk";
+
+    /**
+     * 分片大小
+     */
+    @NotNull(message = "分片大小不能为空")
+    private DataSize chunkSize = DataSize.ofMegabytes(5);
+
+    /**
+     * 分片上传的过期时间，超过后未完成的上传会被 FileChunkCleanJob 定时清理
+     */
+    @NotNull(message = "分片上传的过期时间不能为空")
+    private Duration chunkExpireTime = Duration.ofDays(1);
+
+    /**
+     * 每个用户未完成的分片上传数量上限
+     *
+     * 每个分片上传都会按文件大小预分配临时文件，避免无限制地占用磁盘空间
+     */
+    @NotNull(message = "每个用户未完成的分片上传数量上限不能为空")
+    @Min(value = 1, message = "每个用户未完成的分片上传数量上限必须大于 0")
+    private Integer chunkMaxUploadsPerUser = 5;
+
+}
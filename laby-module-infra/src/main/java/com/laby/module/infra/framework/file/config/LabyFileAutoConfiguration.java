@@ -1,7 +1,9 @@
 package com.laby.module.infra.framework.file.config;
 
+import com.laby.module.infra.framework.file.core.chunk.FileChunkStore;
 import com.laby.module.infra.framework.file.core.client.FileClientFactory;
 import com.laby.module.infra.framework.file.core.client.FileClientFactoryImpl;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,6 +13,7 @@ import org.springframework.context.annotation.Configuration;
  * @author Laby
  */
 @Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(FileProperties.class)
 public class LabyFileAutoConfiguration {
 
     @Bean
@@ -18,4 +21,9 @@ public class LabyFileAutoConfiguration {
         return new FileClientFactoryImpl();
     }
 
+    @Bean
+    public FileChunkStore fileChunkStore(FileProperties fileProperties) {
+        return new FileChunkStore(fileProperties.getChunkTempDir(), fileProperties.getChunkExpireTime());
+    }
+
 }
@@ -0,0 +1,67 @@
+package com.laby.module.infra.framework.file.core.chunk;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 分片上传的会话
+ *
+ * @author Laby
+ */
+@Data
+@Accessors(chain = true)
+public class FileChunkSession {
+
+    /**
+     * 上传编号
+     */
+    private String uploadId;
+    /**
+     * 上传的用户编号，只允许该用户继续上传
+     */
+    private Long userId;
+
+    /**
+     * 文件名
+     */
+    private String name;
+    /**
+     * 目录
+     */
+    private String directory;
+    /**
+     * 文件的 MIME 类型
+     */
+    private String type;
+    /**
+     * 文件大小
+     */
+    private Long size;
+    /**
+     * 分片大小，最后一个分片可能更小
+     */
+    private Long chunkSize;
+
+    /**
+     * 创建时间，单位：毫秒
+     */
+    private Long createTime;
+
+    /**
+     * @return 分片数量
+     */
+    public int getChunkCount() {
+        return (int) ((size + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * 获得分片的大小
+     *
+     * @param index 分片序号，从 0 开始
+     * @return 分片大小
+     */
+    public long getChunkLength(int index) {
+        return Math.min(chunkSize, size - index * chunkSize);
+    }
+
+}
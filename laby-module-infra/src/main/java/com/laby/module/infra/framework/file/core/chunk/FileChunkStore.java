@@ -0,0 +1,262 @@
+package com.laby.module.infra.framework.file.core.chunk;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.ReUtil;
+import com.google.common.util.concurrent.Striped;
+import com.laby.framework.common.util.json.JsonUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * 分片上传的本地存储
+ *
+ * 每个上传一个目录（{用户编号}/{上传编号}），全部保存在磁盘上，重启后可以继续上传：
+ * 1. meta.json：会话信息，参见 {@link FileChunkSession}
+ * 2. data：文件内容，每个分片通过 {@link FileChannel} 写入到对应的偏移量，所以分片可以乱序、并发上传
+ * 3. chunks/{序号}：分片写入并刷盘后，才创建的标记文件，用于判断哪些分片已经上传
+ *
+ * 同一个上传的并发，通过 {@link #getLock(String)} 的读写锁控制：写入分片使用读锁，可以并发；
+ * 完成上传、清理过期使用写锁，与写入分片互斥。注意，它是单节点内的锁，多节点部署时，需要保证同一个上传的请求路由到同一个节点
+ *
+ * @author Laby
+ */
+@Slf4j
+public class FileChunkStore {
+
+    private static final String META_FILE = "meta.json";
+    private static final String DATA_FILE = "data";
+    private static final String CHUNK_DIR = "chunks";
+
+    /**
+     * 上传编号的格式，避免路径穿越
+     */
+    private static final String UPLOAD_ID_REGEX = "^[0-9a-f]{32}$";
+
+    private final Path baseDir;
+    private final Duration expireTime;
+
+    /**
+     * 上传的读写锁。使用弱引用，会话结束后自动回收，无需手动移除
+     */
+    private final Striped<ReadWriteLock> locks = Striped.lazyWeakReadWriteLock(1024);
+
+    public FileChunkStore(String baseDir, Duration expireTime) {
+        this.baseDir = Paths.get(baseDir);
+        this.expireTime = expireTime;
+    }
+
+    /**
+     * 创建会话
+     *
+     * 每个用户未完成（且未过期）的会话数量有上限，避免无限制地预分配磁盘空间
+     *
+     * @param session  会话，无需设置 uploadId、createTime
+     * @param maxCount 用户未完成的会话数量上限
+     * @return 会话；超过上限时，返回 null
+     */
+    public synchronized FileChunkSession create(FileChunkSession session, int maxCount) throws IOException {
+        if (countSessions(session.getUserId()) >= maxCount) {
+            return null;
+        }
+        session.setUploadId(IdUtil.fastSimpleUUID()).setCreateTime(System.currentTimeMillis());
+        Path dir = getDir(session.getUserId(), session.getUploadId());
+        Files.createDirectories(dir.resolve(CHUNK_DIR));
+        // 预先设置文件大小（稀疏文件），FileChannel 不能在超过文件大小的偏移量写入
+        try (RandomAccessFile dataFile = new RandomAccessFile(dir.resolve(DATA_FILE).toFile(), "rw")) {
+            dataFile.setLength(session.getSize());
+        }
+        // meta.json 最后写入，作为创建完成的标记
+        Files.write(dir.resolve(META_FILE), JsonUtils.toJsonByte(session));
+        return session;
+    }
+
+    /**
+     * 获得会话
+     *
+     * @param userId   用户编号
+     * @param uploadId 上传编号
+     * @return 会话；不存在时，返回 null
+     */
+    public FileChunkSession get(Long userId, String uploadId) throws IOException {
+        if (!ReUtil.isMatch(UPLOAD_ID_REGEX, uploadId)) {
+            return null;
+        }
+        Path metaFile = getDir(userId, uploadId).resolve(META_FILE);
+        if (Files.notExists(metaFile)) {
+            return null;
+        }
+        return JsonUtils.parseObject(new String(Files.readAllBytes(metaFile), StandardCharsets.UTF_8), FileChunkSession.class);
+    }
+
+    /**
+     * 写入分片
+     *
+     * 重复写入同一个分片时，直接覆盖，方便客户端重试。调用方需要持有 {@link #getLock(String)} 的读锁
+     *
+     * @param session 会话
+     * @param index   分片序号
+     * @param content 分片内容
+     * @return 实际读取的字节数。超过分片大小时，返回分片大小 + 1，且不会写入超出的部分
+     */
+    public long writeChunk(FileChunkSession session, int index, InputStream content) throws IOException {
+        Path dir = getDir(session);
+        long length = session.getChunkLength(index);
+        long written;
+        try (FileChannel channel = FileChannel.open(dir.resolve(DATA_FILE), StandardOpenOption.WRITE)) {
+            written = channel.transferFrom(Channels.newChannel(content), index * session.getChunkSize(), length);
+            if (written != length) {
+                return written;
+            }
+            // 还有剩余的内容，说明分片超长
+            if (content.read() != -1) {
+                return length + 1;
+            }
+            channel.force(false);
+        }
+        try {
+            Files.createFile(dir.resolve(CHUNK_DIR).resolve(String.valueOf(index)));
+        } catch (FileAlreadyExistsException ignore) {
+            // 重复上传的分片
+        }
+        return written;
+    }
+
+    /**
+     * 获得已上传的分片序号
+     *
+     * @param session 会话
+     * @return 分片序号，升序
+     */
+    public List<Integer> getUploadedChunks(FileChunkSession session) {
+        String[] names = getDir(session).resolve(CHUNK_DIR).toFile().list();
+        if (names == null) {
+            return Collections.emptyList();
+        }
+        List<Integer> indexes = new ArrayList<>(names.length);
+        for (String name : names) {
+            indexes.add(Integer.valueOf(name));
+        }
+        Collections.sort(indexes);
+        return indexes;
+    }
+
+    /**
+     * 获得文件内容
+     *
+     * @param session 会话
+     * @return 文件
+     */
+    public File getDataFile(FileChunkSession session) {
+        return getDir(session).resolve(DATA_FILE).toFile();
+    }
+
+    /**
+     * 删除会话
+     *
+     * @param session 会话
+     */
+    public void delete(FileChunkSession session) {
+        FileUtil.del(getDir(session));
+    }
+
+    /**
+     * 获得上传的读写锁
+     *
+     * @param uploadId 上传编号
+     * @return 读写锁
+     */
+    public ReadWriteLock getLock(String uploadId) {
+        return locks.get(uploadId);
+    }
+
+    /**
+     * 清理过期的会话
+     *
+     * 正在写入分片、完成上传的会话，本次跳过
+     *
+     * @return 清理的数量
+     */
+    public int cleanExpired() {
+        File[] userDirs = baseDir.toFile().listFiles(File::isDirectory);
+        if (userDirs == null) {
+            return 0;
+        }
+        long expireBefore = System.currentTimeMillis() - expireTime.toMillis();
+        int count = 0;
+        for (File userDir : userDirs) {
+            File[] dirs = userDir.listFiles(File::isDirectory);
+            if (dirs == null) {
+                continue;
+            }
+            for (File dir : dirs) {
+                if (!isExpired(dir, expireBefore)) {
+                    continue;
+                }
+                Lock lock = getLock(dir.getName()).writeLock();
+                if (!lock.tryLock()) {
+                    continue;
+                }
+                try {
+                    log.info("[cleanExpired][清理过期的分片上传({})]", dir.getName());
+                    FileUtil.del(dir);
+                    count++;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 获得用户未完成、且未过期的会话数量
+     */
+    private int countSessions(Long userId) {
+        File[] dirs = baseDir.resolve(String.valueOf(userId)).toFile().listFiles(File::isDirectory);
+        if (dirs == null) {
+            return 0;
+        }
+        long expireBefore = System.currentTimeMillis() - expireTime.toMillis();
+        int count = 0;
+        for (File dir : dirs) {
+            if (!isExpired(dir, expireBefore)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isExpired(File dir, long expireBefore) {
+        // 以最后一次上传分片的时间为准
+        long lastModified = Math.max(dir.lastModified(), new File(dir, CHUNK_DIR).lastModified());
+        return lastModified < expireBefore;
+    }
+
+    private Path getDir(FileChunkSession session) {
+        return getDir(session.getUserId(), session.getUploadId());
+    }
+
+    private Path getDir(Long userId, String uploadId) {
+        return baseDir.resolve(String.valueOf(userId)).resolve(uploadId);
+    }
+
+}
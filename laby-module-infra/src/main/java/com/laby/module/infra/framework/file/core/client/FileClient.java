@@ -1,5 +1,11 @@
 package com.laby.module.infra.framework.file.core.client;
 
+import cn.hutool.core.io.IoUtil;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+
 /**
  * 文件客户端
  *
@@ -24,6 +30,39 @@ public interface FileClient {
      */
     String upload(byte[] content, String path, String type) throws Exception;
 
+    /**
+     * 上传文件，从输入流读取内容
+     *
+     * 默认读取成 byte[] 后上传，支持流式上传的客户端，需要重写该方法，避免将文件内容全部读取到内存
+     *
+     * @param content 文件流，由调用方关闭
+     * @param size    文件大小
+     * @param path    相对路径
+     * @param type    文件的 MIME 类型
+     * @return 完整路径，即 HTTP 访问地址
+     * @throws Exception 上传文件时，抛出 Exception 异常
+     */
+    default String upload(InputStream content, long size, String path, String type) throws Exception {
+        return upload(IoUtil.readBytes(content, false), path, type);
+    }
+
+    /**
+     * 上传本地文件
+     *
+     * 注意，实现类可能直接移动该文件（例如说 local），上传后调用方不应该再使用它
+     *
+     * @param file 本地文件
+     * @param path 相对路径
+     * @param type 文件的 MIME 类型
+     * @return 完整路径，即 HTTP 访问地址
+     * @throws Exception 上传文件时，抛出 Exception 异常
+     */
+    default String upload(File file, String path, String type) throws Exception {
+        try (InputStream content = Files.newInputStream(file.toPath())) {
+            return upload(content, file.length(), path, type);
+        }
+    }
+
     /**
      * 删除文件
      *
@@ -10,6 +10,7 @@ import com.laby.module.infra.framework.file.core.client.AbstractFileClient;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 
 /**
  * Ftp 文件客户端
@@ -46,6 +47,19 @@ public class FtpFileClient extends AbstractFileClient<FtpFileClientConfig> {
         return super.formatFileUrl(config.getDomain(), path);
     }
 
+    @Override
+    public String upload(InputStream content, long size, String path, String type) {
+        String filePath = getFilePath(path);
+        String fileName = FileUtil.getName(filePath);
+        String dir = StrUtil.removeSuffix(filePath, fileName);
+        reconnectIfTimeout();
+        boolean success = ftp.upload(dir, fileName, content);
+        if (!success) {
+            throw new FtpException(StrUtil.format("上传文件到目标目录 ({}) 失败", filePath));
+        }
+        return super.formatFileUrl(config.getDomain(), path);
+    }
+
     @Override
     public void delete(String path) {
         String filePath = getFilePath(path);
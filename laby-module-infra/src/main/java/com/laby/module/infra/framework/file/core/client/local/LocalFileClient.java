@@ -5,6 +5,13 @@ import cn.hutool.core.io.IORuntimeException;
 import com.laby.module.infra.framework.file.core.client.AbstractFileClient;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 /**
  * 本地文件客户端
@@ -30,6 +37,46 @@ public class LocalFileClient extends AbstractFileClient<LocalFileClientConfig> {
         return super.formatFileUrl(config.getDomain(), path);
     }
 
+    /**
+     * 上传本地文件：直接移动到目标路径，不需要读取文件内容
+     *
+     * 不在同一个文件系统时，无法原子移动，则先复制到目标目录下的临时文件，再原子重命名
+     */
+    @Override
+    public String upload(File file, String path, String type) throws IOException {
+        Path target = Paths.get(getFilePath(path));
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(file.toPath(), target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Path temp = Files.createTempFile(target.getParent(), ".", ".tmp");
+            try {
+                Files.copy(file.toPath(), temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return super.formatFileUrl(config.getDomain(), path);
+    }
+
+    /**
+     * 上传文件流：先写入目标目录下的临时文件，再原子重命名，避免读取到写了一半的文件
+     */
+    @Override
+    public String upload(InputStream content, long size, String path, String type) throws IOException {
+        Path target = Paths.get(getFilePath(path));
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".", ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return super.formatFileUrl(config.getDomain(), path);
+    }
+
     @Override
     public void delete(String path) {
         String filePath = getFilePath(path);
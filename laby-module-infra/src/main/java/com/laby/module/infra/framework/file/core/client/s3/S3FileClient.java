@@ -20,6 +20,7 @@ import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
 import java.time.Duration;
@@ -84,6 +85,19 @@ public class S3FileClient extends AbstractFileClient<S3FileClientConfig> {
         return presignGetUrl(path, null);
     }
 
+    @Override
+    public String upload(InputStream content, long size, String path, String type) {
+        PutObjectRequest putRequest = PutObjectRequest.builder()
+                .bucket(config.getBucket())
+                .key(path)
+                .contentType(type)
+                .contentLength(size)
+                .build();
+        // 流式上传，不读取到内存
+        client.putObject(putRequest, RequestBody.fromInputStream(content, size));
+        return presignGetUrl(path, null);
+    }
+
     @Override
     public void delete(String path) {
         DeleteObjectRequest deleteRequest = DeleteObjectRequest.builder()
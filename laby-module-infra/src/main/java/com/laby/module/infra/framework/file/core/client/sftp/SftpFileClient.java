@@ -38,6 +38,16 @@ public class SftpFileClient extends AbstractFileClient<SftpFileClientConfig> {
         return super.formatFileUrl(config.getDomain(), path);
     }
 
+    @Override
+    public String upload(File file, String path, String type) {
+        // 直接上传本地文件，不需要再写入临时文件
+        String filePath = getFilePath(path);
+        reconnectIfTimeout();
+        sftp.mkDirs(FileUtil.getParent(filePath, 1));
+        sftp.upload(filePath, file);
+        return super.formatFileUrl(config.getDomain(), path);
+    }
+
     @Override
     public void delete(String path) {
         String filePath = getFilePath(path);
@@ -0,0 +1,31 @@
+package com.laby.module.infra.job.file;
+
+import com.laby.framework.quartz.core.handler.JobHandler;
+import com.laby.module.infra.framework.file.core.chunk.FileChunkStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.Resource;
+
+/**
+ * 清理过期的分片上传的 Job
+ *
+ * 过期时间参见 laby.file.chunk-expire-time 配置项，建议每小时执行一次
+ *
+ * @author Laby
+ */
+@Component
+@Slf4j
+public class FileChunkCleanJob implements JobHandler {
+
+    @Resource
+    private FileChunkStore fileChunkStore;
+
+    @Override
+    public String execute(String param) {
+        int count = fileChunkStore.cleanExpired();
+        log.info("[execute][定时执行清理过期的分片上传数量 ({}) 个]", count);
+        return String.format("定时执行清理过期的分片上传数量 %s 个", count);
+    }
+
+}
@@ -14,8 +14,8 @@ import com.laby.module.infra.framework.file.core.client.FileClient;
 import com.laby.module.infra.framework.file.core.client.FileClientConfig;
 import com.laby.module.infra.framework.file.core.client.FileClientFactory;
 import com.laby.module.infra.framework.file.core.enums.FileStorageEnum;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import jakarta.annotation.Resource;
 import jakarta.validation.Validator;
 import lombok.Getter;
@@ -50,7 +50,7 @@ public class FileConfigServiceImpl implements FileConfigService {
      * {@link FileClient} 缓存，通过它异步刷新 fileClientFactory
      */
     @Getter
-    private final LoadingCache<Long, FileClient> clientCache = buildAsyncReloadingCache(Duration.ofSeconds(10L),
+    private final LoadingCache<Long, FileClient> clientCache = buildAsyncReloadingCache("file_client", Duration.ofSeconds(10L),
             new CacheLoader<Long, FileClient>() {
 
                 @Override
@@ -196,12 +196,12 @@ public class FileConfigServiceImpl implements FileConfigService {
 
     @Override
     public FileClient getFileClient(Long id) {
-        return clientCache.getUnchecked(id);
+        return clientCache.get(id);
     }
 
     @Override
     public FileClient getMasterFileClient() {
-        return clientCache.getUnchecked(CACHE_MASTER_ID);
+        return clientCache.get(CACHE_MASTER_ID);
     }
 
 }
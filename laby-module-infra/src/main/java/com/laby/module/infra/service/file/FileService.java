@@ -1,12 +1,16 @@
 package com.laby.module.infra.service.file;
 
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.module.infra.controller.admin.file.vo.file.FileChunkCompleteReqVO;
+import com.laby.module.infra.controller.admin.file.vo.file.FileChunkInitReqVO;
+import com.laby.module.infra.controller.admin.file.vo.file.FileChunkUploadRespVO;
 import com.laby.module.infra.controller.admin.file.vo.file.FileCreateReqVO;
 import com.laby.module.infra.controller.admin.file.vo.file.FilePageReqVO;
 import com.laby.module.infra.controller.admin.file.vo.file.FilePresignedUrlRespVO;
 import com.laby.module.infra.dal.dataobject.file.FileDO;
 import jakarta.validation.constraints.NotEmpty;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -36,6 +40,41 @@ public interface FileService {
     String createFile(@NotEmpty(message = "文件内容不能为空") byte[] content,
                       String name, String directory, String type);
 
+    // ========== 分片上传 ==========
+
+    /**
+     * 初始化分片上传
+     *
+     * @param reqVO 文件信息
+     * @return 分片上传信息
+     */
+    FileChunkUploadRespVO initChunkUpload(FileChunkInitReqVO reqVO);
+
+    /**
+     * 获得分片上传信息，用于断点续传
+     *
+     * @param uploadId 上传编号
+     * @return 分片上传信息
+     */
+    FileChunkUploadRespVO getChunkUpload(String uploadId);
+
+    /**
+     * 上传分片，分片可以乱序、重复上传
+     *
+     * @param uploadId 上传编号
+     * @param offset   分片的偏移量
+     * @param content  分片内容
+     */
+    void uploadChunk(String uploadId, Long offset, InputStream content);
+
+    /**
+     * 完成分片上传：校验校验和后，保存到文件存储器，并返回文件的访问路径
+     *
+     * @param reqVO 完成信息
+     * @return 文件路径
+     */
+    String completeChunkUpload(FileChunkCompleteReqVO reqVO);
+
     /**
      * 生成文件预签名地址信息，用于上传
      *
@@ -2,17 +2,25 @@ package com.laby.module.infra.service.file;
 
 import cn.hutool.core.date.LocalDateTimeUtil;
 import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.lang.Assert;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.crypto.digest.DigestUtil;
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.framework.common.util.http.HttpUtils;
 import com.laby.framework.common.util.object.BeanUtils;
+import com.laby.framework.security.core.util.SecurityFrameworkUtils;
+import com.laby.module.infra.controller.admin.file.vo.file.FileChunkCompleteReqVO;
+import com.laby.module.infra.controller.admin.file.vo.file.FileChunkInitReqVO;
+import com.laby.module.infra.controller.admin.file.vo.file.FileChunkUploadRespVO;
 import com.laby.module.infra.controller.admin.file.vo.file.FileCreateReqVO;
 import com.laby.module.infra.controller.admin.file.vo.file.FilePageReqVO;
 import com.laby.module.infra.controller.admin.file.vo.file.FilePresignedUrlRespVO;
 import com.laby.module.infra.dal.dataobject.file.FileDO;
 import com.laby.module.infra.dal.mysql.file.FileMapper;
+import com.laby.module.infra.framework.file.config.FileProperties;
+import com.laby.module.infra.framework.file.core.chunk.FileChunkSession;
+import com.laby.module.infra.framework.file.core.chunk.FileChunkStore;
 import com.laby.module.infra.framework.file.core.client.FileClient;
 import com.laby.module.infra.framework.file.core.utils.FileTypeUtils;
 import com.google.common.annotations.VisibleForTesting;
@@ -20,11 +28,16 @@ import jakarta.annotation.Resource;
 import lombok.SneakyThrows;
 import org.springframework.stereotype.Service;
 
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
 
 import static cn.hutool.core.date.DatePattern.PURE_DATE_PATTERN;
 import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
-import static com.laby.module.infra.enums.ErrorCodeConstants.FILE_NOT_EXISTS;
+import static com.laby.module.infra.enums.ErrorCodeConstants.*;
 
 /**
  * 文件 Service 实现类
@@ -48,12 +61,22 @@ public class FileServiceImpl implements FileService {
      */
     static boolean PATH_SUFFIX_TIMESTAMP_ENABLE = true;
 
+    /**
+     * 分片上传未指定 MIME 类型时，读取文件头部用于识别的字节数
+     */
+    private static final int MIME_TYPE_DETECT_LENGTH = 8 * 1024;
+
     @Resource
     private FileConfigService fileConfigService;
 
     @Resource
     private FileMapper fileMapper;
 
+    @Resource
+    private FileChunkStore fileChunkStore;
+    @Resource
+    private FileProperties fileProperties;
+
     @Override
     public PageResult<FileDO> getFilePage(FilePageReqVO pageReqVO) {
         return fileMapper.selectPage(pageReqVO);
@@ -92,6 +115,122 @@ public class FileServiceImpl implements FileService {
         return url;
     }
 
+    // ========== 分片上传 ==========
+
+    @Override
+    @SneakyThrows
+    public FileChunkUploadRespVO initChunkUpload(FileChunkInitReqVO reqVO) {
+        FileChunkSession session = fileChunkStore.create(new FileChunkSession()
+                .setUserId(SecurityFrameworkUtils.getLoginUserId())
+                .setName(reqVO.getName()).setDirectory(reqVO.getDirectory()).setType(reqVO.getType())
+                .setSize(reqVO.getSize()).setChunkSize(fileProperties.getChunkSize().toBytes()),
+                fileProperties.getChunkMaxUploadsPerUser());
+        if (session == null) {
+            throw exception(FILE_CHUNK_UPLOAD_EXCEEDS, fileProperties.getChunkMaxUploadsPerUser());
+        }
+        return buildChunkUploadRespVO(session);
+    }
+
+    @Override
+    public FileChunkUploadRespVO getChunkUpload(String uploadId) {
+        return buildChunkUploadRespVO(validateChunkUploadExists(uploadId));
+    }
+
+    @Override
+    @SneakyThrows
+    public void uploadChunk(String uploadId, Long offset, InputStream content) {
+        // 持有读锁：多个分片可以并发写入，但不能与完成上传并发
+        Lock lock = fileChunkStore.getLock(uploadId).readLock();
+        lock.lock();
+        try {
+            // 1. 校验偏移量。需要在锁内校验，上传可能已经被完成
+            FileChunkSession session = validateChunkUploadExists(uploadId);
+            if (offset < 0 || offset >= session.getSize() || offset % session.getChunkSize() != 0) {
+                throw exception(FILE_CHUNK_OFFSET_INVALID, offset, session.getChunkSize());
+            }
+            // 2. 写入分片，并校验大小
+            int index = (int) (offset / session.getChunkSize());
+            long written = fileChunkStore.writeChunk(session, index, content);
+            if (written != session.getChunkLength(index)) {
+                throw exception(FILE_CHUNK_SIZE_INVALID, session.getChunkLength(index), written);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String completeChunkUpload(FileChunkCompleteReqVO reqVO) {
+        // 持有写锁：等待正在写入的分片完成，并阻止新的分片写入，保证校验和上传的是同一份内容
+        Lock lock = fileChunkStore.getLock(reqVO.getUploadId()).writeLock();
+        lock.lock();
+        try {
+            return completeChunkUpload0(reqVO);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SneakyThrows
+    private String completeChunkUpload0(FileChunkCompleteReqVO reqVO) {
+        // 1.1 校验分片都已上传
+        FileChunkSession session = validateChunkUploadExists(reqVO.getUploadId());
+        int missing = session.getChunkCount() - fileChunkStore.getUploadedChunks(session).size();
+        if (missing > 0) {
+            throw exception(FILE_CHUNK_INCOMPLETE, missing);
+        }
+        // 1.2 校验校验和。不一致时，无法知道是哪个分片出错，只能删除后重新上传
+        File dataFile = fileChunkStore.getDataFile(session);
+        String checksum = DigestUtil.sha256Hex(dataFile);
+        if (!StrUtil.equalsIgnoreCase(checksum, reqVO.getChecksum())) {
+            fileChunkStore.delete(session);
+            throw exception(FILE_CHUNK_CHECKSUM_MISMATCH);
+        }
+
+        // 2.1 处理 type、name 为空的情况，与 createFile 保持一致
+        String type = session.getType();
+        if (StrUtil.isEmpty(type)) {
+            try (InputStream content = Files.newInputStream(dataFile.toPath())) {
+                type = FileTypeUtils.getMineType(IoUtil.readBytes(content, MIME_TYPE_DETECT_LENGTH), session.getName());
+            }
+        }
+        String name = StrUtil.emptyToDefault(session.getName(), checksum);
+        if (StrUtil.isEmpty(FileUtil.extName(name))) {
+            String extension = FileTypeUtils.getExtension(type);
+            if (StrUtil.isNotEmpty(extension)) {
+                name = name + extension;
+            }
+        }
+        // 2.2 上传到文件存储器。local 直接移动文件，其它的流式上传，都不需要将文件读取到内存
+        String path = generateUploadPath(name, session.getDirectory());
+        FileClient client = fileConfigService.getMasterFileClient();
+        Assert.notNull(client, "客户端(master) 不能为空");
+        String url = client.upload(dataFile, path, type);
+
+        // 3. 保存到数据库，并删除临时文件
+        fileMapper.insert(new FileDO().setConfigId(client.getId())
+                .setName(name).setPath(path).setUrl(url)
+                .setType(type).setSize(session.getSize().intValue()));
+        fileChunkStore.delete(session);
+        return url;
+    }
+
+    @SneakyThrows
+    private FileChunkSession validateChunkUploadExists(String uploadId) {
+        FileChunkSession session = fileChunkStore.get(SecurityFrameworkUtils.getLoginUserId(), uploadId);
+        if (session == null || !Objects.equals(session.getUserId(), SecurityFrameworkUtils.getLoginUserId())) {
+            throw exception(FILE_CHUNK_UPLOAD_NOT_EXISTS);
+        }
+        return session;
+    }
+
+    private FileChunkUploadRespVO buildChunkUploadRespVO(FileChunkSession session) {
+        return new FileChunkUploadRespVO().setUploadId(session.getUploadId())
+                .setSize(session.getSize()).setChunkSize(session.getChunkSize())
+                .setChunkCount(session.getChunkCount())
+                .setUploadedChunks(fileChunkStore.getUploadedChunks(session));
+    }
+
     @VisibleForTesting
     String generateUploadPath(String name, String directory) {
         // 1. 生成前缀、后缀
@@ -0,0 +1,193 @@
+package com.laby.module.infra.framework.file.core.chunk;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link FileChunkStore} 的单元测试
+ *
+ * @author Laby
+ */
+public class FileChunkStoreTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+    private static final long CHUNK_SIZE = 4L;
+
+    @TempDir
+    Path baseDir;
+
+    private FileChunkStore store;
+
+    @BeforeEach
+    public void setUp() {
+        store = new FileChunkStore(baseDir.toString(), Duration.ofHours(1));
+    }
+
+    @Test
+    public void testWriteChunk_outOfOrder() throws Exception {
+        // 准备参数：3 个分片，大小分别为 4、4、2
+        FileChunkSession session = store.create(buildSession(1L), 5);
+        assertEquals(3, session.getChunkCount());
+
+        // 调用：乱序上传
+        assertEquals(2, writeChunk(store, session, 2));
+        assertEquals(4, writeChunk(store, session, 0));
+        assertEquals(List.of(0, 2), store.getUploadedChunks(session));
+        assertEquals(4, writeChunk(store, session, 1));
+
+        // 断言
+        assertEquals(List.of(0, 1, 2), store.getUploadedChunks(session));
+        assertArrayEquals(CONTENT, Files.readAllBytes(store.getDataFile(session).toPath()));
+    }
+
+    @Test
+    public void testWriteChunk_repeat() throws Exception {
+        // 准备参数
+        FileChunkSession session = store.create(buildSession(1L), 5);
+        writeChunk(store, session, 1);
+
+        // 调用：重复上传同一个分片
+        assertEquals(4, writeChunk(store, session, 1));
+
+        // 断言
+        assertEquals(List.of(1), store.getUploadedChunks(session));
+    }
+
+    @Test
+    public void testWriteChunk_tooLong() throws Exception {
+        // 准备参数
+        FileChunkSession session = store.create(buildSession(1L), 5);
+
+        // 调用：分片 0 的大小为 4，上传 5 个字节
+        long written = store.writeChunk(session, 0, new ByteArrayInputStream(CONTENT, 0, 5));
+
+        // 断言：不标记为已上传
+        assertEquals(5, written);
+        assertTrue(store.getUploadedChunks(session).isEmpty());
+    }
+
+    @Test
+    public void testWriteChunk_tooShort() throws Exception {
+        // 准备参数
+        FileChunkSession session = store.create(buildSession(1L), 5);
+
+        // 调用：分片 0 的大小为 4，上传 3 个字节
+        long written = store.writeChunk(session, 0, new ByteArrayInputStream(CONTENT, 0, 3));
+
+        // 断言：不标记为已上传
+        assertEquals(3, written);
+        assertTrue(store.getUploadedChunks(session).isEmpty());
+    }
+
+    @Test
+    public void testGet_resumeAfterRestart() throws Exception {
+        // 准备参数：重启前，上传了分片 1
+        FileChunkSession session = store.create(buildSession(1L), 5);
+        writeChunk(store, session, 1);
+
+        // 调用：重启后，使用同一个目录
+        FileChunkStore newStore = new FileChunkStore(baseDir.toString(), Duration.ofHours(1));
+        FileChunkSession newSession = newStore.get(1L, session.getUploadId());
+
+        // 断言：会话和已上传的分片都还在
+        assertEquals(session, newSession);
+        assertEquals(List.of(1), newStore.getUploadedChunks(newSession));
+        // 断言：继续上传剩余的分片，内容完整
+        writeChunk(newStore, newSession, 0);
+        writeChunk(newStore, newSession, 2);
+        assertEquals(List.of(0, 1, 2), newStore.getUploadedChunks(newSession));
+        assertArrayEquals(CONTENT, Files.readAllBytes(newStore.getDataFile(newSession).toPath()));
+    }
+
+    @Test
+    public void testGet_notExists() throws Exception {
+        // 准备参数
+        FileChunkSession session = store.create(buildSession(1L), 5);
+
+        // 调用，并断言：其它用户、不存在、格式不正确的上传编号
+        assertNull(store.get(2L, session.getUploadId()));
+        assertNull(store.get(1L, "0123456789abcdef0123456789abcdef"));
+        assertNull(store.get(1L, "../" + session.getUploadId()));
+    }
+
+    @Test
+    public void testCreate_exceedsMaxCount() throws Exception {
+        // 准备参数
+        assertNotNull(store.create(buildSession(1L), 2));
+        FileChunkSession session = store.create(buildSession(1L), 2);
+
+        // 调用，并断言：超过上限
+        assertNull(store.create(buildSession(1L), 2));
+        // 调用，并断言：其它用户不受影响
+        assertNotNull(store.create(buildSession(2L), 2));
+        // 调用，并断言：完成（删除）后，可以继续创建
+        store.delete(session);
+        assertNotNull(store.create(buildSession(1L), 2));
+    }
+
+    @Test
+    public void testCreate_expiredNotCounted() throws Exception {
+        // 准备参数：过期的会话
+        FileChunkSession session = store.create(buildSession(1L), 1);
+        expire(session);
+
+        // 调用，并断言：过期的会话不占用上限
+        assertNotNull(store.create(buildSession(1L), 1));
+    }
+
+    @Test
+    public void testCleanExpired() throws Exception {
+        // 准备参数：过期、未过期、过期但正在写入分片的会话
+        FileChunkSession expired = store.create(buildSession(1L), 5);
+        expire(expired);
+        FileChunkSession active = store.create(buildSession(1L), 5);
+        FileChunkSession writing = store.create(buildSession(2L), 5);
+        expire(writing);
+        Lock lock = store.getLock(writing.getUploadId()).readLock();
+        lock.lock();
+        try {
+            // 调用
+            int count = store.cleanExpired();
+
+            // 断言
+            assertEquals(1, count);
+            assertNull(store.get(1L, expired.getUploadId()));
+            assertNotNull(store.get(1L, active.getUploadId()));
+            assertNotNull(store.get(2L, writing.getUploadId()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static FileChunkSession buildSession(Long userId) {
+        return new FileChunkSession().setUserId(userId).setName("test.txt").setType("text/plain")
+                .setSize((long) CONTENT.length).setChunkSize(CHUNK_SIZE);
+    }
+
+    private static long writeChunk(FileChunkStore store, FileChunkSession session, int index) throws Exception {
+        int offset = (int) (index * CHUNK_SIZE);
+        byte[] chunk = Arrays.copyOfRange(CONTENT, offset, (int) (offset + session.getChunkLength(index)));
+        return store.writeChunk(session, index, new ByteArrayInputStream(chunk));
+    }
+
+    private void expire(FileChunkSession session) {
+        File dir = baseDir.resolve(String.valueOf(session.getUserId())).resolve(session.getUploadId()).toFile();
+        long lastModified = System.currentTimeMillis() - Duration.ofHours(2).toMillis();
+        assertTrue(dir.setLastModified(lastModified));
+        assertTrue(new File(dir, "chunks").setLastModified(lastModified));
+    }
+
+}
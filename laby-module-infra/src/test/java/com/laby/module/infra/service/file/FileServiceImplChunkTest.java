@@ -0,0 +1,247 @@
+package com.laby.module.infra.service.file;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import com.laby.framework.common.exception.ErrorCode;
+import com.laby.framework.common.exception.ServiceException;
+import com.laby.framework.security.core.LoginUser;
+import com.laby.module.infra.controller.admin.file.vo.file.FileChunkCompleteReqVO;
+import com.laby.module.infra.controller.admin.file.vo.file.FileChunkInitReqVO;
+import com.laby.module.infra.controller.admin.file.vo.file.FileChunkUploadRespVO;
+import com.laby.module.infra.dal.dataobject.file.FileDO;
+import com.laby.module.infra.dal.mysql.file.FileMapper;
+import com.laby.module.infra.framework.file.config.FileProperties;
+import com.laby.module.infra.framework.file.core.chunk.FileChunkStore;
+import com.laby.module.infra.framework.file.core.client.FileClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+
+import static com.laby.module.infra.enums.ErrorCodeConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link FileServiceImpl} 分片上传的单元测试
+ *
+ * @author Laby
+ */
+public class FileServiceImplChunkTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path baseDir;
+
+    private final FileServiceImpl fileService = new FileServiceImpl();
+    private final FileConfigService fileConfigService = mock(FileConfigService.class);
+    private final FileMapper fileMapper = mock(FileMapper.class);
+    private final FileClient fileClient = mock(FileClient.class);
+    private final FileProperties fileProperties = new FileProperties();
+
+    private FileChunkStore fileChunkStore;
+
+    @BeforeEach
+    public void setUp() {
+        fileProperties.setChunkSize(DataSize.ofBytes(4));
+        fileProperties.setChunkMaxUploadsPerUser(2);
+        fileChunkStore = new FileChunkStore(baseDir.toString(), Duration.ofHours(1));
+        ReflectionTestUtils.setField(fileService, "fileConfigService", fileConfigService);
+        ReflectionTestUtils.setField(fileService, "fileMapper", fileMapper);
+        ReflectionTestUtils.setField(fileService, "fileChunkStore", fileChunkStore);
+        ReflectionTestUtils.setField(fileService, "fileProperties", fileProperties);
+        when(fileConfigService.getMasterFileClient()).thenReturn(fileClient);
+        when(fileClient.getId()).thenReturn(10L);
+        login(1L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testCompleteChunkUpload_success() throws Exception {
+        // 准备参数：乱序上传全部分片
+        FileChunkUploadRespVO upload = initChunkUpload();
+        uploadChunk(upload.getUploadId(), 8);
+        uploadChunk(upload.getUploadId(), 0);
+        uploadChunk(upload.getUploadId(), 4);
+        // mock 方法：上传时，校验临时文件的内容
+        when(fileClient.upload(any(File.class), anyString(), eq("text/plain"))).thenAnswer(invocation -> {
+            assertArrayEquals(CONTENT, Files.readAllBytes(invocation.<File>getArgument(0).toPath()));
+            return "https://www.iocoder.cn/test.txt";
+        });
+
+        // 调用
+        String url = fileService.completeChunkUpload(buildCompleteReqVO(upload.getUploadId(), DigestUtil.sha256Hex(CONTENT)));
+
+        // 断言
+        assertEquals("https://www.iocoder.cn/test.txt", url);
+        ArgumentCaptor<FileDO> fileCaptor = ArgumentCaptor.forClass(FileDO.class);
+        verify(fileMapper).insert(fileCaptor.capture());
+        assertEquals(10L, fileCaptor.getValue().getConfigId());
+        assertEquals("test.txt", fileCaptor.getValue().getName());
+        assertEquals(CONTENT.length, fileCaptor.getValue().getSize());
+        // 断言：临时文件已删除
+        assertNull(fileChunkStore.get(1L, upload.getUploadId()));
+    }
+
+    @Test
+    public void testCompleteChunkUpload_checksumMismatch() throws Exception {
+        // 准备参数
+        FileChunkUploadRespVO upload = initChunkUpload();
+        uploadChunk(upload.getUploadId(), 0);
+        uploadChunk(upload.getUploadId(), 4);
+        uploadChunk(upload.getUploadId(), 8);
+
+        // 调用，并断言
+        assertServiceException(() -> fileService.completeChunkUpload(
+                buildCompleteReqVO(upload.getUploadId(), DigestUtil.sha256Hex("9876543210"))), FILE_CHUNK_CHECKSUM_MISMATCH);
+        // 断言：无法定位出错的分片，删除后需要重新上传
+        assertNull(fileChunkStore.get(1L, upload.getUploadId()));
+        verify(fileClient, never()).upload(any(File.class), anyString(), anyString());
+        verify(fileMapper, never()).insert(any(FileDO.class));
+    }
+
+    @Test
+    public void testCompleteChunkUpload_incomplete() {
+        // 准备参数
+        FileChunkUploadRespVO upload = initChunkUpload();
+        uploadChunk(upload.getUploadId(), 4);
+
+        // 调用，并断言
+        assertServiceException(() -> fileService.completeChunkUpload(
+                buildCompleteReqVO(upload.getUploadId(), DigestUtil.sha256Hex(CONTENT))), FILE_CHUNK_INCOMPLETE);
+    }
+
+    @Test
+    public void testGetChunkUpload_resume() {
+        // 准备参数
+        FileChunkUploadRespVO upload = initChunkUpload();
+        uploadChunk(upload.getUploadId(), 4);
+
+        // 调用
+        FileChunkUploadRespVO result = fileService.getChunkUpload(upload.getUploadId());
+
+        // 断言
+        assertEquals(3, result.getChunkCount());
+        assertEquals(List.of(1), result.getUploadedChunks());
+    }
+
+    @Test
+    public void testGetChunkUpload_otherUser() {
+        // 准备参数
+        FileChunkUploadRespVO upload = initChunkUpload();
+
+        // 调用，并断言：其它用户不能继续上传
+        login(2L);
+        assertServiceException(() -> fileService.getChunkUpload(upload.getUploadId()), FILE_CHUNK_UPLOAD_NOT_EXISTS);
+    }
+
+    @Test
+    public void testInitChunkUpload_exceeds() {
+        // 准备参数：达到上限
+        initChunkUpload();
+        initChunkUpload();
+
+        // 调用，并断言
+        assertServiceException(this::initChunkUpload, FILE_CHUNK_UPLOAD_EXCEEDS);
+    }
+
+    @Test
+    public void testUploadChunk_offsetInvalid() {
+        // 准备参数
+        FileChunkUploadRespVO upload = initChunkUpload();
+
+        // 调用，并断言
+        assertServiceException(() -> uploadChunk(upload.getUploadId(), 2), FILE_CHUNK_OFFSET_INVALID);
+        assertServiceException(() -> uploadChunk(upload.getUploadId(), 12), FILE_CHUNK_OFFSET_INVALID);
+    }
+
+    @Test
+    public void testUploadChunk_waitForComplete() throws Exception {
+        // 准备参数：模拟正在完成上传，持有写锁
+        FileChunkUploadRespVO upload = initChunkUpload();
+        Lock lock = fileChunkStore.getLock(upload.getUploadId()).writeLock();
+        lock.lock();
+        CompletableFuture<Void> future;
+        try {
+            // 调用：并发上传分片
+            future = CompletableFuture.runAsync(() -> {
+                login(1L);
+                try {
+                    uploadChunk(upload.getUploadId(), 0);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+            // 断言：等待完成上传
+            assertThrows(TimeoutException.class, () -> future.get(200, TimeUnit.MILLISECONDS));
+            // 完成上传，删除会话
+            fileChunkStore.delete(fileChunkStore.get(1L, upload.getUploadId()));
+        } finally {
+            lock.unlock();
+        }
+
+        // 断言：完成上传后，不再写入分片
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        ServiceException serviceException = assertInstanceOf(ServiceException.class, exception.getCause());
+        assertEquals(FILE_CHUNK_UPLOAD_NOT_EXISTS.getCode(), serviceException.getCode());
+    }
+
+    private FileChunkUploadRespVO initChunkUpload() {
+        FileChunkInitReqVO reqVO = new FileChunkInitReqVO();
+        reqVO.setName("test.txt");
+        reqVO.setType("text/plain");
+        reqVO.setSize((long) CONTENT.length);
+        return fileService.initChunkUpload(reqVO);
+    }
+
+    private void uploadChunk(String uploadId, int offset) {
+        int end = Math.min(offset + 4, CONTENT.length);
+        fileService.uploadChunk(uploadId, (long) offset,
+                new ByteArrayInputStream(CONTENT, offset, Math.max(end - offset, 0)));
+    }
+
+    private static FileChunkCompleteReqVO buildCompleteReqVO(String uploadId, String checksum) {
+        FileChunkCompleteReqVO reqVO = new FileChunkCompleteReqVO();
+        reqVO.setUploadId(uploadId);
+        reqVO.setChecksum(checksum);
+        return reqVO;
+    }
+
+    private static void assertServiceException(Executable executable, ErrorCode errorCode) {
+        ServiceException exception = assertThrows(ServiceException.class, executable);
+        assertEquals(errorCode.getCode(), exception.getCode());
+    }
+
+    private static void login(Long userId) {
+        LoginUser loginUser = new LoginUser();
+        loginUser.setId(userId);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(loginUser, null, Collections.emptyList()));
+    }
+
+}
@@ -65,6 +65,14 @@ public class DeptController {
         return success(true);
     }
 
+    @PutMapping("/rebuild-closure")
+    @Operation(summary = "重建部门闭包表", description = "用于初始化已有的部门数据，或者修复不一致的闭包数据")
+    @PreAuthorize("@ss.hasPermission('system:dept:update')")
+    public CommonResult<Boolean> rebuildDeptClosure() {
+        deptService.rebuildDeptClosure();
+        return success(true);
+    }
+
     @GetMapping("/list")
     @Operation(summary = "获取部门列表")
     @PreAuthorize("@ss.hasPermission('system:dept:query')")
@@ -0,0 +1,50 @@
+package com.laby.module.system.dal.dataobject.dept;
+
+import com.laby.framework.tenant.core.db.TenantBaseDO;
+import com.baomidou.mybatisplus.annotation.KeySequence;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.*;
+
+/**
+ * 部门闭包表
+ *
+ * 每个部门与它的每个祖先部门（包括自己）各有一条记录，用于一次查询获得某个部门的所有子部门。
+ * 例如说，数据权限的「本部门及以下」，通过 dept_id IN (SELECT descendant_id FROM system_dept_closure WHERE ancestor_id = ?) 过滤
+ *
+ * @author Laby
+ */
+@TableName("system_dept_closure")
+@KeySequence("system_dept_closure_seq") // 用于 Oracle、PostgreSQL、Kingbase、DB2、H2 数据库的主键自增。如果是 MySQL 等数据库，可不写。
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeptClosureDO extends TenantBaseDO {
+
+    /**
+     * 自增主键
+     */
+    @TableId
+    private Long id;
+    /**
+     * 祖先部门编号
+     *
+     * 关联 {@link DeptDO#getId()}
+     */
+    private Long ancestorId;
+    /**
+     * 后代部门编号
+     *
+     * 关联 {@link DeptDO#getId()}
+     */
+    private Long descendantId;
+    /**
+     * 层级距离
+     *
+     * 0 表示自己，1 表示直接子部门，以此类推
+     */
+    private Integer depth;
+
+}
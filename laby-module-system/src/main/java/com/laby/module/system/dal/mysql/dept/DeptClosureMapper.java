@@ -0,0 +1,60 @@
+package com.laby.module.system.dal.mysql.dept;
+
+import com.laby.framework.mybatis.core.mapper.BaseMapperX;
+import com.laby.module.system.dal.dataobject.dept.DeptClosureDO;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 部门闭包表 Mapper
+ *
+ * 闭包表的记录是部门树的派生数据，删除时采用物理删除，而不是逻辑删除，避免已删除的关联不断堆积
+ *
+ * @author Laby
+ */
+@Mapper
+public interface DeptClosureMapper extends BaseMapperX<DeptClosureDO> {
+
+    default List<DeptClosureDO> selectListByAncestorId(Long ancestorId) {
+        return selectList(DeptClosureDO::getAncestorId, ancestorId);
+    }
+
+    default List<DeptClosureDO> selectListByDescendantId(Long descendantId) {
+        return selectList(DeptClosureDO::getDescendantId, descendantId);
+    }
+
+    default Long selectCountByDepth(Integer depth) {
+        return selectCount(DeptClosureDO::getDepth, depth);
+    }
+
+    @Delete("<script>DELETE FROM system_dept_closure WHERE descendant_id IN "
+            + "<foreach collection='descendantIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    int deleteByDescendantIds(@Param("descendantIds") Collection<Long> descendantIds);
+
+    /**
+     * 删除子树与外部祖先的关联，用于移动部门时断开原父部门链路
+     *
+     * @param subtreeIds 子树的部门编号集合（包括子树的根）
+     * @return 删除条数
+     */
+    @Delete("<script>DELETE FROM system_dept_closure WHERE descendant_id IN "
+            + "<foreach collection='subtreeIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + " AND ancestor_id NOT IN "
+            + "<foreach collection='subtreeIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + "</script>")
+    int deleteByDescendantIdsAndAncestorIdNotIn(@Param("subtreeIds") Collection<Long> subtreeIds);
+
+    /**
+     * 删除当前租户的所有记录。租户条件由多租户插件拼接
+     *
+     * @return 删除条数
+     */
+    @Delete("DELETE FROM system_dept_closure")
+    int deleteAll();
+
+}
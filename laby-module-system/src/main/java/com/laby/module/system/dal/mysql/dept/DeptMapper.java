@@ -30,6 +30,11 @@ public interface DeptMapper extends BaseMapperX<DeptDO> {
         return selectList(DeptDO::getParentId, parentIds);
     }
 
+    default List<DeptDO> selectSimpleList() {
+        return selectList(new LambdaQueryWrapperX<DeptDO>()
+                .select(DeptDO::getId, DeptDO::getParentId));
+    }
+
     default List<DeptDO> selectListByLeaderUserId(Long id) {
         return selectList(DeptDO::getLeaderUserId, id);
     }
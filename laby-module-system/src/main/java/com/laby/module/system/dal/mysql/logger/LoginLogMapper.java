@@ -21,6 +21,10 @@ public interface LoginLogMapper extends BaseMapperX<LoginLogDO> {
         } else if (Boolean.FALSE.equals(reqVO.getStatus())) {
             query.gt(LoginLogDO::getResult, LoginResultEnum.SUCCESS.getResult());
         }
+        // 游标分页：深翻页时按 ID seek，避免 OFFSET 扫描和 COUNT 查询
+        if (reqVO.getCursor() != null) {
+            return selectPageAfter(reqVO.getCursor(), reqVO.getPageSize(), LoginLogDO::getId, false, query);
+        }
         query.orderByDesc(LoginLogDO::getId); // 降序
         return selectPage(reqVO, query);
     }
@@ -12,14 +12,18 @@ import org.apache.ibatis.annotations.Mapper;
 public interface OperateLogMapper extends BaseMapperX<OperateLogDO> {
 
     default PageResult<OperateLogDO> selectPage(OperateLogPageReqVO pageReqDTO) {
-        return selectPage(pageReqDTO, new LambdaQueryWrapperX<OperateLogDO>()
+        LambdaQueryWrapperX<OperateLogDO> query = new LambdaQueryWrapperX<OperateLogDO>()
                 .eqIfPresent(OperateLogDO::getUserId, pageReqDTO.getUserId())
                 .eqIfPresent(OperateLogDO::getBizId, pageReqDTO.getBizId())
                 .likeIfPresent(OperateLogDO::getType, pageReqDTO.getType())
                 .likeIfPresent(OperateLogDO::getSubType, pageReqDTO.getSubType())
                 .likeIfPresent(OperateLogDO::getAction, pageReqDTO.getAction())
-                .betweenIfPresent(OperateLogDO::getCreateTime, pageReqDTO.getCreateTime())
-                .orderByDesc(OperateLogDO::getId));
+                .betweenIfPresent(OperateLogDO::getCreateTime, pageReqDTO.getCreateTime());
+        // 游标分页：深翻页时按 ID seek，避免 OFFSET 扫描和 COUNT 查询
+        if (pageReqDTO.getCursor() != null) {
+            return selectPageAfter(pageReqDTO.getCursor(), pageReqDTO.getPageSize(), OperateLogDO::getId, false, query);
+        }
+        return selectPage(pageReqDTO, query.orderByDesc(OperateLogDO::getId));
     }
 
     default PageResult<OperateLogDO> selectPage(OperateLogPageReqDTO pageReqDTO) {
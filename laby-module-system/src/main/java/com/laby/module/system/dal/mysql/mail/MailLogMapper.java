@@ -13,16 +13,20 @@ import org.apache.ibatis.annotations.Mapper;
 public interface MailLogMapper extends BaseMapperX<MailLogDO> {
 
     default PageResult<MailLogDO> selectPage(MailLogPageReqVO reqVO) {
-        return selectPage(reqVO, new LambdaQueryWrapperX<MailLogDO>()
+        LambdaQueryWrapperX<MailLogDO> query = new LambdaQueryWrapperX<MailLogDO>()
                 .eqIfPresent(MailLogDO::getUserId, reqVO.getUserId())
                 .eqIfPresent(MailLogDO::getUserType, reqVO.getUserType())
                 .eqIfPresent(MailLogDO::getAccountId, reqVO.getAccountId())
                 .eqIfPresent(MailLogDO::getTemplateId, reqVO.getTemplateId())
                 .eqIfPresent(MailLogDO::getSendStatus, reqVO.getSendStatus())
-                .betweenIfPresent(MailLogDO::getSendTime, reqVO.getSendTime())
-                .apply(StrUtil.isNotBlank(reqVO.getToMail()),
-                        MyBatisUtils.findInSet("to_mails", reqVO.getToMail()))
-                .orderByDesc(MailLogDO::getId));
+                .betweenIfPresent(MailLogDO::getSendTime, reqVO.getSendTime());
+        query.apply(StrUtil.isNotBlank(reqVO.getToMail()),
+                MyBatisUtils.findInSet("to_mails", reqVO.getToMail()));
+        // 游标分页：深翻页时按 ID seek，避免 OFFSET 扫描和 COUNT 查询
+        if (reqVO.getCursor() != null) {
+            return selectPageAfter(reqVO.getCursor(), reqVO.getPageSize(), MailLogDO::getId, false, query);
+        }
+        return selectPage(reqVO, query.orderByDesc(MailLogDO::getId));
     }
 
 }
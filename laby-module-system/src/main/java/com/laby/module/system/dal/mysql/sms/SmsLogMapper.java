@@ -11,15 +11,19 @@ import org.apache.ibatis.annotations.Mapper;
 public interface SmsLogMapper extends BaseMapperX<SmsLogDO> {
 
     default PageResult<SmsLogDO> selectPage(SmsLogPageReqVO reqVO) {
-        return selectPage(reqVO, new LambdaQueryWrapperX<SmsLogDO>()
+        LambdaQueryWrapperX<SmsLogDO> query = new LambdaQueryWrapperX<SmsLogDO>()
                 .eqIfPresent(SmsLogDO::getChannelId, reqVO.getChannelId())
                 .eqIfPresent(SmsLogDO::getTemplateId, reqVO.getTemplateId())
                 .likeIfPresent(SmsLogDO::getMobile, reqVO.getMobile())
                 .eqIfPresent(SmsLogDO::getSendStatus, reqVO.getSendStatus())
                 .betweenIfPresent(SmsLogDO::getSendTime, reqVO.getSendTime())
                 .eqIfPresent(SmsLogDO::getReceiveStatus, reqVO.getReceiveStatus())
-                .betweenIfPresent(SmsLogDO::getReceiveTime, reqVO.getReceiveTime())
-                .orderByDesc(SmsLogDO::getId));
+                .betweenIfPresent(SmsLogDO::getReceiveTime, reqVO.getReceiveTime());
+        // 游标分页：深翻页时按 ID seek，避免 OFFSET 扫描和 COUNT 查询
+        if (reqVO.getCursor() != null) {
+            return selectPageAfter(reqVO.getCursor(), reqVO.getPageSize(), SmsLogDO::getId, false, query);
+        }
+        return selectPage(reqVO, query.orderByDesc(SmsLogDO::getId));
     }
 
     default SmsLogDO selectByApiSerialNo(String apiSerialNo) {
@@ -0,0 +1,28 @@
+package com.laby.module.system.framework.ip.config;
+
+import com.laby.framework.ip.core.utils.IPUtils;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * IP、区域配置类
+ *
+ * @author Laby
+ */
+@Configuration(proxyBeanMethods = false)
+public class IpConfiguration {
+
+    /**
+     * 启动完成后，异步预热 IP、区域数据，避免首次请求时加载
+     *
+     * 默认关闭，使用 laby.ip.warm-up=true 开启
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "laby.ip", value = "warm-up", havingValue = "true")
+    public ApplicationRunner ipWarmUpRunner() {
+        return args -> IPUtils.warmUpAsync();
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.laby.module.system.job.dept;
+
+import com.laby.framework.quartz.core.handler.JobHandler;
+import com.laby.framework.tenant.core.context.TenantContextHolder;
+import com.laby.framework.tenant.core.job.TenantJob;
+import com.laby.module.system.service.dept.DeptService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 部门闭包表重建 Job
+ *
+ * 升级后执行一次，为已有的部门数据初始化闭包表；默认跳过已就绪的租户，参数为 force 时强制重建，用于修复不一致的闭包数据
+ *
+ * @author Laby
+ */
+@Component
+@Slf4j
+public class DeptClosureRebuildJob implements JobHandler {
+
+    private static final String PARAM_FORCE = "force";
+
+    @Resource
+    private DeptService deptService;
+
+    @Override
+    @TenantJob
+    public String execute(String param) {
+        if (!PARAM_FORCE.equals(param) && deptService.isDeptClosureReady()) {
+            return "部门闭包表已就绪，无需重建";
+        }
+        deptService.rebuildDeptClosure();
+        log.info("[execute][租户({}) 部门闭包表重建完成]", TenantContextHolder.getTenantId());
+        return "部门闭包表重建完成";
+    }
+
+}
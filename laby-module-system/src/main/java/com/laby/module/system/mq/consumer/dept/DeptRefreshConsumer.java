@@ -0,0 +1,29 @@
+package com.laby.module.system.mq.consumer.dept;
+
+import com.laby.framework.mq.redis.core.pubsub.AbstractRedisChannelMessageListener;
+import com.laby.module.system.mq.message.dept.DeptRefreshMessage;
+import com.laby.module.system.service.dept.DeptService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.Resource;
+
+/**
+ * 针对 {@link DeptRefreshMessage} 的消费者
+ *
+ * @author Laby
+ */
+@Component
+@Slf4j
+public class DeptRefreshConsumer extends AbstractRedisChannelMessageListener<DeptRefreshMessage> {
+
+    @Resource
+    private DeptService deptService;
+
+    @Override
+    public void onMessage(DeptRefreshMessage message) {
+        log.info("[onMessage][收到 Dept 刷新消息({})]", message);
+        deptService.refreshDeptTreeSnapshot(message.getId(), message.getParentId());
+    }
+
+}
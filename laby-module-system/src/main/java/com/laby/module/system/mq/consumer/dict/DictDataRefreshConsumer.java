@@ -0,0 +1,24 @@
+package com.laby.module.system.mq.consumer.dict;
+
+import com.laby.framework.dict.core.DictFrameworkUtils;
+import com.laby.framework.mq.redis.core.pubsub.AbstractRedisChannelMessageListener;
+import com.laby.module.system.mq.message.dict.DictDataRefreshMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 针对 {@link DictDataRefreshMessage} 的消费者
+ *
+ * @author Laby
+ */
+@Component
+@Slf4j
+public class DictDataRefreshConsumer extends AbstractRedisChannelMessageListener<DictDataRefreshMessage> {
+
+    @Override
+    public void onMessage(DictDataRefreshMessage message) {
+        log.info("[onMessage][收到 DictData 刷新消息({})]", message);
+        DictFrameworkUtils.clearCache(message.getDictType());
+    }
+
+}
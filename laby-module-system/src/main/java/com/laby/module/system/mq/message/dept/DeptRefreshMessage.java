@@ -0,0 +1,27 @@
+package com.laby.module.system.mq.message.dept;
+
+import com.laby.framework.mq.redis.core.pubsub.AbstractRedisChannelMessage;
+import lombok.Data;
+
+/**
+ * 部门变更的广播消息，用于各节点增量刷新部门树快照
+ *
+ * 租户编号由 TenantRedisMessageInterceptor 通过消息头传递
+ *
+ * @author Laby
+ */
+@Data
+public class DeptRefreshMessage extends AbstractRedisChannelMessage {
+
+    /**
+     * 部门编号
+     */
+    private Long id;
+    /**
+     * 父部门编号
+     *
+     * 为空时，表示部门被删除
+     */
+    private Long parentId;
+
+}
@@ -0,0 +1,21 @@
+package com.laby.module.system.mq.message.dict;
+
+import com.laby.framework.mq.redis.core.pubsub.AbstractRedisChannelMessage;
+import lombok.Data;
+
+/**
+ * 字典数据变更的广播消息，用于各节点失效本地的字典缓存
+ *
+ * @author Laby
+ */
+@Data
+public class DictDataRefreshMessage extends AbstractRedisChannelMessage {
+
+    /**
+     * 字典类型
+     *
+     * 为空时，表示失效所有字典类型
+     */
+    private String dictType;
+
+}
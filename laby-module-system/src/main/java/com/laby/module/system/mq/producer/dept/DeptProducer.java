@@ -0,0 +1,48 @@
+package com.laby.module.system.mq.producer.dept;
+
+import com.laby.framework.mq.redis.core.RedisMQTemplate;
+import com.laby.module.system.mq.message.dept.DeptRefreshMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.Resource;
+
+/**
+ * Dept 部门相关消息的 Producer
+ *
+ * @author Laby
+ */
+@Component
+public class DeptProducer {
+
+    @Resource
+    private RedisMQTemplate redisMQTemplate;
+
+    /**
+     * 发送 {@link DeptRefreshMessage} 消息
+     *
+     * 在事务中时，事务提交后才发送，避免其它节点刷新到未提交的数据
+     *
+     * @param id       部门编号
+     * @param parentId 父部门编号；为空时，表示部门被删除
+     */
+    public void sendDeptRefreshMessage(Long id, Long parentId) {
+        DeptRefreshMessage message = new DeptRefreshMessage();
+        message.setId(id);
+        message.setParentId(parentId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            redisMQTemplate.send(message);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                redisMQTemplate.send(message);
+            }
+
+        });
+    }
+
+}
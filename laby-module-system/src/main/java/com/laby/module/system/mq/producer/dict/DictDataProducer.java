@@ -0,0 +1,31 @@
+package com.laby.module.system.mq.producer.dict;
+
+import com.laby.framework.mq.redis.core.RedisMQTemplate;
+import com.laby.module.system.mq.message.dict.DictDataRefreshMessage;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.Resource;
+
+/**
+ * DictData 字典数据相关消息的 Producer
+ *
+ * @author Laby
+ */
+@Component
+public class DictDataProducer {
+
+    @Resource
+    private RedisMQTemplate redisMQTemplate;
+
+    /**
+     * 发送 {@link DictDataRefreshMessage} 消息
+     *
+     * @param dictType 字典类型；为空时，表示失效所有字典类型
+     */
+    public void sendDictDataRefreshMessage(String dictType) {
+        DictDataRefreshMessage message = new DictDataRefreshMessage();
+        message.setDictType(dictType);
+        redisMQTemplate.send(message);
+    }
+
+}
@@ -105,13 +105,37 @@ public interface DeptService {
     List<DeptDO> getDeptListByLeaderUserId(Long id);
 
     /**
-     * 获得所有子部门，从缓存中
+     * 获得所有子部门，从当前租户的部门树快照中
      *
      * @param id 父部门编号
      * @return 子部门列表
      */
     Set<Long> getChildDeptIdListFromCache(Long id);
 
+    /**
+     * 增量刷新当前租户的部门树快照
+     *
+     * @param id       部门编号
+     * @param parentId 父部门编号；为空时，表示部门被删除
+     */
+    void refreshDeptTreeSnapshot(Long id, Long parentId);
+
+    /**
+     * 基于部门表，重建当前租户的部门闭包表
+     *
+     * 用于初始化已有的部门数据，或者修复不一致的闭包数据。由 DeptClosureRebuildJob、管理后台显式调用，不在查询链路中自动执行
+     */
+    void rebuildDeptClosure();
+
+    /**
+     * 当前租户的部门闭包表是否就绪
+     *
+     * 只校验、不重建：未初始化时，返回 false，调用方应退化为展开子部门编号
+     *
+     * @return 是否就绪
+     */
+    boolean isDeptClosureReady();
+
     /**
      * 校验部门们是否有效。如下情况，视为无效：
      * 1. 部门编号不存在
@@ -2,23 +2,29 @@ package com.laby.module.system.service.dept;
 
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.ObjectUtil;
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
 import com.laby.framework.common.enums.CommonStatusEnum;
 import com.laby.framework.common.util.object.BeanUtils;
-import com.laby.framework.datapermission.core.annotation.DataPermission;
+import com.laby.framework.datapermission.core.util.DataPermissionUtils;
+import com.laby.framework.datasource.core.enums.DataSourceEnum;
+import com.laby.framework.tenant.core.context.TenantContextHolder;
 import com.laby.module.system.controller.admin.dept.vo.dept.DeptListReqVO;
 import com.laby.module.system.controller.admin.dept.vo.dept.DeptSaveReqVO;
+import com.laby.module.system.dal.dataobject.dept.DeptClosureDO;
 import com.laby.module.system.dal.dataobject.dept.DeptDO;
+import com.laby.module.system.dal.mysql.dept.DeptClosureMapper;
 import com.laby.module.system.dal.mysql.dept.DeptMapper;
-import com.laby.module.system.dal.redis.RedisKeyConstants;
+import com.laby.module.system.mq.producer.dept.DeptProducer;
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import jakarta.annotation.Resource;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static com.laby.framework.common.util.collection.CollectionUtils.convertSet;
@@ -27,6 +33,11 @@ import static com.laby.module.system.enums.ErrorCodeConstants.*;
 /**
  * 部门 Service 实现类
  *
+ * 部门的层级关系，维护在两处：
+ * 1. 闭包表 {@link DeptClosureDO}：随部门的增删改在同一事务中维护，用于 SQL 中的子部门过滤（例如说，数据权限）。
+ *    升级前已有的部门数据，需要通过 DeptClosureRebuildJob 或「重建部门闭包表」接口初始化；未初始化时，见 {@link #isDeptClosureReady()}
+ * 2. 内存中的部门树快照 {@link DeptTreeSnapshot}：每个租户一份，通过 Redis 广播增量刷新，用于计算子部门编号
+ *
  * @author Laby
  */
 @Service
@@ -34,12 +45,41 @@ import static com.laby.module.system.enums.ErrorCodeConstants.*;
 @Slf4j
 public class DeptServiceImpl implements DeptService {
 
+    /**
+     * 闭包表未就绪时，再次校验的间隔
+     */
+    private static final long DEPT_CLOSURE_CHECK_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
     @Resource
     private DeptMapper deptMapper;
+    @Resource
+    private DeptClosureMapper deptClosureMapper;
+
+    @Resource
+    private DeptProducer deptProducer;
+
+    /**
+     * 部门树快照
+     *
+     * KEY：租户编号
+     */
+    private final Map<Long, DeptTreeSnapshot> deptTreeSnapshots = new ConcurrentHashMap<>();
+    /**
+     * 闭包表已就绪的租户编号
+     *
+     * 就绪后，闭包表随部门的增删改维护，无需再次校验
+     */
+    private final Set<Long> deptClosureReadyTenantIds = ConcurrentHashMap.newKeySet();
+    /**
+     * 闭包表未就绪的租户，下次校验的时间
+     *
+     * KEY：租户编号
+     * VALUE：下次校验的时间戳
+     */
+    private final Map<Long, Long> deptClosureNextCheckTimes = new ConcurrentHashMap<>();
 
     @Override
-    @CacheEvict(cacheNames = RedisKeyConstants.DEPT_CHILDREN_ID_LIST,
-            allEntries = true) // allEntries 清空所有缓存，因为操作一个部门，涉及到多个缓存
+    @Transactional(rollbackFor = Exception.class)
     public Long createDept(DeptSaveReqVO createReqVO) {
         if (createReqVO.getParentId() == null) {
             createReqVO.setParentId(DeptDO.PARENT_ID_ROOT);
@@ -52,18 +92,21 @@ public class DeptServiceImpl implements DeptService {
         // 插入部门
         DeptDO dept = BeanUtils.toBean(createReqVO, DeptDO.class);
         deptMapper.insert(dept);
+        // 维护闭包表
+        createDeptClosure(dept.getId(), dept.getParentId());
+        // 发送刷新消息
+        deptProducer.sendDeptRefreshMessage(dept.getId(), dept.getParentId());
         return dept.getId();
     }
 
     @Override
-    @CacheEvict(cacheNames = RedisKeyConstants.DEPT_CHILDREN_ID_LIST,
-            allEntries = true) // allEntries 清空所有缓存，因为操作一个部门，涉及到多个缓存
+    @Transactional(rollbackFor = Exception.class)
     public void updateDept(DeptSaveReqVO updateReqVO) {
         if (updateReqVO.getParentId() == null) {
             updateReqVO.setParentId(DeptDO.PARENT_ID_ROOT);
         }
         // 校验自己存在
-        validateDeptExists(updateReqVO.getId());
+        DeptDO oldDept = validateDeptExists(updateReqVO.getId());
         // 校验父部门的有效性
         validateParentDept(updateReqVO.getId(), updateReqVO.getParentId());
         // 校验部门名的唯一性
@@ -72,11 +115,15 @@ public class DeptServiceImpl implements DeptService {
         // 更新部门
         DeptDO updateObj = BeanUtils.toBean(updateReqVO, DeptDO.class);
         deptMapper.updateById(updateObj);
+        // 父部门变化时，维护闭包表，并发送刷新消息
+        if (ObjectUtil.notEqual(oldDept.getParentId(), updateObj.getParentId())) {
+            moveDeptClosure(updateObj.getId(), updateObj.getParentId());
+            deptProducer.sendDeptRefreshMessage(updateObj.getId(), updateObj.getParentId());
+        }
     }
 
     @Override
-    @CacheEvict(cacheNames = RedisKeyConstants.DEPT_CHILDREN_ID_LIST,
-            allEntries = true) // allEntries 清空所有缓存，因为操作一个部门，涉及到多个缓存
+    @Transactional(rollbackFor = Exception.class)
     public void deleteDept(Long id) {
         // 校验是否存在
         validateDeptExists(id);
@@ -86,11 +133,14 @@ public class DeptServiceImpl implements DeptService {
         }
         // 删除部门
         deptMapper.deleteById(id);
+        // 维护闭包表。因为没有子部门，所以只需要删除自己作为后代的记录
+        deptClosureMapper.deleteByDescendantIds(Collections.singleton(id));
+        // 发送刷新消息
+        deptProducer.sendDeptRefreshMessage(id, null);
     }
 
     @Override
-    @CacheEvict(cacheNames = RedisKeyConstants.DEPT_CHILDREN_ID_LIST,
-            allEntries = true) // allEntries 清空所有缓存，因为操作一个部门，涉及到多个缓存
+    @Transactional(rollbackFor = Exception.class)
     public void deleteDeptList(List<Long> ids) {
         // 校验是否有子部门
         for (Long id : ids) {
@@ -101,17 +151,119 @@ public class DeptServiceImpl implements DeptService {
 
         // 批量删除部门
         deptMapper.deleteByIds(ids);
+        deptClosureMapper.deleteByDescendantIds(ids);
+        ids.forEach(id -> deptProducer.sendDeptRefreshMessage(id, null));
+    }
+
+    private void createDeptClosure(Long id, Long parentId) {
+        List<DeptClosureDO> closures = new ArrayList<>();
+        closures.add(DeptClosureDO.builder().ancestorId(id).descendantId(id).depth(0).build());
+        // 父部门的每个祖先（包括父部门自己），都是新部门的祖先
+        deptClosureMapper.selectListByDescendantId(parentId).forEach(parent -> closures.add(DeptClosureDO.builder()
+                .ancestorId(parent.getAncestorId()).descendantId(id).depth(parent.getDepth() + 1).build()));
+        deptClosureMapper.insertBatch(closures);
+    }
+
+    private void moveDeptClosure(Long id, Long parentId) {
+        // 1. 获得子树（包括自己）
+        List<DeptClosureDO> subtree = deptClosureMapper.selectListByAncestorId(id);
+        if (CollUtil.isEmpty(subtree)) {
+            log.warn("[moveDeptClosure][部门({}) 不存在闭包数据，需要重建闭包表]", id);
+            return;
+        }
+        // 2. 断开子树与原祖先的关联
+        Set<Long> subtreeIds = convertSet(subtree, DeptClosureDO::getDescendantId);
+        deptClosureMapper.deleteByDescendantIdsAndAncestorIdNotIn(subtreeIds);
+        // 3. 子树的每个部门，关联新父部门的每个祖先（包括新父部门自己）
+        List<DeptClosureDO> closures = new ArrayList<>();
+        for (DeptClosureDO parent : deptClosureMapper.selectListByDescendantId(parentId)) {
+            for (DeptClosureDO child : subtree) {
+                closures.add(DeptClosureDO.builder().ancestorId(parent.getAncestorId())
+                        .descendantId(child.getDescendantId()).depth(parent.getDepth() + 1 + child.getDepth()).build());
+            }
+        }
+        if (CollUtil.isNotEmpty(closures)) {
+            deptClosureMapper.insertBatch(closures);
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void rebuildDeptClosure() {
+        // 1. 重新加载部门树快照
+        DeptTreeSnapshot snapshot = loadDeptTreeSnapshot();
+        Map<Long, Long> parentIds = snapshot.getParentIdsInTreeOrder();
+
+        // 2. 按部门树，计算每个部门的所有祖先
+        List<DeptClosureDO> closures = new ArrayList<>();
+        parentIds.keySet().forEach(id -> {
+            Long ancestorId = id;
+            for (int depth = 0; depth < Short.MAX_VALUE && parentIds.containsKey(ancestorId); depth++) { // 使用 Short.MAX_VALUE 避免 bug 场景下，存在死循环
+                closures.add(DeptClosureDO.builder().ancestorId(ancestorId).descendantId(id).depth(depth).build());
+                ancestorId = parentIds.get(ancestorId);
+            }
+        });
+
+        // 3. 整体替换闭包表
+        deptClosureMapper.deleteAll();
+        if (CollUtil.isNotEmpty(closures)) {
+            deptClosureMapper.insertBatch(closures);
+        }
+        if (!TenantContextHolder.isIgnore()) {
+            deptTreeSnapshots.put(getDeptTreeSnapshotKey(), snapshot);
+            deptClosureReadyTenantIds.add(getDeptTreeSnapshotKey());
+            deptClosureNextCheckTimes.remove(getDeptTreeSnapshotKey());
+        }
+    }
+
+    @Override
+    public boolean isDeptClosureReady() {
+        // 忽略租户时，无法按租户校验，直接视为未就绪
+        if (TenantContextHolder.isIgnore()) {
+            return false;
+        }
+        Long key = getDeptTreeSnapshotKey();
+        if (deptClosureReadyTenantIds.contains(key)) {
+            return true;
+        }
+        // 未就绪时，间隔一段时间再校验，期间调用方退化为展开子部门编号，避免每次查询都校验
+        long now = System.currentTimeMillis();
+        Long nextCheckTime = deptClosureNextCheckTimes.get(key);
+        if (nextCheckTime != null && now < nextCheckTime) {
+            return false;
+        }
+        deptClosureNextCheckTimes.put(key, now + DEPT_CLOSURE_CHECK_INTERVAL);
+        if (!validateDeptClosureInitialized()) {
+            log.warn("[isDeptClosureReady][租户({}) 部门闭包表未初始化，请执行 DeptClosureRebuildJob 或调用重建接口]", key);
+            return false;
+        }
+        deptClosureReadyTenantIds.add(key);
+        deptClosureNextCheckTimes.remove(key);
+        return true;
+    }
+
+    private boolean validateDeptClosureInitialized() {
+        // 读主库：调用方可能处于 @ReadReplica 中，从库的延迟会导致误判
+        DynamicDataSourceContextHolder.push(DataSourceEnum.MASTER);
+        try {
+            // 每个部门在闭包表中，都有一条 depth = 0 的记录。数量一致，说明闭包表已经初始化
+            Long deptCount = DataPermissionUtils.executeIgnore(() -> deptMapper.selectCount());
+            return Objects.equals(deptClosureMapper.selectCountByDepth(0), deptCount);
+        } finally {
+            DynamicDataSourceContextHolder.poll();
+        }
     }
 
     @VisibleForTesting
-    void validateDeptExists(Long id) {
+    DeptDO validateDeptExists(Long id) {
         if (id == null) {
-            return;
+            return null;
         }
         DeptDO dept = deptMapper.selectById(id);
         if (dept == null) {
             throw exception(DEPT_NOT_FOUND);
         }
+        return dept;
     }
 
     @VisibleForTesting
@@ -186,21 +338,12 @@ public class DeptServiceImpl implements DeptService {
 
     @Override
     public List<DeptDO> getChildDeptList(Collection<Long> ids) {
-        List<DeptDO> children = new LinkedList<>();
-        // 遍历每一层
-        Collection<Long> parentIds = ids;
-        for (int i = 0; i < Short.MAX_VALUE; i++) { // 使用 Short.MAX_VALUE 避免 bug 场景下，存在死循环
-            // 查询当前层，所有的子部门
-            List<DeptDO> depts = deptMapper.selectListByParentId(parentIds);
-            // 1. 如果没有子部门，则结束遍历
-            if (CollUtil.isEmpty(depts)) {
-                break;
-            }
-            // 2. 如果有子部门，继续遍历
-            children.addAll(depts);
-            parentIds = convertSet(depts, DeptDO::getId);
+        // 基于部门树快照计算子部门编号，再一次查询，避免逐层查询
+        Set<Long> childIds = getDeptTreeSnapshot().getChildIds(ids);
+        if (CollUtil.isEmpty(childIds)) {
+            return new ArrayList<>();
         }
-        return children;
+        return deptMapper.selectByIds(childIds);
     }
 
     @Override
@@ -209,11 +352,40 @@ public class DeptServiceImpl implements DeptService {
     }
 
     @Override
-    @DataPermission(enable = false) // 禁用数据权限，避免建立不正确的缓存
-    @Cacheable(cacheNames = RedisKeyConstants.DEPT_CHILDREN_ID_LIST, key = "#id")
     public Set<Long> getChildDeptIdListFromCache(Long id) {
-        List<DeptDO> children = getChildDeptList(id);
-        return convertSet(children, DeptDO::getId);
+        return getDeptTreeSnapshot().getChildIds(Collections.singleton(id));
+    }
+
+    @Override
+    public void refreshDeptTreeSnapshot(Long id, Long parentId) {
+        // 未加载过的快照，无需刷新，首次使用时会整体加载
+        DeptTreeSnapshot snapshot = deptTreeSnapshots.get(getDeptTreeSnapshotKey());
+        if (snapshot == null) {
+            return;
+        }
+        if (parentId == null) {
+            snapshot.remove(id);
+        } else {
+            snapshot.put(id, parentId);
+        }
+    }
+
+    private DeptTreeSnapshot getDeptTreeSnapshot() {
+        // 忽略租户时，查询的是所有租户的部门，不进行缓存
+        if (TenantContextHolder.isIgnore()) {
+            return loadDeptTreeSnapshot();
+        }
+        return deptTreeSnapshots.computeIfAbsent(getDeptTreeSnapshotKey(), key -> loadDeptTreeSnapshot());
+    }
+
+    private DeptTreeSnapshot loadDeptTreeSnapshot() {
+        // 禁用数据权限，避免建立不完整的快照
+        return new DeptTreeSnapshot(DataPermissionUtils.executeIgnore(() -> deptMapper.selectSimpleList()));
+    }
+
+    private static Long getDeptTreeSnapshotKey() {
+        // 未开启多租户时，租户编号为空，统一使用 0 作为 KEY
+        return ObjectUtil.defaultIfNull(TenantContextHolder.getTenantId(), 0L);
     }
 
     @Override
@@ -0,0 +1,111 @@
+package com.laby.module.system.service.dept;
+
+import cn.hutool.core.collection.CollUtil;
+import com.laby.module.system.dal.dataobject.dept.DeptDO;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 部门树的内存快照，每个租户一份
+ *
+ * 只保存 id 和 parentId，用于计算子部门、祖先部门，避免逐层查询 DB。
+ * 部门新增、修改、删除时，通过 {@link #put(Long, Long)}、{@link #remove(Long)} 增量更新，而不是整体重新加载
+ *
+ * @author Laby
+ */
+public class DeptTreeSnapshot {
+
+    /**
+     * 部门编号与父部门编号的映射
+     */
+    private final Map<Long, Long> parentIds = new ConcurrentHashMap<>();
+    /**
+     * 部门编号与直接子部门编号集合的映射
+     */
+    private final Map<Long, Set<Long>> childrenIds = new ConcurrentHashMap<>();
+
+    public DeptTreeSnapshot(Collection<DeptDO> depts) {
+        depts.forEach(dept -> put(dept.getId(), dept.getParentId()));
+    }
+
+    /**
+     * 添加或移动部门
+     *
+     * @param id       部门编号
+     * @param parentId 父部门编号
+     */
+    public synchronized void put(Long id, Long parentId) {
+        if (parentId == null) {
+            parentId = DeptDO.PARENT_ID_ROOT;
+        }
+        Long oldParentId = parentIds.put(id, parentId);
+        if (oldParentId != null && !oldParentId.equals(parentId)) {
+            removeChild(oldParentId, id);
+        }
+        childrenIds.computeIfAbsent(parentId, key -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    /**
+     * 移除部门
+     *
+     * @param id 部门编号
+     */
+    public synchronized void remove(Long id) {
+        Long parentId = parentIds.remove(id);
+        if (parentId != null) {
+            removeChild(parentId, id);
+        }
+    }
+
+    private void removeChild(Long parentId, Long id) {
+        Set<Long> children = childrenIds.get(parentId);
+        if (children == null) {
+            return;
+        }
+        children.remove(id);
+        if (children.isEmpty()) {
+            childrenIds.remove(parentId);
+        }
+    }
+
+    /**
+     * 获得指定部门的所有子部门编号（不包括自己）
+     *
+     * @param ids 部门编号数组
+     * @return 子部门编号集合
+     */
+    public Set<Long> getChildIds(Collection<Long> ids) {
+        Set<Long> result = new LinkedHashSet<>();
+        Deque<Long> queue = new ArrayDeque<>(CollUtil.emptyIfNull(ids));
+        while (!queue.isEmpty()) {
+            Set<Long> children = childrenIds.get(queue.poll());
+            if (CollUtil.isEmpty(children)) {
+                continue;
+            }
+            for (Long child : children) {
+                // add 返回 false，说明已遍历过，避免脏数据成环时死循环
+                if (result.add(child)) {
+                    queue.add(child);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获得所有部门，按从根到叶的顺序（父部门一定在子部门之前）
+     *
+     * @return 部门编号与父部门编号的映射
+     */
+    public Map<Long, Long> getParentIdsInTreeOrder() {
+        Map<Long, Long> result = new LinkedHashMap<>();
+        Set<Long> roots = new HashSet<>(parentIds.values());
+        roots.removeAll(parentIds.keySet());
+        for (Long childId : getChildIds(roots)) {
+            result.put(childId, parentIds.get(childId));
+        }
+        return result;
+    }
+
+}
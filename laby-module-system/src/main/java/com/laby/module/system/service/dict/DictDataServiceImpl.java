@@ -1,6 +1,7 @@
 package com.laby.module.system.service.dict;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.ObjectUtil;
 import com.laby.framework.common.enums.CommonStatusEnum;
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.framework.common.util.collection.CollectionUtils;
@@ -10,6 +11,7 @@ import com.laby.module.system.controller.admin.dict.vo.data.DictDataSaveReqVO;
 import com.laby.module.system.dal.dataobject.dict.DictDataDO;
 import com.laby.module.system.dal.dataobject.dict.DictTypeDO;
 import com.laby.module.system.dal.mysql.dict.DictDataMapper;
+import com.laby.module.system.mq.producer.dict.DictDataProducer;
 import com.google.common.annotations.VisibleForTesting;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
@@ -45,6 +47,9 @@ public class DictDataServiceImpl implements DictDataService {
     @Resource
     private DictDataMapper dictDataMapper;
 
+    @Resource
+    private DictDataProducer dictDataProducer;
+
     @Override
     public List<DictDataDO> getDictDataList(Integer status, String dictType) {
         List<DictDataDO> list = dictDataMapper.selectListByStatusAndDictType(status, dictType);
@@ -72,13 +77,15 @@ public class DictDataServiceImpl implements DictDataService {
         // 插入字典类型
         DictDataDO dictData = BeanUtils.toBean(createReqVO, DictDataDO.class);
         dictDataMapper.insert(dictData);
+        // 发送刷新消息
+        dictDataProducer.sendDictDataRefreshMessage(dictData.getDictType());
         return dictData.getId();
     }
 
     @Override
     public void updateDictData(DictDataSaveReqVO updateReqVO) {
         // 校验自己存在
-        validateDictDataExists(updateReqVO.getId());
+        DictDataDO oldDictData = validateDictDataExists(updateReqVO.getId());
         // 校验字典类型有效
         validateDictTypeExists(updateReqVO.getDictType());
         // 校验字典数据的值的唯一性
@@ -87,20 +94,31 @@ public class DictDataServiceImpl implements DictDataService {
         // 更新字典类型
         DictDataDO updateObj = BeanUtils.toBean(updateReqVO, DictDataDO.class);
         dictDataMapper.updateById(updateObj);
+        // 发送刷新消息。字典类型可能被修改，新旧都需要刷新
+        dictDataProducer.sendDictDataRefreshMessage(updateObj.getDictType());
+        if (ObjectUtil.notEqual(oldDictData.getDictType(), updateObj.getDictType())) {
+            dictDataProducer.sendDictDataRefreshMessage(oldDictData.getDictType());
+        }
     }
 
     @Override
     public void deleteDictData(Long id) {
         // 校验是否存在
-        validateDictDataExists(id);
+        DictDataDO dictData = validateDictDataExists(id);
 
         // 删除字典数据
         dictDataMapper.deleteById(id);
+        // 发送刷新消息
+        dictDataProducer.sendDictDataRefreshMessage(dictData.getDictType());
     }
 
     @Override
     public void deleteDictDataList(List<Long> ids) {
+        List<DictDataDO> dictDatas = dictDataMapper.selectByIds(ids);
         dictDataMapper.deleteByIds(ids);
+        // 发送刷新消息
+        CollectionUtils.convertSet(dictDatas, DictDataDO::getDictType)
+                .forEach(dictType -> dictDataProducer.sendDictDataRefreshMessage(dictType));
     }
 
     @Override
@@ -124,14 +142,15 @@ public class DictDataServiceImpl implements DictDataService {
     }
 
     @VisibleForTesting
-    public void validateDictDataExists(Long id) {
+    public DictDataDO validateDictDataExists(Long id) {
         if (id == null) {
-            return;
+            return null;
         }
         DictDataDO dictData = dictDataMapper.selectById(id);
         if (dictData == null) {
             throw exception(DICT_DATA_NOT_EXISTS);
         }
+        return dictData;
     }
 
     @VisibleForTesting
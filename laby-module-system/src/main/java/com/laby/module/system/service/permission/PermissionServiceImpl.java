@@ -313,9 +313,15 @@ public class PermissionServiceImpl implements PermissionService {
             }
             // 情况四，DEPT_DEPT_AND_CHILD
             if (Objects.equals(role.getDataScope(), DataScopeEnum.DEPT_AND_CHILD.getScope())) {
+                // 不展开子部门编号，而是通过部门闭包表过滤（闭包表包含部门自身）
+                if (deptService.isDeptClosureReady()) {
+                    CollectionUtils.addIfNotNull(result.getDeptTreeIds(), userDeptId.get());
+                    continue;
+                }
+                // 闭包表未就绪时，退化为展开子部门编号
                 CollUtil.addAll(result.getDeptIds(), deptService.getChildDeptIdListFromCache(userDeptId.get()));
                 // 添加本身部门编号
-                CollUtil.addAll(result.getDeptIds(), userDeptId.get());
+                CollectionUtils.addIfNotNull(result.getDeptIds(), userDeptId.get());
                 continue;
             }
             // 情况五，SELF
@@ -0,0 +1,274 @@
+package com.laby.module.system.service.dept;
+
+import com.laby.framework.tenant.core.context.TenantContextHolder;
+import com.laby.module.system.controller.admin.dept.vo.dept.DeptSaveReqVO;
+import com.laby.module.system.dal.dataobject.dept.DeptClosureDO;
+import com.laby.module.system.dal.dataobject.dept.DeptDO;
+import com.laby.module.system.dal.mysql.dept.DeptClosureMapper;
+import com.laby.module.system.dal.mysql.dept.DeptMapper;
+import com.laby.module.system.mq.producer.dept.DeptProducer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link DeptServiceImpl} 的单元测试，主要覆盖部门闭包表的维护
+ *
+ * 部门表、闭包表都使用内存中的数据模拟，断言闭包表与按部门树计算的结果一致
+ *
+ * @author Laby
+ */
+public class DeptServiceImplTest {
+
+    private final DeptServiceImpl deptService = new DeptServiceImpl();
+    private final DeptMapper deptMapper = mock(DeptMapper.class);
+    private final DeptClosureMapper deptClosureMapper = mock(DeptClosureMapper.class);
+    private final DeptProducer deptProducer = mock(DeptProducer.class);
+
+    /**
+     * 部门表
+     */
+    private final Map<Long, DeptDO> depts = new HashMap<>();
+    /**
+     * 闭包表
+     */
+    private final List<DeptClosureDO> closures = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(deptService, "deptMapper", deptMapper);
+        ReflectionTestUtils.setField(deptService, "deptClosureMapper", deptClosureMapper);
+        ReflectionTestUtils.setField(deptService, "deptProducer", deptProducer);
+        TenantContextHolder.setTenantId(1L);
+        mockDeptMapper();
+        mockDeptClosureMapper();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testCreateDept_closure() {
+        // mock 数据：1 -> 2
+        addDept(1L, DeptDO.PARENT_ID_ROOT);
+        addDept(2L, 1L);
+        deptService.rebuildDeptClosure();
+        // 准备参数
+        DeptSaveReqVO reqVO = buildReqVO(null, 2L);
+
+        // 调用
+        Long id = deptService.createDept(reqVO);
+        // 断言
+        assertEquals(3L, id);
+        assertClosures();
+        assertTrue(closures.stream().anyMatch(closure -> closure.getAncestorId() == 1L
+                && closure.getDescendantId() == 3L && closure.getDepth() == 2));
+    }
+
+    @Test
+    public void testUpdateDept_moveClosure() {
+        // mock 数据：1 -> 2 -> 3、1 -> 4 -> 5
+        addDept(1L, DeptDO.PARENT_ID_ROOT);
+        addDept(2L, 1L);
+        addDept(3L, 2L);
+        addDept(4L, 1L);
+        addDept(5L, 4L);
+        deptService.rebuildDeptClosure();
+
+        // 调用：将子树 2 -> 3 移动到 5 下
+        deptService.updateDept(buildReqVO(2L, 5L));
+        // 断言：子树内部的关联保留，并关联到新的祖先
+        assertClosures();
+        assertTrue(closures.stream().anyMatch(closure -> closure.getAncestorId() == 4L
+                && closure.getDescendantId() == 3L && closure.getDepth() == 3));
+        verify(deptProducer).sendDeptRefreshMessage(eq(2L), eq(5L));
+    }
+
+    @Test
+    public void testUpdateDept_sameParent() {
+        // mock 数据：1 -> 2
+        addDept(1L, DeptDO.PARENT_ID_ROOT);
+        addDept(2L, 1L);
+        deptService.rebuildDeptClosure();
+        clearInvocations(deptClosureMapper);
+
+        // 调用：父部门不变
+        deptService.updateDept(buildReqVO(2L, 1L));
+        // 断言：不维护闭包表
+        verify(deptClosureMapper, never()).insertBatch(anyCollection());
+        verify(deptClosureMapper, never()).deleteByDescendantIdsAndAncestorIdNotIn(anyCollection());
+        assertClosures();
+    }
+
+    @Test
+    public void testDeleteDept_closure() {
+        // mock 数据：1 -> 2 -> 3
+        addDept(1L, DeptDO.PARENT_ID_ROOT);
+        addDept(2L, 1L);
+        addDept(3L, 2L);
+        deptService.rebuildDeptClosure();
+
+        // 调用
+        deptService.deleteDept(3L);
+        // 断言
+        depts.remove(3L);
+        assertClosures();
+        assertTrue(closures.stream().noneMatch(closure -> closure.getDescendantId() == 3L));
+    }
+
+    @Test
+    public void testRebuildDeptClosure() {
+        // mock 数据：1 -> 2 -> 3、1 -> 4，闭包表中存在错误的数据
+        addDept(1L, DeptDO.PARENT_ID_ROOT);
+        addDept(2L, 1L);
+        addDept(3L, 2L);
+        addDept(4L, 1L);
+        closures.add(DeptClosureDO.builder().ancestorId(4L).descendantId(3L).depth(1).build());
+
+        // 调用
+        deptService.rebuildDeptClosure();
+        // 断言：整体替换
+        assertClosures();
+        assertEquals(8, closures.size());
+        // 断言：重建后直接视为就绪，无需再校验
+        assertTrue(deptService.isDeptClosureReady());
+        verify(deptClosureMapper, never()).selectCountByDepth(any());
+    }
+
+    @Test
+    public void testIsDeptClosureReady_notInitialized() {
+        // mock 数据：已有部门，但闭包表未初始化
+        addDept(1L, DeptDO.PARENT_ID_ROOT);
+        addDept(2L, 1L);
+
+        // 调用，并断言：未就绪，且不会自动重建
+        assertFalse(deptService.isDeptClosureReady());
+        verify(deptClosureMapper, never()).deleteAll();
+        verify(deptClosureMapper, never()).insertBatch(anyCollection());
+        assertTrue(closures.isEmpty());
+        // 调用，并断言：校验间隔内，不再查询
+        assertFalse(deptService.isDeptClosureReady());
+        verify(deptClosureMapper, times(1)).selectCountByDepth(eq(0));
+    }
+
+    @Test
+    public void testIsDeptClosureReady_initialized() {
+        // mock 数据：闭包表已初始化，例如说由其它节点重建
+        addDept(1L, DeptDO.PARENT_ID_ROOT);
+        addDept(2L, 1L);
+        closures.add(DeptClosureDO.builder().ancestorId(1L).descendantId(1L).depth(0).build());
+        closures.add(DeptClosureDO.builder().ancestorId(2L).descendantId(2L).depth(0).build());
+        closures.add(DeptClosureDO.builder().ancestorId(1L).descendantId(2L).depth(1).build());
+
+        // 调用，并断言
+        assertTrue(deptService.isDeptClosureReady());
+        assertTrue(deptService.isDeptClosureReady());
+        verify(deptClosureMapper, times(1)).selectCountByDepth(eq(0));
+    }
+
+    @Test
+    public void testIsDeptClosureReady_ignoreTenant() {
+        TenantContextHolder.setIgnore(true);
+
+        // 调用，并断言
+        assertFalse(deptService.isDeptClosureReady());
+        verify(deptClosureMapper, never()).selectCountByDepth(any());
+    }
+
+    // ========== 内存中的部门表、闭包表 ==========
+
+    private void mockDeptMapper() {
+        when(deptMapper.selectById(any())).thenAnswer(invocation -> depts.get((Long) invocation.getArgument(0)));
+        doAnswer(invocation -> {
+            DeptDO dept = invocation.getArgument(0);
+            dept.setId(depts.keySet().stream().max(Long::compare).orElse(0L) + 1);
+            depts.put(dept.getId(), dept);
+            return 1;
+        }).when(deptMapper).insert(any(DeptDO.class));
+        doAnswer(invocation -> {
+            DeptDO dept = invocation.getArgument(0);
+            depts.put(dept.getId(), dept);
+            return 1;
+        }).when(deptMapper).updateById(any(DeptDO.class));
+        when(deptMapper.selectCountByParentId(any())).thenAnswer(invocation -> depts.values().stream()
+                .filter(dept -> dept.getParentId().equals(invocation.getArgument(0))).count());
+        when(deptMapper.selectSimpleList()).thenAnswer(invocation -> new ArrayList<>(depts.values()));
+        when(deptMapper.selectCount()).thenAnswer(invocation -> (long) depts.size());
+    }
+
+    private void mockDeptClosureMapper() {
+        when(deptClosureMapper.selectListByAncestorId(any())).thenAnswer(invocation -> closures.stream()
+                .filter(closure -> closure.getAncestorId().equals(invocation.getArgument(0))).toList());
+        when(deptClosureMapper.selectListByDescendantId(any())).thenAnswer(invocation -> closures.stream()
+                .filter(closure -> closure.getDescendantId().equals(invocation.getArgument(0))).toList());
+        when(deptClosureMapper.selectCountByDepth(any())).thenAnswer(invocation -> closures.stream()
+                .filter(closure -> closure.getDepth().equals(invocation.getArgument(0))).count());
+        when(deptClosureMapper.insertBatch(anyCollection())).thenAnswer(invocation -> {
+            closures.addAll(invocation.getArgument(0));
+            return true;
+        });
+        when(deptClosureMapper.deleteByDescendantIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return remove(closure -> ids.contains(closure.getDescendantId()));
+        });
+        when(deptClosureMapper.deleteByDescendantIdsAndAncestorIdNotIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return remove(closure -> ids.contains(closure.getDescendantId()) && !ids.contains(closure.getAncestorId()));
+        });
+        when(deptClosureMapper.deleteAll()).thenAnswer(invocation -> remove(closure -> true));
+    }
+
+    private int remove(Predicate<DeptClosureDO> filter) {
+        int size = closures.size();
+        closures.removeIf(filter);
+        return size - closures.size();
+    }
+
+    private void addDept(Long id, Long parentId) {
+        DeptDO dept = new DeptDO();
+        dept.setId(id);
+        dept.setParentId(parentId);
+        dept.setName("部门" + id);
+        depts.put(id, dept);
+    }
+
+    private static DeptSaveReqVO buildReqVO(Long id, Long parentId) {
+        DeptSaveReqVO reqVO = new DeptSaveReqVO();
+        reqVO.setId(id);
+        reqVO.setParentId(parentId);
+        reqVO.setName("部门" + (id != null ? id : "新"));
+        reqVO.setSort(0);
+        reqVO.setStatus(0);
+        return reqVO;
+    }
+
+    /**
+     * 断言闭包表，与按部门树逐级向上计算的结果一致
+     */
+    private void assertClosures() {
+        Set<String> expected = new HashSet<>();
+        for (DeptDO dept : depts.values()) {
+            Long ancestorId = dept.getId();
+            for (int depth = 0; depts.containsKey(ancestorId); depth++) {
+                expected.add(ancestorId + ">" + dept.getId() + ":" + depth);
+                ancestorId = depts.get(ancestorId).getParentId();
+            }
+        }
+        Set<String> actual = new HashSet<>();
+        closures.forEach(closure -> actual.add(closure.getAncestorId() + ">" + closure.getDescendantId()
+                + ":" + closure.getDepth()));
+        assertEquals(expected, actual);
+        assertEquals(closures.size(), actual.size(), "闭包表存在重复的记录");
+    }
+
+}
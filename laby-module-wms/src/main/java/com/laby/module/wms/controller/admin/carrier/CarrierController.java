@@ -2,6 +2,7 @@ package com.laby.module.wms.controller.admin.carrier;
 
 import com.laby.framework.common.pojo.CommonResult;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.web.core.stream.CommonStreamResult;
 import com.laby.module.wms.controller.admin.carrier.vo.CarrierPageReqVO;
 import com.laby.module.wms.controller.admin.carrier.vo.CarrierRespVO;
 import com.laby.module.wms.controller.admin.carrier.vo.CarrierSaveReqVO;
@@ -15,8 +16,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 import static com.laby.framework.common.pojo.CommonResult.success;
 
 /**
@@ -115,8 +114,8 @@ public class CarrierController {
     @GetMapping("/simple-list")
     @Operation(summary = "获得承运商简单列表")
     @PreAuthorize("@ss.hasPermission('wms:carrier:query')")
-    public CommonResult<List<CarrierRespVO>> getCarrierSimpleList() {
-        return success(carrierService.getCarrierSimpleList());
+    public CommonStreamResult<CarrierRespVO> getCarrierSimpleList() {
+        return CommonStreamResult.success(carrierService::getCarrierSimpleList);
     }
 }
 
@@ -2,6 +2,7 @@ package com.laby.module.wms.controller.admin.customer;
 
 import com.laby.framework.common.pojo.CommonResult;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.web.core.stream.CommonStreamResult;
 import com.laby.module.wms.controller.admin.customer.vo.CustomerPageReqVO;
 import com.laby.module.wms.controller.admin.customer.vo.CustomerRespVO;
 import com.laby.module.wms.controller.admin.customer.vo.CustomerSaveReqVO;
@@ -15,8 +16,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 import static com.laby.framework.common.pojo.CommonResult.success;
 
 /**
@@ -117,8 +116,8 @@ public class CustomerController {
     @GetMapping("/simple-list")
     @Operation(summary = "获得客户简化列表")
     @PreAuthorize("@ss.hasPermission('wms:customer:query')")
-    public CommonResult<List<CustomerRespVO>> getCustomerSimpleList() {
-        return success(customerService.getCustomerSimpleList());
+    public CommonStreamResult<CustomerRespVO> getCustomerSimpleList() {
+        return CommonStreamResult.success(customerService::getCustomerSimpleList);
     }
 }
 
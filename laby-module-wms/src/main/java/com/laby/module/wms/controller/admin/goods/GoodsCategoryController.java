@@ -4,11 +4,13 @@ import com.laby.framework.apilog.core.annotation.ApiAccessLog;
 import com.laby.framework.common.pojo.CommonResult;
 import com.laby.framework.common.pojo.PageParam;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.web.core.stream.CommonStreamResult;
 import com.laby.module.wms.controller.admin.goods.vo.category.GoodsCategoryPageReqVO;
 import com.laby.module.wms.controller.admin.goods.vo.category.GoodsCategoryRespVO;
 import com.laby.module.wms.controller.admin.goods.vo.category.GoodsCategorySaveReqVO;
 import com.laby.module.wms.convert.goods.GoodsCategoryConvert;
 import com.laby.module.wms.dal.dataobject.goods.GoodsCategoryDO;
+import com.laby.module.wms.framework.version.core.ConditionalVersion;
 import com.laby.module.wms.service.goods.GoodsCategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -23,6 +25,7 @@ import java.util.List;
 
 import static com.laby.framework.apilog.core.enums.OperateTypeEnum.*;
 import static com.laby.framework.common.pojo.CommonResult.success;
+import static com.laby.module.wms.enums.DataVersionConstants.GOODS_CATEGORY;
 
 /**
  * 商品分类管理 Controller
@@ -140,6 +143,7 @@ public class GoodsCategoryController {
      * @return 分类完整列表（扁平结构）
      */
     @GetMapping("/list")
+    @ConditionalVersion(GOODS_CATEGORY)
     @Operation(summary = "获得商品分类列表", description = "返回扁平列表，前端构建树形结构")
     @PreAuthorize("@ss.hasPermission('wms:category:query')")
     public CommonResult<List<GoodsCategoryRespVO>> getGoodsCategoryList(@Valid GoodsCategoryPageReqVO listReqVO) {
@@ -159,11 +163,11 @@ public class GoodsCategoryController {
      * @return 分类完整列表
      */
     @GetMapping("/simple-list")
+    @ConditionalVersion(GOODS_CATEGORY)
     @Operation(summary = "获得商品分类简单列表", description = "返回所有分类，主要用于前端下拉选项")
     @PreAuthorize("@ss.hasPermission('wms:category:query')")
-    public CommonResult<List<GoodsCategoryRespVO>> getGoodsCategorySimpleList() {
-        List<GoodsCategoryDO> list = goodsCategoryService.getGoodsCategorySimpleList();
-        return success(GoodsCategoryConvert.INSTANCE.convertList(list));
+    public CommonStreamResult<GoodsCategoryRespVO> getGoodsCategorySimpleList() {
+        return CommonStreamResult.success(consumer -> goodsCategoryService.getGoodsCategorySimpleList(consumer));
     }
 
 }
@@ -9,6 +9,7 @@ import com.laby.module.wms.controller.admin.goods.vo.goods.GoodsSaveReqVO;
 import com.laby.module.wms.convert.goods.GoodsConvert;
 import com.laby.module.wms.dal.dataobject.goods.GoodsDO;
 import com.laby.module.wms.dal.dataobject.goods.GoodsCategoryDO;
+import com.laby.module.wms.framework.version.core.ConditionalVersion;
 import com.laby.module.wms.service.goods.GoodsService;
 import com.laby.module.wms.service.goods.GoodsCategoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,6 +24,8 @@ import java.util.Map;
 import static com.laby.framework.apilog.core.enums.OperateTypeEnum.*;
 import static com.laby.framework.common.pojo.CommonResult.success;
 import static com.laby.framework.common.util.collection.CollectionUtils.convertSet;
+import static com.laby.module.wms.enums.DataVersionConstants.GOODS;
+import static com.laby.module.wms.enums.DataVersionConstants.GOODS_CATEGORY;
 
 /**
  * 商品信息管理 Controller
@@ -160,6 +163,7 @@ public class GoodsController {
      * @return 商品分页数据（包含分类名称）
      */
     @GetMapping("/page")
+    @ConditionalVersion({GOODS, GOODS_CATEGORY})
     @Operation(summary = "获得商品分页列表")
     @PreAuthorize("@ss.hasPermission('wms:goods:query')")
     public CommonResult<PageResult<GoodsRespVO>> getGoodsPage(@Valid GoodsPageReqVO pageReqVO) {
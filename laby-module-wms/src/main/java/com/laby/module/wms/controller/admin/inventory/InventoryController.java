@@ -26,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.annotation.Resource;
 import jakarta.validation.Valid;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -192,5 +193,39 @@ public class InventoryController {
         return success(result);
     }
 
-}
+    /**
+     * 批量获得商品的可用数量
+     * 
+     * 说明：
+     * - 读取 Redis 中的可用库存投影，不查询 wms_inventory，适合下单、波次规划等高频场景
+     * - 可用数量 = 库存数量 - 锁定数量，按仓库 + 商品汇总
+     * 
+     * @param warehouseId 仓库ID
+     * @param goodsIds 商品ID列表
+     * @return 可用数量，key 为商品ID
+     */
+    @GetMapping("/available-quantity-list")
+    @Operation(summary = "批量获得商品的可用数量")
+    @Parameter(name = "warehouseId", description = "仓库ID", required = true, example = "1")
+    @Parameter(name = "goodsIds", description = "商品ID列表", required = true, example = "1,2,3")
+    @PreAuthorize("@ss.hasPermission('wms:inventory:query')")
+    public CommonResult<Map<Long, BigDecimal>> getAvailableQuantityList(@RequestParam("warehouseId") Long warehouseId,
+                                                                        @RequestParam("goodsIds") List<Long> goodsIds) {
+        return success(inventoryService.getAvailableQuantities(warehouseId, goodsIds));
+    }
 
+    /**
+     * 从数据库重建仓库的可用库存投影
+     * 
+     * @param warehouseId 仓库ID
+     * @return 是否成功，重建期间存在库存变更时为 false，可稍后重试
+     */
+    @PostMapping("/rebuild-available-quantity")
+    @Operation(summary = "重建仓库的可用库存投影")
+    @Parameter(name = "warehouseId", description = "仓库ID", required = true, example = "1")
+    @PreAuthorize("@ss.hasPermission('wms:inventory:update')")
+    public CommonResult<Boolean> rebuildAvailableQuantity(@RequestParam("warehouseId") Long warehouseId) {
+        return success(inventoryService.rebuildAvailableQuantities(warehouseId));
+    }
+
+}
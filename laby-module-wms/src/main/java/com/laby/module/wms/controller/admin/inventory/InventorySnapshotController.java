@@ -2,6 +2,8 @@ package com.laby.module.wms.controller.admin.inventory;
 
 import com.laby.framework.common.pojo.CommonResult;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventoryAsOfReqVO;
+import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventoryAsOfRespVO;
 import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventorySnapshotPageReqVO;
 import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventorySnapshotRespVO;
 import com.laby.module.wms.service.inventory.InventorySnapshotService;
@@ -31,6 +33,7 @@ import static com.laby.framework.common.pojo.CommonResult.success;
  * 接口列表：
  * 1. GET /page - 获取库存快照分页列表
  * 2. GET /trend - 获取库存趋势数据
+ * 3. GET /as-of - 获取历史时点的库存
  * 
  * 权限控制：
  * - wms:inventory-snapshot:query - 查询权限
@@ -84,5 +87,22 @@ public class InventorySnapshotController {
         return success(list);
     }
 
-}
+    /**
+     * 获得历史时点的库存
+     *
+     * 接口说明：
+     * - 用于审计：查询某个时刻的库存，例如「上周二 14:00 仓库 Y 中商品 X 的库存」
+     * - 由最近一次快照 + 之后的库存流水回放计算
+     * - 不传商品ID时，重建整个仓库的库存
+     *
+     * @param reqVO 查询条件
+     * @return 历史时点库存列表
+     */
+    @GetMapping("/as-of")
+    @Operation(summary = "获得历史时点的库存")
+    @PreAuthorize("@ss.hasPermission('wms:inventory-snapshot:query')")
+    public CommonResult<List<InventoryAsOfRespVO>> getInventoryAsOfList(@Valid InventoryAsOfReqVO reqVO) {
+        return success(inventorySnapshotService.getInventoryAsOfList(reqVO));
+    }
 
+}
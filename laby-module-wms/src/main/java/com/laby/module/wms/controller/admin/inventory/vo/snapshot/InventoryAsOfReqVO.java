@@ -0,0 +1,35 @@
+package com.laby.module.wms.controller.admin.inventory.vo.snapshot;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+import static com.laby.framework.common.util.date.DateUtils.FORMAT_YEAR_MONTH_DAY_HOUR_MINUTE_SECOND;
+
+/**
+ * 历史时点库存查询 Request VO
+ *
+ * 用于审计场景：查询某个仓库（或某个商品）在任意历史时刻的库存
+ *
+ * @author laby
+ */
+@Schema(description = "管理后台 - 历史时点库存查询 Request VO")
+@Data
+public class InventoryAsOfReqVO {
+
+    @Schema(description = "仓库ID", requiredMode = Schema.RequiredMode.REQUIRED, example = "1")
+    @NotNull(message = "仓库ID不能为空")
+    private Long warehouseId;
+
+    @Schema(description = "商品ID，为空时查询整个仓库", example = "1")
+    private Long goodsId;
+
+    @Schema(description = "查询时刻", requiredMode = Schema.RequiredMode.REQUIRED, example = "2025-01-28 14:00:00")
+    @NotNull(message = "查询时刻不能为空")
+    @DateTimeFormat(pattern = FORMAT_YEAR_MONTH_DAY_HOUR_MINUTE_SECOND)
+    private LocalDateTime asOfTime;
+
+}
@@ -0,0 +1,50 @@
+package com.laby.module.wms.controller.admin.inventory.vo.snapshot;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 历史时点库存 Response VO
+ *
+ * 由「最近一次快照 + 快照之后到查询时刻的流水回放」计算得到，不对应数据库记录
+ *
+ * @author laby
+ */
+@Schema(description = "管理后台 - 历史时点库存 Response VO")
+@Data
+public class InventoryAsOfRespVO {
+
+    @Schema(description = "仓库ID", requiredMode = Schema.RequiredMode.REQUIRED, example = "1")
+    private Long warehouseId;
+
+    @Schema(description = "仓库名称（关联查询字段）", example = "北京仓")
+    private String warehouseName;
+
+    @Schema(description = "商品ID", requiredMode = Schema.RequiredMode.REQUIRED, example = "1")
+    private Long goodsId;
+
+    @Schema(description = "商品名称（关联查询字段）", example = "iPhone 15 Pro Max 256GB")
+    private String goodsName;
+
+    @Schema(description = "SKU编码（关联查询字段）", example = "SKU-PHONE-001")
+    private String skuCode;
+
+    @Schema(description = "库存数量", requiredMode = Schema.RequiredMode.REQUIRED, example = "100.00")
+    private BigDecimal quantity;
+
+    @Schema(description = "锁定数量", requiredMode = Schema.RequiredMode.REQUIRED, example = "10.00")
+    private BigDecimal lockQuantity;
+
+    @Schema(description = "可用数量（计算字段）", example = "90.00")
+    private BigDecimal availableQuantity;
+
+    @Schema(description = "回放起点的快照日期，为空表示没有快照、从第一条流水开始回放", example = "2025-01-27")
+    private String snapshotDate;
+
+    @Schema(description = "查询时刻", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDateTime asOfTime;
+
+}
@@ -2,6 +2,7 @@ package com.laby.module.wms.controller.admin.stocktaking;
 
 import com.laby.framework.common.pojo.CommonResult;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingBatchSubmitReqVO;
 import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingPageReqVO;
 import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingRespVO;
 import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingSaveReqVO;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.annotation.Resource;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
+import java.util.List;
 
 import static com.laby.framework.common.pojo.CommonResult.success;
 
@@ -126,5 +128,38 @@ public class StockTakingController {
         return success(true);
     }
 
-}
+    /**
+     * 批量提交盘点
+     */
+    @PutMapping("/submit-list")
+    @Operation(summary = "批量提交盘点")
+    public CommonResult<Boolean> submitStockTakingList(@Valid @RequestBody StockTakingBatchSubmitReqVO reqVO) {
+        stockTakingService.submitStockTakingList(reqVO.getItems());
+        return success(true);
+    }
+
+    /**
+     * 批量复核盘点
+     */
+    @PutMapping("/review-list")
+    @Operation(summary = "批量复核盘点")
+    @Parameter(name = "ids", description = "盘点单ID列表", required = true)
+    @PreAuthorize("@ss.hasPermission('wms:stock-taking:review')")
+    public CommonResult<Boolean> reviewStockTakingList(@RequestParam("ids") List<Long> ids) {
+        stockTakingService.reviewStockTakingList(ids);
+        return success(true);
+    }
 
+    /**
+     * 批量调整库存
+     */
+    @PutMapping("/adjust-list")
+    @Operation(summary = "批量调整库存")
+    @Parameter(name = "ids", description = "盘点单ID列表", required = true)
+    @PreAuthorize("@ss.hasPermission('wms:stock-taking:adjust')")
+    public CommonResult<Boolean> adjustStockTakingList(@RequestParam("ids") List<Long> ids) {
+        stockTakingService.adjustStockTakingList(ids);
+        return success(true);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.laby.module.wms.controller.admin.stocktaking.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 盘点单批量提交 Request VO
+ *
+ * 用于 PDA 扫描一个库区后，一次性提交多条盘点单的实盘数量
+ *
+ * @author laby
+ */
+@Schema(description = "管理后台 - 盘点单批量提交 Request VO")
+@Data
+public class StockTakingBatchSubmitReqVO {
+
+    @Schema(description = "盘点明细列表", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "盘点明细不能为空")
+    @Valid
+    private List<Item> items;
+
+    @Schema(description = "盘点明细")
+    @Data
+    public static class Item {
+
+        @Schema(description = "盘点单ID", requiredMode = Schema.RequiredMode.REQUIRED, example = "1")
+        @NotNull(message = "盘点单ID不能为空")
+        private Long id;
+
+        @Schema(description = "实盘数量", requiredMode = Schema.RequiredMode.REQUIRED, example = "98.00")
+        @NotNull(message = "实盘数量不能为空")
+        @DecimalMin(value = "0", message = "实盘数量不能为负数")
+        private BigDecimal actualQuantity;
+
+        @Schema(description = "差异原因", example = "货损")
+        private String diffReason;
+
+    }
+
+}
@@ -2,6 +2,7 @@ package com.laby.module.wms.controller.admin.supplier;
 
 import com.laby.framework.common.pojo.CommonResult;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.web.core.stream.CommonStreamResult;
 import com.laby.module.wms.controller.admin.supplier.vo.SupplierPageReqVO;
 import com.laby.module.wms.controller.admin.supplier.vo.SupplierRespVO;
 import com.laby.module.wms.controller.admin.supplier.vo.SupplierSaveReqVO;
@@ -15,8 +16,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 import static com.laby.framework.common.pojo.CommonResult.success;
 
 /**
@@ -117,8 +116,8 @@ public class SupplierController {
     @GetMapping("/simple-list")
     @Operation(summary = "获得供应商简化列表")
     @PreAuthorize("@ss.hasPermission('wms:supplier:query')")
-    public CommonResult<List<SupplierRespVO>> getSupplierSimpleList() {
-        return success(supplierService.getSupplierSimpleList());
+    public CommonStreamResult<SupplierRespVO> getSupplierSimpleList() {
+        return CommonStreamResult.success(supplierService::getSupplierSimpleList);
     }
 }
 
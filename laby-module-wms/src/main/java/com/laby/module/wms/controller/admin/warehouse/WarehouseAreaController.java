@@ -10,6 +10,7 @@ import com.laby.module.wms.controller.admin.warehouse.vo.area.*;
 import com.laby.module.wms.convert.warehouse.WarehouseAreaConvert;
 import com.laby.module.wms.dal.dataobject.warehouse.WarehouseAreaDO;
 import com.laby.module.wms.dal.dataobject.warehouse.WarehouseDO;
+import com.laby.module.wms.framework.version.core.ConditionalVersion;
 import com.laby.module.wms.service.warehouse.WarehouseAreaService;
 import com.laby.module.wms.service.warehouse.WarehouseService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -28,6 +29,7 @@ import java.util.Map;
 
 import static com.laby.framework.apilog.core.enums.OperateTypeEnum.EXPORT;
 import static com.laby.framework.common.pojo.CommonResult.success;
+import static com.laby.module.wms.enums.DataVersionConstants.WAREHOUSE_AREA;
 
 /**
  * 库区管理 Controller
@@ -187,6 +189,7 @@ public class WarehouseAreaController {
      * @return 该仓库下的所有库区列表
      */
     @GetMapping("/list-by-warehouse-id")
+    @ConditionalVersion(WAREHOUSE_AREA)
     @Operation(summary = "获得指定仓库的所有库区", description = "用于前端下拉框联动，根据仓库ID获取库区列表")
     @Parameter(name = "warehouseId", description = "仓库ID", required = true, example = "1")
     @PreAuthorize("@ss.hasPermission('wms:area:query')")
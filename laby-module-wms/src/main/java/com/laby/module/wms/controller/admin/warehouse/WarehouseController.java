@@ -6,12 +6,14 @@ import com.laby.framework.common.pojo.PageParam;
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.framework.common.util.object.BeanUtils;
 import com.laby.framework.excel.core.util.ExcelUtils;
+import com.laby.framework.web.core.stream.CommonStreamResult;
 import com.laby.module.wms.controller.admin.warehouse.vo.warehouse.WarehousePageReqVO;
 import com.laby.module.wms.controller.admin.warehouse.vo.warehouse.WarehouseRespVO;
 import com.laby.module.wms.controller.admin.warehouse.vo.warehouse.WarehouseSaveReqVO;
 import com.laby.module.wms.controller.admin.warehouse.vo.warehouse.WarehouseSimpleRespVO;
 import com.laby.module.wms.convert.warehouse.WarehouseConvert;
 import com.laby.module.wms.dal.dataobject.warehouse.WarehouseDO;
+import com.laby.module.wms.framework.version.core.ConditionalVersion;
 import com.laby.module.wms.service.warehouse.WarehouseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -28,6 +30,7 @@ import java.util.List;
 
 import static com.laby.framework.apilog.core.enums.OperateTypeEnum.EXPORT;
 import static com.laby.framework.common.pojo.CommonResult.success;
+import static com.laby.module.wms.enums.DataVersionConstants.WAREHOUSE;
 
 /**
  * 仓库管理 Controller
@@ -165,10 +168,10 @@ public class WarehouseController {
      * @return 仓库精简列表
      */
     @GetMapping("/list-all-simple")
+    @ConditionalVersion(WAREHOUSE)
     @Operation(summary = "获得仓库精简信息列表", description = "只包含被开启的仓库，主要用于前端的下拉选项")
-    public CommonResult<List<WarehouseSimpleRespVO>> getSimpleWarehouseList() {
-        List<WarehouseDO> list = warehouseService.getEnableWarehouseList();
-        return success(WarehouseConvert.INSTANCE.convertSimpleList(list));
+    public CommonStreamResult<WarehouseSimpleRespVO> getSimpleWarehouseList() {
+        return CommonStreamResult.success(warehouseService::getEnableWarehouseList, WarehouseConvert.INSTANCE::convertSimple);
     }
 
     /**
@@ -6,11 +6,13 @@ import com.laby.framework.common.pojo.PageParam;
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.framework.common.util.collection.CollectionUtils;
 import com.laby.framework.excel.core.util.ExcelUtils;
+import com.laby.framework.web.core.stream.CommonStreamResult;
 import com.laby.module.wms.controller.admin.warehouse.vo.location.*;
 import com.laby.module.wms.convert.warehouse.WarehouseLocationConvert;
 import com.laby.module.wms.dal.dataobject.warehouse.WarehouseAreaDO;
 import com.laby.module.wms.dal.dataobject.warehouse.WarehouseDO;
 import com.laby.module.wms.dal.dataobject.warehouse.WarehouseLocationDO;
+import com.laby.module.wms.framework.version.core.ConditionalVersion;
 import com.laby.module.wms.service.warehouse.WarehouseAreaService;
 import com.laby.module.wms.service.warehouse.WarehouseLocationService;
 import com.laby.module.wms.service.warehouse.WarehouseService;
@@ -30,6 +32,7 @@ import java.util.Map;
 
 import static com.laby.framework.apilog.core.enums.OperateTypeEnum.EXPORT;
 import static com.laby.framework.common.pojo.CommonResult.success;
+import static com.laby.module.wms.enums.DataVersionConstants.WAREHOUSE_LOCATION;
 
 /**
  * 库位管理 Controller
@@ -202,12 +205,13 @@ public class WarehouseLocationController {
      * @return 该库区下的所有库位列表
      */
     @GetMapping("/list-by-area-id")
+    @ConditionalVersion(WAREHOUSE_LOCATION)
     @Operation(summary = "获得指定库区的所有库位", description = "用于前端下拉框联动，根据库区ID获取库位列表")
     @Parameter(name = "areaId", description = "库区ID", required = true, example = "1")
     @PreAuthorize("@ss.hasPermission('wms:location:query')")
-    public CommonResult<List<WarehouseLocationSimpleRespVO>> getWarehouseLocationListByAreaId(@RequestParam("areaId") Long areaId) {
-        List<WarehouseLocationDO> list = warehouseLocationService.getWarehouseLocationListByAreaId(areaId);
-        return success(WarehouseLocationConvert.INSTANCE.convertSimpleList(list));
+    public CommonStreamResult<WarehouseLocationSimpleRespVO> getWarehouseLocationListByAreaId(@RequestParam("areaId") Long areaId) {
+        return CommonStreamResult.success(consumer -> warehouseLocationService.getWarehouseLocationListByAreaId(areaId, consumer),
+                WarehouseLocationConvert.INSTANCE::convertSimple);
     }
 
     /**
@@ -84,7 +84,7 @@ public interface InventoryLogConvert {
             }
         });
         
-        return new PageResult<>(list, page.getTotal());
+        return new PageResult<>(list, page.getTotal(), page.getNextCursor());
     }
 
 }
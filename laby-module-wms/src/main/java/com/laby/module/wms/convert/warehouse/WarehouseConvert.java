@@ -28,6 +28,8 @@ public interface WarehouseConvert {
 
     PageResult<WarehouseRespVO> convertPage(PageResult<WarehouseDO> page);
 
+    WarehouseSimpleRespVO convertSimple(WarehouseDO bean);
+
     List<WarehouseSimpleRespVO> convertSimpleList(List<WarehouseDO> list);
 
 }
@@ -32,6 +32,8 @@ public interface WarehouseLocationConvert {
 
     PageResult<WarehouseLocationRespVO> convertPage(PageResult<WarehouseLocationDO> page);
 
+    WarehouseLocationSimpleRespVO convertSimple(WarehouseLocationDO bean);
+
     List<WarehouseLocationSimpleRespVO> convertSimpleList(List<WarehouseLocationDO> list);
 
     /**
@@ -0,0 +1,85 @@
+package com.laby.module.wms.dal.dataobject.inventory;
+
+import com.laby.framework.tenant.core.db.TenantBaseDO;
+import com.baomidou.mybatisplus.annotation.KeySequence;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * 库存对账差异 DO
+ * 对应数据库表：wms_inventory_reconcile_diff
+ *
+ * 功能说明：
+ * - 记录库存余额（wms_inventory.quantity）与流水汇总（wms_inventory_log.quantity_change 之和）不一致的维度
+ * - 维度：仓库 + 库位 + 商品 + 批次
+ * - 差异可能来自程序缺陷、手工 SQL、事务失败等
+ *
+ * @author laby
+ */
+@TableName("wms_inventory_reconcile_diff")
+@KeySequence("wms_inventory_reconcile_diff_seq")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryReconcileDiffDO extends TenantBaseDO {
+
+    /**
+     * 差异ID（主键）
+     */
+    @TableId
+    private Long id;
+
+    /**
+     * 对账任务ID
+     * 关联：wms_inventory_reconcile_task.id
+     */
+    private Long taskId;
+
+    /**
+     * 仓库ID
+     */
+    private Long warehouseId;
+
+    /**
+     * 库位ID（可为空）
+     */
+    private Long locationId;
+
+    /**
+     * 商品ID
+     */
+    private Long goodsId;
+
+    /**
+     * 批次号（可为空）
+     */
+    private String batchNo;
+
+    /**
+     * 库存ID
+     * 说明：只有流水、没有库存记录时为空
+     */
+    private Long inventoryId;
+
+    /**
+     * 库存余额
+     */
+    private BigDecimal balanceQuantity;
+
+    /**
+     * 流水汇总数量
+     */
+    private BigDecimal ledgerQuantity;
+
+    /**
+     * 差异数量 = 库存余额 - 流水汇总数量
+     */
+    private BigDecimal diffQuantity;
+
+}
@@ -0,0 +1,76 @@
+package com.laby.module.wms.dal.dataobject.inventory;
+
+import com.laby.framework.tenant.core.db.TenantBaseDO;
+import com.baomidou.mybatisplus.annotation.KeySequence;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 库存对账任务 DO
+ * 对应数据库表：wms_inventory_reconcile_task
+ *
+ * 功能说明：
+ * - 每个仓库每次对账对应一条任务记录
+ * - 按商品ID分片对账，每完成一个分片，记录断点（lastGoodsId）
+ * - 任务中途失败时，下次执行从断点继续，不需要从头开始
+ *
+ * @author laby
+ */
+@TableName("wms_inventory_reconcile_task")
+@KeySequence("wms_inventory_reconcile_task_seq")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryReconcileTaskDO extends TenantBaseDO {
+
+    /**
+     * 任务ID（主键）
+     */
+    @TableId
+    private Long id;
+
+    /**
+     * 仓库ID
+     * 关联：wms_warehouse.id
+     */
+    private Long warehouseId;
+
+    /**
+     * 任务状态
+     *
+     * 枚举 {@link com.laby.module.wms.enums.InventoryReconcileStatusEnum}
+     */
+    private Integer status;
+
+    /**
+     * 断点：已对账完成的最大商品ID
+     */
+    private Long lastGoodsId;
+
+    /**
+     * 已对账的库存维度（库位 + 商品 + 批次）数量
+     */
+    private Long checkedCount;
+
+    /**
+     * 差异数量
+     */
+    private Long diffCount;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime endTime;
+
+}
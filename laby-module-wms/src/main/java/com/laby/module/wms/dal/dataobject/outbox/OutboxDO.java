@@ -0,0 +1,80 @@
+package com.laby.module.wms.dal.dataobject.outbox;
+
+import com.laby.framework.tenant.core.db.TenantBaseDO;
+import com.baomidou.mybatisplus.annotation.KeySequence;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 事务发件箱 DO
+ * 对应数据库表：wms_outbox
+ *
+ * 功能说明：
+ * - 单据状态变更时，与状态更新在同一个事务中写入，保证状态变更与通知同时成功或失败
+ * - 由 OutboxRelayJob 按 ID 顺序读取未发送的记录，发布到 Redis Stream，发布成功后才标记为已发送
+ * - 投递语义为至少一次，消费者需要按幂等键（idempotencyKey）去重
+ *
+ * @author laby
+ */
+@TableName("wms_outbox")
+@KeySequence("wms_outbox_seq")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxDO extends TenantBaseDO {
+
+    /**
+     * 发件箱ID（主键）
+     * 说明：自增，同一单据的状态变更按 ID 顺序发布
+     */
+    @TableId
+    private Long id;
+
+    /**
+     * 单据类型
+     *
+     * 枚举 {@link com.laby.module.wms.enums.OutboxDocumentTypeEnum}
+     */
+    private String documentType;
+
+    /**
+     * 单据ID
+     * 关联：wms_inbound.id、wms_outbound.id、wms_picking_wave.id、wms_stock_move.id
+     */
+    private Long documentId;
+
+    /**
+     * 单据编号
+     * 冗余字段，方便消费者展示
+     */
+    private String documentNo;
+
+    /**
+     * 单据变更后的状态
+     * 说明：对应单据类型的状态枚举
+     */
+    private Integer status;
+
+    /**
+     * 幂等键
+     * 格式：{documentType}:{documentId}:{status}
+     */
+    private String idempotencyKey;
+
+    /**
+     * 是否已发送
+     */
+    private Boolean sent;
+
+    /**
+     * 发送时间
+     */
+    private LocalDateTime sendTime;
+
+}
@@ -1,12 +1,22 @@
 package com.laby.module.wms.dal.mysql.inventory;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.laby.framework.common.enums.PageCountModeEnum;
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.framework.mybatis.core.mapper.BaseMapperX;
 import com.laby.framework.mybatis.core.query.LambdaQueryWrapperX;
 import com.laby.module.wms.controller.admin.inventory.vo.log.InventoryLogPageReqVO;
 import com.laby.module.wms.dal.dataobject.inventory.InventoryLogDO;
+import com.laby.module.wms.enums.InventoryOperationTypeEnum;
 import org.apache.ibatis.annotations.Mapper;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * 库存流水 Mapper
  * 
@@ -41,12 +51,15 @@ public interface InventoryLogMapper extends BaseMapperX<InventoryLogDO> {
      * - 创建时间范围
      * 
      * 排序规则：按创建时间倒序
+     * 
+     * 分页方式：传入 cursor 时使用游标分页（按 ID seek），深翻页耗时恒定，且不查询总量
      *
      * @param reqVO 查询条件
+     * @param defaultCountMode 默认的总量查询模式，reqVO 未指定 countMode 时使用
      * @return 分页结果（仅DO，不包含关联字段）
      */
-    default PageResult<InventoryLogDO> selectPage(InventoryLogPageReqVO reqVO) {
-        return selectPage(reqVO, new LambdaQueryWrapperX<InventoryLogDO>()
+    default PageResult<InventoryLogDO> selectPage(InventoryLogPageReqVO reqVO, PageCountModeEnum defaultCountMode) {
+        LambdaQueryWrapperX<InventoryLogDO> query = new LambdaQueryWrapperX<InventoryLogDO>()
                 .eqIfPresent(InventoryLogDO::getWarehouseId, reqVO.getWarehouseId())
                 .eqIfPresent(InventoryLogDO::getGoodsId, reqVO.getGoodsId())
                 .eqIfPresent(InventoryLogDO::getLocationId, reqVO.getLocationId())
@@ -54,9 +67,97 @@ public interface InventoryLogMapper extends BaseMapperX<InventoryLogDO> {
                 .eqIfPresent(InventoryLogDO::getOperationType, reqVO.getOperationType())
                 .eqIfPresent(InventoryLogDO::getBusinessType, reqVO.getBusinessType())
                 .likeIfPresent(InventoryLogDO::getBusinessNo, reqVO.getBusinessNo())
-                .betweenIfPresent(InventoryLogDO::getCreateTime, reqVO.getCreateTime())
-                .orderByDesc(InventoryLogDO::getId));
+                .betweenIfPresent(InventoryLogDO::getCreateTime, reqVO.getCreateTime());
+        // 游标分页：深翻页时按 ID seek，避免 OFFSET 扫描和 COUNT 查询
+        if (reqVO.getCursor() != null) {
+            return selectPageAfter(reqVO.getCursor(), reqVO.getPageSize(), InventoryLogDO::getId, false, query);
+        }
+        return selectPage(reqVO, defaultCountMode, query.orderByDesc(InventoryLogDO::getId));
     }
 
-}
+    /**
+     * 查询时间范围内有流水的商品ID
+     *
+     * @param warehouseId 仓库ID
+     * @param beginTime   开始时间（包含），为 null 时不限制
+     * @param endTime     结束时间（不包含）
+     * @return 商品ID列表
+     */
+    default List<Long> selectGoodsIdListByCreateTime(Long warehouseId, LocalDateTime beginTime, LocalDateTime endTime) {
+        return selectObjs(new LambdaQueryWrapperX<InventoryLogDO>()
+                .eq(InventoryLogDO::getWarehouseId, warehouseId)
+                .geIfPresent(InventoryLogDO::getCreateTime, beginTime)
+                .lt(InventoryLogDO::getCreateTime, endTime)
+                .select(InventoryLogDO::getGoodsId)
+                .groupBy(InventoryLogDO::getGoodsId));
+    }
 
+    /**
+     * 流式查询时间范围内的流水，用于库存回放
+     *
+     * 只查询回放需要的字段，通过 {@link #selectStream} 在驱动层面流式读取，逐条交给 consumer 处理，避免一次性构建大列表。
+     * 注意，consumer 中不能再查询数据库
+     *
+     * @param warehouseId 仓库ID
+     * @param goodsIds    商品ID集合
+     * @param beginTime   开始时间（包含），为 null 时不限制
+     * @param endTime     结束时间（不包含）
+     * @param consumer    逐条处理
+     */
+    default void selectListByCreateTime(Long warehouseId, Collection<Long> goodsIds,
+                                        LocalDateTime beginTime, LocalDateTime endTime,
+                                        Consumer<InventoryLogDO> consumer) {
+        selectStream(new LambdaQueryWrapperX<InventoryLogDO>()
+                .eq(InventoryLogDO::getWarehouseId, warehouseId)
+                .in(InventoryLogDO::getGoodsId, goodsIds)
+                .geIfPresent(InventoryLogDO::getCreateTime, beginTime)
+                .lt(InventoryLogDO::getCreateTime, endTime)
+                .select(InventoryLogDO::getGoodsId, InventoryLogDO::getOperationType, InventoryLogDO::getQuantityChange),
+                consumer);
+    }
+
+    /**
+     * 按商品ID区间，汇总（库位、商品、批次）维度的流水变化数量，用于对账
+     *
+     * 锁定、解锁不影响库存数量，不参与汇总。汇总结果放在 quantityChange 字段
+     *
+     * @param warehouseId 仓库ID
+     * @param fromGoodsId 开始商品ID（不包含）
+     * @param toGoodsId   结束商品ID（包含），为 null 时不限制
+     * @return 汇总列表，按商品ID升序
+     */
+    default List<InventoryLogDO> selectQuantitySumListByGoodsIdRange(Long warehouseId, Long fromGoodsId, Long toGoodsId) {
+        return selectList(buildQuantitySumQuery()
+                .eq(InventoryLogDO::getWarehouseId, warehouseId)
+                .gt(InventoryLogDO::getGoodsId, fromGoodsId)
+                .le(toGoodsId != null, InventoryLogDO::getGoodsId, toGoodsId)
+                .groupBy(InventoryLogDO::getGoodsId, InventoryLogDO::getLocationId, InventoryLogDO::getBatchNo)
+                .orderByAsc(InventoryLogDO::getGoodsId));
+    }
+
+    /**
+     * 汇总（仓库、库位、商品、批次）维度的流水变化数量
+     *
+     * @return 汇总数量，没有流水时为 0
+     */
+    default BigDecimal selectQuantitySumByKey(Long warehouseId, Long locationId, Long goodsId, String batchNo) {
+        InventoryLogDO sum = selectOne(buildQuantitySumQuery()
+                .eq(InventoryLogDO::getWarehouseId, warehouseId)
+                .eq(locationId != null, InventoryLogDO::getLocationId, locationId)
+                .isNull(locationId == null, InventoryLogDO::getLocationId)
+                .eq(InventoryLogDO::getGoodsId, goodsId)
+                .eq(batchNo != null, InventoryLogDO::getBatchNo, batchNo)
+                .isNull(batchNo == null, InventoryLogDO::getBatchNo)
+                .groupBy(InventoryLogDO::getGoodsId, InventoryLogDO::getLocationId, InventoryLogDO::getBatchNo));
+        return sum != null && sum.getQuantityChange() != null ? sum.getQuantityChange() : BigDecimal.ZERO;
+    }
+
+    private static LambdaQueryWrapper<InventoryLogDO> buildQuantitySumQuery() {
+        return new QueryWrapper<InventoryLogDO>()
+                .select("goods_id", "location_id", "batch_no", "SUM(quantity_change) AS quantity_change")
+                .lambda()
+                .notIn(InventoryLogDO::getOperationType,
+                        InventoryOperationTypeEnum.LOCK.getType(), InventoryOperationTypeEnum.UNLOCK.getType());
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.laby.module.wms.dal.mysql.inventory;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.laby.framework.common.enums.PageCountModeEnum;
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.framework.mybatis.core.mapper.BaseMapperX;
 import com.laby.framework.mybatis.core.query.LambdaQueryWrapperX;
@@ -8,6 +10,9 @@ import com.laby.module.wms.controller.admin.report.vo.InventoryReportReqVO;
 import com.laby.module.wms.dal.dataobject.inventory.InventoryDO;
 import org.apache.ibatis.annotations.Mapper;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 库存信息 Mapper
  * 数据访问层，使用 MyBatis Plus
@@ -48,19 +53,27 @@ public interface InventoryMapper extends BaseMapperX<InventoryDO> {
      * 排序规则：
      * - 先按更新时间降序（最近更新的在前）
      * 
+     * 分页方式：
+     * - 传入 cursor 时使用游标分页，按 ID 降序 seek，深翻页耗时恒定，且不查询总量。
+     *   不按更新时间 seek：更新时间是可变的，翻页期间被更新的库存会跳过或重复出现，为空时游标也无法使用
+     * 
      * @param reqVO 分页查询条件
+     * @param defaultCountMode 默认的总量查询模式，reqVO 未指定 countMode 时使用
      * @return 库存分页结果
      */
-    default PageResult<InventoryDO> selectPage(InventoryPageReqVO reqVO) {
-        return selectPage(reqVO, new LambdaQueryWrapperX<InventoryDO>()
+    default PageResult<InventoryDO> selectPage(InventoryPageReqVO reqVO, PageCountModeEnum defaultCountMode) {
+        LambdaQueryWrapperX<InventoryDO> query = new LambdaQueryWrapperX<InventoryDO>()
                 .eqIfPresent(InventoryDO::getWarehouseId, reqVO.getWarehouseId())
                 .eqIfPresent(InventoryDO::getLocationId, reqVO.getLocationId())
                 .eqIfPresent(InventoryDO::getGoodsId, reqVO.getGoodsId())
                 .eqIfPresent(InventoryDO::getBatchNo, reqVO.getBatchNo())
                 .eqIfPresent(InventoryDO::getSerialNo, reqVO.getSerialNo())
                 .eqIfPresent(InventoryDO::getStatus, reqVO.getStatus())
-                .betweenIfPresent(InventoryDO::getCreateTime, reqVO.getCreateTime())
-                .orderByDesc(InventoryDO::getUpdateTime));
+                .betweenIfPresent(InventoryDO::getCreateTime, reqVO.getCreateTime());
+        if (reqVO.getCursor() != null) {
+            return selectPageAfter(reqVO.getCursor(), reqVO.getPageSize(), InventoryDO::getId, false, query);
+        }
+        return selectPage(reqVO, defaultCountMode, query.orderByDesc(InventoryDO::getUpdateTime));
     }
 
     /**
@@ -75,5 +88,111 @@ public interface InventoryMapper extends BaseMapperX<InventoryDO> {
                 .orderByDesc(InventoryDO::getUpdateTime));
     }
 
-}
+    /**
+     * 按仓库和商品批量查询库存，并加行锁（SELECT ... FOR UPDATE）
+     *
+     * 用于批量调整库存时，一次性加载涉及的库存行，再在内存中按（仓库、库位、商品、批次）匹配。
+     * 加锁后，并发调整同一库存行的事务会排队，调整前数量、调整后数量都基于最新值计算，不会丢失更新；
+     * 按 ID 升序加锁，保证多个事务的加锁顺序一致，避免死锁
+     *
+     * 注意：必须在事务中调用，行锁在事务结束时释放
+     *
+     * @param warehouseIds 仓库ID集合
+     * @param goodsIds 商品ID集合
+     * @return 库存列表
+     */
+    default List<InventoryDO> selectListByWarehouseIdsAndGoodsIdsForUpdate(Collection<Long> warehouseIds, Collection<Long> goodsIds) {
+        return selectList(new LambdaQueryWrapperX<InventoryDO>()
+                .in(InventoryDO::getWarehouseId, warehouseIds)
+                .in(InventoryDO::getGoodsId, goodsIds)
+                .orderByAsc(InventoryDO::getId)
+                .last("FOR UPDATE"));
+    }
 
+    /**
+     * 按商品ID顺序，查询断点之后的商品ID，用于对账分片
+     *
+     * @param warehouseId 仓库ID
+     * @param lastGoodsId 断点：已处理的最大商品ID（不包含）
+     * @param limit       数量
+     * @return 商品ID列表，升序
+     */
+    default List<Long> selectGoodsIdListAfter(Long warehouseId, Long lastGoodsId, int limit) {
+        return selectObjs(new LambdaQueryWrapperX<InventoryDO>()
+                .eq(InventoryDO::getWarehouseId, warehouseId)
+                .gt(InventoryDO::getGoodsId, lastGoodsId)
+                .select(InventoryDO::getGoodsId)
+                .groupBy(InventoryDO::getGoodsId)
+                .orderByAsc(InventoryDO::getGoodsId)
+                .last("LIMIT " + limit));
+    }
+
+    /**
+     * 按商品ID区间查询库存，只查询对账需要的字段
+     *
+     * @param warehouseId 仓库ID
+     * @param fromGoodsId 开始商品ID（不包含）
+     * @param toGoodsId   结束商品ID（包含），为 null 时不限制
+     * @return 库存列表，按商品ID升序
+     */
+    default List<InventoryDO> selectListByGoodsIdRange(Long warehouseId, Long fromGoodsId, Long toGoodsId) {
+        return selectList(new LambdaQueryWrapperX<InventoryDO>()
+                .eq(InventoryDO::getWarehouseId, warehouseId)
+                .gt(InventoryDO::getGoodsId, fromGoodsId)
+                .le(toGoodsId != null, InventoryDO::getGoodsId, toGoodsId)
+                .select(InventoryDO::getId, InventoryDO::getLocationId, InventoryDO::getGoodsId,
+                        InventoryDO::getBatchNo, InventoryDO::getQuantity, InventoryDO::getLockQuantity)
+                .orderByAsc(InventoryDO::getGoodsId));
+    }
+
+    /**
+     * 按（仓库、库位、商品、批次）查询库存
+     *
+     * @param warehouseId 仓库ID
+     * @param locationId  库位ID，可为空
+     * @param goodsId     商品ID
+     * @param batchNo     批次号，可为空
+     * @return 库存列表（不同序列号时存在多条）
+     */
+    default List<InventoryDO> selectListByKey(Long warehouseId, Long locationId, Long goodsId, String batchNo) {
+        return selectList(new LambdaQueryWrapperX<InventoryDO>()
+                .eq(InventoryDO::getWarehouseId, warehouseId)
+                .eq(locationId != null, InventoryDO::getLocationId, locationId)
+                .isNull(locationId == null, InventoryDO::getLocationId)
+                .eq(InventoryDO::getGoodsId, goodsId)
+                .eq(batchNo != null, InventoryDO::getBatchNo, batchNo)
+                .isNull(batchNo == null, InventoryDO::getBatchNo));
+    }
+
+    /**
+     * 按商品汇总仓库的可用数量（quantity - lockQuantity），用于重建可用库存投影
+     *
+     * @param warehouseId 仓库ID
+     * @return 库存列表，只有 goodsId 和 quantity 字段，其中 quantity 为可用数量的汇总
+     */
+    default List<InventoryDO> selectAvailableQuantitySumListByWarehouseId(Long warehouseId) {
+        return selectList(new QueryWrapper<InventoryDO>()
+                .select("goods_id", "SUM(quantity - COALESCE(lock_quantity, 0)) AS quantity")
+                .lambda()
+                .eq(InventoryDO::getWarehouseId, warehouseId)
+                .groupBy(InventoryDO::getGoodsId));
+    }
+
+    /**
+     * 按商品汇总仓库内指定商品的可用数量（quantity - lockQuantity），用于可用库存投影未构建时的查询
+     *
+     * @param warehouseId 仓库ID
+     * @param goodsIds 商品ID集合
+     * @return 库存列表，只有 goodsId 和 quantity 字段，其中 quantity 为可用数量的汇总
+     */
+    default List<InventoryDO> selectAvailableQuantitySumListByWarehouseIdAndGoodsIds(Long warehouseId,
+                                                                                      Collection<Long> goodsIds) {
+        return selectList(new QueryWrapper<InventoryDO>()
+                .select("goods_id", "SUM(quantity - COALESCE(lock_quantity, 0)) AS quantity")
+                .lambda()
+                .eq(InventoryDO::getWarehouseId, warehouseId)
+                .in(InventoryDO::getGoodsId, goodsIds)
+                .groupBy(InventoryDO::getGoodsId));
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.laby.module.wms.dal.mysql.inventory;
+
+import com.laby.framework.mybatis.core.mapper.BaseMapperX;
+import com.laby.framework.mybatis.core.query.LambdaQueryWrapperX;
+import com.laby.module.wms.dal.dataobject.inventory.InventoryReconcileDiffDO;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 库存对账差异 Mapper
+ *
+ * @author laby
+ */
+@Mapper
+public interface InventoryReconcileDiffMapper extends BaseMapperX<InventoryReconcileDiffDO> {
+
+    /**
+     * 删除断点之后的差异记录
+     *
+     * 断点续跑时，上次未完成的分片会重新对账，先删除该分片已写入的差异，避免重复
+     *
+     * @param taskId      对账任务ID
+     * @param lastGoodsId 断点：已对账完成的最大商品ID
+     * @return 删除条数
+     */
+    default int deleteByTaskIdAndGoodsIdGt(Long taskId, Long lastGoodsId) {
+        return delete(new LambdaQueryWrapperX<InventoryReconcileDiffDO>()
+                .eq(InventoryReconcileDiffDO::getTaskId, taskId)
+                .gt(InventoryReconcileDiffDO::getGoodsId, lastGoodsId));
+    }
+
+}
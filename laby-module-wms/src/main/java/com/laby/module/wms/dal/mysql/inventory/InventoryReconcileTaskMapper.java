@@ -0,0 +1,31 @@
+package com.laby.module.wms.dal.mysql.inventory;
+
+import com.laby.framework.mybatis.core.mapper.BaseMapperX;
+import com.laby.framework.mybatis.core.query.LambdaQueryWrapperX;
+import com.laby.module.wms.dal.dataobject.inventory.InventoryReconcileTaskDO;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 库存对账任务 Mapper
+ *
+ * @author laby
+ */
+@Mapper
+public interface InventoryReconcileTaskMapper extends BaseMapperX<InventoryReconcileTaskDO> {
+
+    /**
+     * 查询仓库最近一条指定状态的对账任务，用于断点续跑
+     *
+     * @param warehouseId 仓库ID
+     * @param status      任务状态
+     * @return 对账任务
+     */
+    default InventoryReconcileTaskDO selectLastByWarehouseIdAndStatus(Long warehouseId, Integer status) {
+        return selectOne(new LambdaQueryWrapperX<InventoryReconcileTaskDO>()
+                .eq(InventoryReconcileTaskDO::getWarehouseId, warehouseId)
+                .eq(InventoryReconcileTaskDO::getStatus, status)
+                .orderByDesc(InventoryReconcileTaskDO::getId)
+                .last("LIMIT 1"));
+    }
+
+}
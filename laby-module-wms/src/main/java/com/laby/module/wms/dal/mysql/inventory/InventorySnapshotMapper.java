@@ -1,5 +1,6 @@
 package com.laby.module.wms.dal.mysql.inventory;
 
+import cn.hutool.core.collection.CollUtil;
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.framework.mybatis.core.mapper.BaseMapperX;
 import com.laby.framework.mybatis.core.query.LambdaQueryWrapperX;
@@ -74,5 +75,43 @@ public interface InventorySnapshotMapper extends BaseMapperX<InventorySnapshotDO
                 .orderByAsc(InventorySnapshotDO::getSnapshotDate));
     }
 
-}
+    /**
+     * 查询商品在指定日期之前的最近一条快照
+     *
+     * @param warehouseId  仓库ID
+     * @param goodsId      商品ID
+     * @param snapshotDate 快照日期（不包含），格式：YYYY-MM-DD
+     * @return 快照，不存在时返回 null
+     */
+    default InventorySnapshotDO selectLatestBefore(Long warehouseId, Long goodsId, String snapshotDate) {
+        return selectOne(new LambdaQueryWrapperX<InventorySnapshotDO>()
+                .eq(InventorySnapshotDO::getWarehouseId, warehouseId)
+                .eq(InventorySnapshotDO::getGoodsId, goodsId)
+                .lt(InventorySnapshotDO::getSnapshotDate, snapshotDate)
+                .orderByDesc(InventorySnapshotDO::getSnapshotDate)
+                .last("LIMIT 1"));
+    }
 
+    /**
+     * 查询仓库在指定日期之前的最近快照日期
+     *
+     * @param warehouseId  仓库ID
+     * @param snapshotDate 快照日期（不包含），格式：YYYY-MM-DD
+     * @return 快照日期，不存在时返回 null
+     */
+    default String selectLatestSnapshotDateBefore(Long warehouseId, String snapshotDate) {
+        List<String> dates = selectObjs(new LambdaQueryWrapperX<InventorySnapshotDO>()
+                .eq(InventorySnapshotDO::getWarehouseId, warehouseId)
+                .lt(InventorySnapshotDO::getSnapshotDate, snapshotDate)
+                .orderByDesc(InventorySnapshotDO::getSnapshotDate)
+                .last("LIMIT 1")
+                .select(InventorySnapshotDO::getSnapshotDate));
+        return CollUtil.getFirst(dates);
+    }
+
+    default List<InventorySnapshotDO> selectListByWarehouseIdAndSnapshotDate(Long warehouseId, String snapshotDate) {
+        return selectList(InventorySnapshotDO::getWarehouseId, warehouseId,
+                InventorySnapshotDO::getSnapshotDate, snapshotDate);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.laby.module.wms.dal.mysql.outbox;
+
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.laby.framework.mybatis.core.mapper.BaseMapperX;
+import com.laby.framework.mybatis.core.query.LambdaQueryWrapperX;
+import com.laby.module.wms.dal.dataobject.outbox.OutboxDO;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 事务发件箱 Mapper
+ *
+ * @author laby
+ */
+@Mapper
+public interface OutboxMapper extends BaseMapperX<OutboxDO> {
+
+    /**
+     * 按 ID 游标，查询未发送的记录
+     *
+     * @param lastId 游标：已处理的最大ID（不包含）
+     * @param limit  数量
+     * @return 发件箱列表，按 ID 升序
+     */
+    default List<OutboxDO> selectListBySentAndIdGt(Long lastId, int limit) {
+        return selectList(new LambdaQueryWrapperX<OutboxDO>()
+                .eq(OutboxDO::getSent, false)
+                .gt(OutboxDO::getId, lastId)
+                .orderByAsc(OutboxDO::getId)
+                .last("LIMIT " + limit));
+    }
+
+    /**
+     * 批量标记为已发送
+     *
+     * @param ids      发件箱ID集合
+     * @param sendTime 发送时间
+     * @return 更新条数
+     */
+    default int updateSentByIds(Collection<Long> ids, LocalDateTime sendTime) {
+        return update(new LambdaUpdateWrapper<OutboxDO>()
+                .set(OutboxDO::getSent, true)
+                .set(OutboxDO::getSendTime, sendTime)
+                .in(OutboxDO::getId, ids));
+    }
+
+    /**
+     * 物理删除指定时间之前已发送的记录
+     *
+     * @param createTime 最大时间
+     * @param limit      删除条数，防止一次删除太多
+     * @return 删除条数
+     */
+    @Delete("DELETE FROM wms_outbox WHERE sent = 1 AND create_time < #{createTime} LIMIT #{limit}")
+    Integer deleteBySentAndCreateTimeLt(@Param("createTime") LocalDateTime createTime, @Param("limit") Integer limit);
+
+}
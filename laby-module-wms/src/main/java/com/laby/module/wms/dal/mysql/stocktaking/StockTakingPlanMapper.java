@@ -1,5 +1,6 @@
 package com.laby.module.wms.dal.mysql.stocktaking;
 
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.framework.mybatis.core.mapper.BaseMapperX;
 import com.laby.framework.mybatis.core.query.LambdaQueryWrapperX;
@@ -43,5 +44,21 @@ public interface StockTakingPlanMapper extends BaseMapperX<StockTakingPlanDO> {
         return selectOne(StockTakingPlanDO::getPlanNo, planNo);
     }
 
-}
+    /**
+     * 累加盘点计划的已完成数、差异数
+     *
+     * 使用 completed_count = completed_count + ? 的方式原子累加，批量提交时每个计划只更新一次
+     *
+     * @param id 盘点计划ID
+     * @param completedIncr 已完成数增量
+     * @param diffIncr 差异数增量
+     * @return 更新条数
+     */
+    default int updateCountIncr(Long id, int completedIncr, int diffIncr) {
+        return update(null, new LambdaUpdateWrapper<StockTakingPlanDO>()
+                .eq(StockTakingPlanDO::getId, id)
+                .setSql("completed_count = COALESCE(completed_count, 0) + {0}", completedIncr)
+                .setSql("diff_count = COALESCE(diff_count, 0) + {0}", diffIncr));
+    }
 
+}
@@ -7,7 +7,7 @@ import com.laby.module.wms.controller.admin.warehouse.vo.location.WarehouseLocat
 import com.laby.module.wms.dal.dataobject.warehouse.WarehouseLocationDO;
 import org.apache.ibatis.annotations.Mapper;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 库位 Mapper
@@ -79,11 +79,11 @@ public interface WarehouseLocationMapper extends BaseMapperX<WarehouseLocationDO
      * - 主要用于前端"仓库-库区-库位"三级联动下拉框
      * - 返回该库区下的所有库位（不限制状态）
      *
-     * @param areaId 库区ID
-     * @return 该库区下的所有库位列表
+     * @param areaId   库区ID
+     * @param consumer 逐条处理
      */
-    default List<WarehouseLocationDO> selectListByAreaId(Long areaId) {
-        return selectList(WarehouseLocationDO::getAreaId, areaId);
+    default void selectListByAreaId(Long areaId, Consumer<WarehouseLocationDO> consumer) {
+        selectStream(new LambdaQueryWrapperX<WarehouseLocationDO>().eq(WarehouseLocationDO::getAreaId, areaId), consumer);
     }
 
     /**
@@ -7,7 +7,7 @@ import com.laby.module.wms.controller.admin.warehouse.vo.warehouse.WarehousePage
 import com.laby.module.wms.dal.dataobject.warehouse.WarehouseDO;
 import org.apache.ibatis.annotations.Mapper;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 仓库 Mapper
@@ -72,11 +72,11 @@ public interface WarehouseMapper extends BaseMapperX<WarehouseDO> {
      * - 主要用于查询所有启用的仓库
      * - 用于前端下拉框选择
      *
-     * @param status 状态（0-禁用，1-启用）
-     * @return 指定状态的仓库列表
+     * @param status   状态（0-禁用，1-启用）
+     * @param consumer 逐条处理
      */
-    default List<WarehouseDO> selectListByStatus(Integer status) {
-        return selectList(WarehouseDO::getStatus, status);
+    default void selectListByStatus(Integer status, Consumer<WarehouseDO> consumer) {
+        selectStream(new LambdaQueryWrapperX<WarehouseDO>().eq(WarehouseDO::getStatus, status), consumer);
     }
 
 }
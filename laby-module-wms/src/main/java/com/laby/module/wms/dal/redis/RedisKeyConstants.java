@@ -0,0 +1,28 @@
+package com.laby.module.wms.dal.redis;
+
+/**
+ * WMS Redis Key 枚举类
+ *
+ * @author laby
+ */
+public interface RedisKeyConstants {
+
+    /**
+     * 可用库存（ATP，Available To Promise）的投影
+     * <p>
+     * KEY 格式：wms_inventory_atp_v2:{tenantId}:{warehouseId}
+     * VALUE 数据类型：HASH 商品编号 - 可用数量（quantity - lockQuantity 的汇总，以最小单位的整数存储）
+     * <p>
+     * v2 的数量由小数改为整数，使用新的 KEY，避免对旧格式的数据执行 HINCRBY 失败
+     */
+    String INVENTORY_ATP = "wms_inventory_atp_v2:%d:%d";
+
+    /**
+     * 数据的版本号，用于 ETag 条件请求
+     * <p>
+     * KEY 格式：wms_data_version:{tenantId}:{name}
+     * VALUE 数据类型：String 版本号，初始值为当前毫秒时间戳，数据增删改时递增
+     */
+    String DATA_VERSION = "wms_data_version:%d:%s";
+
+}
@@ -0,0 +1,200 @@
+package com.laby.module.wms.dal.redis.inventory;
+
+import cn.hutool.core.util.StrUtil;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import jakarta.annotation.Resource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+import static com.laby.module.wms.dal.redis.RedisKeyConstants.INVENTORY_ATP;
+
+/**
+ * 可用库存（ATP）投影的 RedisDAO
+ *
+ * 每个租户 + 仓库一个 HASH，field 为商品编号，value 为该商品在仓库内的可用数量汇总。
+ * 数量以 {@link #SCALE} 位小数的最小单位（整数）存储，使用 HINCRBY 增量更新，不存在浮点数的精度丢失
+ *
+ * 另外，有两个特殊的 field：
+ * 1. {@link #FIELD_BUILT}：投影已从数据库构建完成的标记
+ * 2. {@link #FIELD_VERSION}：版本号，每次增量更新时递增。整体替换时，只有版本号未变化才写入，避免覆盖掉并发的增量更新
+ *
+ * @author laby
+ */
+@Repository
+public class InventoryAtpRedisDAO {
+
+    /**
+     * 数量的小数位数，超出的部分四舍五入
+     */
+    private static final int SCALE = 6;
+
+    /**
+     * 投影已从数据库构建完成的标记字段
+     *
+     * 增量更新可能在构建前就创建了 KEY，此时投影是不完整的，没有该字段时需要重建
+     */
+    private static final String FIELD_BUILT = "_built";
+    /**
+     * 版本号字段
+     */
+    private static final String FIELD_VERSION = "_version";
+
+    /**
+     * 增量更新的脚本：逐个 HINCRBY，并递增版本号
+     *
+     * KEYS[1]：HASH KEY
+     * ARGV：商品编号、变化数量（最小单位），成对出现
+     */
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #ARGV, 2 do\n"
+            + "  redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1])\n"
+            + "end\n"
+            + "return redis.call('HINCRBY', KEYS[1], '" + FIELD_VERSION + "', 1)", Long.class);
+
+    /**
+     * 整体替换的脚本：版本号与预期一致时，才替换为新的数量，并保留版本号
+     *
+     * KEYS[1]：HASH KEY
+     * ARGV[1]：预期的版本号
+     * ARGV[2...]：商品编号、数量（最小单位），成对出现
+     */
+    private static final RedisScript<Long> REPLACE_SCRIPT = new DefaultRedisScript<>(
+            "local version = redis.call('HGET', KEYS[1], '" + FIELD_VERSION + "') or '0'\n"
+            + "if version ~= ARGV[1] then\n"
+            + "  return 0\n"
+            + "end\n"
+            + "redis.call('DEL', KEYS[1])\n"
+            + "for i = 2, #ARGV, 2 do\n"
+            + "  redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])\n"
+            + "end\n"
+            + "redis.call('HSET', KEYS[1], '" + FIELD_BUILT + "', '1', '" + FIELD_VERSION + "', version)\n"
+            + "return 1", Long.class);
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 批量获得商品的可用数量，只需要一次 HMGET
+     *
+     * @param tenantId    租户编号
+     * @param warehouseId 仓库编号
+     * @param goodsIds    商品编号集合
+     * @return 可用数量，没有库存的商品为 0；投影未构建时，返回 null
+     */
+    public Map<Long, BigDecimal> getMap(Long tenantId, Long warehouseId, Collection<Long> goodsIds) {
+        List<Long> goodsIdList = new ArrayList<>(new LinkedHashSet<>(goodsIds));
+        List<Object> fields = new ArrayList<>(goodsIdList.size() + 1);
+        fields.add(FIELD_BUILT);
+        goodsIdList.forEach(goodsId -> fields.add(String.valueOf(goodsId)));
+        List<Object> values = stringRedisTemplate.opsForHash().multiGet(formatKey(tenantId, warehouseId), fields);
+        if (values.get(0) == null) {
+            return null;
+        }
+        Map<Long, BigDecimal> result = new HashMap<>(goodsIdList.size());
+        for (int i = 0; i < goodsIdList.size(); i++) {
+            result.put(goodsIdList.get(i), parseQuantity(values.get(i + 1)));
+        }
+        return result;
+    }
+
+    /**
+     * 获得仓库所有商品的可用数量，用于一致性校验
+     *
+     * @return 可用数量；投影未构建时，返回 null
+     */
+    public Map<Long, BigDecimal> getAll(Long tenantId, Long warehouseId) {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(formatKey(tenantId, warehouseId));
+        if (!entries.containsKey(FIELD_BUILT)) {
+            return null;
+        }
+        Map<Long, BigDecimal> result = new HashMap<>(entries.size());
+        entries.forEach((field, value) -> {
+            if (!FIELD_BUILT.equals(field) && !FIELD_VERSION.equals(field)) {
+                result.put(Long.valueOf((String) field), parseQuantity(value));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 获得投影的版本号，用于 {@link #replace(Long, Long, Map, long)} 的比较
+     *
+     * 需要在查询数据库之前获取，这样查询期间发生的增量更新，都会导致替换失败
+     *
+     * @return 版本号；KEY 不存在时，返回 0
+     */
+    public long getVersion(Long tenantId, Long warehouseId) {
+        Object version = stringRedisTemplate.opsForHash().get(formatKey(tenantId, warehouseId), FIELD_VERSION);
+        return version != null ? Long.parseLong((String) version) : 0L;
+    }
+
+    /**
+     * 批量增量更新可用数量
+     *
+     * 每个仓库执行一次脚本，HINCRBY 并递增版本号。并发的多个事务之间无需互相等待，也不会互相覆盖
+     *
+     * @param tenantId 租户编号
+     * @param deltas   变化数量，key1：仓库编号，key2：商品编号
+     */
+    public void increment(Long tenantId, Map<Long, Map<Long, BigDecimal>> deltas) {
+        deltas.forEach((warehouseId, goodsDeltas) -> {
+            List<String> args = new ArrayList<>(goodsDeltas.size() * 2);
+            goodsDeltas.forEach((goodsId, delta) -> {
+                if (delta.signum() != 0) {
+                    args.add(String.valueOf(goodsId));
+                    args.add(formatQuantity(delta));
+                }
+            });
+            if (args.isEmpty()) {
+                return;
+            }
+            stringRedisTemplate.execute(INCREMENT_SCRIPT, Collections.singletonList(formatKey(tenantId, warehouseId)),
+                    args.toArray());
+        });
+    }
+
+    /**
+     * 整体替换仓库的可用数量
+     *
+     * 只有版本号与 version 一致时，才替换：说明从获取版本号到现在，没有发生增量更新，quantities 是最新的。
+     * 否则放弃替换，由调用方稍后重试，避免覆盖掉并发的增量更新
+     *
+     * @param quantities 可用数量，从数据库查询
+     * @param version    查询数据库前，通过 {@link #getVersion(Long, Long)} 获取的版本号
+     * @return 是否替换成功
+     */
+    public boolean replace(Long tenantId, Long warehouseId, Map<Long, BigDecimal> quantities, long version) {
+        List<String> args = new ArrayList<>(quantities.size() * 2 + 1);
+        args.add(String.valueOf(version));
+        quantities.forEach((goodsId, quantity) -> {
+            args.add(String.valueOf(goodsId));
+            args.add(formatQuantity(quantity));
+        });
+        Long result = stringRedisTemplate.execute(REPLACE_SCRIPT,
+                Collections.singletonList(formatKey(tenantId, warehouseId)), args.toArray());
+        return result != null && result == 1L;
+    }
+
+    private static String formatQuantity(BigDecimal quantity) {
+        return String.valueOf(quantity.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    private static BigDecimal parseQuantity(Object value) {
+        if (value == null || StrUtil.isBlank((String) value)) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal quantity = BigDecimal.valueOf(Long.parseLong((String) value), SCALE).stripTrailingZeros();
+        // 避免 100 变成 1E+2 的科学计数法
+        return quantity.scale() < 0 ? quantity.setScale(0) : quantity;
+    }
+
+    private static String formatKey(Long tenantId, Long warehouseId) {
+        return String.format(INVENTORY_ATP, tenantId, warehouseId);
+    }
+
+}
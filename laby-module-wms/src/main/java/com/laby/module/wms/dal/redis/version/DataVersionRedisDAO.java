@@ -0,0 +1,67 @@
+package com.laby.module.wms.dal.redis.version;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import jakarta.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.laby.framework.common.util.collection.CollectionUtils.convertList;
+import static com.laby.module.wms.dal.redis.RedisKeyConstants.DATA_VERSION;
+
+/**
+ * 数据版本号的 RedisDAO
+ *
+ * 版本号不存在时，使用当前毫秒时间戳初始化，而不是从 0 开始。
+ * 这样 Redis 数据丢失后，新的版本号也不会与客户端缓存的旧版本号重复
+ *
+ * @author laby
+ */
+@Repository
+public class DataVersionRedisDAO {
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 批量获得版本号，只需要一次 MGET
+     *
+     * @param tenantId 租户编号
+     * @param names    版本号的名字数组
+     * @return 版本号数组，与 names 一一对应
+     */
+    public List<Long> getList(Long tenantId, List<String> names) {
+        List<String> keys = convertList(names, name -> formatKey(tenantId, name));
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+        List<Long> result = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            String value = values != null ? values.get(i) : null;
+            result.add(value != null ? Long.parseLong(value) : init(keys.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * 递增版本号
+     *
+     * @param tenantId 租户编号
+     * @param name     版本号的名字
+     */
+    public void increment(Long tenantId, String name) {
+        String key = formatKey(tenantId, name);
+        init(key);
+        stringRedisTemplate.opsForValue().increment(key);
+    }
+
+    private Long init(String key) {
+        stringRedisTemplate.opsForValue().setIfAbsent(key, String.valueOf(System.currentTimeMillis()));
+        // 并发初始化时，以实际写入的为准
+        return Long.parseLong(stringRedisTemplate.opsForValue().get(key));
+    }
+
+    private static String formatKey(Long tenantId, String name) {
+        return String.format(DATA_VERSION, tenantId, name);
+    }
+
+}
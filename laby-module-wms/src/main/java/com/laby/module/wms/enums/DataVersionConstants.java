@@ -0,0 +1,20 @@
+package com.laby.module.wms.enums;
+
+import com.laby.module.wms.framework.version.core.ConditionalVersion;
+
+/**
+ * 数据版本号的名字枚举，用于 {@link ConditionalVersion} 注解
+ *
+ * 与表名保持一致，数据增删改时递增对应的版本号
+ *
+ * @author laby
+ */
+public interface DataVersionConstants {
+
+    String GOODS = "wms_goods";
+    String GOODS_CATEGORY = "wms_goods_category";
+    String WAREHOUSE = "wms_warehouse";
+    String WAREHOUSE_AREA = "wms_warehouse_area";
+    String WAREHOUSE_LOCATION = "wms_warehouse_location";
+
+}
@@ -41,6 +41,7 @@ public interface ErrorCodeConstants {
     ErrorCode INVENTORY_QUANTITY_INVALID = new ErrorCode(1_020_005_004, "库存数量不能为负数");
     ErrorCode INVENTORY_LOCK_QUANTITY_INVALID = new ErrorCode(1_020_005_005, "锁定数量不能为负数");
     ErrorCode INVENTORY_LOCK_QUANTITY_EXCEED = new ErrorCode(1_020_005_006, "锁定数量不能大于库存数量");
+    ErrorCode INVENTORY_AS_OF_TIME_INVALID = new ErrorCode(1_020_005_007, "查询时刻不能晚于当前时间");
 
     // ========== 入库管理 1-020-006-000 ==========
     ErrorCode INBOUND_NOT_EXISTS = new ErrorCode(1_020_006_000, "入库单不存在");
@@ -117,6 +118,7 @@ public interface ErrorCodeConstants {
     ErrorCode STOCK_TAKING_PLAN_NOT_ALLOW_CANCEL = new ErrorCode(1_020_014_004, "盘点计划状态不允许取消");
     ErrorCode STOCK_TAKING_NOT_EXISTS = new ErrorCode(1_020_014_100, "盘点单不存在");
     ErrorCode STOCK_TAKING_NOT_ALLOW_UPDATE = new ErrorCode(1_020_014_101, "盘点单状态不允许修改");
+    ErrorCode STOCK_TAKING_SUBMIT_DUPLICATE = new ErrorCode(1_020_014_102, "盘点单({})重复提交");
 
 }
 
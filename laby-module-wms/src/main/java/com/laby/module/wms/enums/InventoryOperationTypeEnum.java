@@ -0,0 +1,34 @@
+package com.laby.module.wms.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 库存流水操作类型枚举
+ *
+ * 对应 wms_inventory_log.operation_type 字段
+ *
+ * @author laby
+ */
+@Getter
+@AllArgsConstructor
+public enum InventoryOperationTypeEnum {
+
+    INBOUND("INBOUND", "入库"),
+    OUTBOUND("OUTBOUND", "出库"),
+    MOVE("MOVE", "移库"),
+    LOCK("LOCK", "锁定"),
+    UNLOCK("UNLOCK", "解锁"),
+    ADJUST("ADJUST", "调整");
+
+    /**
+     * 类型
+     */
+    private final String type;
+
+    /**
+     * 类型名
+     */
+    private final String name;
+
+}
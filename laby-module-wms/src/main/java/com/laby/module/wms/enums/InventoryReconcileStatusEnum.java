@@ -0,0 +1,48 @@
+package com.laby.module.wms.enums;
+
+import cn.hutool.core.util.ArrayUtil;
+import com.laby.framework.common.core.ArrayValuable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * 库存对账任务状态枚举
+ *
+ * 状态流转：执行中（RUNNING） → 已完成（FINISHED）
+ *
+ * 业务说明：
+ * - RUNNING：对账进行中，或中途失败；下次执行时从断点（lastGoodsId）继续
+ * - FINISHED：仓库内所有商品已对账完成
+ *
+ * @author laby
+ */
+@Getter
+@AllArgsConstructor
+public enum InventoryReconcileStatusEnum implements ArrayValuable<Integer> {
+
+    RUNNING(1, "执行中"),
+    FINISHED(2, "已完成");
+
+    public static final Integer[] ARRAYS = Arrays.stream(values()).map(InventoryReconcileStatusEnum::getStatus).toArray(Integer[]::new);
+
+    /**
+     * 状态值
+     */
+    private final Integer status;
+    /**
+     * 状态名
+     */
+    private final String name;
+
+    @Override
+    public Integer[] array() {
+        return ARRAYS;
+    }
+
+    public static InventoryReconcileStatusEnum valueOf(Integer status) {
+        return ArrayUtil.firstMatch(item -> item.getStatus().equals(status), values());
+    }
+
+}
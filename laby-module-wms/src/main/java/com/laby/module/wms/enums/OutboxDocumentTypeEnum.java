@@ -0,0 +1,44 @@
+package com.laby.module.wms.enums;
+
+import cn.hutool.core.util.ArrayUtil;
+import com.laby.framework.common.core.ArrayValuable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * 事务发件箱（wms_outbox）的单据类型枚举
+ *
+ * @author laby
+ */
+@Getter
+@AllArgsConstructor
+public enum OutboxDocumentTypeEnum implements ArrayValuable<String> {
+
+    INBOUND("INBOUND", "入库单"),
+    OUTBOUND("OUTBOUND", "出库单"),
+    PICKING_WAVE("PICKING_WAVE", "拣货波次"),
+    STOCK_MOVE("STOCK_MOVE", "移库单");
+
+    public static final String[] ARRAYS = Arrays.stream(values()).map(OutboxDocumentTypeEnum::getType).toArray(String[]::new);
+
+    /**
+     * 类型
+     */
+    private final String type;
+    /**
+     * 类型名
+     */
+    private final String name;
+
+    @Override
+    public String[] array() {
+        return ARRAYS;
+    }
+
+    public static OutboxDocumentTypeEnum valueOfType(String type) {
+        return ArrayUtil.firstMatch(item -> item.getType().equals(type), values());
+    }
+
+}
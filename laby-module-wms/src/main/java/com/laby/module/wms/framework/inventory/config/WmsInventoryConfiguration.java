@@ -0,0 +1,62 @@
+package com.laby.module.wms.framework.inventory.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * WMS 模块的库存组件的 Configuration
+ *
+ * @author laby
+ */
+@Configuration(proxyBeanMethods = false)
+public class WmsInventoryConfiguration {
+
+    /**
+     * 历史时点库存的回放线程池的 Bean 名字
+     */
+    public static final String INVENTORY_AS_OF_EXECUTOR = "inventoryAsOfExecutor";
+    /**
+     * 可用库存投影的重建线程池的 Bean 名字
+     */
+    public static final String INVENTORY_ATP_EXECUTOR = "inventoryAtpExecutor";
+
+    /**
+     * 历史时点库存的回放线程池
+     *
+     * 1. 限制线程数，避免占满数据库连接
+     * 2. 有界队列，队列满时由调用线程执行，不会无限堆积
+     * 3. 由 Spring 管理生命周期，应用关闭时随之关闭
+     */
+    @Bean(name = INVENTORY_AS_OF_EXECUTOR)
+    public ThreadPoolTaskExecutor inventoryAsOfExecutor() {
+        int poolSize = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(256);
+        executor.setThreadNamePrefix("wms-inventory-as-of-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * 可用库存投影的重建线程池
+     *
+     * 投影未构建时，读请求直接查询数据库，重建交给该线程池异步执行。
+     * 重建可以稍后重试，所以队列满时直接丢弃，不阻塞调用线程
+     */
+    @Bean(name = INVENTORY_ATP_EXECUTOR)
+    public ThreadPoolTaskExecutor inventoryAtpExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(64);
+        executor.setThreadNamePrefix("wms-inventory-atp-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+
+}
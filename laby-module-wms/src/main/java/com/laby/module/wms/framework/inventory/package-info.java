@@ -0,0 +1,9 @@
+/**
+ * WMS 模块的库存组件
+ * 
+ * 包含：
+ * 1. config - 库存相关的线程池等配置
+ * 
+ * @author laby
+ */
+package com.laby.module.wms.framework.inventory;
@@ -0,0 +1,45 @@
+package com.laby.module.wms.framework.version.config;
+
+import com.laby.module.wms.framework.version.core.ConditionalVersionInterceptor;
+import com.laby.module.wms.service.version.DataVersionService;
+import jakarta.annotation.Resource;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * WMS 模块的 ETag 条件请求的 Configuration
+ *
+ * @author laby
+ */
+@Configuration(proxyBeanMethods = false)
+public class WmsConditionalVersionConfiguration implements WebMvcConfigurer {
+
+    @Resource
+    private DataVersionService dataVersionService;
+    @Resource
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 最后执行，确保 TenantVisitContextInterceptor 等已经切换好租户
+        registry.addInterceptor(new ConditionalVersionInterceptor(dataVersionService, buildAuthorizationManager()))
+                .order(Ordered.LOWEST_PRECEDENCE);
+    }
+
+    /**
+     * 创建 @PreAuthorize 的权限校验器。设置 ApplicationContext，用于解析 @ss 等 Bean
+     */
+    private PreAuthorizeAuthorizationManager buildAuthorizationManager() {
+        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setApplicationContext(applicationContext);
+        PreAuthorizeAuthorizationManager authorizationManager = new PreAuthorizeAuthorizationManager();
+        authorizationManager.setExpressionHandler(expressionHandler);
+        return authorizationManager;
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.laby.module.wms.framework.version.core;
+
+import com.laby.module.wms.enums.DataVersionConstants;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 条件请求注解，用于数据很少变化、但被频繁轮询的 GET 接口
+ *
+ * 根据数据的版本号计算 ETag，请求头 If-None-Match 与之一致时，不执行 Controller 方法，直接返回 304
+ *
+ * 注意，Service 在数据增删改时，需要调用 DataVersionService#incrementVersion 方法，递增对应的版本号
+ *
+ * 另外，接口读取的数据必须来自主库，不能使用 @ReadReplica 读从库：版本号在主库事务提交后就递增，此时从库可能还未同步，
+ * 客户端会拿到新的 ETag、旧的数据，并一直缓存，直到下次数据变化
+ *
+ * @author laby
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalVersion {
+
+    /**
+     * 版本号的名字数组，任一数据变化时，ETag 都会变化
+     *
+     * @see DataVersionConstants
+     */
+    String[] value();
+
+}
@@ -0,0 +1,110 @@
+package com.laby.module.wms.framework.version.core;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import com.laby.framework.security.core.util.SecurityFrameworkUtils;
+import com.laby.module.wms.service.version.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link ConditionalVersion} 的拦截器
+ *
+ * ETag 由「版本号 + 用户编号 + 查询参数摘要」组成：
+ * 1. 版本号按租户隔离
+ * 2. 加上用户编号，是因为数据权限不同的用户，看到的数据可能不同
+ * 3. 加上查询参数摘要，是因为同一个 URL 的不同分页、过滤条件，返回的数据不同
+ *
+ * 返回 304 之前，先校验 Controller 方法上的 @PreAuthorize 权限：它由方法级安全在 Controller 调用时才校验，晚于拦截器，
+ * 否则没有权限的用户也能拿到 304 和 ETag
+ *
+ * @author laby
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ConditionalVersionInterceptor implements HandlerInterceptor {
+
+    /**
+     * 计算出的 ETag 的请求属性，由 {@link ConditionalVersionResponseBodyAdvice} 使用
+     */
+    static final String ATTRIBUTE_ETAG = "conditional_version_etag";
+
+    private final DataVersionService dataVersionService;
+    /**
+     * Controller 方法的 @PreAuthorize 权限校验器
+     */
+    private final AuthorizationManager<MethodInvocation> authorizationManager;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)
+                || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        ConditionalVersion conditionalVersion = handlerMethod.getMethodAnnotation(ConditionalVersion.class);
+        if (conditionalVersion == null) {
+            return true;
+        }
+        // 1. 校验权限。未通过时，正常执行，由 Controller 的方法级权限校验返回 403
+        if (!isAuthorized(handlerMethod)) {
+            return true;
+        }
+
+        // 2. 计算 ETag。Redis 异常时，降级为正常执行，不影响接口可用性
+        String etag;
+        try {
+            etag = buildETag(conditionalVersion.value(), request.getQueryString());
+        } catch (Exception ex) {
+            log.warn("[preHandle][URL({}) 获取数据版本号({}) 失败]", request.getRequestURI(),
+                    Arrays.toString(conditionalVersion.value()), ex);
+            return true;
+        }
+        request.setAttribute(ATTRIBUTE_ETAG, etag);
+
+        // 3. 与 If-None-Match 一致时，直接返回 304，并设置 ETag 响应头
+        if (!new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, ConditionalVersionResponseBodyAdvice.CACHE_CONTROL_REVALIDATE);
+        return false;
+    }
+
+    private boolean isAuthorized(HandlerMethod handlerMethod) {
+        try {
+            AuthorizationResult result = authorizationManager.authorize(
+                    () -> SecurityContextHolder.getContext().getAuthentication(),
+                    new SimpleMethodInvocation(handlerMethod.getBean(), handlerMethod.getMethod()));
+            // 为 null 时，说明没有 @PreAuthorize 注解
+            return result == null || result.isGranted();
+        } catch (Exception ex) {
+            log.warn("[isAuthorized][方法({}) 权限校验失败]", handlerMethod.getMethod(), ex);
+            return false;
+        }
+    }
+
+    private String buildETag(String[] names, String queryString) {
+        List<Long> versions = dataVersionService.getVersionList(Arrays.asList(names));
+        String etag = StrUtil.join("-", versions) + "-" + SecurityFrameworkUtils.getLoginUserId();
+        if (StrUtil.isNotEmpty(queryString)) {
+            etag += "-" + DigestUtil.md5Hex16(queryString);
+        }
+        return "W/\"" + etag + "\"";
+    }
+
+}
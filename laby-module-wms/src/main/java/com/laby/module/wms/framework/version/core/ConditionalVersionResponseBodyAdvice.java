@@ -0,0 +1,53 @@
+package com.laby.module.wms.framework.version.core;
+
+import com.laby.framework.common.pojo.CommonResult;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * {@link ConditionalVersion} 的响应处理器，设置 Cache-Control 响应头
+ *
+ * 1. 成功的结果：no-cache，允许客户端缓存，但每次使用前都需要携带 If-None-Match 校验
+ * 2. 失败的结果：no-store，禁止客户端缓存。否则客户端会携带相同的 ETag，一直拿到 304，使用缓存的失败结果
+ *
+ * 失败包括 Controller 返回的 CommonResult 错误，以及 GlobalExceptionHandler 处理异常的结果
+ *
+ * @author laby
+ */
+@ControllerAdvice(basePackages = "com.laby.module.wms")
+public class ConditionalVersionResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String CACHE_CONTROL_REVALIDATE = "no-cache";
+    private static final String CACHE_CONTROL_NO_STORE = "no-store";
+
+    @Override
+    @SuppressWarnings("NullableProblems") // 避免 IDEA 警告
+    public boolean supports(MethodParameter returnType, Class converterType) {
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("NullableProblems") // 避免 IDEA 警告
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType, Class selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest)
+                || ((ServletServerHttpRequest) request).getServletRequest().getAttribute(ConditionalVersionInterceptor.ATTRIBUTE_ETAG) == null) {
+            return body;
+        }
+        boolean success = returnType.hasMethodAnnotation(ConditionalVersion.class)
+                && !(body instanceof CommonResult && ((CommonResult<?>) body).isError());
+        // 直接设置到 HttpServletResponse 上，覆盖已有的值
+        HttpServletResponse servletResponse = ((ServletServerHttpResponse) response).getServletResponse();
+        servletResponse.setHeader(HttpHeaders.CACHE_CONTROL, success ? CACHE_CONTROL_REVALIDATE : CACHE_CONTROL_NO_STORE);
+        return body;
+    }
+
+}
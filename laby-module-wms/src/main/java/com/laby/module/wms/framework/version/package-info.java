@@ -0,0 +1,10 @@
+/**
+ * WMS 模块的 ETag 条件请求
+ * 
+ * 包含：
+ * 1. core - {@link com.laby.module.wms.framework.version.core.ConditionalVersion} 注解，及其拦截器
+ * 2. config - 拦截器的配置
+ * 
+ * @author laby
+ */
+package com.laby.module.wms.framework.version;
@@ -0,0 +1,47 @@
+package com.laby.module.wms.job.inventory;
+
+import cn.hutool.core.collection.CollUtil;
+import com.laby.framework.quartz.core.handler.JobHandler;
+import com.laby.framework.tenant.core.job.TenantJob;
+import com.laby.module.wms.dal.dataobject.warehouse.WarehouseDO;
+import com.laby.module.wms.dal.mysql.warehouse.WarehouseMapper;
+import com.laby.module.wms.service.inventory.InventoryService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 可用库存投影一致性校验 Job
+ *
+ * 逐个仓库比对 Redis 中的可用库存投影与 wms_inventory，不一致的商品以数据库为准修正。
+ * 用于兜底：事务提交后更新投影失败、直接修改数据库等未经过 InventoryService 的变更
+ *
+ * @author laby
+ */
+@Component
+@Slf4j
+public class InventoryAtpCheckJob implements JobHandler {
+
+    @Resource
+    private WarehouseMapper warehouseMapper;
+    @Resource
+    private InventoryService inventoryService;
+
+    @Override
+    @TenantJob
+    public String execute(String param) {
+        List<WarehouseDO> warehouses = warehouseMapper.selectList();
+        if (CollUtil.isEmpty(warehouses)) {
+            return "没有需要校验的仓库";
+        }
+        int diffCount = 0;
+        for (WarehouseDO warehouse : warehouses) {
+            diffCount += inventoryService.checkAvailableQuantities(warehouse.getId());
+        }
+        log.info("[execute][可用库存投影校验完成，仓库 {} 个，修正商品 {} 个]", warehouses.size(), diffCount);
+        return String.format("可用库存投影校验完成，仓库 %s 个，修正商品 %s 个", warehouses.size(), diffCount);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.laby.module.wms.job.inventory;
+
+import cn.hutool.core.collection.CollUtil;
+import com.laby.framework.quartz.core.handler.JobHandler;
+import com.laby.framework.tenant.core.context.TenantContextHolder;
+import com.laby.framework.tenant.core.job.TenantJob;
+import com.laby.framework.tenant.core.util.TenantUtils;
+import com.laby.module.wms.dal.dataobject.inventory.InventoryReconcileTaskDO;
+import com.laby.module.wms.dal.dataobject.warehouse.WarehouseDO;
+import com.laby.module.wms.dal.mysql.warehouse.WarehouseMapper;
+import com.laby.module.wms.service.inventory.InventoryReconcileService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 库存对账 Job
+ *
+ * 核对库存余额与库存流水汇总，差异记录到 wms_inventory_reconcile_diff。
+ * 多租户并行（{@link TenantJob}），每个租户内多个仓库并行；中途失败时，下次执行从断点继续。
+ *
+ * 只记录差异，不自动修正，原因参见 {@link InventoryReconcileService}
+ *
+ * @author laby
+ */
+@Component
+@Slf4j
+public class InventoryReconcileJob implements JobHandler {
+
+    /**
+     * 每个租户内，并行对账的仓库数量，避免占满数据库连接
+     */
+    private static final int WAREHOUSE_PARALLELISM = 4;
+
+    @Resource
+    private WarehouseMapper warehouseMapper;
+    @Resource
+    private InventoryReconcileService inventoryReconcileService;
+
+    @Override
+    @TenantJob
+    public String execute(String param) throws Exception {
+        List<WarehouseDO> warehouses = warehouseMapper.selectList();
+        if (CollUtil.isEmpty(warehouses)) {
+            return "没有需要对账的仓库";
+        }
+
+        // 多个仓库并行对账。线程池中没有租户上下文，需要显式传递
+        Long tenantId = TenantContextHolder.getTenantId();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(WAREHOUSE_PARALLELISM, warehouses.size()));
+        try {
+            List<Future<InventoryReconcileTaskDO>> futures = new ArrayList<>(warehouses.size());
+            for (WarehouseDO warehouse : warehouses) {
+                futures.add(executor.submit(() -> TenantUtils.execute(tenantId,
+                        () -> inventoryReconcileService.reconcileWarehouse(warehouse.getId()))));
+            }
+            long checkedCount = 0, diffCount = 0;
+            for (Future<InventoryReconcileTaskDO> future : futures) {
+                InventoryReconcileTaskDO task = future.get();
+                checkedCount += task.getCheckedCount();
+                diffCount += task.getDiffCount();
+            }
+            log.info("[execute][库存对账完成，仓库 {} 个，对账 {} 条，差异 {} 条]", warehouses.size(), checkedCount, diffCount);
+            return String.format("库存对账完成，仓库 %s 个，对账 %s 条，差异 %s 条", warehouses.size(), checkedCount, diffCount);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.laby.module.wms.job.outbox;
+
+import com.laby.framework.quartz.core.handler.JobHandler;
+import com.laby.framework.tenant.core.aop.TenantIgnore;
+import com.laby.module.wms.service.outbox.OutboxService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 物理删除 N 天前已发送的发件箱记录的 Job
+ *
+ * @author laby
+ */
+@Component
+@Slf4j
+public class OutboxCleanJob implements JobHandler {
+
+    /**
+     * 清理超过（7）天的记录
+     */
+    private static final Integer JOB_CLEAN_RETAIN_DAY = 7;
+
+    /**
+     * 每次删除间隔的条数，如果值太高可能会造成数据库的压力过大
+     */
+    private static final Integer DELETE_LIMIT = 1000;
+
+    @Resource
+    private OutboxService outboxService;
+
+    @Override
+    @TenantIgnore
+    public String execute(String param) {
+        Integer count = outboxService.cleanOutbox(JOB_CLEAN_RETAIN_DAY, DELETE_LIMIT);
+        log.info("[execute][定时执行清理发件箱数量 ({}) 个]", count);
+        return String.format("定时执行清理发件箱数量 %s 个", count);
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.laby.module.wms.job.outbox;
+
+import com.laby.framework.quartz.core.handler.JobHandler;
+import com.laby.framework.tenant.core.aop.TenantIgnore;
+import com.laby.module.wms.service.outbox.OutboxService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 事务发件箱中继 Job
+ *
+ * 读取 wms_outbox 中未发送的记录，发布到 Redis Stream。
+ * 所有租户共用一个 ID 游标，按租户分组发布；建议每秒执行一次（cron：* * * * * ?）
+ *
+ * @author laby
+ */
+@Component
+@Slf4j
+public class OutboxRelayJob implements JobHandler {
+
+    /**
+     * 每批数量
+     */
+    private static final int BATCH_SIZE = 500;
+    /**
+     * 每次执行最多处理的批数
+     */
+    private static final int MAX_BATCH_COUNT = 20;
+
+    @Resource
+    private OutboxService outboxService;
+
+    @Override
+    @TenantIgnore
+    public String execute(String param) {
+        int count = outboxService.relayOutbox(BATCH_SIZE, MAX_BATCH_COUNT);
+        if (count > 0) {
+            log.info("[execute][发件箱中继发布 ({}) 条]", count);
+        }
+        return String.format("发件箱中继发布 %s 条", count);
+    }
+
+}
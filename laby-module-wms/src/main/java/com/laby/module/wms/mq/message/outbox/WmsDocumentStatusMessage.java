@@ -0,0 +1,51 @@
+package com.laby.module.wms.mq.message.outbox;
+
+import com.laby.framework.mq.redis.core.stream.AbstractRedisStreamMessage;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * WMS 单据状态变更消息，由事务发件箱（wms_outbox）中继发布
+ *
+ * 投递语义为至少一次，消费者需要按 {@link #idempotencyKey} 去重；
+ * 同一单据的消息按状态变更的顺序发布。租户编号由 TenantRedisMessageInterceptor 通过消息头传递
+ *
+ * @author laby
+ */
+@Data
+public class WmsDocumentStatusMessage extends AbstractRedisStreamMessage {
+
+    /**
+     * 发件箱ID
+     */
+    private Long outboxId;
+    /**
+     * 幂等键
+     * 格式：{documentType}:{documentId}:{status}
+     */
+    private String idempotencyKey;
+    /**
+     * 单据类型
+     *
+     * 枚举 {@link com.laby.module.wms.enums.OutboxDocumentTypeEnum}
+     */
+    private String documentType;
+    /**
+     * 单据ID
+     */
+    private Long documentId;
+    /**
+     * 单据编号
+     */
+    private String documentNo;
+    /**
+     * 单据变更后的状态
+     */
+    private Integer status;
+    /**
+     * 状态变更时间
+     */
+    private LocalDateTime changeTime;
+
+}
@@ -0,0 +1,32 @@
+package com.laby.module.wms.mq.producer.outbox;
+
+import com.laby.framework.mq.redis.core.RedisMQTemplate;
+import com.laby.module.wms.mq.message.outbox.WmsDocumentStatusMessage;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.Resource;
+import java.util.List;
+
+/**
+ * WMS 单据状态变更消息的 Producer
+ *
+ * @author laby
+ */
+@Component
+public class WmsDocumentStatusProducer {
+
+    @Resource
+    private RedisMQTemplate redisMQTemplate;
+
+    /**
+     * 批量发送 {@link WmsDocumentStatusMessage} 消息，使用 pipeline 一次网络往返
+     *
+     * 发送失败时抛出异常，由调用方决定是否重试
+     *
+     * @param messages 消息列表，按列表顺序写入 Stream
+     */
+    public void sendDocumentStatusMessages(List<WmsDocumentStatusMessage> messages) {
+        redisMQTemplate.sendBatch(messages);
+    }
+
+}
@@ -7,8 +7,8 @@ import com.laby.module.wms.controller.admin.carrier.vo.CarrierSaveReqVO;
 
 import jakarta.validation.Valid;
 import java.util.Collection;
-import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 承运商信息 Service 接口
@@ -62,10 +62,12 @@ public interface CarrierService {
 
     /**
      * 获得承运商简单列表（用于下拉选择）
-     * 
-     * @return 承运商简单列表（仅包含ID和名称）
+     *
+     * 流式查询，逐条转换后交给 consumer 处理
+     *
+     * @param consumer 逐条处理
      */
-    List<CarrierRespVO> getCarrierSimpleList();
+    void getCarrierSimpleList(Consumer<CarrierRespVO> consumer);
 
     /**
      * 获得承运商 Map（用于批量关联查询）
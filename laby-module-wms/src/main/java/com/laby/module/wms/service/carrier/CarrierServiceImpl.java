@@ -2,6 +2,8 @@ package com.laby.module.wms.service.carrier;
 
 import cn.hutool.core.collection.CollUtil;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.datasource.core.aop.ReadReplica;
+import com.laby.framework.mybatis.core.query.LambdaQueryWrapperX;
 import com.laby.module.wms.controller.admin.carrier.vo.CarrierPageReqVO;
 import com.laby.module.wms.controller.admin.carrier.vo.CarrierRespVO;
 import com.laby.module.wms.controller.admin.carrier.vo.CarrierSaveReqVO;
@@ -17,6 +19,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static com.laby.framework.common.util.collection.CollectionUtils.convertMap;
@@ -89,6 +92,7 @@ public class CarrierServiceImpl implements CarrierService {
     }
 
     @Override
+    @ReadReplica(maxLagMs = 5000) // 分页列表允许秒级延迟，读从库
     public PageResult<CarrierRespVO> getCarrierPage(CarrierPageReqVO pageReqVO) {
         // 1. 查询分页数据
         PageResult<CarrierDO> pageResult = carrierMapper.selectPage(pageReqVO);
@@ -98,10 +102,10 @@ public class CarrierServiceImpl implements CarrierService {
     }
 
     @Override
-    public List<CarrierRespVO> getCarrierSimpleList() {
+    public void getCarrierSimpleList(Consumer<CarrierRespVO> consumer) {
         // 查询所有启用状态的承运商
-        List<CarrierDO> list = carrierMapper.selectList(CarrierDO::getStatus, 1);
-        return CarrierConvert.INSTANCE.convertList(list);
+        carrierMapper.selectStream(new LambdaQueryWrapperX<CarrierDO>().eq(CarrierDO::getStatus, 1),
+                carrier -> consumer.accept(CarrierConvert.INSTANCE.convert(carrier)));
     }
 
     @Override
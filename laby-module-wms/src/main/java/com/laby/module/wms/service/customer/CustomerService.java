@@ -7,8 +7,8 @@ import com.laby.module.wms.controller.admin.customer.vo.CustomerSaveReqVO;
 
 import jakarta.validation.Valid;
 import java.util.Collection;
-import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 客户信息 Service 接口
@@ -79,9 +79,11 @@ public interface CustomerService {
     /**
      * 获得客户简化列表（用于下拉框）
      *
-     * @return 客户简化列表
+     * 流式查询，逐条转换后交给 consumer 处理
+     *
+     * @param consumer 逐条处理
      */
-    List<CustomerRespVO> getCustomerSimpleList();
+    void getCustomerSimpleList(Consumer<CustomerRespVO> consumer);
 
     /**
      * 获得客户Map（用于批量关联查询）
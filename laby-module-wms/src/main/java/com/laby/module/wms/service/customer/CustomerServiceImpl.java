@@ -2,6 +2,8 @@ package com.laby.module.wms.service.customer;
 
 import cn.hutool.core.collection.CollUtil;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.datasource.core.aop.ReadReplica;
+import com.laby.framework.mybatis.core.query.LambdaQueryWrapperX;
 import com.laby.module.wms.controller.admin.customer.vo.CustomerPageReqVO;
 import com.laby.module.wms.controller.admin.customer.vo.CustomerRespVO;
 import com.laby.module.wms.controller.admin.customer.vo.CustomerSaveReqVO;
@@ -16,6 +18,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static com.laby.framework.common.util.collection.CollectionUtils.convertMap;
@@ -82,6 +85,7 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @ReadReplica(maxLagMs = 5000) // 分页列表允许秒级延迟，读从库
     public PageResult<CustomerRespVO> getCustomerPage(CustomerPageReqVO pageReqVO) {
         // 1. 查询分页数据
         PageResult<CustomerDO> pageResult = customerMapper.selectPage(pageReqVO);
@@ -91,10 +95,10 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
-    public List<CustomerRespVO> getCustomerSimpleList() {
+    public void getCustomerSimpleList(Consumer<CustomerRespVO> consumer) {
         // 查询所有启用状态的客户
-        List<CustomerDO> list = customerMapper.selectList(CustomerDO::getStatus, 1);
-        return CustomerConvert.INSTANCE.convertList(list);
+        customerMapper.selectStream(new LambdaQueryWrapperX<CustomerDO>().eq(CustomerDO::getStatus, 1),
+                customer -> consumer.accept(CustomerConvert.INSTANCE.convert(customer)));
     }
 
     @Override
@@ -2,12 +2,14 @@ package com.laby.module.wms.service.goods;
 
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.module.wms.controller.admin.goods.vo.category.GoodsCategoryPageReqVO;
+import com.laby.module.wms.controller.admin.goods.vo.category.GoodsCategoryRespVO;
 import com.laby.module.wms.controller.admin.goods.vo.category.GoodsCategorySaveReqVO;
 import com.laby.module.wms.dal.dataobject.goods.GoodsCategoryDO;
 
 import jakarta.validation.*;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 商品分类 Service 接口
@@ -108,6 +110,15 @@ public interface GoodsCategoryService {
      */
     List<GoodsCategoryDO> getGoodsCategorySimpleList();
 
+    /**
+     * 获取商品分类简单列表（不分页，无条件）
+     *
+     * 流式查询，逐条转换后交给 consumer 处理，用于下拉框接口
+     *
+     * @param consumer 逐条处理
+     */
+    void getGoodsCategorySimpleList(Consumer<GoodsCategoryRespVO> consumer);
+
     /**
      * 批量获取商品分类Map
      * 
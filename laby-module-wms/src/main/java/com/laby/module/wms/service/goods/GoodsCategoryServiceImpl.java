@@ -3,11 +3,14 @@ package com.laby.module.wms.service.goods;
 import cn.hutool.core.collection.CollUtil;
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.framework.common.util.collection.CollectionUtils;
+import com.laby.framework.mybatis.core.query.LambdaQueryWrapperX;
 import com.laby.module.wms.controller.admin.goods.vo.category.GoodsCategoryPageReqVO;
+import com.laby.module.wms.controller.admin.goods.vo.category.GoodsCategoryRespVO;
 import com.laby.module.wms.controller.admin.goods.vo.category.GoodsCategorySaveReqVO;
 import com.laby.module.wms.convert.goods.GoodsCategoryConvert;
 import com.laby.module.wms.dal.dataobject.goods.GoodsCategoryDO;
 import com.laby.module.wms.dal.mysql.goods.GoodsCategoryMapper;
+import com.laby.module.wms.service.version.DataVersionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
@@ -15,9 +18,11 @@ import org.springframework.validation.annotation.Validated;
 import jakarta.annotation.Resource;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static com.laby.module.wms.enums.ErrorCodeConstants.GOODS_CATEGORY_NOT_EXISTS;
+import static com.laby.module.wms.enums.DataVersionConstants.GOODS_CATEGORY;
 
 /**
  * 商品分类 Service 实现类
@@ -39,6 +44,8 @@ public class GoodsCategoryServiceImpl implements GoodsCategoryService {
 
     @Resource
     private GoodsCategoryMapper goodsCategoryMapper;
+    @Resource
+    private DataVersionService dataVersionService;
 
     /**
      * 创建商品分类
@@ -57,6 +64,7 @@ public class GoodsCategoryServiceImpl implements GoodsCategoryService {
         // 插入
         GoodsCategoryDO goodsCategory = GoodsCategoryConvert.INSTANCE.convert(createReqVO);
         goodsCategoryMapper.insert(goodsCategory);
+        dataVersionService.incrementVersion(GOODS_CATEGORY);
         // 返回
         return goodsCategory.getId();
     }
@@ -83,6 +91,7 @@ public class GoodsCategoryServiceImpl implements GoodsCategoryService {
         // 更新
         GoodsCategoryDO updateObj = GoodsCategoryConvert.INSTANCE.convert(updateReqVO);
         goodsCategoryMapper.updateById(updateObj);
+        dataVersionService.incrementVersion(GOODS_CATEGORY);
     }
 
     /**
@@ -104,6 +113,7 @@ public class GoodsCategoryServiceImpl implements GoodsCategoryService {
         
         // 删除
         goodsCategoryMapper.deleteById(id);
+        dataVersionService.incrementVersion(GOODS_CATEGORY);
     }
 
     /**
@@ -159,6 +169,12 @@ public class GoodsCategoryServiceImpl implements GoodsCategoryService {
         return goodsCategoryMapper.selectList();
     }
 
+    @Override
+    public void getGoodsCategorySimpleList(Consumer<GoodsCategoryRespVO> consumer) {
+        goodsCategoryMapper.selectStream(new LambdaQueryWrapperX<>(),
+                category -> consumer.accept(GoodsCategoryConvert.INSTANCE.convert(category)));
+    }
+
     /**
      * 批量获取商品分类Map
      *
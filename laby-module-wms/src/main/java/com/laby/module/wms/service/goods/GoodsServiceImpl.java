@@ -8,6 +8,7 @@ import com.laby.module.wms.controller.admin.goods.vo.goods.GoodsSaveReqVO;
 import com.laby.module.wms.convert.goods.GoodsConvert;
 import com.laby.module.wms.dal.dataobject.goods.GoodsDO;
 import com.laby.module.wms.dal.mysql.goods.GoodsMapper;
+import com.laby.module.wms.service.version.DataVersionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
@@ -16,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static com.laby.module.wms.enums.ErrorCodeConstants.GOODS_NOT_EXISTS;
+import static com.laby.module.wms.enums.DataVersionConstants.GOODS;
 
 /**
  * 商品信息 Service 实现类
@@ -37,6 +39,8 @@ public class GoodsServiceImpl implements GoodsService {
 
     @Resource
     private GoodsMapper goodsMapper;
+    @Resource
+    private DataVersionService dataVersionService;
 
     /**
      * 创建商品
@@ -55,6 +59,7 @@ public class GoodsServiceImpl implements GoodsService {
         
         GoodsDO goods = GoodsConvert.INSTANCE.convert(createReqVO);
         goodsMapper.insert(goods);
+        dataVersionService.incrementVersion(GOODS);
         return goods.getId();
     }
 
@@ -77,6 +82,7 @@ public class GoodsServiceImpl implements GoodsService {
         
         GoodsDO updateObj = GoodsConvert.INSTANCE.convert(updateReqVO);
         goodsMapper.updateById(updateObj);
+        dataVersionService.incrementVersion(GOODS);
     }
 
     /**
@@ -96,6 +102,7 @@ public class GoodsServiceImpl implements GoodsService {
         // TODO: 校验是否在订单中
         
         goodsMapper.deleteById(id);
+        dataVersionService.incrementVersion(GOODS);
     }
 
     /**
@@ -4,6 +4,7 @@ import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.IdUtil;
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.framework.common.util.collection.CollectionUtils;
+import com.laby.framework.datasource.core.aop.ReadReplica;
 import com.laby.framework.security.core.LoginUser;
 import com.laby.framework.security.core.util.SecurityFrameworkUtils;
 import com.laby.module.wms.controller.admin.inbound.vo.InboundPageReqVO;
@@ -19,8 +20,10 @@ import com.laby.module.wms.dal.mysql.inbound.InboundItemMapper;
 import com.laby.module.wms.dal.mysql.inbound.InboundMapper;
 import com.laby.module.wms.enums.InboundStatusEnum;
 import com.laby.module.wms.enums.InboundTypeEnum;
+import com.laby.module.wms.enums.OutboxDocumentTypeEnum;
 import com.laby.module.wms.service.goods.GoodsService;
 import com.laby.module.wms.service.inventory.InventoryService;
+import com.laby.module.wms.service.outbox.OutboxService;
 import com.laby.module.wms.service.warehouse.WarehouseLocationService;
 import com.laby.module.wms.service.warehouse.WarehouseService;
 import lombok.extern.slf4j.Slf4j;
@@ -67,6 +70,8 @@ public class InboundServiceImpl implements InboundService {
     private GoodsService goodsService;
     @Resource
     private InventoryService inventoryService;
+    @Resource
+    private OutboxService outboxService;
 
     /**
      * 创建入库单
@@ -134,6 +139,7 @@ public class InboundServiceImpl implements InboundService {
         inbound.setReceivedQuantity(BigDecimal.ZERO);
         inbound.setTotalAmount(totalAmount);
         inboundMapper.insert(inbound);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.INBOUND, inbound.getId(), inboundNo, inbound.getStatus());
 
         // 8. 插入入库单明细
         List<InboundItemDO> items = InboundConvert.INSTANCE.convertItemList(createReqVO.getItems());
@@ -310,6 +316,7 @@ public class InboundServiceImpl implements InboundService {
      * @return 分页列表（包含关联字段）
      */
     @Override
+    @ReadReplica(maxLagMs = 5000) // 分页列表允许秒级延迟，读从库
     public PageResult<InboundRespVO> getInboundPage(InboundPageReqVO pageReqVO) {
         // 1. 查询分页数据
         PageResult<InboundDO> pageResult = inboundMapper.selectPage(pageReqVO);
@@ -361,6 +368,7 @@ public class InboundServiceImpl implements InboundService {
         updateObj.setAuditByName(username != null ? username : "系统管理员");
         updateObj.setAuditTime(LocalDateTime.now());
         inboundMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.INBOUND, id, inbound.getInboundNo(), updateObj.getStatus());
 
         log.info("[审核入库单] 入库单号={}, ID={}, 审核人={}", inbound.getInboundNo(), id, updateObj.getAuditByName());
     }
@@ -393,6 +401,7 @@ public class InboundServiceImpl implements InboundService {
         updateObj.setStatus(InboundStatusEnum.RECEIVING.getStatus());
         updateObj.setActualArrivalTime(LocalDateTime.now());
         inboundMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.INBOUND, id, inbound.getInboundNo(), updateObj.getStatus());
 
         log.info("[开始收货] 入库单号={}, ID={}", inbound.getInboundNo(), id);
     }
@@ -440,6 +449,7 @@ public class InboundServiceImpl implements InboundService {
         updateObj.setCompleteByName(username != null ? username : "系统管理员");
         updateObj.setCompleteTime(LocalDateTime.now());
         inboundMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.INBOUND, id, inbound.getInboundNo(), updateObj.getStatus());
 
         log.info("[完成收货] 入库单号={}, ID={}, 完成人={}", inbound.getInboundNo(), id, updateObj.getCompleteByName());
     }
@@ -470,6 +480,7 @@ public class InboundServiceImpl implements InboundService {
         updateObj.setId(id);
         updateObj.setStatus(InboundStatusEnum.CANCELLED.getStatus());
         inboundMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.INBOUND, id, inbound.getInboundNo(), updateObj.getStatus());
 
         log.info("[取消入库单] 入库单号={}, ID={}", inbound.getInboundNo(), id);
     }
@@ -1,8 +1,10 @@
 package com.laby.module.wms.service.inventory;
 
 import cn.hutool.core.collection.CollUtil;
+import com.laby.framework.common.enums.PageCountModeEnum;
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.framework.common.util.collection.CollectionUtils;
+import com.laby.framework.datasource.core.aop.ReadReplica;
 import com.laby.module.wms.controller.admin.inventory.vo.log.InventoryLogPageReqVO;
 import com.laby.module.wms.controller.admin.inventory.vo.log.InventoryLogRespVO;
 import com.laby.module.wms.convert.inventory.InventoryLogConvert;
@@ -62,9 +64,10 @@ public class InventoryLogServiceImpl implements InventoryLogService {
      * @return 分页列表（已填充关联字段）
      */
     @Override
+    @ReadReplica(maxLagMs = 5000) // 分页列表允许秒级延迟，读从库
     public PageResult<InventoryLogRespVO> getInventoryLogPage(InventoryLogPageReqVO pageReqVO) {
-        // 1. 查询分页数据
-        PageResult<InventoryLogDO> pageResult = inventoryLogMapper.selectPage(pageReqVO);
+        // 1. 查询分页数据。流水只增不减，总量超过阈值后估算即可
+        PageResult<InventoryLogDO> pageResult = inventoryLogMapper.selectPage(pageReqVO, PageCountModeEnum.ESTIMATE);
         if (CollUtil.isEmpty(pageResult.getList())) {
             return PageResult.empty(pageResult.getTotal());
         }
@@ -0,0 +1,33 @@
+package com.laby.module.wms.service.inventory;
+
+import com.laby.module.wms.dal.dataobject.inventory.InventoryReconcileTaskDO;
+
+/**
+ * 库存对账 Service 接口
+ *
+ * 功能说明：
+ * - 核对库存余额（wms_inventory）与库存流水汇总（wms_inventory_log）是否一致
+ * - 差异记录到 wms_inventory_reconcile_diff，只记录、不修正
+ *
+ * 为什么不自动修正？目前只有 {@link InventoryService#adjustInventoryList} 会写入流水，
+ * 库存的新增、修改、出入库完成等路径没有流水，流水汇总并不是完整的账本。
+ * 按流水汇总修正，会把这些库存清零或改错，所以差异需要人工核实后处理
+ * - 按商品分片执行，支持断点续跑
+ *
+ * @author laby
+ */
+public interface InventoryReconcileService {
+
+    /**
+     * 对账一个仓库
+     *
+     * 说明：
+     * - 存在未完成的对账任务时，从断点继续；否则创建新任务
+     * - 按商品ID升序分片，库存、流水汇总两侧按商品ID归并比对，不会一次性加载整个仓库
+     *
+     * @param warehouseId 仓库ID
+     * @return 对账任务
+     */
+    InventoryReconcileTaskDO reconcileWarehouse(Long warehouseId);
+
+}
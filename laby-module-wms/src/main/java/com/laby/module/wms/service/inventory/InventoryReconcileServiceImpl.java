@@ -0,0 +1,197 @@
+package com.laby.module.wms.service.inventory;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.ObjUtil;
+import cn.hutool.core.util.StrUtil;
+import com.laby.module.wms.dal.dataobject.inventory.InventoryDO;
+import com.laby.module.wms.dal.dataobject.inventory.InventoryLogDO;
+import com.laby.module.wms.dal.dataobject.inventory.InventoryReconcileDiffDO;
+import com.laby.module.wms.dal.dataobject.inventory.InventoryReconcileTaskDO;
+import com.laby.module.wms.dal.mysql.inventory.InventoryLogMapper;
+import com.laby.module.wms.dal.mysql.inventory.InventoryMapper;
+import com.laby.module.wms.dal.mysql.inventory.InventoryReconcileDiffMapper;
+import com.laby.module.wms.dal.mysql.inventory.InventoryReconcileTaskMapper;
+import com.laby.module.wms.enums.InventoryReconcileStatusEnum;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 库存对账 Service 实现类
+ *
+ * 对账方式：
+ * 1. 按商品ID升序取一个分片（{@link #CHUNK_GOODS_SIZE} 个商品）
+ * 2. 分别查询分片内的库存、流水汇总（GROUP BY 库位、商品、批次），两侧都按商品ID升序
+ * 3. 按商品ID归并：同一个商品的两侧记录，再按（库位、批次）比对
+ * 4. 发现差异后，单独重新读取一次该维度，排除对账期间并发出入库造成的误报
+ * 5. 每完成一个分片，更新任务断点
+ *
+ * @author laby
+ */
+@Service
+@Slf4j
+public class InventoryReconcileServiceImpl implements InventoryReconcileService {
+
+    /**
+     * 每个分片的商品数量
+     */
+    private static final int CHUNK_GOODS_SIZE = 500;
+
+    @Resource
+    private InventoryMapper inventoryMapper;
+    @Resource
+    private InventoryLogMapper inventoryLogMapper;
+    @Resource
+    private InventoryReconcileTaskMapper inventoryReconcileTaskMapper;
+    @Resource
+    private InventoryReconcileDiffMapper inventoryReconcileDiffMapper;
+
+    @Override
+    public InventoryReconcileTaskDO reconcileWarehouse(Long warehouseId) {
+        // 1. 断点续跑：继续未完成的任务，并清理断点之后已写入的差异
+        InventoryReconcileTaskDO task = inventoryReconcileTaskMapper.selectLastByWarehouseIdAndStatus(
+                warehouseId, InventoryReconcileStatusEnum.RUNNING.getStatus());
+        if (task == null) {
+            task = InventoryReconcileTaskDO.builder().warehouseId(warehouseId)
+                    .status(InventoryReconcileStatusEnum.RUNNING.getStatus())
+                    .lastGoodsId(0L).checkedCount(0L).diffCount(0L).startTime(LocalDateTime.now()).build();
+            inventoryReconcileTaskMapper.insert(task);
+        } else {
+            inventoryReconcileDiffMapper.deleteByTaskIdAndGoodsIdGt(task.getId(), task.getLastGoodsId());
+            log.info("[reconcileWarehouse][仓库({}) 从断点商品({}) 继续对账]", warehouseId, task.getLastGoodsId());
+        }
+
+        // 2. 按商品分片对账
+        while (true) {
+            List<Long> goodsIds = inventoryMapper.selectGoodsIdListAfter(warehouseId, task.getLastGoodsId(), CHUNK_GOODS_SIZE);
+            // 最后一个分片不限制上界，覆盖只有流水、没有库存记录的商品
+            Long toGoodsId = goodsIds.size() < CHUNK_GOODS_SIZE ? null : CollUtil.getLast(goodsIds);
+            ChunkResult result = reconcileChunk(task, task.getLastGoodsId(), toGoodsId);
+
+            // 更新断点
+            task.setCheckedCount(task.getCheckedCount() + result.checkedCount);
+            task.setDiffCount(task.getDiffCount() + result.diffCount);
+            if (toGoodsId == null) {
+                break;
+            }
+            task.setLastGoodsId(toGoodsId);
+            inventoryReconcileTaskMapper.updateById(new InventoryReconcileTaskDO().setId(task.getId())
+                    .setLastGoodsId(toGoodsId).setCheckedCount(task.getCheckedCount()).setDiffCount(task.getDiffCount()));
+        }
+
+        // 3. 完成任务
+        task.setStatus(InventoryReconcileStatusEnum.FINISHED.getStatus()).setEndTime(LocalDateTime.now());
+        inventoryReconcileTaskMapper.updateById(new InventoryReconcileTaskDO().setId(task.getId())
+                .setStatus(task.getStatus()).setEndTime(task.getEndTime())
+                .setCheckedCount(task.getCheckedCount()).setDiffCount(task.getDiffCount()));
+        log.info("[reconcileWarehouse][仓库({}) 对账完成，对账 {} 条，差异 {} 条]",
+                warehouseId, task.getCheckedCount(), task.getDiffCount());
+        return task;
+    }
+
+    private ChunkResult reconcileChunk(InventoryReconcileTaskDO task, Long fromGoodsId, Long toGoodsId) {
+        Long warehouseId = task.getWarehouseId();
+        List<InventoryDO> inventories = inventoryMapper.selectListByGoodsIdRange(warehouseId, fromGoodsId, toGoodsId);
+        List<InventoryLogDO> ledgers = inventoryLogMapper.selectQuantitySumListByGoodsIdRange(warehouseId, fromGoodsId, toGoodsId);
+
+        // 按商品ID归并两侧
+        ChunkResult result = new ChunkResult();
+        List<InventoryReconcileDiffDO> diffs = new ArrayList<>();
+        int i = 0, j = 0;
+        while (i < inventories.size() || j < ledgers.size()) {
+            Long goodsId = i >= inventories.size() ? ledgers.get(j).getGoodsId()
+                    : j >= ledgers.size() ? inventories.get(i).getGoodsId()
+                    : Math.min(inventories.get(i).getGoodsId(), ledgers.get(j).getGoodsId());
+            // 同一个商品：库存按（库位、批次）汇总（不同序列号存在多条）
+            Map<String, List<InventoryDO>> balanceMap = new HashMap<>();
+            for (; i < inventories.size() && inventories.get(i).getGoodsId().equals(goodsId); i++) {
+                InventoryDO inventory = inventories.get(i);
+                balanceMap.computeIfAbsent(buildKey(inventory.getLocationId(), inventory.getBatchNo()),
+                        key -> new ArrayList<>()).add(inventory);
+            }
+            Map<String, InventoryLogDO> ledgerMap = new HashMap<>();
+            for (; j < ledgers.size() && ledgers.get(j).getGoodsId().equals(goodsId); j++) {
+                InventoryLogDO ledger = ledgers.get(j);
+                ledgerMap.put(buildKey(ledger.getLocationId(), ledger.getBatchNo()), ledger);
+            }
+
+            // 比对
+            Set<String> keys = new HashSet<>(balanceMap.keySet());
+            keys.addAll(ledgerMap.keySet());
+            for (String key : keys) {
+                result.checkedCount++;
+                List<InventoryDO> balanceList = balanceMap.getOrDefault(key, Collections.emptyList());
+                InventoryLogDO ledger = ledgerMap.get(key);
+                BigDecimal balance = sumQuantity(balanceList);
+                BigDecimal ledgerQuantity = ledger != null ? ObjUtil.defaultIfNull(ledger.getQuantityChange(), BigDecimal.ZERO) : BigDecimal.ZERO;
+                if (balance.compareTo(ledgerQuantity) == 0) {
+                    continue;
+                }
+                Long locationId = !balanceList.isEmpty() ? balanceList.get(0).getLocationId() : ledger.getLocationId();
+                String batchNo = !balanceList.isEmpty() ? balanceList.get(0).getBatchNo() : ledger.getBatchNo();
+                InventoryReconcileDiffDO diff = verifyDiff(task, locationId, goodsId, batchNo);
+                if (diff != null) {
+                    diffs.add(diff);
+                }
+            }
+        }
+
+        // 记录差异
+        if (CollUtil.isNotEmpty(diffs)) {
+            inventoryReconcileDiffMapper.insertBatch(diffs);
+            result.diffCount = diffs.size();
+        }
+        return result;
+    }
+
+    /**
+     * 重新读取一次，确认差异
+     *
+     * @return 差异；重新读取后一致时，返回 null
+     */
+    private InventoryReconcileDiffDO verifyDiff(InventoryReconcileTaskDO task, Long locationId, Long goodsId, String batchNo) {
+        Long warehouseId = task.getWarehouseId();
+        List<InventoryDO> inventories = inventoryMapper.selectListByKey(warehouseId, locationId, goodsId, batchNo);
+        BigDecimal ledgerQuantity = inventoryLogMapper.selectQuantitySumByKey(warehouseId, locationId, goodsId, batchNo);
+        BigDecimal balance = sumQuantity(inventories);
+        if (balance.compareTo(ledgerQuantity) == 0) {
+            return null;
+        }
+
+        InventoryReconcileDiffDO diff = InventoryReconcileDiffDO.builder().taskId(task.getId())
+                .warehouseId(warehouseId).locationId(locationId).goodsId(goodsId).batchNo(batchNo)
+                .inventoryId(inventories.size() == 1 ? inventories.get(0).getId() : null)
+                .balanceQuantity(balance).ledgerQuantity(ledgerQuantity).diffQuantity(balance.subtract(ledgerQuantity))
+                .build();
+        log.warn("[verifyDiff][仓库({}) 库位({}) 商品({}) 批次({}) 库存({}) 与流水汇总({}) 不一致]",
+                warehouseId, locationId, goodsId, batchNo, balance, ledgerQuantity);
+        return diff;
+    }
+
+    private static BigDecimal sumQuantity(List<InventoryDO> inventories) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (InventoryDO inventory : inventories) {
+            sum = sum.add(ObjUtil.defaultIfNull(inventory.getQuantity(), BigDecimal.ZERO));
+        }
+        return sum;
+    }
+
+    private static String buildKey(Long locationId, String batchNo) {
+        return locationId + ":" + StrUtil.nullToEmpty(batchNo);
+    }
+
+    /**
+     * 分片对账结果
+     */
+    private static class ChunkResult {
+
+        private long checkedCount;
+        private long diffCount;
+
+    }
+
+}
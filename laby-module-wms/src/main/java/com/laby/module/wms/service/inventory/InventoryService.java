@@ -4,8 +4,13 @@ import com.laby.framework.common.pojo.PageResult;
 import com.laby.module.wms.controller.admin.inventory.vo.InventoryPageReqVO;
 import com.laby.module.wms.controller.admin.inventory.vo.InventorySaveReqVO;
 import com.laby.module.wms.dal.dataobject.inventory.InventoryDO;
+import com.laby.module.wms.service.inventory.bo.InventoryAdjustBO;
 
 import jakarta.validation.Valid;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 库存信息 Service 接口
@@ -100,5 +105,49 @@ public interface InventoryService {
      */
     PageResult<InventoryDO> getInventoryPage(InventoryPageReqVO pageReqVO);
 
-}
+    /**
+     * 批量调整库存（盘盈盘亏）
+     *
+     * 一次性加载涉及的库存行，在内存中计算调整后数量，再批量更新 wms_inventory、
+     * 批量写入 wms_inventory_log，而不是逐条调整
+     *
+     * @param businessType 业务类型，例如 STOCK_TAKING
+     * @param adjustList 调整列表，变化数量为 0 的会被忽略
+     */
+    void adjustInventoryList(String businessType, List<InventoryAdjustBO> adjustList);
+
+    // ==================== 可用库存（ATP） ====================
+
+    /**
+     * 批量获得商品在仓库内的可用数量（quantity - lockQuantity）
+     *
+     * 读取 Redis 中的可用库存投影，只需要一次 HMGET，不查询 wms_inventory；
+     * 投影不存在时（首次访问、Redis 数据丢失），本次查询数据库，并异步重建投影
+     *
+     * @param warehouseId 仓库ID
+     * @param goodsIds 商品ID集合
+     * @return 可用数量，key 为商品ID，没有库存的商品为 0
+     */
+    Map<Long, BigDecimal> getAvailableQuantities(Long warehouseId, Collection<Long> goodsIds);
 
+    /**
+     * 从数据库重建仓库的可用库存投影
+     *
+     * 重建期间发生增量更新时，放弃本次重建，避免覆盖掉增量更新
+     *
+     * @param warehouseId 仓库ID
+     * @return 是否重建成功
+     */
+    boolean rebuildAvailableQuantities(Long warehouseId);
+
+    /**
+     * 校验仓库的可用库存投影与 wms_inventory 是否一致，不一致时以数据库为准整体替换
+     *
+     * 校验期间发生增量更新时，跳过本次修正，由下次校验处理
+     *
+     * @param warehouseId 仓库ID
+     * @return 不一致（已修正）的商品数量
+     */
+    int checkAvailableQuantities(Long warehouseId);
+
+}
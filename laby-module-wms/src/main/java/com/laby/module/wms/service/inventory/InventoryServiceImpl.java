@@ -1,21 +1,43 @@
 package com.laby.module.wms.service.inventory;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.ObjUtil;
+import cn.hutool.core.util.StrUtil;
+import com.laby.framework.common.enums.PageCountModeEnum;
 import com.laby.framework.common.pojo.PageResult;
 import com.laby.framework.common.util.collection.CollectionUtils;
+import com.laby.framework.datasource.core.aop.ReadReplica;
+import com.laby.framework.security.core.util.SecurityFrameworkUtils;
+import com.laby.framework.tenant.core.context.TenantContextHolder;
+import com.laby.framework.tenant.core.util.TenantUtils;
 import com.laby.module.wms.controller.admin.inventory.vo.InventoryPageReqVO;
 import com.laby.module.wms.controller.admin.inventory.vo.InventorySaveReqVO;
 import com.laby.module.wms.convert.inventory.InventoryConvert;
 import com.laby.module.wms.dal.dataobject.inventory.InventoryDO;
+import com.laby.module.wms.dal.dataobject.inventory.InventoryLogDO;
+import com.laby.module.wms.dal.mysql.inventory.InventoryLogMapper;
 import com.laby.module.wms.dal.mysql.inventory.InventoryMapper;
+import com.laby.module.wms.dal.redis.inventory.InventoryAtpRedisDAO;
+import com.laby.module.wms.enums.InventoryOperationTypeEnum;
+import com.laby.module.wms.enums.InventoryStatusEnum;
+import com.laby.module.wms.framework.inventory.config.WmsInventoryConfiguration;
+import com.laby.module.wms.service.inventory.bo.InventoryAdjustBO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.validation.annotation.Validated;
 
 import jakarta.annotation.Resource;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
+import static com.laby.framework.common.util.collection.CollectionUtils.convertSet;
 import static com.laby.module.wms.enums.ErrorCodeConstants.*;
 
 /**
@@ -38,6 +60,22 @@ public class InventoryServiceImpl implements InventoryService {
     @Resource
     private InventoryMapper inventoryMapper;
 
+    @Resource
+    private InventoryLogMapper inventoryLogMapper;
+
+    @Resource
+    private InventoryAtpRedisDAO inventoryAtpRedisDAO;
+
+    /**
+     * 可用库存投影的重建线程池
+     */
+    @Resource(name = WmsInventoryConfiguration.INVENTORY_ATP_EXECUTOR)
+    private ThreadPoolTaskExecutor inventoryAtpExecutor;
+    /**
+     * 正在重建可用库存投影的「租户编号:仓库编号」
+     */
+    private final Set<String> atpRebuildingKeys = ConcurrentHashMap.newKeySet();
+
     /**
      * 创建库存
      * 
@@ -59,7 +97,10 @@ public class InventoryServiceImpl implements InventoryService {
         // 初始化版本号
         inventory.setVersion(0);
         inventoryMapper.insert(inventory);
-        
+
+        // 更新可用库存投影
+        incrementAvailableQuantities(Collections.singletonMap(inventory.getWarehouseId(),
+                Collections.singletonMap(inventory.getGoodsId(), getAvailableQuantity(inventory))));
         return inventory.getId();
     }
 
@@ -77,7 +118,7 @@ public class InventoryServiceImpl implements InventoryService {
     @Override
     public void updateInventory(InventorySaveReqVO updateReqVO) {
         // 校验存在
-        validateInventoryExists(updateReqVO.getId());
+        InventoryDO inventory = validateInventoryExists(updateReqVO.getId());
         
         // 校验数据合法性
         validateInventoryData(updateReqVO);
@@ -85,6 +126,14 @@ public class InventoryServiceImpl implements InventoryService {
         // 转换并更新
         InventoryDO updateObj = InventoryConvert.INSTANCE.convert(updateReqVO);
         inventoryMapper.updateById(updateObj);
+
+        // 更新可用库存投影：锁定数量为空时不会更新，沿用原值
+        if (updateObj.getLockQuantity() == null) {
+            updateObj.setLockQuantity(inventory.getLockQuantity());
+        }
+        incrementAvailableQuantities(Collections.singletonMap(inventory.getWarehouseId(),
+                Collections.singletonMap(inventory.getGoodsId(),
+                        getAvailableQuantity(updateObj).subtract(getAvailableQuantity(inventory)))));
     }
 
     /**
@@ -137,12 +186,274 @@ public class InventoryServiceImpl implements InventoryService {
      * @return 库存分页结果
      */
     @Override
+    @ReadReplica(maxLagMs = 5000) // 分页列表允许秒级延迟，读从库
     public PageResult<InventoryDO> getInventoryPage(InventoryPageReqVO pageReqVO) {
-        return inventoryMapper.selectPage(pageReqVO);
+        // 库存列表翻页频繁，默认缓存总量，避免每次翻页都 COUNT
+        return inventoryMapper.selectPage(pageReqVO, PageCountModeEnum.CACHE);
+    }
+
+    /**
+     * 批量调整库存
+     *
+     * 实现步骤：
+     * 1. 按仓库、商品一次性加载涉及的库存行并加行锁，内存中按（仓库、库位、商品、批次）建立索引
+     * 2. 内存中依次应用变化数量，同一维度的多次调整会累加到同一行上
+     * 3. 批量更新已有库存、批量插入新增库存（盘盈但无库存记录）
+     * 4. 批量写入库存流水
+     *
+     * @param businessType 业务类型
+     * @param adjustList 调整列表
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void adjustInventoryList(String businessType, List<InventoryAdjustBO> adjustList) {
+        adjustList = CollectionUtils.filterList(adjustList,
+                adjust -> adjust.getQuantityChange() != null && adjust.getQuantityChange().signum() != 0);
+        if (CollUtil.isEmpty(adjustList)) {
+            return;
+        }
+
+        // 1. 一次性加载涉及的库存行，并加行锁：并发调整同一库存行时排队，避免丢失更新
+        List<InventoryDO> inventories = inventoryMapper.selectListByWarehouseIdsAndGoodsIdsForUpdate(
+                convertSet(adjustList, InventoryAdjustBO::getWarehouseId),
+                convertSet(adjustList, InventoryAdjustBO::getGoodsId));
+        Map<String, InventoryDO> inventoryMap = CollectionUtils.convertMap(inventories,
+                inventory -> buildInventoryKey(inventory.getWarehouseId(), inventory.getLocationId(),
+                        inventory.getGoodsId(), inventory.getBatchNo()),
+                inventory -> inventory, (older, newer) -> older);
+
+        // 2. 内存中计算调整后数量
+        String operator = StrUtil.blankToDefault(SecurityFrameworkUtils.getLoginUserNickname(), "系统");
+        Map<Long, InventoryDO> updateMap = new LinkedHashMap<>();
+        List<InventoryDO> insertList = new ArrayList<>();
+        List<InventoryLogDO> logList = new ArrayList<>(adjustList.size());
+        for (InventoryAdjustBO adjust : adjustList) {
+            String key = buildInventoryKey(adjust.getWarehouseId(), adjust.getLocationId(),
+                    adjust.getGoodsId(), adjust.getBatchNo());
+            InventoryDO inventory = inventoryMap.get(key);
+            BigDecimal quantityBefore = inventory != null ? inventory.getQuantity() : BigDecimal.ZERO;
+            BigDecimal quantityAfter = quantityBefore.add(adjust.getQuantityChange());
+            BigDecimal lockQuantity = inventory != null && inventory.getLockQuantity() != null
+                    ? inventory.getLockQuantity() : BigDecimal.ZERO;
+            // 调整后不能为负，也不能低于已锁定的数量
+            if (quantityAfter.compareTo(lockQuantity) < 0) {
+                throw exception(INVENTORY_NOT_ENOUGH);
+            }
+
+            if (inventory == null) {
+                inventory = InventoryDO.builder()
+                        .warehouseId(adjust.getWarehouseId()).locationId(adjust.getLocationId())
+                        .goodsId(adjust.getGoodsId()).batchNo(adjust.getBatchNo())
+                        .quantity(quantityAfter).lockQuantity(BigDecimal.ZERO)
+                        .inboundDate(LocalDateTime.now())
+                        .version(0).status(InventoryStatusEnum.NORMAL.getStatus())
+                        .build();
+                inventoryMap.put(key, inventory);
+                insertList.add(inventory);
+            } else {
+                inventory.setQuantity(quantityAfter);
+                if (inventory.getId() != null) {
+                    updateMap.put(inventory.getId(), InventoryDO.builder()
+                            .id(inventory.getId()).quantity(quantityAfter).build());
+                }
+            }
+            logList.add(buildAdjustLog(businessType, adjust, quantityBefore, quantityAfter, operator));
+        }
+
+        // 3. 批量写入库存
+        if (CollUtil.isNotEmpty(updateMap)) {
+            inventoryMapper.updateBatch(updateMap.values());
+        }
+        if (CollUtil.isNotEmpty(insertList)) {
+            inventoryMapper.insertBatch(insertList);
+        }
+        // 4. 批量写入流水
+        inventoryLogMapper.insertBatch(logList);
+        // 5. 更新可用库存投影：锁定数量不变，可用数量的变化等于库存数量的变化
+        Map<Long, Map<Long, BigDecimal>> deltas = new HashMap<>();
+        adjustList.forEach(adjust -> deltas.computeIfAbsent(adjust.getWarehouseId(), key -> new HashMap<>())
+                .merge(adjust.getGoodsId(), adjust.getQuantityChange(), BigDecimal::add));
+        incrementAvailableQuantities(deltas);
+
+        log.info("[adjustInventoryList] 批量调整库存，业务类型：{}，流水数：{}，更新库存：{}，新增库存：{}",
+                businessType, logList.size(), updateMap.size(), insertList.size());
+    }
+
+    // ==================== 可用库存（ATP） ====================
+
+    @Override
+    public Map<Long, BigDecimal> getAvailableQuantities(Long warehouseId, Collection<Long> goodsIds) {
+        if (CollUtil.isEmpty(goodsIds)) {
+            return new HashMap<>();
+        }
+        Long tenantId = TenantContextHolder.getRequiredTenantId();
+        Map<Long, BigDecimal> quantities = inventoryAtpRedisDAO.getMap(tenantId, warehouseId, goodsIds);
+        if (quantities != null) {
+            return quantities;
+        }
+        // 投影不存在，异步重建；本次只查询数据库中指定的商品，避免读请求等待整个仓库的重建
+        rebuildAvailableQuantitiesAsync(tenantId, warehouseId);
+        Map<Long, BigDecimal> dbQuantities = CollectionUtils.convertMap(
+                inventoryMapper.selectAvailableQuantitySumListByWarehouseIdAndGoodsIds(warehouseId, goodsIds),
+                InventoryDO::getGoodsId, inventory -> ObjUtil.defaultIfNull(inventory.getQuantity(), BigDecimal.ZERO));
+        return CollectionUtils.convertMap(goodsIds, goodsId -> goodsId,
+                goodsId -> dbQuantities.getOrDefault(goodsId, BigDecimal.ZERO));
+    }
+
+    @Override
+    public boolean rebuildAvailableQuantities(Long warehouseId) {
+        return rebuildAvailableQuantities0(TenantContextHolder.getRequiredTenantId(), warehouseId);
+    }
+
+    private void rebuildAvailableQuantitiesAsync(Long tenantId, Long warehouseId) {
+        // 同一个仓库，同一时刻只提交一个重建任务
+        String key = tenantId + ":" + warehouseId;
+        if (!atpRebuildingKeys.add(key)) {
+            return;
+        }
+        try {
+            inventoryAtpExecutor.execute(() -> {
+                try {
+                    TenantUtils.execute(tenantId, () -> rebuildAvailableQuantities0(tenantId, warehouseId));
+                } catch (Exception ex) {
+                    log.error("[rebuildAvailableQuantitiesAsync][租户({}) 仓库({}) 重建可用库存投影失败]",
+                            tenantId, warehouseId, ex);
+                } finally {
+                    atpRebuildingKeys.remove(key);
+                }
+            });
+        } catch (RuntimeException ex) {
+            atpRebuildingKeys.remove(key);
+            throw ex;
+        }
+    }
+
+    private boolean rebuildAvailableQuantities0(Long tenantId, Long warehouseId) {
+        // 先获取版本号，再查询数据库：查询期间发生的增量更新，会导致替换失败，而不是被覆盖
+        long version = inventoryAtpRedisDAO.getVersion(tenantId, warehouseId);
+        Map<Long, BigDecimal> quantities = selectAvailableQuantities(warehouseId);
+        if (!inventoryAtpRedisDAO.replace(tenantId, warehouseId, quantities, version)) {
+            log.warn("[rebuildAvailableQuantities][租户({}) 仓库({}) 重建期间存在增量更新，放弃本次重建]",
+                    tenantId, warehouseId);
+            return false;
+        }
+        log.info("[rebuildAvailableQuantities][租户({}) 仓库({}) 重建可用库存投影，商品数：{}]",
+                tenantId, warehouseId, quantities.size());
+        return true;
+    }
+
+    @Override
+    public int checkAvailableQuantities(Long warehouseId) {
+        Long tenantId = TenantContextHolder.getRequiredTenantId();
+        long version = inventoryAtpRedisDAO.getVersion(tenantId, warehouseId);
+        Map<Long, BigDecimal> cachedQuantities = inventoryAtpRedisDAO.getAll(tenantId, warehouseId);
+        if (cachedQuantities == null) {
+            rebuildAvailableQuantities0(tenantId, warehouseId);
+            return 0;
+        }
+        // 以数据库为准，比对两边出现的所有商品
+        Map<Long, BigDecimal> quantities = selectAvailableQuantities(warehouseId);
+        int diffCount = 0;
+        Set<Long> goodsIds = new HashSet<>(quantities.keySet());
+        goodsIds.addAll(cachedQuantities.keySet());
+        for (Long goodsId : goodsIds) {
+            BigDecimal quantity = quantities.getOrDefault(goodsId, BigDecimal.ZERO);
+            BigDecimal cachedQuantity = cachedQuantities.getOrDefault(goodsId, BigDecimal.ZERO);
+            if (quantity.compareTo(cachedQuantity) != 0) {
+                diffCount++;
+                log.warn("[checkAvailableQuantities][租户({}) 仓库({}) 商品({}) 投影可用数量({}) 与数据库({}) 不一致]",
+                        tenantId, warehouseId, goodsId, cachedQuantity, quantity);
+            }
+        }
+        if (diffCount == 0) {
+            return 0;
+        }
+        // 整体替换为数据库的数量。期间发生增量更新时，替换失败，差异可能只是增量更新的时间差，下次校验再处理
+        if (!inventoryAtpRedisDAO.replace(tenantId, warehouseId, quantities, version)) {
+            log.warn("[checkAvailableQuantities][租户({}) 仓库({}) 校验期间存在增量更新，跳过本次修正]", tenantId, warehouseId);
+            return 0;
+        }
+        return diffCount;
+    }
+
+    private Map<Long, BigDecimal> selectAvailableQuantities(Long warehouseId) {
+        return CollectionUtils.convertMap(inventoryMapper.selectAvailableQuantitySumListByWarehouseId(warehouseId),
+                InventoryDO::getGoodsId, inventory -> ObjUtil.defaultIfNull(inventory.getQuantity(), BigDecimal.ZERO));
+    }
+
+    /**
+     * 增量更新可用库存投影
+     *
+     * 在事务中时，事务提交后才更新，避免回滚后投影与数据库不一致。
+     * 更新失败只记录日志，由 {@link #checkAvailableQuantities(Long)} 兜底修正
+     *
+     * @param deltas 可用数量的变化，key1：仓库ID，key2：商品ID
+     */
+    private void incrementAvailableQuantities(Map<Long, Map<Long, BigDecimal>> deltas) {
+        Long tenantId = TenantContextHolder.getTenantId();
+        if (tenantId == null || CollUtil.isEmpty(deltas)) {
+            return;
+        }
+        Runnable increment = () -> {
+            try {
+                inventoryAtpRedisDAO.increment(tenantId, deltas);
+            } catch (Exception ex) {
+                log.error("[incrementAvailableQuantities][租户({}) 更新可用库存投影({}) 失败]", tenantId, deltas, ex);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                increment.run();
+            }
+
+        });
     }
 
     // ==================== 私有方法 ====================
 
+    /**
+     * 计算可用数量：库存数量 - 锁定数量
+     */
+    private static BigDecimal getAvailableQuantity(InventoryDO inventory) {
+        return ObjUtil.defaultIfNull(inventory.getQuantity(), BigDecimal.ZERO)
+                .subtract(ObjUtil.defaultIfNull(inventory.getLockQuantity(), BigDecimal.ZERO));
+    }
+
+    /**
+     * 构建库存维度的 key：仓库 + 库位 + 商品 + 批次
+     */
+    private static String buildInventoryKey(Long warehouseId, Long locationId, Long goodsId, String batchNo) {
+        return warehouseId + ":" + locationId + ":" + goodsId + ":" + StrUtil.nullToEmpty(batchNo);
+    }
+
+    /**
+     * 构建库存调整流水
+     */
+    private static InventoryLogDO buildAdjustLog(String businessType, InventoryAdjustBO adjust,
+                                                 BigDecimal quantityBefore, BigDecimal quantityAfter,
+                                                 String operator) {
+        InventoryLogDO inventoryLog = new InventoryLogDO();
+        inventoryLog.setWarehouseId(adjust.getWarehouseId());
+        inventoryLog.setGoodsId(adjust.getGoodsId());
+        inventoryLog.setLocationId(adjust.getLocationId());
+        inventoryLog.setBatchNo(adjust.getBatchNo());
+        inventoryLog.setOperationType(InventoryOperationTypeEnum.ADJUST.getType());
+        inventoryLog.setQuantityBefore(quantityBefore);
+        inventoryLog.setQuantityChange(adjust.getQuantityChange());
+        inventoryLog.setQuantityAfter(quantityAfter);
+        inventoryLog.setBusinessType(businessType);
+        inventoryLog.setBusinessNo(adjust.getBusinessNo());
+        inventoryLog.setOperator(operator);
+        inventoryLog.setRemark(adjust.getRemark());
+        return inventoryLog;
+    }
+
     /**
      * 校验库存是否存在
      * 
@@ -1,6 +1,8 @@
 package com.laby.module.wms.service.inventory;
 
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventoryAsOfReqVO;
+import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventoryAsOfRespVO;
 import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventorySnapshotPageReqVO;
 import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventorySnapshotRespVO;
 
@@ -51,5 +53,17 @@ public interface InventorySnapshotService {
      */
     List<InventorySnapshotRespVO> getInventoryTrendList(InventorySnapshotPageReqVO reqVO);
 
-}
+    /**
+     * 获得历史时点的库存
+     *
+     * 说明：
+     * - 从查询时刻之前最近的快照开始，回放快照之后到查询时刻的库存流水
+     * - 商品ID为空时，重建整个仓库的库存，按商品分片并行回放
+     * - 只返回数量或锁定数量不为 0 的商品
+     *
+     * @param reqVO 查询条件
+     * @return 历史时点库存列表
+     */
+    List<InventoryAsOfRespVO> getInventoryAsOfList(InventoryAsOfReqVO reqVO);
 
+}
@@ -1,24 +1,48 @@
 package com.laby.module.wms.service.inventory;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.ObjUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.common.util.cache.CacheUtils;
 import com.laby.framework.common.util.collection.CollectionUtils;
+import com.laby.framework.common.util.object.BeanUtils;
+import com.laby.framework.datasource.core.aop.ReadReplica;
+import com.laby.framework.tenant.core.context.TenantContextHolder;
+import com.laby.framework.tenant.core.util.TenantUtils;
+import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventoryAsOfReqVO;
+import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventoryAsOfRespVO;
 import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventorySnapshotPageReqVO;
 import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventorySnapshotRespVO;
 import com.laby.module.wms.convert.inventory.InventorySnapshotConvert;
 import com.laby.module.wms.dal.dataobject.goods.GoodsDO;
 import com.laby.module.wms.dal.dataobject.inventory.InventorySnapshotDO;
 import com.laby.module.wms.dal.dataobject.warehouse.WarehouseDO;
+import com.laby.module.wms.dal.mysql.inventory.InventoryLogMapper;
 import com.laby.module.wms.dal.mysql.inventory.InventorySnapshotMapper;
+import com.laby.module.wms.enums.InventoryOperationTypeEnum;
+import com.laby.module.wms.framework.inventory.config.WmsInventoryConfiguration;
 import com.laby.module.wms.service.goods.GoodsService;
 import com.laby.module.wms.service.warehouse.WarehouseService;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
 import jakarta.annotation.Resource;
-import java.util.List;
-import java.util.Map;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
+import static com.laby.module.wms.enums.ErrorCodeConstants.INVENTORY_AS_OF_TIME_INVALID;
 
 /**
  * 库存快照 Service 实现类
@@ -35,9 +59,37 @@ import java.util.Map;
 @Slf4j
 public class InventorySnapshotServiceImpl implements InventorySnapshotService {
 
+    /**
+     * 历史时点库存每个分片的商品数量
+     */
+    private static final int AS_OF_BATCH_SIZE = 1000;
+    /**
+     * 历史时点库存可以缓存的最小时间间隔
+     */
+    private static final Duration AS_OF_CACHE_MIN_AGE = Duration.ofMinutes(5);
+
+    /**
+     * 历史时点库存的缓存
+     *
+     * 历史时刻的库存不会再变化，按「租户 + 仓库 + 商品 + 时刻」缓存，按记录条数限制容量
+     */
+    private final Cache<String, List<InventoryAsOfRespVO>> asOfCache = CacheUtils.buildCache("inventory_as_of",
+            Caffeine.newBuilder()
+                    .maximumWeight(500_000)
+                    .weigher((String key, List<InventoryAsOfRespVO> value) -> Math.max(value.size(), 1))
+                    .expireAfterAccess(Duration.ofMinutes(30)));
+
     @Resource
     private InventorySnapshotMapper inventorySnapshotMapper;
 
+    /**
+     * 历史时点库存的回放线程池
+     */
+    @Resource(name = WmsInventoryConfiguration.INVENTORY_AS_OF_EXECUTOR)
+    private ThreadPoolTaskExecutor inventoryAsOfExecutor;
+    @Resource
+    private InventoryLogMapper inventoryLogMapper;
+
     @Resource
     private WarehouseService warehouseService;
 
@@ -57,6 +109,7 @@ public class InventorySnapshotServiceImpl implements InventorySnapshotService {
      * @return 分页列表（已填充关联字段）
      */
     @Override
+    @ReadReplica(maxLagMs = 5000) // 分页列表允许秒级延迟，读从库
     public PageResult<InventorySnapshotRespVO> getInventorySnapshotPage(InventorySnapshotPageReqVO pageReqVO) {
         // 1. 查询分页数据
         PageResult<InventorySnapshotDO> pageResult = inventorySnapshotMapper.selectPage(pageReqVO);
@@ -128,5 +181,168 @@ public class InventorySnapshotServiceImpl implements InventorySnapshotService {
         return result;
     }
 
-}
+    /**
+     * 获得历史时点的库存
+     *
+     * 实现步骤：
+     * 1. 校验查询时刻，命中缓存直接返回
+     * 2. 单个商品：从该商品最近的快照开始回放
+     * 3. 整个仓库：从仓库最近的快照日期开始，按商品分片在回放线程池中并行回放
+     * 4. 填充关联字段，写入缓存
+     *
+     * 快照约定：snapshotDate = D 的快照，表示 D 日结束（D+1 日 00:00）时的库存，
+     * 所以从 D+1 日 00:00 开始回放流水；某天没有快照记录的商品，视为当时库存为 0
+     *
+     * @param reqVO 查询条件
+     * @return 历史时点库存列表
+     */
+    @Override
+    public List<InventoryAsOfRespVO> getInventoryAsOfList(InventoryAsOfReqVO reqVO) {
+        // 1.1 校验查询时刻
+        LocalDateTime asOfTime = reqVO.getAsOfTime().withNano(0);
+        if (asOfTime.isAfter(LocalDateTime.now())) {
+            throw exception(INVENTORY_AS_OF_TIME_INVALID);
+        }
+        // 1.2 命中缓存
+        String cacheKey = TenantContextHolder.getRequiredTenantId() + ":" + reqVO.getWarehouseId()
+                + ":" + ObjUtil.defaultIfNull(reqVO.getGoodsId(), "*") + ":" + asOfTime;
+        List<InventoryAsOfRespVO> result = asOfCache.getIfPresent(cacheKey);
+        if (result != null) {
+            return copyAsOfList(result);
+        }
 
+        // 2. 回放
+        result = reqVO.getGoodsId() != null
+                ? buildGoodsInventoryAsOf(reqVO.getWarehouseId(), reqVO.getGoodsId(), asOfTime)
+                : buildWarehouseInventoryAsOf(reqVO.getWarehouseId(), asOfTime);
+        result.removeIf(item -> item.getQuantity().signum() == 0 && item.getLockQuantity().signum() == 0);
+
+        // 3. 填充关联字段
+        WarehouseDO warehouse = warehouseService.getWarehouse(reqVO.getWarehouseId());
+        for (List<InventoryAsOfRespVO> batch : CollUtil.split(result, AS_OF_BATCH_SIZE)) {
+            Map<Long, GoodsDO> goodsMap = goodsService.getGoodsMap(
+                    CollectionUtils.convertList(batch, InventoryAsOfRespVO::getGoodsId));
+            batch.forEach(item -> {
+                item.setAvailableQuantity(item.getQuantity().subtract(item.getLockQuantity()));
+                item.setAsOfTime(asOfTime);
+                if (warehouse != null) {
+                    item.setWarehouseName(warehouse.getWarehouseName());
+                }
+                GoodsDO goods = goodsMap.get(item.getGoodsId());
+                if (goods != null) {
+                    item.setGoodsName(goods.getGoodsName());
+                    item.setSkuCode(goods.getSkuCode());
+                }
+            });
+        }
+
+        // 4. 写入缓存：只缓存足够早的时刻，避免还未提交的流水导致缓存了错误的结果
+        if (asOfTime.isBefore(LocalDateTime.now().minus(AS_OF_CACHE_MIN_AGE))) {
+            asOfCache.put(cacheKey, copyAsOfList(result));
+        }
+        return result;
+    }
+
+    /**
+     * 复制历史时点库存列表。缓存中的列表在多个请求之间共享，调用方修改返回值时，不能影响到缓存
+     */
+    private static List<InventoryAsOfRespVO> copyAsOfList(List<InventoryAsOfRespVO> list) {
+        return BeanUtils.toBean(list, InventoryAsOfRespVO.class);
+    }
+
+    private List<InventoryAsOfRespVO> buildGoodsInventoryAsOf(Long warehouseId, Long goodsId, LocalDateTime asOfTime) {
+        InventorySnapshotDO snapshot = inventorySnapshotMapper.selectLatestBefore(warehouseId, goodsId,
+                asOfTime.toLocalDate().toString());
+        String snapshotDate = snapshot != null ? snapshot.getSnapshotDate() : null;
+        Map<Long, InventorySnapshotDO> snapshotMap = snapshot != null ? Map.of(goodsId, snapshot) : Map.of();
+        return replayInventoryLog(warehouseId, List.of(goodsId), snapshotMap, snapshotDate, asOfTime);
+    }
+
+    private List<InventoryAsOfRespVO> buildWarehouseInventoryAsOf(Long warehouseId, LocalDateTime asOfTime) {
+        // 1. 仓库最近的快照
+        String snapshotDate = inventorySnapshotMapper.selectLatestSnapshotDateBefore(warehouseId,
+                asOfTime.toLocalDate().toString());
+        List<InventorySnapshotDO> snapshots = snapshotDate != null
+                ? inventorySnapshotMapper.selectListByWarehouseIdAndSnapshotDate(warehouseId, snapshotDate) : List.of();
+        Map<Long, InventorySnapshotDO> snapshotMap = CollectionUtils.convertMap(snapshots, InventorySnapshotDO::getGoodsId);
+
+        // 2. 需要回放的商品：快照中的商品 + 回放区间内有流水的商品
+        Set<Long> goodsIds = new LinkedHashSet<>(snapshotMap.keySet());
+        goodsIds.addAll(inventoryLogMapper.selectGoodsIdListByCreateTime(warehouseId,
+                getReplayBeginTime(snapshotDate), asOfTime));
+        if (goodsIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 3. 按商品分片并行回放。线程池中没有租户上下文，需要显式传递
+        Long tenantId = TenantContextHolder.getTenantId();
+        boolean tenantIgnore = TenantContextHolder.isIgnore();
+        List<Future<List<InventoryAsOfRespVO>>> tasks = CollectionUtils.convertList(
+                CollUtil.split(goodsIds, AS_OF_BATCH_SIZE), batch -> {
+                    Callable<List<InventoryAsOfRespVO>> replay = () -> replayInventoryLog(
+                            warehouseId, batch, snapshotMap, snapshotDate, asOfTime);
+                    return inventoryAsOfExecutor.submit(() -> tenantIgnore ? TenantUtils.executeIgnore(replay)
+                            : TenantUtils.execute(tenantId, replay));
+                });
+        List<InventoryAsOfRespVO> result = new ArrayList<>(goodsIds.size());
+        for (Future<List<InventoryAsOfRespVO>> task : tasks) {
+            result.addAll(getResult(task));
+        }
+        return result;
+    }
+
+    @SneakyThrows
+    private static List<InventoryAsOfRespVO> getResult(Future<List<InventoryAsOfRespVO>> task) {
+        try {
+            return task.get();
+        } catch (ExecutionException ex) {
+            // 抛出回放时的原始异常，例如说 ServiceException
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * 从快照开始，回放一批商品的库存流水
+     *
+     * 数量：累加 quantityChange；锁定数量：LOCK 增加、UNLOCK 减少（流水中锁定记为负数，取绝对值）
+     */
+    private List<InventoryAsOfRespVO> replayInventoryLog(Long warehouseId, Collection<Long> goodsIds,
+                                                         Map<Long, InventorySnapshotDO> snapshotMap,
+                                                         String snapshotDate, LocalDateTime asOfTime) {
+        // 1. 以快照为起点
+        Map<Long, InventoryAsOfRespVO> itemMap = new LinkedHashMap<>(goodsIds.size() * 2);
+        for (Long goodsId : goodsIds) {
+            InventorySnapshotDO snapshot = snapshotMap.get(goodsId);
+            InventoryAsOfRespVO item = new InventoryAsOfRespVO();
+            item.setWarehouseId(warehouseId);
+            item.setGoodsId(goodsId);
+            item.setSnapshotDate(snapshotDate);
+            item.setQuantity(snapshot != null ? ObjUtil.defaultIfNull(snapshot.getQuantity(), BigDecimal.ZERO) : BigDecimal.ZERO);
+            item.setLockQuantity(snapshot != null ? ObjUtil.defaultIfNull(snapshot.getLockQuantity(), BigDecimal.ZERO) : BigDecimal.ZERO);
+            itemMap.put(goodsId, item);
+        }
+
+        // 2. 流式回放快照之后的流水
+        inventoryLogMapper.selectListByCreateTime(warehouseId, goodsIds, getReplayBeginTime(snapshotDate), asOfTime,
+                inventoryLog -> {
+                    InventoryAsOfRespVO item = itemMap.get(inventoryLog.getGoodsId());
+                    BigDecimal change = ObjUtil.defaultIfNull(inventoryLog.getQuantityChange(), BigDecimal.ZERO);
+                    if (InventoryOperationTypeEnum.LOCK.getType().equals(inventoryLog.getOperationType())) {
+                        item.setLockQuantity(item.getLockQuantity().add(change.abs()));
+                    } else if (InventoryOperationTypeEnum.UNLOCK.getType().equals(inventoryLog.getOperationType())) {
+                        item.setLockQuantity(item.getLockQuantity().subtract(change.abs()));
+                    } else {
+                        item.setQuantity(item.getQuantity().add(change));
+                    }
+                });
+        return new ArrayList<>(itemMap.values());
+    }
+
+    /**
+     * 回放的开始时间：快照日期的次日 00:00；没有快照时，从第一条流水开始
+     */
+    private static LocalDateTime getReplayBeginTime(String snapshotDate) {
+        return snapshotDate != null ? LocalDate.parse(snapshotDate).plusDays(1).atStartOfDay() : null;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.laby.module.wms.service.inventory.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 库存调整 BO
+ *
+ * 用于盘点调整等场景，描述某个（仓库、库位、商品、批次）维度上的库存变化量
+ *
+ * @author laby
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryAdjustBO {
+
+    /**
+     * 仓库ID
+     */
+    private Long warehouseId;
+
+    /**
+     * 库位ID
+     */
+    private Long locationId;
+
+    /**
+     * 商品ID
+     */
+    private Long goodsId;
+
+    /**
+     * 批次号
+     */
+    private String batchNo;
+
+    /**
+     * 变化数量
+     * 正数表示盘盈，负数表示盘亏
+     */
+    private BigDecimal quantityChange;
+
+    /**
+     * 业务单号（如盘点单号）
+     */
+    private String businessNo;
+
+    /**
+     * 备注
+     */
+    private String remark;
+
+}
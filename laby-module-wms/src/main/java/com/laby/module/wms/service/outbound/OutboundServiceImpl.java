@@ -3,6 +3,7 @@ package com.laby.module.wms.service.outbound;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.lang.Assert;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.datasource.core.aop.ReadReplica;
 import com.laby.module.wms.controller.admin.outbound.vo.OutboundItemRespVO;
 import com.laby.module.wms.controller.admin.outbound.vo.OutboundPageReqVO;
 import com.laby.module.wms.controller.admin.outbound.vo.OutboundRespVO;
@@ -16,7 +17,9 @@ import com.laby.module.wms.dal.dataobject.warehouse.WarehouseLocationDO;
 import com.laby.module.wms.dal.mysql.outbound.OutboundItemMapper;
 import com.laby.module.wms.dal.mysql.outbound.OutboundMapper;
 import com.laby.module.wms.enums.OutboundStatusEnum;
+import com.laby.module.wms.enums.OutboxDocumentTypeEnum;
 import com.laby.module.wms.service.goods.GoodsService;
+import com.laby.module.wms.service.outbox.OutboxService;
 import com.laby.module.wms.service.warehouse.WarehouseLocationService;
 import com.laby.module.wms.service.warehouse.WarehouseService;
 import jakarta.annotation.Resource;
@@ -67,6 +70,9 @@ public class OutboundServiceImpl implements OutboundService {
     @Resource
     private GoodsService goodsService;
 
+    @Resource
+    private OutboxService outboxService;
+
     /**
      * 创建出库单
      *
@@ -96,6 +102,7 @@ public class OutboundServiceImpl implements OutboundService {
         outbound.setTotalQuantity(calculateTotalQuantity(createReqVO.getItems()));
         outbound.setPickedQuantity(BigDecimal.ZERO);
         outboundMapper.insert(outbound);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.OUTBOUND, outbound.getId(), outbound.getOutboundNo(), outbound.getStatus());
 
         // 3. 创建出库单明细
         if (CollUtil.isNotEmpty(createReqVO.getItems())) {
@@ -212,6 +219,7 @@ public class OutboundServiceImpl implements OutboundService {
     }
 
     @Override
+    @ReadReplica(maxLagMs = 5000) // 分页列表允许秒级延迟，读从库
     public PageResult<OutboundRespVO> getOutboundPage(OutboundPageReqVO pageReqVO) {
         // 1. 分页查询出库单
         PageResult<OutboundDO> pageResult = outboundMapper.selectPage(pageReqVO);
@@ -253,6 +261,7 @@ public class OutboundServiceImpl implements OutboundService {
         updateObj.setAuditByName(auditByName);
         updateObj.setAuditTime(LocalDateTime.now());
         outboundMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.OUTBOUND, id, outbound.getOutboundNo(), updateObj.getStatus());
 
         log.info("[auditOutbound] 审核出库单成功，出库单号：{}, ID：{}, 审核人：{}", outbound.getOutboundNo(), id, auditByName);
     }
@@ -273,6 +282,7 @@ public class OutboundServiceImpl implements OutboundService {
         updateObj.setId(id);
         updateObj.setStatus(OutboundStatusEnum.PICKING.getStatus());
         outboundMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.OUTBOUND, id, outbound.getOutboundNo(), updateObj.getStatus());
 
         log.info("[startPicking] 开始拣货，出库单号：{}, ID：{}", outbound.getOutboundNo(), id);
     }
@@ -321,6 +331,9 @@ public class OutboundServiceImpl implements OutboundService {
         }
 
         outboundMapper.updateById(updateObj);
+        if (updateObj.getStatus() != null) {
+            outboxService.createOutbox(OutboxDocumentTypeEnum.OUTBOUND, id, outbound.getOutboundNo(), updateObj.getStatus());
+        }
     }
 
     @Override
@@ -343,6 +356,7 @@ public class OutboundServiceImpl implements OutboundService {
         updateObj.setCompleteTime(LocalDateTime.now());
         updateObj.setActualShipmentTime(LocalDateTime.now());
         outboundMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.OUTBOUND, id, outbound.getOutboundNo(), updateObj.getStatus());
 
         // 4. 更新所有明细的已发货数量
         List<OutboundItemDO> items = outboundItemMapper.selectListByOutboundId(id);
@@ -374,6 +388,7 @@ public class OutboundServiceImpl implements OutboundService {
         updateObj.setId(id);
         updateObj.setStatus(OutboundStatusEnum.CANCELLED.getStatus());
         outboundMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.OUTBOUND, id, outbound.getOutboundNo(), updateObj.getStatus());
 
         log.info("[cancelOutbound] 取消出库单成功，出库单号：{}, ID：{}", outbound.getOutboundNo(), id);
     }
@@ -510,6 +525,10 @@ public class OutboundServiceImpl implements OutboundService {
         }
 
         outboundMapper.updateById(updateObj);
+        // 状态发生变化时，才记录到发件箱
+        if (updateObj.getStatus() != null && !updateObj.getStatus().equals(outbound.getStatus())) {
+            outboxService.createOutbox(OutboxDocumentTypeEnum.OUTBOUND, outboundId, outbound.getOutboundNo(), updateObj.getStatus());
+        }
     }
 }
 
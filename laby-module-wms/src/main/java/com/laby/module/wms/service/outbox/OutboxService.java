@@ -0,0 +1,51 @@
+package com.laby.module.wms.service.outbox;
+
+import com.laby.module.wms.enums.OutboxDocumentTypeEnum;
+
+/**
+ * 事务发件箱 Service 接口
+ *
+ * 功能说明：
+ * - 单据状态变更时，在同一个事务中写入 wms_outbox
+ * - 中继任务按 ID 顺序读取未发送的记录，批量发布到 Redis Stream
+ *
+ * 投递语义：
+ * - 至少一次：发布成功后才标记为已发送，标记失败时会重复发布
+ * - 同一单据按状态变更顺序发布：某一批发布失败时，本次中继直接结束，不会跳过失败的记录
+ * - 发布失败后指数退避（1 秒、2 秒、4 秒……最多 60 秒），退避期间的中继直接跳过
+ *
+ * @author laby
+ */
+public interface OutboxService {
+
+    /**
+     * 记录单据状态变更
+     *
+     * 必须在单据状态更新的事务中调用，与状态更新同时提交或回滚
+     *
+     * @param documentType 单据类型
+     * @param documentId 单据ID
+     * @param documentNo 单据编号
+     * @param status 变更后的状态
+     */
+    void createOutbox(OutboxDocumentTypeEnum documentType, Long documentId, String documentNo, Integer status);
+
+    /**
+     * 中继未发送的记录到 Redis Stream
+     *
+     * @param batchSize 每批数量
+     * @param maxBatchCount 最多处理的批数，避免积压较多时单次执行时间过长
+     * @return 发布的数量
+     */
+    int relayOutbox(int batchSize, int maxBatchCount);
+
+    /**
+     * 物理删除 N 天前已发送的记录
+     *
+     * @param exceedDay 超过多少天就进行清理
+     * @param deleteLimit 清理的间隔条数
+     * @return 删除的数量
+     */
+    Integer cleanOutbox(Integer exceedDay, Integer deleteLimit);
+
+}
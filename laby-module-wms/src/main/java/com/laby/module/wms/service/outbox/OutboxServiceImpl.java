@@ -0,0 +1,168 @@
+package com.laby.module.wms.service.outbox;
+
+import cn.hutool.core.collection.CollUtil;
+import com.laby.framework.tenant.core.util.TenantUtils;
+import com.laby.module.wms.dal.dataobject.outbox.OutboxDO;
+import com.laby.module.wms.dal.mysql.outbox.OutboxMapper;
+import com.laby.module.wms.enums.OutboxDocumentTypeEnum;
+import com.laby.module.wms.mq.message.outbox.WmsDocumentStatusMessage;
+import com.laby.module.wms.mq.producer.outbox.WmsDocumentStatusProducer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.annotation.Resource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.laby.framework.common.util.collection.CollectionUtils.convertList;
+
+/**
+ * 事务发件箱 Service 实现类
+ *
+ * @author laby
+ */
+@Service
+@Validated
+@Slf4j
+public class OutboxServiceImpl implements OutboxService {
+
+    /**
+     * 发布失败后，最大的退避时间，单位：毫秒
+     */
+    private static final long MAX_BACKOFF_MILLIS = 60 * 1000L;
+
+    /**
+     * 连续发布失败的次数
+     */
+    private int failureCount;
+    /**
+     * 下次允许中继的时间，单位：毫秒。发布失败后，按失败次数指数退避，避免 Redis 不可用时每秒重试
+     */
+    private volatile long nextRelayTime;
+
+    @Resource
+    private OutboxMapper outboxMapper;
+
+    @Resource
+    private WmsDocumentStatusProducer wmsDocumentStatusProducer;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY) // 必须在单据状态更新的事务中
+    public void createOutbox(OutboxDocumentTypeEnum documentType, Long documentId, String documentNo, Integer status) {
+        OutboxDO outbox = OutboxDO.builder().documentType(documentType.getType())
+                .documentId(documentId).documentNo(documentNo).status(status)
+                .idempotencyKey(buildIdempotencyKey(documentType.getType(), documentId, status))
+                .sent(false).build();
+        outboxMapper.insert(outbox);
+    }
+
+    /**
+     * 中继未发送的记录
+     *
+     * 实现步骤：
+     * 1. 按 ID 游标读取一批未发送的记录，游标只向前推进，不需要 OFFSET
+     * 2. 按租户分组批量发布，租户编号通过消息头传递
+     * 3. 发布成功的记录，批量标记为已发送
+     * 4. 任一租户发布失败时，结束本次中继，保证同一单据的后续状态不会先于失败的记录发布；并按连续失败次数指数退避
+     */
+    @Override
+    public synchronized int relayOutbox(int batchSize, int maxBatchCount) {
+        // 0. 处于退避期间，跳过本次中继
+        if (System.currentTimeMillis() < nextRelayTime) {
+            return 0;
+        }
+        int count = 0;
+        long lastId = 0L;
+        for (int i = 0; i < maxBatchCount; i++) {
+            // 1. 读取一批
+            List<OutboxDO> outboxes = outboxMapper.selectListBySentAndIdGt(lastId, batchSize);
+            if (CollUtil.isEmpty(outboxes)) {
+                break;
+            }
+            lastId = outboxes.get(outboxes.size() - 1).getId();
+
+            // 2. 按租户分组发布，组内保持 ID 顺序
+            Map<Long, List<OutboxDO>> tenantOutboxes = new LinkedHashMap<>();
+            outboxes.forEach(outbox -> tenantOutboxes.computeIfAbsent(outbox.getTenantId(), key -> new ArrayList<>()).add(outbox));
+            List<Long> sentIds = new ArrayList<>(outboxes.size());
+            boolean failed = false;
+            for (Map.Entry<Long, List<OutboxDO>> entry : tenantOutboxes.entrySet()) {
+                try {
+                    TenantUtils.execute(entry.getKey(), () -> wmsDocumentStatusProducer.sendDocumentStatusMessages(
+                            convertList(entry.getValue(), OutboxServiceImpl::buildMessage)));
+                    sentIds.addAll(convertList(entry.getValue(), OutboxDO::getId));
+                } catch (Exception ex) {
+                    failed = true;
+                    log.error("[relayOutbox][租户({}) 发布 {} 条记录失败，下次执行时重试]",
+                            entry.getKey(), entry.getValue().size(), ex);
+                }
+            }
+
+            // 3. 标记为已发送
+            if (CollUtil.isNotEmpty(sentIds)) {
+                outboxMapper.updateSentByIds(sentIds, LocalDateTime.now());
+                count += sentIds.size();
+            }
+            // 4. 发布失败、或者已经读取完，结束
+            if (failed) {
+                backoff();
+                return count;
+            }
+            if (outboxes.size() < batchSize) {
+                break;
+            }
+        }
+        failureCount = 0;
+        return count;
+    }
+
+    /**
+     * 发布失败后退避：1 秒、2 秒、4 秒……，最多 {@link #MAX_BACKOFF_MILLIS}
+     */
+    private void backoff() {
+        failureCount++;
+        long backoffMillis = Math.min(1000L << Math.min(failureCount - 1, 16), MAX_BACKOFF_MILLIS);
+        nextRelayTime = System.currentTimeMillis() + backoffMillis;
+        log.warn("[backoff][发件箱中继连续失败 {} 次，{} 毫秒后重试]", failureCount, backoffMillis);
+    }
+
+    @Override
+    @SuppressWarnings("DuplicatedCode")
+    public Integer cleanOutbox(Integer exceedDay, Integer deleteLimit) {
+        int count = 0;
+        LocalDateTime expireDate = LocalDateTime.now().minusDays(exceedDay);
+        // 循环删除，直到没有满足条件的数据
+        for (int i = 0; i < Short.MAX_VALUE; i++) {
+            int deleteCount = outboxMapper.deleteBySentAndCreateTimeLt(expireDate, deleteLimit);
+            count += deleteCount;
+            // 达到删除预期条数，说明到底了
+            if (deleteCount < deleteLimit) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    private static WmsDocumentStatusMessage buildMessage(OutboxDO outbox) {
+        WmsDocumentStatusMessage message = new WmsDocumentStatusMessage();
+        message.setOutboxId(outbox.getId());
+        message.setIdempotencyKey(outbox.getIdempotencyKey());
+        message.setDocumentType(outbox.getDocumentType());
+        message.setDocumentId(outbox.getDocumentId());
+        message.setDocumentNo(outbox.getDocumentNo());
+        message.setStatus(outbox.getStatus());
+        message.setChangeTime(outbox.getCreateTime());
+        return message;
+    }
+
+    private static String buildIdempotencyKey(String documentType, Long documentId, Integer status) {
+        return documentType + ":" + documentId + ":" + status;
+    }
+
+}
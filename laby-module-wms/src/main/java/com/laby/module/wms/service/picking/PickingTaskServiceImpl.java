@@ -2,6 +2,7 @@ package com.laby.module.wms.service.picking;
 
 import cn.hutool.core.collection.CollUtil;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.datasource.core.aop.ReadReplica;
 import com.laby.module.wms.controller.admin.picking.vo.PickingTaskPageReqVO;
 import com.laby.module.wms.controller.admin.picking.vo.PickingTaskPickReqVO;
 import com.laby.module.wms.dal.dataobject.picking.PickingTaskDO;
@@ -48,6 +49,7 @@ public class PickingTaskServiceImpl implements PickingTaskService {
     }
 
     @Override
+    @ReadReplica(maxLagMs = 5000) // 分页列表允许秒级延迟，读从库
     public PageResult<PickingTaskDO> getPickingTaskPage(PickingTaskPageReqVO pageReqVO) {
         return pickingTaskMapper.selectPage(pageReqVO);
     }
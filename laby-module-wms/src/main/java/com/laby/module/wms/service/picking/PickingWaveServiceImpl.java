@@ -3,6 +3,7 @@ package com.laby.module.wms.service.picking;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.datasource.core.aop.ReadReplica;
 import com.laby.module.wms.controller.admin.picking.vo.PickingWavePageReqVO;
 import com.laby.module.wms.controller.admin.picking.vo.PickingWaveRespVO;
 import com.laby.module.wms.controller.admin.picking.vo.PickingWaveSaveReqVO;
@@ -14,8 +15,10 @@ import com.laby.module.wms.dal.dataobject.warehouse.WarehouseDO;
 import com.laby.module.wms.dal.mysql.picking.PickingWaveMapper;
 import com.laby.module.wms.dal.mysql.picking.PickingWaveOrderMapper;
 import com.laby.module.wms.dal.mysql.warehouse.WarehouseMapper;
+import com.laby.module.wms.enums.OutboxDocumentTypeEnum;
 import com.laby.module.wms.enums.PickingWaveStatusEnum;
 import com.laby.module.wms.service.outbound.OutboundService;
+import com.laby.module.wms.service.outbox.OutboxService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -63,6 +66,9 @@ public class PickingWaveServiceImpl implements PickingWaveService {
     @Resource
     private com.laby.module.wms.dal.mysql.outbound.OutboundMapper outboundMapper;
 
+    @Resource
+    private OutboxService outboxService;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Long createPickingWave(PickingWaveSaveReqVO createReqVO) {
@@ -82,6 +88,7 @@ public class PickingWaveServiceImpl implements PickingWaveService {
 
         // 3. 插入波次
         pickingWaveMapper.insert(wave);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.PICKING_WAVE, wave.getId(), wave.getWaveNo(), wave.getStatus());
 
         // 4. 创建波次与出库单的关联关系
         for (OutboundDO outbound : outbounds) {
@@ -167,6 +174,7 @@ public class PickingWaveServiceImpl implements PickingWaveService {
     }
 
     @Override
+    @ReadReplica(maxLagMs = 5000) // 分页列表允许秒级延迟，读从库
     public PageResult<PickingWaveRespVO> getPickingWavePage(PickingWavePageReqVO pageReqVO) {
         PageResult<PickingWaveDO> pageResult = pickingWaveMapper.selectPage(pageReqVO);
         PageResult<PickingWaveRespVO> voPageResult = PickingWaveConvert.INSTANCE.convertPage(pageResult);
@@ -241,6 +249,7 @@ public class PickingWaveServiceImpl implements PickingWaveService {
                 .status(PickingWaveStatusEnum.ASSIGNED.getStatus())
                 .build();
         pickingWaveMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.PICKING_WAVE, id, wave.getWaveNo(), updateObj.getStatus());
 
         log.info("[拣货波次] 分配拣货员成功，波次ID：{}，拣货员：{}", id, pickerName);
     }
@@ -263,6 +272,7 @@ public class PickingWaveServiceImpl implements PickingWaveService {
                 .startTime(LocalDateTime.now())
                 .build();
         pickingWaveMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.PICKING_WAVE, id, wave.getWaveNo(), updateObj.getStatus());
 
         log.info("[拣货波次] 开始拣货，波次ID：{}", id);
     }
@@ -293,6 +303,7 @@ public class PickingWaveServiceImpl implements PickingWaveService {
                 .actualTime(actualTime)
                 .build();
         pickingWaveMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.PICKING_WAVE, id, wave.getWaveNo(), updateObj.getStatus());
 
         log.info("[拣货波次] 完成拣货，波次ID：{}，实际耗时：{}秒", id, actualTime);
     }
@@ -314,6 +325,7 @@ public class PickingWaveServiceImpl implements PickingWaveService {
                 .status(PickingWaveStatusEnum.CANCELLED.getStatus())
                 .build();
         pickingWaveMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.PICKING_WAVE, id, wave.getWaveNo(), updateObj.getStatus());
 
         log.info("[拣货波次] 取消波次，波次ID：{}", id);
     }
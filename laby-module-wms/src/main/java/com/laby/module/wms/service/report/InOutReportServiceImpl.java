@@ -1,6 +1,7 @@
 package com.laby.module.wms.service.report;
 
 import cn.hutool.core.date.DateUtil;
+import com.laby.framework.datasource.core.aop.ReadReplica;
 import com.laby.framework.mybatis.core.query.LambdaQueryWrapperX;
 import com.laby.module.wms.controller.admin.report.vo.InOutReportReqVO;
 import com.laby.module.wms.controller.admin.report.vo.InOutReportRespVO;
@@ -41,6 +42,7 @@ public class InOutReportServiceImpl implements InOutReportService {
     private OutboundMapper outboundMapper;
 
     @Override
+    @ReadReplica(maxLagMs = 5000) // 报表允许秒级延迟，读从库
     public List<InOutReportRespVO> getInOutReportList(InOutReportReqVO reqVO) {
         // 1. 确定时间范围
         LocalDateTime startTime = reqVO.getStartTime() != null ? reqVO.getStartTime() : LocalDateTime.now().minusMonths(1);
@@ -119,6 +121,7 @@ public class InOutReportServiceImpl implements InOutReportService {
     }
 
     @Override
+    @ReadReplica(maxLagMs = 5000) // 报表允许秒级延迟，读从库
     public InOutReportSummaryVO getInOutReportSummary(InOutReportReqVO reqVO) {
         // 1. 获取统计列表
         List<InOutReportRespVO> reportList = getInOutReportList(reqVO);
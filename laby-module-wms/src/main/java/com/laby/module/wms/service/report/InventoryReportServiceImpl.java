@@ -2,6 +2,7 @@ package com.laby.module.wms.service.report;
 
 import cn.hutool.core.collection.CollUtil;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.datasource.core.aop.ReadReplica;
 import com.laby.module.wms.controller.admin.report.vo.InventoryReportReqVO;
 import com.laby.module.wms.controller.admin.report.vo.InventoryReportRespVO;
 import com.laby.module.wms.controller.admin.report.vo.InventoryReportSummaryVO;
@@ -49,6 +50,7 @@ public class InventoryReportServiceImpl implements InventoryReportService {
     private GoodsCategoryService goodsCategoryService;
 
     @Override
+    @ReadReplica(maxLagMs = 5000) // 报表允许秒级延迟，读从库
     public PageResult<InventoryReportRespVO> getInventoryReportPage(InventoryReportReqVO reqVO) {
         // 1. 查询库存数据
         PageResult<InventoryDO> pageResult = inventoryMapper.selectPage(reqVO);
@@ -125,6 +127,7 @@ public class InventoryReportServiceImpl implements InventoryReportService {
     }
 
     @Override
+    @ReadReplica(maxLagMs = 5000) // 报表允许秒级延迟，读从库
     public InventoryReportSummaryVO getInventoryReportSummary(InventoryReportReqVO reqVO) {
         // 1. 查询所有库存数据（不分页）
         InventoryReportReqVO allReqVO = new InventoryReportReqVO();
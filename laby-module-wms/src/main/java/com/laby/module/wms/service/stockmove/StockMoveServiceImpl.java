@@ -3,6 +3,7 @@ package com.laby.module.wms.service.stockmove;
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.util.IdUtil;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.datasource.core.aop.ReadReplica;
 import com.laby.module.wms.controller.admin.stockmove.vo.StockMovePageReqVO;
 import com.laby.module.wms.controller.admin.stockmove.vo.StockMoveRespVO;
 import com.laby.module.wms.controller.admin.stockmove.vo.StockMoveSaveReqVO;
@@ -11,7 +12,9 @@ import com.laby.module.wms.dal.dataobject.stockmove.StockMoveDO;
 import com.laby.module.wms.dal.dataobject.warehouse.WarehouseDO;
 import com.laby.module.wms.dal.mysql.stockmove.StockMoveMapper;
 import com.laby.module.wms.dal.mysql.warehouse.WarehouseMapper;
+import com.laby.module.wms.enums.OutboxDocumentTypeEnum;
 import com.laby.module.wms.enums.StockMoveStatusEnum;
+import com.laby.module.wms.service.outbox.OutboxService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -39,6 +42,9 @@ public class StockMoveServiceImpl implements StockMoveService {
     @Resource
     private WarehouseMapper warehouseMapper;
 
+    @Resource
+    private OutboxService outboxService;
+
     /**
      * 创建移库单
      *
@@ -65,6 +71,7 @@ public class StockMoveServiceImpl implements StockMoveService {
 
         // 5. 插入数据库
         stockMoveMapper.insert(stockMove);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.STOCK_MOVE, stockMove.getId(), moveNo, stockMove.getStatus());
 
         log.info("[移库管理] 创建移库单，移库单号：{}，商品：{}，数量：{}", 
                 moveNo, stockMove.getGoodsName(), stockMove.getQuantity());
@@ -155,6 +162,7 @@ public class StockMoveServiceImpl implements StockMoveService {
      * @return 移库单分页
      */
     @Override
+    @ReadReplica(maxLagMs = 5000) // 分页列表允许秒级延迟，读从库
     public PageResult<StockMoveRespVO> getStockMovePage(StockMovePageReqVO pageReqVO) {
         // 1. 分页查询
         PageResult<StockMoveDO> pageResult = stockMoveMapper.selectPage(pageReqVO);
@@ -196,6 +204,7 @@ public class StockMoveServiceImpl implements StockMoveService {
         updateObj.setId(id);
         updateObj.setStatus(StockMoveStatusEnum.PROCESSING.getStatus());
         stockMoveMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.STOCK_MOVE, id, stockMove.getMoveNo(), updateObj.getStatus());
 
         log.info("[移库管理] 执行移库，移库单号：{}", stockMove.getMoveNo());
     }
@@ -224,6 +233,7 @@ public class StockMoveServiceImpl implements StockMoveService {
         // TODO: 获取当前登录用户名作为操作人
         updateObj.setOperator("系统");
         stockMoveMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.STOCK_MOVE, id, stockMove.getMoveNo(), updateObj.getStatus());
 
         // 4. TODO: 更新库存（从源库位扣减，目标库位增加）
         // 这里需要调用库存服务的接口来更新库存
@@ -256,6 +266,7 @@ public class StockMoveServiceImpl implements StockMoveService {
         updateObj.setId(id);
         updateObj.setStatus(StockMoveStatusEnum.CANCELLED.getStatus());
         stockMoveMapper.updateById(updateObj);
+        outboxService.createOutbox(OutboxDocumentTypeEnum.STOCK_MOVE, id, stockMove.getMoveNo(), updateObj.getStatus());
 
         log.info("[移库管理] 取消移库，移库单号：{}", stockMove.getMoveNo());
     }
@@ -3,6 +3,7 @@ package com.laby.module.wms.service.stocktaking;
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.util.IdUtil;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.datasource.core.aop.ReadReplica;
 import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingPlanPageReqVO;
 import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingPlanRespVO;
 import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingPlanSaveReqVO;
@@ -119,6 +120,7 @@ public class StockTakingPlanServiceImpl implements StockTakingPlanService {
     }
 
     @Override
+    @ReadReplica(maxLagMs = 5000) // 分页列表允许秒级延迟，读从库
     public PageResult<StockTakingPlanRespVO> getStockTakingPlanPage(StockTakingPlanPageReqVO pageReqVO) {
         // 1. 分页查询
         PageResult<StockTakingPlanDO> pageResult = stockTakingPlanMapper.selectPage(pageReqVO);
@@ -1,12 +1,15 @@
 package com.laby.module.wms.service.stocktaking;
 
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingBatchSubmitReqVO;
 import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingPageReqVO;
 import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingRespVO;
 import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingSaveReqVO;
 import jakarta.validation.Valid;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 盘点单 Service 接口
@@ -76,5 +79,29 @@ public interface StockTakingService {
      */
     void adjustStockTaking(Long id);
 
-}
+    /**
+     * 批量提交盘点
+     *
+     * 批量更新实盘数量，并按盘点计划汇总已完成数、差异数，每个计划只更新一次
+     *
+     * @param items 盘点明细列表
+     */
+    void submitStockTakingList(@Valid List<StockTakingBatchSubmitReqVO.Item> items);
 
+    /**
+     * 批量复核盘点
+     *
+     * @param ids 盘点单ID集合
+     */
+    void reviewStockTakingList(Collection<Long> ids);
+
+    /**
+     * 批量调整库存
+     *
+     * 内存中计算差异，按盘点计划将所有非零差异一次性写入库存和库存流水
+     *
+     * @param ids 盘点单ID集合
+     */
+    void adjustStockTakingList(Collection<Long> ids);
+
+}
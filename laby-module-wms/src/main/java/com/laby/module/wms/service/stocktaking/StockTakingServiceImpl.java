@@ -1,8 +1,14 @@
 package com.laby.module.wms.service.stocktaking;
 
+import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.datasource.core.aop.ReadReplica;
+import com.laby.framework.security.core.util.SecurityFrameworkUtils;
+import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingBatchSubmitReqVO;
 import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingPageReqVO;
 import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingRespVO;
 import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingSaveReqVO;
@@ -10,8 +16,11 @@ import com.laby.module.wms.convert.stocktaking.StockTakingConvert;
 import com.laby.module.wms.dal.dataobject.stocktaking.StockTakingDO;
 import com.laby.module.wms.dal.dataobject.warehouse.WarehouseDO;
 import com.laby.module.wms.dal.mysql.stocktaking.StockTakingMapper;
+import com.laby.module.wms.dal.mysql.stocktaking.StockTakingPlanMapper;
 import com.laby.module.wms.dal.mysql.warehouse.WarehouseMapper;
 import com.laby.module.wms.enums.StockTakingStatusEnum;
+import com.laby.module.wms.service.inventory.InventoryService;
+import com.laby.module.wms.service.inventory.bo.InventoryAdjustBO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,8 +29,10 @@ import org.springframework.validation.annotation.Validated;
 import jakarta.annotation.Resource;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.*;
 
 import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
+import static com.laby.framework.common.util.collection.CollectionUtils.*;
 import static com.laby.module.wms.enums.ErrorCodeConstants.*;
 
 /**
@@ -34,12 +45,23 @@ import static com.laby.module.wms.enums.ErrorCodeConstants.*;
 @Slf4j
 public class StockTakingServiceImpl implements StockTakingService {
 
+    /**
+     * 库存流水的业务类型：盘点
+     */
+    private static final String BUSINESS_TYPE_STOCK_TAKING = "STOCK_TAKING";
+
     @Resource
     private StockTakingMapper stockTakingMapper;
 
+    @Resource
+    private StockTakingPlanMapper stockTakingPlanMapper;
+
     @Resource
     private WarehouseMapper warehouseMapper;
 
+    @Resource
+    private InventoryService inventoryService;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Long createStockTaking(StockTakingSaveReqVO createReqVO) {
@@ -117,6 +139,7 @@ public class StockTakingServiceImpl implements StockTakingService {
     }
 
     @Override
+    @ReadReplica(maxLagMs = 5000) // 分页列表允许秒级延迟，读从库
     public PageResult<StockTakingRespVO> getStockTakingPage(StockTakingPageReqVO pageReqVO) {
         // 1. 分页查询
         PageResult<StockTakingDO> pageResult = stockTakingMapper.selectPage(pageReqVO);
@@ -140,79 +163,121 @@ public class StockTakingServiceImpl implements StockTakingService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void submitStockTaking(Long id, BigDecimal actualQuantity, String diffReason) {
-        // 1. 校验盘点单是否存在
-        StockTakingDO taking = validateStockTakingExists(id);
-
-        // 2. 校验状态是否允许提交（只有待盘点状态可以提交）
-        if (!StockTakingStatusEnum.PENDING.getStatus().equals(taking.getStatus())) {
-            throw exception(STOCK_TAKING_NOT_ALLOW_UPDATE);
-        }
-
-        // 3. 更新实盘数量和状态
-        StockTakingDO updateObj = new StockTakingDO();
-        updateObj.setId(id);
-        updateObj.setActualQuantity(actualQuantity);
-        updateObj.setDiffReason(diffReason);
-        updateObj.setStatus(StockTakingStatusEnum.COUNTED.getStatus());
-        updateObj.setOperateTime(LocalDateTime.now());
-        // TODO: 获取当前登录用户名作为盘点人
-        updateObj.setOperator("系统");
-        stockTakingMapper.updateById(updateObj);
-
-        log.info("[盘点单] 提交盘点，盘点单号：{}，账面：{}，实盘：{}", 
-                taking.getTakingNo(), taking.getBookQuantity(), actualQuantity);
+        StockTakingBatchSubmitReqVO.Item item = new StockTakingBatchSubmitReqVO.Item();
+        item.setId(id);
+        item.setActualQuantity(actualQuantity);
+        item.setDiffReason(diffReason);
+        submitStockTakingList(Collections.singletonList(item));
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void reviewStockTaking(Long id) {
-        // 1. 校验盘点单是否存在
-        StockTakingDO taking = validateStockTakingExists(id);
+        reviewStockTakingList(Collections.singletonList(id));
+    }
 
-        // 2. 校验状态是否允许复核（只有已盘点状态可以复核）
-        if (!StockTakingStatusEnum.COUNTED.getStatus().equals(taking.getStatus())) {
-            throw exception(STOCK_TAKING_NOT_ALLOW_UPDATE);
-        }
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void adjustStockTaking(Long id) {
+        adjustStockTakingList(Collections.singletonList(id));
+    }
 
-        // 3. 更新状态为已复核
-        StockTakingDO updateObj = new StockTakingDO();
-        updateObj.setId(id);
-        updateObj.setStatus(StockTakingStatusEnum.REVIEWED.getStatus());
-        updateObj.setReviewTime(LocalDateTime.now());
-        // TODO: 获取当前登录用户名作为复核人
-        updateObj.setReviewer("系统");
-        stockTakingMapper.updateById(updateObj);
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void submitStockTakingList(List<StockTakingBatchSubmitReqVO.Item> items) {
+        if (CollUtil.isEmpty(items)) {
+            return;
+        }
+        // 1.1 校验盘点单不重复，否则盘点计划的已完成数、差异数会被重复累加
+        Set<Long> ids = new HashSet<>(items.size());
+        items.forEach(item -> {
+            if (!ids.add(item.getId())) {
+                throw exception(STOCK_TAKING_SUBMIT_DUPLICATE, item.getId());
+            }
+        });
+        // 1.2 校验盘点单是否存在，且都为待盘点状态
+        List<StockTakingDO> takings = validateStockTakingListStatus(ids, StockTakingStatusEnum.PENDING);
+        Map<Long, StockTakingDO> takingMap = convertMap(takings, StockTakingDO::getId);
+
+        // 2. 批量更新实盘数量和状态
+        String operator = getOperatorName();
+        LocalDateTime now = LocalDateTime.now();
+        List<StockTakingDO> updateList = convertList(items, item -> StockTakingDO.builder()
+                .id(item.getId()).actualQuantity(item.getActualQuantity()).diffReason(item.getDiffReason())
+                .status(StockTakingStatusEnum.COUNTED.getStatus())
+                .operateTime(now).operator(operator).build());
+        stockTakingMapper.updateBatch(updateList);
+
+        // 3. 内存中计算差异，按盘点计划汇总已完成数、差异数，每个计划只更新一次
+        Map<Long, int[]> planCountMap = new HashMap<>();
+        for (StockTakingBatchSubmitReqVO.Item item : items) {
+            StockTakingDO taking = takingMap.get(item.getId());
+            if (taking.getPlanId() == null) {
+                continue;
+            }
+            int[] counts = planCountMap.computeIfAbsent(taking.getPlanId(), key -> new int[2]);
+            counts[0]++;
+            if (calculateDiffQuantity(taking.getBookQuantity(), item.getActualQuantity()).signum() != 0) {
+                counts[1]++;
+            }
+        }
+        planCountMap.forEach((planId, counts) -> stockTakingPlanMapper.updateCountIncr(planId, counts[0], counts[1]));
 
-        log.info("[盘点单] 复核盘点，盘点单号：{}", taking.getTakingNo());
+        log.info("[盘点单] 批量提交盘点，数量：{}，涉及盘点计划：{}", items.size(), planCountMap.keySet());
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public void adjustStockTaking(Long id) {
-        // 1. 校验盘点单是否存在
-        StockTakingDO taking = validateStockTakingExists(id);
-
-        // 2. 校验状态是否允许调整（只有已复核状态可以调整）
-        if (!StockTakingStatusEnum.REVIEWED.getStatus().equals(taking.getStatus())) {
-            throw exception(STOCK_TAKING_NOT_ALLOW_UPDATE);
+    public void reviewStockTakingList(Collection<Long> ids) {
+        if (CollUtil.isEmpty(ids)) {
+            return;
         }
+        // 1. 校验盘点单是否存在，且都为已盘点状态
+        List<StockTakingDO> takings = validateStockTakingListStatus(ids, StockTakingStatusEnum.COUNTED);
+
+        // 2. 批量更新状态为已复核
+        String reviewer = getOperatorName();
+        LocalDateTime now = LocalDateTime.now();
+        stockTakingMapper.updateBatch(convertList(takings, taking -> StockTakingDO.builder()
+                .id(taking.getId()).status(StockTakingStatusEnum.REVIEWED.getStatus())
+                .reviewTime(now).reviewer(reviewer).build()));
 
-        // 3. 计算差异数量
-        BigDecimal diffQuantity = taking.getActualQuantity().subtract(taking.getBookQuantity());
+        log.info("[盘点单] 批量复核盘点，盘点单号：{}", convertList(takings, StockTakingDO::getTakingNo));
+    }
 
-        // 4. TODO: 调整库存（调用库存服务）
-        // if (diffQuantity.compareTo(BigDecimal.ZERO) != 0) {
-        //     inventoryService.adjustInventory(taking.getWarehouseId(), taking.getLocationId(), 
-        //         taking.getGoodsId(), diffQuantity, "盘点调整");
-        // }
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void adjustStockTakingList(Collection<Long> ids) {
+        if (CollUtil.isEmpty(ids)) {
+            return;
+        }
+        // 1. 校验盘点单是否存在，且都为已复核状态
+        List<StockTakingDO> takings = validateStockTakingListStatus(ids, StockTakingStatusEnum.REVIEWED);
+
+        // 2. 按盘点计划分组，每个计划的所有非零差异作为一次批量库存调整
+        Map<Long, List<StockTakingDO>> planTakingMap = new LinkedHashMap<>();
+        takings.forEach(taking -> planTakingMap.computeIfAbsent(taking.getPlanId(), key -> new ArrayList<>()).add(taking));
+        planTakingMap.values().forEach(planTakings -> {
+            List<InventoryAdjustBO> adjustList = new ArrayList<>(planTakings.size());
+            for (StockTakingDO taking : planTakings) {
+                BigDecimal diffQuantity = calculateDiffQuantity(taking.getBookQuantity(), taking.getActualQuantity());
+                if (diffQuantity.signum() == 0) {
+                    continue;
+                }
+                adjustList.add(InventoryAdjustBO.builder()
+                        .warehouseId(taking.getWarehouseId()).locationId(taking.getLocationId())
+                        .goodsId(taking.getGoodsId()).batchNo(taking.getBatchNo())
+                        .quantityChange(diffQuantity).businessNo(taking.getTakingNo())
+                        .remark(StrUtil.blankToDefault(taking.getDiffReason(), "盘点调整")).build());
+            }
+            inventoryService.adjustInventoryList(BUSINESS_TYPE_STOCK_TAKING, adjustList);
+        });
 
-        // 5. 更新状态为已调整
-        StockTakingDO updateObj = new StockTakingDO();
-        updateObj.setId(id);
-        updateObj.setStatus(StockTakingStatusEnum.ADJUSTED.getStatus());
-        stockTakingMapper.updateById(updateObj);
+        // 3. 批量更新状态为已调整
+        stockTakingMapper.updateBatch(convertList(takings, taking -> StockTakingDO.builder()
+                .id(taking.getId()).status(StockTakingStatusEnum.ADJUSTED.getStatus()).build()));
 
-        log.info("[盘点单] 调整库存，盘点单号：{}，差异：{}", taking.getTakingNo(), diffQuantity);
+        log.info("[盘点单] 批量调整库存，盘点单号：{}", convertList(takings, StockTakingDO::getTakingNo));
     }
 
     /**
@@ -226,6 +291,41 @@ public class StockTakingServiceImpl implements StockTakingService {
         return taking;
     }
 
+    /**
+     * 批量校验盘点单是否存在，且都处于指定状态
+     *
+     * @param ids 盘点单ID集合
+     * @param status 期望的状态
+     * @return 盘点单列表
+     */
+    private List<StockTakingDO> validateStockTakingListStatus(Collection<Long> ids, StockTakingStatusEnum status) {
+        List<StockTakingDO> takings = stockTakingMapper.selectByIds(ids);
+        if (takings.size() != new HashSet<>(ids).size()) {
+            throw exception(STOCK_TAKING_NOT_EXISTS);
+        }
+        takings.forEach(taking -> {
+            if (!status.getStatus().equals(taking.getStatus())) {
+                throw exception(STOCK_TAKING_NOT_ALLOW_UPDATE);
+            }
+        });
+        return takings;
+    }
+
+    /**
+     * 计算差异数量：实盘 - 账面
+     */
+    private static BigDecimal calculateDiffQuantity(BigDecimal bookQuantity, BigDecimal actualQuantity) {
+        return ObjectUtil.defaultIfNull(actualQuantity, BigDecimal.ZERO)
+                .subtract(ObjectUtil.defaultIfNull(bookQuantity, BigDecimal.ZERO));
+    }
+
+    /**
+     * 获取当前登录用户昵称，作为盘点人、复核人
+     */
+    private static String getOperatorName() {
+        return StrUtil.blankToDefault(SecurityFrameworkUtils.getLoginUserNickname(), "系统");
+    }
+
     /**
      * 生成盘点单号
      * 格式：TAKE + yyyyMMdd + 4位序列号
@@ -7,8 +7,8 @@ import com.laby.module.wms.controller.admin.supplier.vo.SupplierSaveReqVO;
 
 import jakarta.validation.Valid;
 import java.util.Collection;
-import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 供应商信息 Service 接口
@@ -79,9 +79,11 @@ public interface SupplierService {
     /**
      * 获得供应商简化列表（用于下拉框）
      *
-     * @return 供应商简化列表
+     * 流式查询，逐条转换后交给 consumer 处理
+     *
+     * @param consumer 逐条处理
      */
-    List<SupplierRespVO> getSupplierSimpleList();
+    void getSupplierSimpleList(Consumer<SupplierRespVO> consumer);
 
     /**
      * 获得供应商Map（用于批量关联查询）
@@ -2,6 +2,8 @@ package com.laby.module.wms.service.supplier;
 
 import cn.hutool.core.collection.CollUtil;
 import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.datasource.core.aop.ReadReplica;
+import com.laby.framework.mybatis.core.query.LambdaQueryWrapperX;
 import com.laby.module.wms.controller.admin.supplier.vo.SupplierPageReqVO;
 import com.laby.module.wms.controller.admin.supplier.vo.SupplierRespVO;
 import com.laby.module.wms.controller.admin.supplier.vo.SupplierSaveReqVO;
@@ -16,6 +18,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static com.laby.framework.common.util.collection.CollectionUtils.convertMap;
@@ -82,6 +85,7 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
+    @ReadReplica(maxLagMs = 5000) // 分页列表允许秒级延迟，读从库
     public PageResult<SupplierRespVO> getSupplierPage(SupplierPageReqVO pageReqVO) {
         // 1. 查询分页数据
         PageResult<SupplierDO> pageResult = supplierMapper.selectPage(pageReqVO);
@@ -91,10 +95,10 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
-    public List<SupplierRespVO> getSupplierSimpleList() {
+    public void getSupplierSimpleList(Consumer<SupplierRespVO> consumer) {
         // 查询所有启用状态的供应商
-        List<SupplierDO> list = supplierMapper.selectList(SupplierDO::getStatus, 1);
-        return SupplierConvert.INSTANCE.convertList(list);
+        supplierMapper.selectStream(new LambdaQueryWrapperX<SupplierDO>().eq(SupplierDO::getStatus, 1),
+                supplier -> consumer.accept(SupplierConvert.INSTANCE.convert(supplier)));
     }
 
     @Override
@@ -0,0 +1,33 @@
+package com.laby.module.wms.service.version;
+
+import com.laby.module.wms.framework.version.core.ConditionalVersion;
+
+import java.util.List;
+
+/**
+ * 数据版本号 Service 接口
+ *
+ * 按「租户 + 名字」维护数据的版本号，数据增删改时递增，用于 {@link ConditionalVersion} 计算 ETag
+ *
+ * @author laby
+ */
+public interface DataVersionService {
+
+    /**
+     * 获得当前租户下，数据的版本号
+     *
+     * @param names 版本号的名字数组，参见 DataVersionConstants
+     * @return 版本号数组，与 names 一一对应
+     */
+    List<Long> getVersionList(List<String> names);
+
+    /**
+     * 递增当前租户下，数据的版本号
+     *
+     * 在事务中时，事务提交后才递增，避免并发的查询读取到旧数据、却拿到新的版本号
+     *
+     * @param name 版本号的名字，参见 DataVersionConstants
+     */
+    void incrementVersion(String name);
+
+}
@@ -0,0 +1,64 @@
+package com.laby.module.wms.service.version;
+
+import cn.hutool.core.util.ObjUtil;
+import com.laby.framework.tenant.core.context.TenantContextHolder;
+import com.laby.module.wms.dal.redis.version.DataVersionRedisDAO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.Resource;
+import java.util.List;
+
+/**
+ * 数据版本号 Service 实现类
+ *
+ * @author laby
+ */
+@Service
+@Slf4j
+public class DataVersionServiceImpl implements DataVersionService {
+
+    /**
+     * 未开启租户时，使用的租户编号
+     */
+    private static final Long TENANT_ID_NONE = 0L;
+
+    @Resource
+    private DataVersionRedisDAO dataVersionRedisDAO;
+
+    @Override
+    public List<Long> getVersionList(List<String> names) {
+        return dataVersionRedisDAO.getList(getTenantId(), names);
+    }
+
+    @Override
+    public void incrementVersion(String name) {
+        Long tenantId = getTenantId();
+        Runnable increment = () -> {
+            try {
+                dataVersionRedisDAO.increment(tenantId, name);
+            } catch (Exception ex) {
+                log.error("[incrementVersion][租户({}) 递增数据版本号({}) 失败]", tenantId, name, ex);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                increment.run();
+            }
+
+        });
+    }
+
+    private static Long getTenantId() {
+        return ObjUtil.defaultIfNull(TenantContextHolder.getTenantId(), TENANT_ID_NONE);
+    }
+
+}
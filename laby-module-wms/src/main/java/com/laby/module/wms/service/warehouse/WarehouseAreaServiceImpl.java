@@ -10,6 +10,7 @@ import com.laby.module.wms.dal.dataobject.warehouse.WarehouseAreaDO;
 import com.laby.module.wms.dal.mysql.warehouse.WarehouseAreaMapper;
 import com.laby.module.wms.dal.mysql.warehouse.WarehouseLocationMapper;
 import com.laby.module.wms.dal.mysql.warehouse.WarehouseMapper;
+import com.laby.module.wms.service.version.DataVersionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
@@ -22,6 +23,7 @@ import java.util.Map;
 
 import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static com.laby.module.wms.enums.ErrorCodeConstants.*;
+import static com.laby.module.wms.enums.DataVersionConstants.WAREHOUSE_AREA;
 
 /**
  * 库区 Service 实现类
@@ -44,6 +46,8 @@ public class WarehouseAreaServiceImpl implements WarehouseAreaService {
 
     @Resource
     private WarehouseAreaMapper warehouseAreaMapper;
+    @Resource
+    private DataVersionService dataVersionService;
 
     @Resource
     private WarehouseMapper warehouseMapper;
@@ -72,6 +76,7 @@ public class WarehouseAreaServiceImpl implements WarehouseAreaService {
         // 插入
         WarehouseAreaDO warehouseArea = WarehouseAreaConvert.INSTANCE.convert(createReqVO);
         warehouseAreaMapper.insert(warehouseArea);
+        dataVersionService.incrementVersion(WAREHOUSE_AREA);
         return warehouseArea.getId();
     }
 
@@ -99,6 +104,7 @@ public class WarehouseAreaServiceImpl implements WarehouseAreaService {
         // 更新
         WarehouseAreaDO updateObj = WarehouseAreaConvert.INSTANCE.convert(updateReqVO);
         warehouseAreaMapper.updateById(updateObj);
+        dataVersionService.incrementVersion(WAREHOUSE_AREA);
     }
 
     /**
@@ -122,6 +128,7 @@ public class WarehouseAreaServiceImpl implements WarehouseAreaService {
 
         // 删除
         warehouseAreaMapper.deleteById(id);
+        dataVersionService.incrementVersion(WAREHOUSE_AREA);
     }
 
     /**
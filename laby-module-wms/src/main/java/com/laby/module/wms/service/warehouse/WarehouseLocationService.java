@@ -8,6 +8,7 @@ import com.laby.module.wms.dal.dataobject.warehouse.WarehouseLocationDO;
 import jakarta.validation.*;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 库位 Service 接口
@@ -114,10 +115,12 @@ public interface WarehouseLocationService {
      * - 只返回启用状态的库位
      * - 主要用于前端"仓库-库区-库位"三级联动下拉框
      * 
-     * @param areaId 库区ID
-     * @return 该库区下的所有库位列表
+     * - 流式查询，逐条交给 consumer 处理，避免库位很多时一次性构建大列表
+     * 
+     * @param areaId   库区ID
+     * @param consumer 逐条处理
      */
-    List<WarehouseLocationDO> getWarehouseLocationListByAreaId(Long areaId);
+    void getWarehouseLocationListByAreaId(Long areaId, Consumer<WarehouseLocationDO> consumer);
 
     /**
      * 批量获取库位Map
@@ -8,6 +8,7 @@ import com.laby.module.wms.dal.dataobject.warehouse.WarehouseLocationDO;
 import com.laby.module.wms.dal.mysql.warehouse.WarehouseAreaMapper;
 import com.laby.module.wms.dal.mysql.warehouse.WarehouseLocationMapper;
 import com.laby.module.wms.dal.mysql.warehouse.WarehouseMapper;
+import com.laby.module.wms.service.version.DataVersionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
@@ -15,11 +16,13 @@ import org.springframework.validation.annotation.Validated;
 import jakarta.annotation.Resource;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import cn.hutool.core.collection.CollUtil;
 import com.laby.framework.common.util.collection.CollectionUtils;
 
 import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static com.laby.module.wms.enums.ErrorCodeConstants.*;
+import static com.laby.module.wms.enums.DataVersionConstants.WAREHOUSE_LOCATION;
 
 /**
  * 库位 Service 实现类
@@ -42,6 +45,8 @@ public class WarehouseLocationServiceImpl implements WarehouseLocationService {
 
     @Resource
     private WarehouseLocationMapper warehouseLocationMapper;
+    @Resource
+    private DataVersionService dataVersionService;
 
     @Resource
     private WarehouseMapper warehouseMapper;
@@ -75,6 +80,7 @@ public class WarehouseLocationServiceImpl implements WarehouseLocationService {
         // 插入
         WarehouseLocationDO warehouseLocation = WarehouseLocationConvert.INSTANCE.convert(createReqVO);
         warehouseLocationMapper.insert(warehouseLocation);
+        dataVersionService.incrementVersion(WAREHOUSE_LOCATION);
         return warehouseLocation.getId();
     }
 
@@ -107,6 +113,7 @@ public class WarehouseLocationServiceImpl implements WarehouseLocationService {
         // 更新
         WarehouseLocationDO updateObj = WarehouseLocationConvert.INSTANCE.convert(updateReqVO);
         warehouseLocationMapper.updateById(updateObj);
+        dataVersionService.incrementVersion(WAREHOUSE_LOCATION);
     }
 
     /**
@@ -131,6 +138,7 @@ public class WarehouseLocationServiceImpl implements WarehouseLocationService {
 
         // 删除
         warehouseLocationMapper.deleteById(id);
+        dataVersionService.incrementVersion(WAREHOUSE_LOCATION);
     }
 
     /**
@@ -247,12 +255,12 @@ public class WarehouseLocationServiceImpl implements WarehouseLocationService {
      * - 只返回启用状态的库位
      * - 主要用于前端"仓库-库区-库位"三级联动下拉框
      *
-     * @param areaId 库区ID
-     * @return 该库区下的所有库位列表
+     * @param areaId   库区ID
+     * @param consumer 逐条处理
      */
     @Override
-    public List<WarehouseLocationDO> getWarehouseLocationListByAreaId(Long areaId) {
-        return warehouseLocationMapper.selectListByAreaId(areaId);
+    public void getWarehouseLocationListByAreaId(Long areaId, Consumer<WarehouseLocationDO> consumer) {
+        warehouseLocationMapper.selectListByAreaId(areaId, consumer);
     }
 
     /**
@@ -9,6 +9,7 @@ import jakarta.validation.Valid;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 仓库 Service 接口
@@ -106,12 +107,12 @@ public interface WarehouseService {
      * 
      * 说明：
      * - 只返回状态为"启用"的仓库
-     * - 不分页，返回完整列表
+     * - 不分页，流式查询，逐条交给 consumer 处理
      * - 主要用于前端下拉框选择
      * 
-     * @return 启用的仓库列表
+     * @param consumer 逐条处理
      */
-    List<WarehouseDO> getEnableWarehouseList();
+    void getEnableWarehouseList(Consumer<WarehouseDO> consumer);
 
     /**
      * 校验仓库是否存在
@@ -9,6 +9,7 @@ import com.laby.module.wms.controller.admin.warehouse.vo.warehouse.WarehouseSave
 import com.laby.module.wms.convert.warehouse.WarehouseConvert;
 import com.laby.module.wms.dal.dataobject.warehouse.WarehouseDO;
 import com.laby.module.wms.dal.mysql.warehouse.WarehouseMapper;
+import com.laby.module.wms.service.version.DataVersionService;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
@@ -17,9 +18,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.laby.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static com.laby.module.wms.enums.ErrorCodeConstants.*;
+import static com.laby.module.wms.enums.DataVersionConstants.WAREHOUSE;
 
 /**
  * 仓库 Service 实现类
@@ -38,6 +41,8 @@ public class WarehouseServiceImpl implements WarehouseService {
 
     @Resource
     private WarehouseMapper warehouseMapper;
+    @Resource
+    private DataVersionService dataVersionService;
 
     /**
      * 创建仓库
@@ -56,6 +61,7 @@ public class WarehouseServiceImpl implements WarehouseService {
         // 2. 转换并插入
         WarehouseDO warehouse = WarehouseConvert.INSTANCE.convert(createReqVO);
         warehouseMapper.insert(warehouse);
+        dataVersionService.incrementVersion(WAREHOUSE);
         
         // 3. 返回ID
         return warehouse.getId();
@@ -81,6 +87,7 @@ public class WarehouseServiceImpl implements WarehouseService {
         // 3. 转换并更新
         WarehouseDO updateObj = WarehouseConvert.INSTANCE.convert(updateReqVO);
         warehouseMapper.updateById(updateObj);
+        dataVersionService.incrementVersion(WAREHOUSE);
     }
 
     /**
@@ -105,6 +112,7 @@ public class WarehouseServiceImpl implements WarehouseService {
 
         // 3. 执行删除（逻辑删除）
         warehouseMapper.deleteById(id);
+        dataVersionService.incrementVersion(WAREHOUSE);
     }
 
     /**
@@ -125,6 +133,7 @@ public class WarehouseServiceImpl implements WarehouseService {
 
         // 2. 批量删除
         warehouseMapper.deleteBatchIds(ids);
+        dataVersionService.incrementVersion(WAREHOUSE);
     }
 
     /**
@@ -155,12 +164,12 @@ public class WarehouseServiceImpl implements WarehouseService {
      * 
      * 说明：
      * - 只查询状态为"启用"（status=1）的仓库
-     * - 不分页，返回完整列表
+     * - 不分页，流式查询，逐条交给 consumer 处理
      * - 主要用于前端下拉框选择
      */
     @Override
-    public List<WarehouseDO> getEnableWarehouseList() {
-        return warehouseMapper.selectListByStatus(CommonStatusEnum.ENABLE.getStatus());
+    public void getEnableWarehouseList(Consumer<WarehouseDO> consumer) {
+        warehouseMapper.selectListByStatus(CommonStatusEnum.ENABLE.getStatus(), consumer);
     }
 
     /**
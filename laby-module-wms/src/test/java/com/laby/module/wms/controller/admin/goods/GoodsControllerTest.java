@@ -0,0 +1,142 @@
+package com.laby.module.wms.controller.admin.goods;
+
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.laby.framework.common.pojo.PageResult;
+import com.laby.framework.datasource.core.aop.ReadReplicaAspect;
+import com.laby.framework.datasource.core.enums.DataSourceEnum;
+import com.laby.framework.security.core.LoginUser;
+import com.laby.module.wms.controller.admin.goods.vo.goods.GoodsPageReqVO;
+import com.laby.module.wms.dal.dataobject.goods.GoodsDO;
+import com.laby.module.wms.dal.mysql.goods.GoodsMapper;
+import com.laby.module.wms.framework.version.core.ConditionalVersionInterceptor;
+import com.laby.module.wms.framework.version.core.ConditionalVersionResponseBodyAdvice;
+import com.laby.module.wms.service.goods.GoodsCategoryService;
+import com.laby.module.wms.service.goods.GoodsService;
+import com.laby.module.wms.service.goods.GoodsServiceImpl;
+import com.laby.module.wms.service.version.DataVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.laby.module.wms.enums.DataVersionConstants.GOODS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * {@link GoodsController} 的单元测试，覆盖 @ConditionalVersion 与读写分离的交互
+ *
+ * 主库、从库的数据通过 mock 的 {@link GoodsMapper} 模拟：根据当前数据源返回不同的商品名称。
+ * 从库延迟在 @ReadReplica 常用的阈值内，如果分页查询读从库，数据变化后会返回新的 ETag、旧的数据
+ *
+ * @author Laby
+ */
+public class GoodsControllerTest {
+
+    private final GoodsMapper goodsMapper = mock(GoodsMapper.class);
+    private final GoodsCategoryService goodsCategoryService = mock(GoodsCategoryService.class);
+    private final DataVersionService dataVersionService = mock(DataVersionService.class);
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 主库中的商品名称
+     */
+    private volatile String masterGoodsName = "旧商品";
+    /**
+     * 从库中的商品名称，即尚未同步的数据
+     */
+    private volatile String replicaGoodsName = "旧商品";
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        // mock 数据
+        when(goodsMapper.selectPage(any(GoodsPageReqVO.class))).thenAnswer(invocation -> {
+            String goodsName = DataSourceEnum.SLAVE.equals(DynamicDataSourceContextHolder.peek())
+                    ? replicaGoodsName : masterGoodsName;
+            GoodsDO goods = new GoodsDO();
+            goods.setId(1L);
+            goods.setGoodsName(goodsName);
+            return new PageResult<>(List.of(goods), 1L);
+        });
+        when(goodsCategoryService.getGoodsCategorySimpleList()).thenReturn(Collections.emptyList());
+        when(dataVersionService.getVersionList(anyList())).thenAnswer(invocation -> {
+            List<String> names = invocation.getArgument(0);
+            return names.stream().map(name -> versions.getOrDefault(name, 0L)).toList();
+        });
+
+        // 与 Spring 容器一致：GoodsService 经过 ReadReplicaAspect 代理，从库延迟 1 秒
+        GoodsServiceImpl goodsServiceImpl = new GoodsServiceImpl();
+        ReflectionTestUtils.setField(goodsServiceImpl, "goodsMapper", goodsMapper);
+        ReflectionTestUtils.setField(goodsServiceImpl, "dataVersionService", dataVersionService);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(goodsServiceImpl);
+        proxyFactory.addAspect(new ReadReplicaAspect(() -> 1000L));
+        GoodsService goodsService = proxyFactory.getProxy();
+
+        GoodsController controller = new GoodsController();
+        ReflectionTestUtils.setField(controller, "goodsService", goodsService);
+        ReflectionTestUtils.setField(controller, "goodsCategoryService", goodsCategoryService);
+        // 权限校验由 ConditionalVersionInterceptorTest 覆盖，这里视为已通过
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addInterceptors(new ConditionalVersionInterceptor(dataVersionService, (authentication, object) -> null))
+                .setControllerAdvice(new ConditionalVersionResponseBodyAdvice())
+                .build();
+
+        LoginUser loginUser = new LoginUser();
+        loginUser.setId(1L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(loginUser, null, Collections.emptyList()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        DynamicDataSourceContextHolder.clear();
+    }
+
+    @Test
+    public void testGetGoodsPage_readMasterAfterVersionChanged() throws Exception {
+        // 调用：首次请求
+        MvcResult result = mockMvc.perform(get("/wms/goods/page")).andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        // 断言
+        assertNotNull(etag);
+        assertTrue(result.getResponse().getContentAsString().contains("旧商品"));
+
+        // 准备参数：修改商品。主库已提交、版本号已递增，从库尚未同步
+        masterGoodsName = "新商品";
+        versions.merge(GOODS, 1L, Long::sum);
+
+        // 调用：携带旧的 ETag 请求
+        result = mockMvc.perform(get("/wms/goods/page").header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+        // 断言：新的 ETag 对应新的数据，即读主库
+        assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
+        String newEtag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(newEtag);
+        assertNotEquals(etag, newEtag);
+        String content = result.getResponse().getContentAsString();
+        assertTrue(content.contains("新商品"), content);
+        assertFalse(content.contains("旧商品"), content);
+
+        // 调用：携带新的 ETag 请求
+        result = mockMvc.perform(get("/wms/goods/page").header(HttpHeaders.IF_NONE_MATCH, newEtag)).andReturn();
+        // 断言：304，客户端缓存的是新的数据
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), result.getResponse().getStatus());
+        verify(goodsMapper, times(2)).selectPage(any(GoodsPageReqVO.class));
+    }
+
+}
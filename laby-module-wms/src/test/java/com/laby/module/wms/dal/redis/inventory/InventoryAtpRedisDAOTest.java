@@ -0,0 +1,139 @@
+package com.laby.module.wms.dal.redis.inventory;
+
+import com.github.fppt.jedismock.RedisServer;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.junit.jupiter.api.*;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link InventoryAtpRedisDAO} 的单元测试，基于 jedis-mock 内嵌的 Redis
+ *
+ * @author laby
+ */
+public class InventoryAtpRedisDAOTest {
+
+    private static final Long TENANT_ID = 1L;
+    private static final Long WAREHOUSE_ID = 10L;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate stringRedisTemplate;
+
+    private final InventoryAtpRedisDAO inventoryAtpRedisDAO = new InventoryAtpRedisDAO();
+
+    @BeforeAll
+    public static void startRedis() throws Exception {
+        redisServer = RedisServer.newRedisServer();
+        redisServer.start();
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                .build();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redisServer.getHost(), redisServer.getBindPort()), clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    public static void stopRedis() throws Exception {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(inventoryAtpRedisDAO, "stringRedisTemplate", stringRedisTemplate);
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @Test
+    public void testGetMap_notBuilt() {
+        // 准备参数：只有增量更新，没有构建
+        inventoryAtpRedisDAO.increment(TENANT_ID, Map.of(WAREHOUSE_ID, Map.of(1L, new BigDecimal("5"))));
+
+        // 调用，并断言
+        assertNull(inventoryAtpRedisDAO.getMap(TENANT_ID, WAREHOUSE_ID, List.of(1L)));
+        assertNull(inventoryAtpRedisDAO.getAll(TENANT_ID, WAREHOUSE_ID));
+    }
+
+    @Test
+    public void testReplaceAndGetMap() {
+        // 准备参数
+        long version = inventoryAtpRedisDAO.getVersion(TENANT_ID, WAREHOUSE_ID);
+
+        // 调用
+        assertTrue(inventoryAtpRedisDAO.replace(TENANT_ID, WAREHOUSE_ID,
+                Map.of(1L, new BigDecimal("100"), 2L, new BigDecimal("0.125")), version));
+        // 断言：没有库存的商品为 0
+        Map<Long, BigDecimal> quantities = inventoryAtpRedisDAO.getMap(TENANT_ID, WAREHOUSE_ID, List.of(1L, 2L, 3L));
+        assertNotNull(quantities);
+        assertEquals(new BigDecimal("100"), quantities.get(1L));
+        assertEquals(new BigDecimal("0.125"), quantities.get(2L));
+        assertEquals(BigDecimal.ZERO, quantities.get(3L));
+        // 断言：getAll 不包含特殊字段
+        assertEquals(Map.of(1L, new BigDecimal("100"), 2L, new BigDecimal("0.125")),
+                inventoryAtpRedisDAO.getAll(TENANT_ID, WAREHOUSE_ID));
+    }
+
+    @Test
+    public void testIncrement_noPrecisionLoss() {
+        // 准备参数
+        inventoryAtpRedisDAO.replace(TENANT_ID, WAREHOUSE_ID, Map.of(1L, BigDecimal.ZERO), 0L);
+
+        // 调用：0.1 累加 10 次，浮点数时会得到 0.9999999999999999
+        for (int i = 0; i < 10; i++) {
+            inventoryAtpRedisDAO.increment(TENANT_ID, Map.of(WAREHOUSE_ID, Map.of(1L, new BigDecimal("0.1"))));
+        }
+        inventoryAtpRedisDAO.increment(TENANT_ID, Map.of(WAREHOUSE_ID, Map.of(1L, new BigDecimal("-0.3"))));
+        // 断言
+        assertEquals(0, new BigDecimal("0.7").compareTo(
+                inventoryAtpRedisDAO.getMap(TENANT_ID, WAREHOUSE_ID, List.of(1L)).get(1L)));
+        assertEquals(11L, inventoryAtpRedisDAO.getVersion(TENANT_ID, WAREHOUSE_ID));
+    }
+
+    @Test
+    public void testReplace_versionChanged() {
+        // 准备参数：获取版本号后，发生增量更新
+        inventoryAtpRedisDAO.replace(TENANT_ID, WAREHOUSE_ID, Map.of(1L, new BigDecimal("10")), 0L);
+        long version = inventoryAtpRedisDAO.getVersion(TENANT_ID, WAREHOUSE_ID);
+        inventoryAtpRedisDAO.increment(TENANT_ID, Map.of(WAREHOUSE_ID, Map.of(1L, new BigDecimal("2"))));
+
+        // 调用：基于旧版本号替换
+        boolean success = inventoryAtpRedisDAO.replace(TENANT_ID, WAREHOUSE_ID, Map.of(1L, new BigDecimal("10")), version);
+        // 断言：替换失败，增量更新没有被覆盖
+        assertFalse(success);
+        assertEquals(new BigDecimal("12"), inventoryAtpRedisDAO.getMap(TENANT_ID, WAREHOUSE_ID, List.of(1L)).get(1L));
+    }
+
+    @Test
+    public void testReplace_keepVersion() {
+        // 准备参数
+        inventoryAtpRedisDAO.increment(TENANT_ID, Map.of(WAREHOUSE_ID, Map.of(1L, new BigDecimal("3"))));
+        long version = inventoryAtpRedisDAO.getVersion(TENANT_ID, WAREHOUSE_ID);
+
+        // 调用：替换后，商品 1 以数据库为准，未出现的商品被清除
+        assertTrue(inventoryAtpRedisDAO.replace(TENANT_ID, WAREHOUSE_ID, Map.of(2L, new BigDecimal("7")), version));
+        // 断言：版本号保留，之后的增量更新继续递增
+        assertEquals(version, inventoryAtpRedisDAO.getVersion(TENANT_ID, WAREHOUSE_ID));
+        assertEquals(Map.of(2L, new BigDecimal("7")), inventoryAtpRedisDAO.getAll(TENANT_ID, WAREHOUSE_ID));
+        inventoryAtpRedisDAO.increment(TENANT_ID, Map.of(WAREHOUSE_ID, Map.of(2L, new BigDecimal("1"))));
+        assertEquals(version + 1, inventoryAtpRedisDAO.getVersion(TENANT_ID, WAREHOUSE_ID));
+    }
+
+}
@@ -0,0 +1,306 @@
+package com.laby.module.wms.framework.version.core;
+
+import com.laby.framework.common.pojo.CommonResult;
+import com.laby.framework.security.core.LoginUser;
+import com.laby.module.wms.service.version.DataVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.laby.framework.common.exception.enums.GlobalErrorCodeConstants.FORBIDDEN;
+import static com.laby.framework.common.exception.enums.GlobalErrorCodeConstants.INTERNAL_SERVER_ERROR;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * {@link ConditionalVersionInterceptor} 和 {@link ConditionalVersionResponseBodyAdvice} 的单元测试
+ *
+ * @author laby
+ */
+public class ConditionalVersionInterceptorTest {
+
+    private static final String VERSION_NAME = "test";
+    private static final String PERMISSION = "wms:test:query";
+
+    private final MemoryDataVersionService dataVersionService = new MemoryDataVersionService();
+    private final TestController controller = new TestController(dataVersionService);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        PreAuthorizeAuthorizationManager authorizationManager = new PreAuthorizeAuthorizationManager();
+        // Controller 的方法级权限校验，与 @EnableMethodSecurity 一致
+        ProxyFactory proxyFactory = new ProxyFactory(controller);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(AuthorizationManagerBeforeMethodInterceptor.preAuthorize(authorizationManager));
+        mockMvc = MockMvcBuilders.standaloneSetup(proxyFactory.getProxy())
+                .addInterceptors(new ConditionalVersionInterceptor(dataVersionService, authorizationManager))
+                .setControllerAdvice(new ConditionalVersionResponseBodyAdvice(), new TestExceptionHandler())
+                .build();
+        login(PERMISSION);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testGet_notModified() throws Exception {
+        // 调用：首次请求
+        MvcResult result = mockMvc.perform(get("/wms/test/list")).andReturn();
+        // 断言：返回数据和 ETag
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
+        assertEquals("no-cache", result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(1, controller.listCount.get());
+
+        // 调用：携带 If-None-Match 再次请求
+        result = mockMvc.perform(get("/wms/test/list").header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+        // 断言：304，不执行 Controller 方法
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), result.getResponse().getStatus());
+        assertEquals(etag, result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals("no-cache", result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(0, result.getResponse().getContentLength());
+        assertEquals(1, controller.listCount.get());
+    }
+
+    @Test
+    public void testGet_changedAfterCreate() throws Exception {
+        assertChangedAfter(post("/wms/test/create"));
+    }
+
+    @Test
+    public void testGet_changedAfterUpdate() throws Exception {
+        assertChangedAfter(put("/wms/test/update"));
+    }
+
+    @Test
+    public void testGet_changedAfterDelete() throws Exception {
+        assertChangedAfter(delete("/wms/test/delete"));
+    }
+
+    @Test
+    public void testGet_queryString() throws Exception {
+        // 调用：不同的查询参数
+        String etag1 = mockMvc.perform(get("/wms/test/list").param("pageNo", "1")).andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        String etag2 = mockMvc.perform(get("/wms/test/list").param("pageNo", "2")).andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        String etag3 = mockMvc.perform(get("/wms/test/list")).andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        // 断言：ETag 各不相同
+        assertNotEquals(etag1, etag2);
+        assertNotEquals(etag1, etag3);
+        assertNotEquals(etag2, etag3);
+
+        // 调用：第 1 页的 ETag，请求第 2 页
+        MvcResult result = mockMvc.perform(get("/wms/test/list").param("pageNo", "2")
+                .header(HttpHeaders.IF_NONE_MATCH, etag1)).andReturn();
+        // 断言：不返回 304
+        assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
+    }
+
+    @Test
+    public void testGet_differentUser() throws Exception {
+        // 调用：用户 1 的 ETag
+        String etag = mockMvc.perform(get("/wms/test/list")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 调用：用户 2 携带用户 1 的 ETag
+        login(2L, PERMISSION);
+        MvcResult result = mockMvc.perform(get("/wms/test/list").header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+        // 断言：不返回 304
+        assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
+        assertNotEquals(etag, result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testGet_forbidden() throws Exception {
+        // 准备参数：有权限的用户拿到 ETag
+        String etag = mockMvc.perform(get("/wms/test/list")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 调用：同一用户失去权限后，携带 ETag 请求
+        login("wms:other:query");
+        MvcResult result = mockMvc.perform(get("/wms/test/list").header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+        // 断言：返回 403 的错误结果，而不是 304
+        assertEquals(HttpStatus.FORBIDDEN.value(), result.getResponse().getStatus());
+        assertNull(result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals("no-store", result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(1, controller.listCount.get());
+    }
+
+    @Test
+    public void testGet_errorResult() throws Exception {
+        // 调用
+        MvcResult result = mockMvc.perform(get("/wms/test/error-result")).andReturn();
+        // 断言：失败的结果，禁止缓存
+        assertEquals("no-store", result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    public void testGet_exception() throws Exception {
+        // 调用
+        MvcResult result = mockMvc.perform(get("/wms/test/exception")).andReturn();
+        // 断言：GlobalExceptionHandler 处理异常的结果，禁止缓存
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), result.getResponse().getStatus());
+        assertEquals("no-store", result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    public void testGet_versionUnavailable() throws Exception {
+        // 准备参数：Redis 不可用
+        dataVersionService.unavailable = true;
+
+        // 调用
+        MvcResult result = mockMvc.perform(get("/wms/test/list").header(HttpHeaders.IF_NONE_MATCH, "W/\"0-1\""))
+                .andReturn();
+        // 断言：降级为正常执行，不返回 ETag
+        assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
+        assertNull(result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals(1, controller.listCount.get());
+    }
+
+    private void assertChangedAfter(RequestBuilder writeRequest) throws Exception {
+        // 准备参数：首次请求的 ETag
+        String etag = mockMvc.perform(get("/wms/test/list")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 调用：增删改后，携带旧的 ETag 请求
+        mockMvc.perform(writeRequest);
+        MvcResult result = mockMvc.perform(get("/wms/test/list").header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+
+        // 断言：返回新的数据和 ETag
+        assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
+        String newEtag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(newEtag);
+        assertNotEquals(etag, newEtag);
+        assertEquals(2, controller.listCount.get());
+    }
+
+    private static void login(String... authorities) {
+        login(1L, authorities);
+    }
+
+    private static void login(Long userId, String... authorities) {
+        LoginUser loginUser = new LoginUser();
+        loginUser.setId(userId);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                loginUser, null, AuthorityUtils.createAuthorityList(authorities)));
+    }
+
+    @RestController
+    @RequestMapping("/wms/test")
+    public static class TestController {
+
+        private final DataVersionService dataVersionService;
+        private final AtomicInteger listCount = new AtomicInteger();
+
+        public TestController(DataVersionService dataVersionService) {
+            this.dataVersionService = dataVersionService;
+        }
+
+        @GetMapping("/list")
+        @ConditionalVersion(VERSION_NAME)
+        @PreAuthorize("hasAuthority('" + PERMISSION + "')")
+        public CommonResult<List<String>> list() {
+            listCount.incrementAndGet();
+            return CommonResult.success(List.of("a", "b"));
+        }
+
+        @PostMapping("/create")
+        public CommonResult<Boolean> create() {
+            dataVersionService.incrementVersion(VERSION_NAME);
+            return CommonResult.success(true);
+        }
+
+        @PutMapping("/update")
+        public CommonResult<Boolean> update() {
+            dataVersionService.incrementVersion(VERSION_NAME);
+            return CommonResult.success(true);
+        }
+
+        @DeleteMapping("/delete")
+        public CommonResult<Boolean> delete() {
+            dataVersionService.incrementVersion(VERSION_NAME);
+            return CommonResult.success(true);
+        }
+
+        @GetMapping("/error-result")
+        @ConditionalVersion(VERSION_NAME)
+        public CommonResult<List<String>> errorResult() {
+            return CommonResult.error(INTERNAL_SERVER_ERROR);
+        }
+
+        @GetMapping("/exception")
+        @ConditionalVersion(VERSION_NAME)
+        public CommonResult<List<String>> exception() {
+            throw new IllegalStateException("模拟异常");
+        }
+
+    }
+
+    /**
+     * 模拟 GlobalExceptionHandler
+     */
+    @RestControllerAdvice
+    public static class TestExceptionHandler {
+
+        @ExceptionHandler(AccessDeniedException.class)
+        @ResponseStatus(HttpStatus.FORBIDDEN)
+        public CommonResult<?> accessDeniedExceptionHandler(AccessDeniedException ex) {
+            return CommonResult.error(FORBIDDEN);
+        }
+
+        @ExceptionHandler(Exception.class)
+        @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+        public CommonResult<?> defaultExceptionHandler(Exception ex) {
+            return CommonResult.error(INTERNAL_SERVER_ERROR);
+        }
+
+    }
+
+    /**
+     * 基于内存的 {@link DataVersionService} 实现类
+     */
+    private static class MemoryDataVersionService implements DataVersionService {
+
+        private final Map<String, Long> versions = new ConcurrentHashMap<>();
+        private volatile boolean unavailable;
+
+        @Override
+        public List<Long> getVersionList(List<String> names) {
+            if (unavailable) {
+                throw new IllegalStateException("模拟 Redis 不可用");
+            }
+            return names.stream().map(name -> versions.getOrDefault(name, 0L)).toList();
+        }
+
+        @Override
+        public void incrementVersion(String name) {
+            versions.merge(name, 1L, Long::sum);
+        }
+
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.laby.module.wms.service.inventory;
+
+import com.github.fppt.jedismock.RedisServer;
+import com.laby.framework.tenant.core.context.TenantContextHolder;
+import com.laby.module.wms.dal.dataobject.inventory.InventoryDO;
+import com.laby.module.wms.dal.mysql.inventory.InventoryMapper;
+import com.laby.module.wms.dal.redis.inventory.InventoryAtpRedisDAO;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.junit.jupiter.api.*;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link InventoryServiceImpl} 的可用库存（ATP）投影部分的单元测试
+ *
+ * Redis 使用 jedis-mock 内嵌的 Redis，数据库使用 Mockito 模拟
+ *
+ * @author laby
+ */
+public class InventoryServiceImplAtpTest {
+
+    private static final Long TENANT_ID = 1L;
+    private static final Long WAREHOUSE_ID = 10L;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate stringRedisTemplate;
+
+    private final InventoryServiceImpl inventoryService = new InventoryServiceImpl();
+    private final InventoryAtpRedisDAO inventoryAtpRedisDAO = new InventoryAtpRedisDAO();
+    private final InventoryMapper inventoryMapper = mock(InventoryMapper.class);
+    private final ThreadPoolTaskExecutor inventoryAtpExecutor = new ThreadPoolTaskExecutor();
+
+    @BeforeAll
+    public static void startRedis() throws Exception {
+        redisServer = RedisServer.newRedisServer();
+        redisServer.start();
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                .build();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redisServer.getHost(), redisServer.getBindPort()), clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    public static void stopRedis() throws Exception {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        ReflectionTestUtils.setField(inventoryAtpRedisDAO, "stringRedisTemplate", stringRedisTemplate);
+        inventoryAtpExecutor.initialize();
+        ReflectionTestUtils.setField(inventoryService, "inventoryMapper", inventoryMapper);
+        ReflectionTestUtils.setField(inventoryService, "inventoryAtpRedisDAO", inventoryAtpRedisDAO);
+        ReflectionTestUtils.setField(inventoryService, "inventoryAtpExecutor", inventoryAtpExecutor);
+        TenantContextHolder.setTenantId(TENANT_ID);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        inventoryAtpExecutor.shutdown();
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testGetAvailableQuantities_miss() throws InterruptedException {
+        // mock 数据库
+        when(inventoryMapper.selectAvailableQuantitySumListByWarehouseIdAndGoodsIds(eq(WAREHOUSE_ID), anyCollection()))
+                .thenReturn(List.of(buildInventory(1L, "5")));
+        when(inventoryMapper.selectAvailableQuantitySumListByWarehouseId(eq(WAREHOUSE_ID)))
+                .thenReturn(List.of(buildInventory(1L, "5"), buildInventory(2L, "8")));
+
+        // 调用：投影不存在时，直接查询数据库中指定的商品
+        Map<Long, BigDecimal> quantities = inventoryService.getAvailableQuantities(WAREHOUSE_ID, List.of(1L, 3L));
+        // 断言
+        assertEquals(Map.of(1L, new BigDecimal("5"), 3L, BigDecimal.ZERO), quantities);
+        // 断言：异步重建整个仓库的投影
+        Map<Long, BigDecimal> cached = waitForBuilt();
+        assertEquals(Map.of(1L, new BigDecimal("5"), 2L, new BigDecimal("8")), cached);
+        verify(inventoryMapper, times(1)).selectAvailableQuantitySumListByWarehouseId(eq(WAREHOUSE_ID));
+    }
+
+    @Test
+    public void testGetAvailableQuantities_hit() {
+        // 准备参数
+        inventoryAtpRedisDAO.replace(TENANT_ID, WAREHOUSE_ID, Map.of(1L, new BigDecimal("5")), 0L);
+
+        // 调用
+        Map<Long, BigDecimal> quantities = inventoryService.getAvailableQuantities(WAREHOUSE_ID, List.of(1L, 2L));
+        // 断言：只读取 Redis，不查询数据库
+        assertEquals(Map.of(1L, new BigDecimal("5"), 2L, BigDecimal.ZERO), quantities);
+        verifyNoInteractions(inventoryMapper);
+    }
+
+    @Test
+    public void testCheckAvailableQuantities_diff() {
+        // 准备参数：投影与数据库不一致
+        inventoryAtpRedisDAO.replace(TENANT_ID, WAREHOUSE_ID, Map.of(1L, new BigDecimal("9"), 2L, new BigDecimal("1")), 0L);
+        // mock 数据库
+        when(inventoryMapper.selectAvailableQuantitySumListByWarehouseId(eq(WAREHOUSE_ID)))
+                .thenReturn(List.of(buildInventory(1L, "10")));
+
+        // 调用
+        int diffCount = inventoryService.checkAvailableQuantities(WAREHOUSE_ID);
+        // 断言：以数据库为准，整体替换
+        assertEquals(2, diffCount);
+        assertEquals(Map.of(1L, new BigDecimal("10")), inventoryAtpRedisDAO.getAll(TENANT_ID, WAREHOUSE_ID));
+    }
+
+    @Test
+    public void testCheckAvailableQuantities_concurrentIncrement() {
+        // 准备参数
+        inventoryAtpRedisDAO.replace(TENANT_ID, WAREHOUSE_ID, Map.of(1L, new BigDecimal("9")), 0L);
+        // mock 数据库：查询期间，另一个事务提交，并增量更新投影
+        when(inventoryMapper.selectAvailableQuantitySumListByWarehouseId(eq(WAREHOUSE_ID))).thenAnswer(invocation -> {
+            inventoryAtpRedisDAO.increment(TENANT_ID, Map.of(WAREHOUSE_ID, Map.of(1L, new BigDecimal("2"))));
+            return List.of(buildInventory(1L, "10"));
+        });
+
+        // 调用
+        int diffCount = inventoryService.checkAvailableQuantities(WAREHOUSE_ID);
+        // 断言：跳过修正，增量更新没有被覆盖
+        assertEquals(0, diffCount);
+        assertEquals(Map.of(1L, new BigDecimal("11")), inventoryAtpRedisDAO.getAll(TENANT_ID, WAREHOUSE_ID));
+    }
+
+    @Test
+    public void testRebuildAvailableQuantities_concurrentIncrement() {
+        // mock 数据库：查询期间，另一个事务提交，并增量更新投影
+        when(inventoryMapper.selectAvailableQuantitySumListByWarehouseId(eq(WAREHOUSE_ID))).thenAnswer(invocation -> {
+            inventoryAtpRedisDAO.increment(TENANT_ID, Map.of(WAREHOUSE_ID, Map.of(1L, new BigDecimal("2"))));
+            return List.of(buildInventory(1L, "10"));
+        });
+
+        // 调用，并断言：放弃重建，投影仍未构建
+        assertFalse(inventoryService.rebuildAvailableQuantities(WAREHOUSE_ID));
+        assertNull(inventoryAtpRedisDAO.getAll(TENANT_ID, WAREHOUSE_ID));
+    }
+
+    private Map<Long, BigDecimal> waitForBuilt() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Map<Long, BigDecimal> cached = inventoryAtpRedisDAO.getAll(TENANT_ID, WAREHOUSE_ID);
+            if (cached != null) {
+                return cached;
+            }
+            Thread.sleep(50);
+        }
+        return fail("可用库存投影未在 5 秒内重建");
+    }
+
+    private static InventoryDO buildInventory(Long goodsId, String quantity) {
+        return InventoryDO.builder().goodsId(goodsId).quantity(new BigDecimal(quantity)).build();
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.laby.module.wms.service.inventory;
+
+import com.laby.framework.tenant.core.context.TenantContextHolder;
+import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventoryAsOfReqVO;
+import com.laby.module.wms.controller.admin.inventory.vo.snapshot.InventoryAsOfRespVO;
+import com.laby.module.wms.dal.dataobject.inventory.InventoryLogDO;
+import com.laby.module.wms.dal.dataobject.inventory.InventorySnapshotDO;
+import com.laby.module.wms.dal.mysql.inventory.InventoryLogMapper;
+import com.laby.module.wms.dal.mysql.inventory.InventorySnapshotMapper;
+import com.laby.module.wms.enums.InventoryOperationTypeEnum;
+import com.laby.module.wms.service.goods.GoodsService;
+import com.laby.module.wms.service.warehouse.WarehouseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link InventorySnapshotServiceImpl} 的历史时点库存（快照 + 流水回放）部分的单元测试
+ *
+ * 流水查询使用内存中的流水模拟，按 [开始时间, 结束时间) 过滤，与 SQL 的条件一致
+ *
+ * @author laby
+ */
+public class InventorySnapshotServiceImplTest {
+
+    private static final Long WAREHOUSE_ID = 10L;
+    private static final Long GOODS_ID = 100L;
+    private static final Long GOODS_ID_2 = 200L;
+
+    private final InventorySnapshotServiceImpl inventorySnapshotService = new InventorySnapshotServiceImpl();
+    private final InventorySnapshotMapper inventorySnapshotMapper = mock(InventorySnapshotMapper.class);
+    private final InventoryLogMapper inventoryLogMapper = mock(InventoryLogMapper.class);
+    private final ThreadPoolTaskExecutor inventoryAsOfExecutor = new ThreadPoolTaskExecutor();
+
+    /**
+     * 内存中的流水
+     */
+    private final List<InventoryLogDO> logs = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        inventoryAsOfExecutor.setCorePoolSize(2);
+        inventoryAsOfExecutor.initialize();
+        ReflectionTestUtils.setField(inventorySnapshotService, "inventorySnapshotMapper", inventorySnapshotMapper);
+        ReflectionTestUtils.setField(inventorySnapshotService, "inventoryLogMapper", inventoryLogMapper);
+        ReflectionTestUtils.setField(inventorySnapshotService, "inventoryAsOfExecutor", inventoryAsOfExecutor);
+        ReflectionTestUtils.setField(inventorySnapshotService, "warehouseService", mock(WarehouseService.class));
+        ReflectionTestUtils.setField(inventorySnapshotService, "goodsService", mock(GoodsService.class));
+        // mock 方法：按条件过滤内存中的流水
+        doAnswer(invocation -> {
+            Collection<Long> goodsIds = invocation.getArgument(1);
+            LocalDateTime beginTime = invocation.getArgument(2);
+            LocalDateTime endTime = invocation.getArgument(3);
+            Consumer<InventoryLogDO> consumer = invocation.getArgument(4);
+            logs.stream().filter(log -> goodsIds.contains(log.getGoodsId()) && inRange(log, beginTime, endTime))
+                    .forEach(consumer);
+            return null;
+        }).when(inventoryLogMapper).selectListByCreateTime(eq(WAREHOUSE_ID), anyCollection(), any(), any(), any(Consumer.class));
+        when(inventoryLogMapper.selectGoodsIdListByCreateTime(eq(WAREHOUSE_ID), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime beginTime = invocation.getArgument(1);
+            LocalDateTime endTime = invocation.getArgument(2);
+            return logs.stream().filter(log -> inRange(log, beginTime, endTime))
+                    .map(InventoryLogDO::getGoodsId).distinct().toList();
+        });
+        TenantContextHolder.setTenantId(1L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        inventoryAsOfExecutor.shutdown();
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testGetInventoryAsOfList_goods() {
+        // mock 数据：1 月 10 日结束时的快照
+        when(inventorySnapshotMapper.selectLatestBefore(eq(WAREHOUSE_ID), eq(GOODS_ID), eq("2025-01-12")))
+                .thenReturn(buildSnapshot(GOODS_ID, "2025-01-10", "100", "5"));
+        // mock 数据：快照日期当天的流水，已经包含在快照中，不能回放
+        addLog(GOODS_ID, InventoryOperationTypeEnum.INBOUND, "999", LocalDateTime.of(2025, 1, 10, 23, 59, 59));
+        // mock 数据：快照之后的流水
+        addLog(GOODS_ID, InventoryOperationTypeEnum.INBOUND, "10", LocalDateTime.of(2025, 1, 11, 0, 0, 0));
+        addLog(GOODS_ID, InventoryOperationTypeEnum.LOCK, "-3", LocalDateTime.of(2025, 1, 11, 8, 0, 0));
+        addLog(GOODS_ID, InventoryOperationTypeEnum.UNLOCK, "-1", LocalDateTime.of(2025, 1, 11, 9, 0, 0));
+        addLog(GOODS_ID, InventoryOperationTypeEnum.OUTBOUND, "-20", LocalDateTime.of(2025, 1, 12, 9, 59, 59));
+        // mock 数据：查询时刻的流水，不包含
+        addLog(GOODS_ID, InventoryOperationTypeEnum.OUTBOUND, "-50", LocalDateTime.of(2025, 1, 12, 10, 0, 0));
+
+        // 调用
+        List<InventoryAsOfRespVO> result = inventorySnapshotService.getInventoryAsOfList(
+                buildReqVO(GOODS_ID, LocalDateTime.of(2025, 1, 12, 10, 0, 0)));
+
+        // 断言：100 + 10 - 20 = 90；5 + 3 - 1 = 7
+        assertEquals(1, result.size());
+        assertAsOf(result.get(0), GOODS_ID, "90", "7");
+        assertEquals("2025-01-10", result.get(0).getSnapshotDate());
+        assertEquals(LocalDateTime.of(2025, 1, 12, 10, 0, 0), result.get(0).getAsOfTime());
+    }
+
+    @Test
+    public void testGetInventoryAsOfList_snapshotBoundary() {
+        // mock 数据：查询时刻正好是快照时刻（1 月 10 日结束 = 1 月 11 日 00:00）
+        when(inventorySnapshotMapper.selectLatestBefore(eq(WAREHOUSE_ID), eq(GOODS_ID), eq("2025-01-11")))
+                .thenReturn(buildSnapshot(GOODS_ID, "2025-01-10", "100", "0"));
+        addLog(GOODS_ID, InventoryOperationTypeEnum.INBOUND, "999", LocalDateTime.of(2025, 1, 10, 23, 59, 59));
+        addLog(GOODS_ID, InventoryOperationTypeEnum.INBOUND, "10", LocalDateTime.of(2025, 1, 11, 0, 0, 0));
+
+        // 调用
+        List<InventoryAsOfRespVO> result = inventorySnapshotService.getInventoryAsOfList(
+                buildReqVO(GOODS_ID, LocalDateTime.of(2025, 1, 11, 0, 0, 0)));
+
+        // 断言：就是快照的库存，前后的流水都不回放
+        assertEquals(1, result.size());
+        assertAsOf(result.get(0), GOODS_ID, "100", "0");
+    }
+
+    @Test
+    public void testGetInventoryAsOfList_noSnapshot() {
+        // mock 数据：没有快照，从第一条流水开始回放
+        addLog(GOODS_ID, InventoryOperationTypeEnum.INBOUND, "10", LocalDateTime.of(2025, 1, 1, 0, 0, 0));
+        addLog(GOODS_ID, InventoryOperationTypeEnum.OUTBOUND, "-4", LocalDateTime.of(2025, 1, 2, 0, 0, 0));
+
+        // 调用
+        List<InventoryAsOfRespVO> result = inventorySnapshotService.getInventoryAsOfList(
+                buildReqVO(GOODS_ID, LocalDateTime.of(2025, 1, 3, 0, 0, 0)));
+
+        // 断言
+        assertEquals(1, result.size());
+        assertAsOf(result.get(0), GOODS_ID, "6", "0");
+        assertNull(result.get(0).getSnapshotDate());
+    }
+
+    @Test
+    public void testGetInventoryAsOfList_warehouse() {
+        // mock 数据：仓库 1 月 10 日的快照，只有商品 1；商品 2 在快照之后才入库
+        when(inventorySnapshotMapper.selectLatestSnapshotDateBefore(eq(WAREHOUSE_ID), eq("2025-01-12")))
+                .thenReturn("2025-01-10");
+        when(inventorySnapshotMapper.selectListByWarehouseIdAndSnapshotDate(eq(WAREHOUSE_ID), eq("2025-01-10")))
+                .thenReturn(List.of(buildSnapshot(GOODS_ID, "2025-01-10", "100", "0")));
+        addLog(GOODS_ID, InventoryOperationTypeEnum.INBOUND, "999", LocalDateTime.of(2025, 1, 10, 12, 0, 0));
+        addLog(GOODS_ID, InventoryOperationTypeEnum.OUTBOUND, "-100", LocalDateTime.of(2025, 1, 11, 12, 0, 0));
+        addLog(GOODS_ID_2, InventoryOperationTypeEnum.INBOUND, "30", LocalDateTime.of(2025, 1, 11, 13, 0, 0));
+
+        // 调用
+        List<InventoryAsOfRespVO> result = inventorySnapshotService.getInventoryAsOfList(
+                buildReqVO(null, LocalDateTime.of(2025, 1, 12, 0, 0, 0)));
+
+        // 断言：商品 1 出库为 0，不返回；商品 2 从流水回放
+        assertEquals(1, result.size());
+        assertAsOf(result.get(0), GOODS_ID_2, "30", "0");
+    }
+
+    @Test
+    public void testGetInventoryAsOfList_cacheCopy() {
+        // mock 数据
+        addLog(GOODS_ID, InventoryOperationTypeEnum.INBOUND, "10", LocalDateTime.of(2025, 1, 1, 0, 0, 0));
+        InventoryAsOfReqVO reqVO = buildReqVO(GOODS_ID, LocalDateTime.of(2025, 1, 3, 0, 0, 0));
+
+        // 调用：第一次查询后，修改返回值
+        List<InventoryAsOfRespVO> result1 = inventorySnapshotService.getInventoryAsOfList(reqVO);
+        result1.get(0).setQuantity(BigDecimal.ONE);
+        result1.clear();
+        // 调用：第二次查询，命中缓存
+        List<InventoryAsOfRespVO> result2 = inventorySnapshotService.getInventoryAsOfList(reqVO);
+        result2.get(0).setGoodsName("modified");
+        List<InventoryAsOfRespVO> result3 = inventorySnapshotService.getInventoryAsOfList(reqVO);
+
+        // 断言：缓存不受调用方修改的影响
+        assertEquals(1, result3.size());
+        assertAsOf(result3.get(0), GOODS_ID, "10", "0");
+        assertNull(result3.get(0).getGoodsName());
+        verify(inventoryLogMapper, times(1)).selectListByCreateTime(any(), anyCollection(), any(), any(), any());
+    }
+
+    private static boolean inRange(InventoryLogDO log, LocalDateTime beginTime, LocalDateTime endTime) {
+        return (beginTime == null || !log.getCreateTime().isBefore(beginTime)) && log.getCreateTime().isBefore(endTime);
+    }
+
+    private void addLog(Long goodsId, InventoryOperationTypeEnum operationType, String quantityChange,
+                        LocalDateTime createTime) {
+        InventoryLogDO log = new InventoryLogDO();
+        log.setWarehouseId(WAREHOUSE_ID);
+        log.setGoodsId(goodsId);
+        log.setOperationType(operationType.getType());
+        log.setQuantityChange(new BigDecimal(quantityChange));
+        log.setCreateTime(createTime);
+        logs.add(log);
+    }
+
+    private static InventorySnapshotDO buildSnapshot(Long goodsId, String snapshotDate, String quantity,
+                                                     String lockQuantity) {
+        InventorySnapshotDO snapshot = new InventorySnapshotDO();
+        snapshot.setWarehouseId(WAREHOUSE_ID);
+        snapshot.setGoodsId(goodsId);
+        snapshot.setSnapshotDate(snapshotDate);
+        snapshot.setQuantity(new BigDecimal(quantity));
+        snapshot.setLockQuantity(new BigDecimal(lockQuantity));
+        return snapshot;
+    }
+
+    private static InventoryAsOfReqVO buildReqVO(Long goodsId, LocalDateTime asOfTime) {
+        InventoryAsOfReqVO reqVO = new InventoryAsOfReqVO();
+        reqVO.setWarehouseId(WAREHOUSE_ID);
+        reqVO.setGoodsId(goodsId);
+        reqVO.setAsOfTime(asOfTime);
+        return reqVO;
+    }
+
+    private static void assertAsOf(InventoryAsOfRespVO item, Long goodsId, String quantity, String lockQuantity) {
+        assertEquals(goodsId, item.getGoodsId());
+        assertEquals(0, new BigDecimal(quantity).compareTo(item.getQuantity()));
+        assertEquals(0, new BigDecimal(lockQuantity).compareTo(item.getLockQuantity()));
+        assertEquals(0, item.getQuantity().subtract(item.getLockQuantity()).compareTo(item.getAvailableQuantity()));
+    }
+
+}
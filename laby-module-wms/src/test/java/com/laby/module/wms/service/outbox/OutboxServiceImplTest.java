@@ -0,0 +1,169 @@
+package com.laby.module.wms.service.outbox;
+
+import com.laby.framework.tenant.core.context.TenantContextHolder;
+import com.laby.module.wms.dal.dataobject.outbox.OutboxDO;
+import com.laby.module.wms.dal.mysql.outbox.OutboxMapper;
+import com.laby.module.wms.mq.message.outbox.WmsDocumentStatusMessage;
+import com.laby.module.wms.mq.producer.outbox.WmsDocumentStatusProducer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.laby.framework.common.util.collection.CollectionUtils.convertList;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link OutboxServiceImpl} 的单元测试
+ *
+ * @author laby
+ */
+public class OutboxServiceImplTest {
+
+    private final OutboxServiceImpl outboxService = new OutboxServiceImpl();
+    private final OutboxMapper outboxMapper = mock(OutboxMapper.class);
+    private final WmsDocumentStatusProducer wmsDocumentStatusProducer = mock(WmsDocumentStatusProducer.class);
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(outboxService, "outboxMapper", outboxMapper);
+        ReflectionTestUtils.setField(outboxService, "wmsDocumentStatusProducer", wmsDocumentStatusProducer);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRelayOutbox_groupByTenantInIdOrder() {
+        // mock 数据：两个租户交错
+        when(outboxMapper.selectListBySentAndIdGt(eq(0L), eq(10)))
+                .thenReturn(List.of(buildOutbox(1L, 100L), buildOutbox(2L, 200L), buildOutbox(3L, 100L)));
+        // mock 方法：记录发布时的租户编号
+        List<Long> sendTenantIds = new ArrayList<>();
+        doAnswer(invocation -> sendTenantIds.add(TenantContextHolder.getTenantId()))
+                .when(wmsDocumentStatusProducer).sendDocumentStatusMessages(anyList());
+
+        // 调用
+        int count = outboxService.relayOutbox(10, 5);
+        // 断言：按租户分组发布，组内保持 ID 顺序，租户编号正确
+        assertEquals(3, count);
+        ArgumentCaptor<List<WmsDocumentStatusMessage>> messagesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(wmsDocumentStatusProducer, times(2)).sendDocumentStatusMessages(messagesCaptor.capture());
+        assertEquals(List.of(1L, 3L), convertList(messagesCaptor.getAllValues().get(0), WmsDocumentStatusMessage::getOutboxId));
+        assertEquals(List.of(2L), convertList(messagesCaptor.getAllValues().get(1), WmsDocumentStatusMessage::getOutboxId));
+        assertEquals(List.of(100L, 200L), sendTenantIds);
+        assertNull(TenantContextHolder.getTenantId());
+        // 断言：发布后才标记为已发送
+        InOrder inOrder = inOrder(wmsDocumentStatusProducer, outboxMapper);
+        inOrder.verify(wmsDocumentStatusProducer, times(2)).sendDocumentStatusMessages(anyList());
+        inOrder.verify(outboxMapper).updateSentByIds(eq(List.of(1L, 3L, 2L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testRelayOutbox_cursor() {
+        // mock 数据：第一批满，第二批不满
+        when(outboxMapper.selectListBySentAndIdGt(eq(0L), eq(2)))
+                .thenReturn(List.of(buildOutbox(1L, 100L), buildOutbox(2L, 100L)));
+        when(outboxMapper.selectListBySentAndIdGt(eq(2L), eq(2)))
+                .thenReturn(List.of(buildOutbox(5L, 100L)));
+
+        // 调用
+        int count = outboxService.relayOutbox(2, 5);
+        // 断言：游标按 ID 推进，不满一批时结束
+        assertEquals(3, count);
+        verify(outboxMapper).selectListBySentAndIdGt(eq(0L), eq(2));
+        verify(outboxMapper).selectListBySentAndIdGt(eq(2L), eq(2));
+        verify(outboxMapper, never()).selectListBySentAndIdGt(eq(5L), anyInt());
+    }
+
+    @Test
+    public void testRelayOutbox_maxBatchCount() {
+        // mock 数据：每批都是满的
+        when(outboxMapper.selectListBySentAndIdGt(anyLong(), eq(1)))
+                .thenAnswer(invocation -> List.of(buildOutbox((Long) invocation.getArgument(0) + 1, 100L)));
+
+        // 调用，并断言：最多处理 maxBatchCount 批
+        assertEquals(3, outboxService.relayOutbox(1, 3));
+        verify(outboxMapper, times(3)).selectListBySentAndIdGt(anyLong(), eq(1));
+    }
+
+    @Test
+    public void testRelayOutbox_failThenRetryWithBackoff() {
+        // mock 数据：租户 100 发布失败，租户 200 发布成功
+        when(outboxMapper.selectListBySentAndIdGt(eq(0L), eq(2)))
+                .thenReturn(List.of(buildOutbox(1L, 100L), buildOutbox(2L, 200L)));
+        doAnswer(invocation -> {
+            if (TenantContextHolder.getTenantId().equals(100L)) {
+                throw new IllegalStateException("Redis 不可用");
+            }
+            return null;
+        }).when(wmsDocumentStatusProducer).sendDocumentStatusMessages(anyList());
+
+        // 调用：第一次中继
+        int count = outboxService.relayOutbox(2, 5);
+        // 断言：失败的记录不标记，并且不再读取下一批（即使这一批是满的）
+        assertEquals(1, count);
+        verify(outboxMapper).updateSentByIds(eq(List.of(2L)), any(LocalDateTime.class));
+        verify(outboxMapper, times(1)).selectListBySentAndIdGt(anyLong(), anyInt());
+
+        // 调用：退避期间，直接跳过
+        assertEquals(0, outboxService.relayOutbox(2, 5));
+        verify(outboxMapper, times(1)).selectListBySentAndIdGt(anyLong(), anyInt());
+        // 断言：连续失败时，退避时间翻倍
+        long firstNextRelayTime = (long) ReflectionTestUtils.getField(outboxService, "nextRelayTime");
+        assertTrue(firstNextRelayTime > System.currentTimeMillis() + 500);
+        ReflectionTestUtils.setField(outboxService, "nextRelayTime", 0L);
+        when(outboxMapper.selectListBySentAndIdGt(eq(0L), eq(2))).thenReturn(List.of(buildOutbox(1L, 100L)));
+        assertEquals(0, outboxService.relayOutbox(2, 5));
+        long secondNextRelayTime = (long) ReflectionTestUtils.getField(outboxService, "nextRelayTime");
+        assertTrue(secondNextRelayTime > System.currentTimeMillis() + 1500);
+
+        // 调用：退避结束，Redis 恢复，重新发布失败的记录
+        ReflectionTestUtils.setField(outboxService, "nextRelayTime", 0L);
+        doNothing().when(wmsDocumentStatusProducer).sendDocumentStatusMessages(anyList());
+        assertEquals(1, outboxService.relayOutbox(2, 5));
+        verify(outboxMapper).updateSentByIds(eq(List.of(1L)), any(LocalDateTime.class));
+        // 断言：成功后，失败次数清零
+        assertEquals(0, (int) ReflectionTestUtils.getField(outboxService, "failureCount"));
+    }
+
+    @Test
+    public void testCleanOutbox() {
+        // mock 方法：前两次删满，第三次不满
+        when(outboxMapper.deleteBySentAndCreateTimeLt(any(LocalDateTime.class), eq(1000)))
+                .thenReturn(1000, 1000, 3);
+
+        // 调用
+        Integer count = outboxService.cleanOutbox(7, 1000);
+        // 断言
+        assertEquals(2003, count);
+        ArgumentCaptor<LocalDateTime> createTimeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxMapper, times(3)).deleteBySentAndCreateTimeLt(createTimeCaptor.capture(), eq(1000));
+        LocalDateTime expireDate = createTimeCaptor.getValue();
+        assertTrue(expireDate.isBefore(LocalDateTime.now().minusDays(7).plusMinutes(1)));
+        assertTrue(expireDate.isAfter(LocalDateTime.now().minusDays(7).minusMinutes(1)));
+    }
+
+    @Test
+    public void testCleanOutbox_empty() {
+        // mock 方法
+        when(outboxMapper.deleteBySentAndCreateTimeLt(any(LocalDateTime.class), eq(1000))).thenReturn(0);
+
+        // 调用，并断言
+        assertEquals(0, outboxService.cleanOutbox(7, 1000));
+        verify(outboxMapper, times(1)).deleteBySentAndCreateTimeLt(any(LocalDateTime.class), eq(1000));
+    }
+
+    private static OutboxDO buildOutbox(Long id, Long tenantId) {
+        OutboxDO outbox = OutboxDO.builder().id(id).documentType("inbound").documentId(id)
+                .documentNo("RK" + id).status(1).idempotencyKey("inbound:" + id + ":1").sent(false).build();
+        outbox.setTenantId(tenantId);
+        return outbox;
+    }
+
+}
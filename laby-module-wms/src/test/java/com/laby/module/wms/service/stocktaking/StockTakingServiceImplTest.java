@@ -0,0 +1,79 @@
+package com.laby.module.wms.service.stocktaking;
+
+import com.laby.framework.common.exception.ServiceException;
+import com.laby.module.wms.controller.admin.stocktaking.vo.StockTakingBatchSubmitReqVO;
+import com.laby.module.wms.dal.dataobject.stocktaking.StockTakingDO;
+import com.laby.module.wms.dal.mysql.stocktaking.StockTakingMapper;
+import com.laby.module.wms.dal.mysql.stocktaking.StockTakingPlanMapper;
+import com.laby.module.wms.enums.StockTakingStatusEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.laby.module.wms.enums.ErrorCodeConstants.STOCK_TAKING_SUBMIT_DUPLICATE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link StockTakingServiceImpl} 的单元测试
+ *
+ * @author laby
+ */
+public class StockTakingServiceImplTest {
+
+    private final StockTakingServiceImpl stockTakingService = new StockTakingServiceImpl();
+    private final StockTakingMapper stockTakingMapper = mock(StockTakingMapper.class);
+    private final StockTakingPlanMapper stockTakingPlanMapper = mock(StockTakingPlanMapper.class);
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(stockTakingService, "stockTakingMapper", stockTakingMapper);
+        ReflectionTestUtils.setField(stockTakingService, "stockTakingPlanMapper", stockTakingPlanMapper);
+    }
+
+    @Test
+    public void testSubmitStockTakingList_success() {
+        // mock 数据：计划 100 下两个盘点单，账面数量都为 10
+        when(stockTakingMapper.selectByIds(anyCollection())).thenReturn(List.of(
+                buildTaking(1L, 100L), buildTaking(2L, 100L), buildTaking(3L, null)));
+
+        // 调用：盘点单 1 无差异，盘点单 2 有差异，盘点单 3 不属于计划
+        stockTakingService.submitStockTakingList(List.of(buildItem(1L, "10"), buildItem(2L, "8"), buildItem(3L, "5")));
+
+        // 断言：每个计划只更新一次
+        verify(stockTakingMapper).updateBatch(anyCollection());
+        verify(stockTakingPlanMapper).updateCountIncr(eq(100L), eq(2), eq(1));
+        verifyNoMoreInteractions(stockTakingPlanMapper);
+    }
+
+    @Test
+    public void testSubmitStockTakingList_duplicate() {
+        // 准备参数：盘点单 1 重复
+        List<StockTakingBatchSubmitReqVO.Item> items = List.of(buildItem(1L, "10"), buildItem(2L, "8"), buildItem(1L, "9"));
+
+        // 调用，并断言
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> stockTakingService.submitStockTakingList(items));
+        assertEquals(STOCK_TAKING_SUBMIT_DUPLICATE.getCode(), exception.getCode());
+        // 断言：不更新盘点单、盘点计划
+        verify(stockTakingMapper, never()).updateBatch(anyCollection());
+        verify(stockTakingPlanMapper, never()).updateCountIncr(anyLong(), anyInt(), anyInt());
+    }
+
+    private static StockTakingDO buildTaking(Long id, Long planId) {
+        return StockTakingDO.builder().id(id).planId(planId).bookQuantity(BigDecimal.TEN)
+                .status(StockTakingStatusEnum.PENDING.getStatus()).build();
+    }
+
+    private static StockTakingBatchSubmitReqVO.Item buildItem(Long id, String actualQuantity) {
+        StockTakingBatchSubmitReqVO.Item item = new StockTakingBatchSubmitReqVO.Item();
+        item.setId(id);
+        item.setActualQuantity(new BigDecimal(actualQuantity));
+        return item;
+    }
+
+}